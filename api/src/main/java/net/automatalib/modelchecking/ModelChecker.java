@@ -16,6 +16,8 @@
 package net.automatalib.modelchecking;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.transducers.MealyMachine;
@@ -57,6 +59,72 @@ public interface ModelChecker<I, A, P, R> {
      */
     @Nullable R findCounterExample(A automaton, Collection<? extends I> inputs, P property);
 
+    /**
+     * Try to find counter examples for each of the given {@code properties} and {@code automaton}.
+     *
+     * @param automaton
+     *         the automaton to check the properties on.
+     * @param inputs
+     *         the alphabet.
+     * @param properties
+     *         the properties.
+     *
+     * @return a map from each violated property to its counter example. Satisfied properties are not contained in the
+     * map.
+     *
+     * @throws ModelCheckingException
+     *         when this model checker can not check one of the properties.
+     * @see #findCounterExamples(Object, Collection, Collection, boolean)
+     */
+    default Map<P, R> findCounterExamples(A automaton,
+                                          Collection<? extends I> inputs,
+                                          Collection<? extends P> properties) {
+        return findCounterExamples(automaton, inputs, properties, false);
+    }
+
+    /**
+     * Try to find counter examples for the given {@code properties} and {@code automaton}. If {@code firstOnly} is
+     * set, the search terminates as soon as a single counter example has been found, i.e. the returned map contains at
+     * most one entry.
+     * <p>
+     * The default implementation checks the properties sequentially (in iteration order) by means of
+     * {@link #findCounterExample(Object, Collection, Object)}. Implementations may check several properties
+     * concurrently, in which case it is unspecified which counter example is returned if {@code firstOnly} is set.
+     *
+     * @param automaton
+     *         the automaton to check the properties on.
+     * @param inputs
+     *         the alphabet.
+     * @param properties
+     *         the properties.
+     * @param firstOnly
+     *         whether to stop after the first counter example has been found.
+     *
+     * @return a map from each (found) violated property to its counter example, in iteration order of the given
+     * properties. Satisfied properties are not contained in the map.
+     *
+     * @throws ModelCheckingException
+     *         when this model checker can not check one of the properties.
+     */
+    default Map<P, R> findCounterExamples(A automaton,
+                                          Collection<? extends I> inputs,
+                                          Collection<? extends P> properties,
+                                          boolean firstOnly) {
+        final Map<P, R> result = new LinkedHashMap<>();
+
+        for (P property : properties) {
+            final R counterExample = findCounterExample(automaton, inputs, property);
+            if (counterExample != null) {
+                result.put(property, counterExample);
+                if (firstOnly) {
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
     interface DFAModelChecker<I, P, R> extends ModelChecker<I, DFA<?, I>, P, R> {}
 
     /**
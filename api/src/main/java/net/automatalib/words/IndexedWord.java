@@ -0,0 +1,235 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.function.ToIntFunction;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable word implementation that stores the {@link Alphabet#getSymbolIndex(Object) indices} of its symbols
+ * rather than the symbols themselves. If the alphabet contains at most 256 symbols, the indices are stored in a {@code
+ * byte[]}, otherwise in an {@code int[]}. Similar to {@link SharedWord}, subwords share the storage of their parent
+ * word, so that prefixes and suffixes can be created in constant time.
+ * <p>
+ * Compared to a {@link SharedWord}, which requires a reference (and potentially a wrapper object) per symbol, this
+ * representation significantly reduces the memory footprint of large collections of (long) words. Comparing two
+ * indexed words over the same alphabet only compares the stored indices. Furthermore, the hash code of an indexed
+ * word is computed lazily and cached.
+ *
+ * @param <I>
+ *         input symbol class
+ */
+final class IndexedWord<I> extends Word<I> {
+
+    private static final int BYTE_LIMIT = 1 << Byte.SIZE;
+
+    private final Alphabet<I> alphabet;
+    private final byte @Nullable [] bytes;
+    private final int @Nullable [] ints;
+    private final int offset;
+    private final int length;
+
+    private int hash;
+
+    private IndexedWord(Alphabet<I> alphabet, byte @Nullable [] bytes, int @Nullable [] ints, int offset, int length) {
+        this.alphabet = alphabet;
+        this.bytes = bytes;
+        this.ints = ints;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static <I> IndexedWord<I> fromIndices(Alphabet<I> alphabet, int[] indices, int offset, int length) {
+        final int size = alphabet.size();
+
+        for (int i = offset; i < offset + length; i++) {
+            final int idx = indices[i];
+            if (idx < 0 || idx >= size) {
+                throw new IllegalArgumentException("Symbol index " + idx + " is out of range for the given alphabet");
+            }
+        }
+
+        if (size <= BYTE_LIMIT) {
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) indices[offset + i];
+            }
+            return new IndexedWord<>(alphabet, bytes, null, 0, length);
+        }
+
+        final int[] ints = new int[length];
+        System.arraycopy(indices, offset, ints, 0, length);
+        return new IndexedWord<>(alphabet, null, ints, 0, length);
+    }
+
+    static <I> IndexedWord<I> fromWord(Alphabet<I> alphabet, Word<? extends I> word) {
+        final int[] indices = new int[word.length()];
+        int i = 0;
+        for (I sym : word) {
+            indices[i++] = alphabet.getSymbolIndex(sym);
+        }
+        return fromIndices(alphabet, indices, 0, indices.length);
+    }
+
+    /**
+     * Returns the index (with respect to the alphabet of this word) of the symbol at the given position.
+     *
+     * @param index
+     *         the position of the symbol
+     *
+     * @return the index of the symbol at the given position
+     */
+    int getSymbolIndex(int index) {
+        if (bytes != null) {
+            return bytes[offset + index] & 0xFF;
+        }
+        assert ints != null;
+        return ints[offset + index];
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public I getSymbol(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return alphabet.getSymbol(getSymbolIndex(index));
+    }
+
+    @Override
+    public I firstSymbol() {
+        return getSymbol(0);
+    }
+
+    @Override
+    public I lastSymbol() {
+        return getSymbol(length - 1);
+    }
+
+    @Override
+    protected Word<I> subWordInternal(int fromIndex, int toIndex) {
+        final int newLen = toIndex - fromIndex;
+        if (newLen <= 0) {
+            return Word.epsilon();
+        }
+        return new IndexedWord<>(alphabet, bytes, ints, offset + fromIndex, newLen);
+    }
+
+    @Override
+    public void writeToArray(int offset, @Nullable Object[] array, int tgtOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            array[tgtOffset + i] = alphabet.getSymbol(getSymbolIndex(offset + i));
+        }
+    }
+
+    @Override
+    public int[] toIntArray(ToIntFunction<? super I> toInt) {
+        if (toInt == alphabet) {
+            final int[] result = new int[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = getSymbolIndex(i);
+            }
+            return result;
+        }
+        return super.toIntArray(toInt);
+    }
+
+    @Override
+    public Word<I> flatten() {
+        return this;
+    }
+
+    @Override
+    public Word<I> trimmed() {
+        if (offset == 0 && length == storageLength()) {
+            return this;
+        }
+
+        if (bytes != null) {
+            final byte[] trimmed = new byte[length];
+            System.arraycopy(bytes, offset, trimmed, 0, length);
+            return new IndexedWord<>(alphabet, trimmed, null, 0, length);
+        }
+
+        assert ints != null;
+        final int[] trimmed = new int[length];
+        System.arraycopy(ints, offset, trimmed, 0, length);
+        return new IndexedWord<>(alphabet, null, trimmed, 0, length);
+    }
+
+    private int storageLength() {
+        if (bytes != null) {
+            return bytes.length;
+        }
+        assert ints != null;
+        return ints.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = super.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof IndexedWord)) {
+            return super.equals(other);
+        }
+
+        final IndexedWord<?> that = (IndexedWord<?>) other;
+
+        if (that.alphabet != this.alphabet) {
+            return super.equals(other);
+        }
+        if (that.length != this.length) {
+            return false;
+        }
+        if (this.hash != 0 && that.hash != 0 && this.hash != that.hash) {
+            return false;
+        }
+
+        final byte[] thisBytes = this.bytes, thatBytes = that.bytes;
+
+        if (thisBytes != null && thatBytes != null) {
+            for (int i = 0; i < length; i++) {
+                if (thisBytes[this.offset + i] != thatBytes[that.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (this.getSymbolIndex(i) != that.getSymbolIndex(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
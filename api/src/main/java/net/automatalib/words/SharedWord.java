@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Spliterator;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -26,6 +27,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 /**
  * An immutable word implementation that is based on the idea of a common array storage. This allows a very efficient
  * creation of subwords (e.g., prefixes and suffixes).
+ * <p>
+ * The hash code of a shared word is computed lazily and cached, so that words that are repeatedly used as keys of hash
+ * based collections do not need to iterate over their symbols on every lookup.
  *
  * @param <I>
  *         input symbol class
@@ -38,6 +42,8 @@ final class SharedWord<I> extends Word<I> {
     private final int offset;
     private final int length;
 
+    private int hash;
+
     /**
      * Constructor.
      */
@@ -128,6 +134,42 @@ final class SharedWord<I> extends Word<I> {
         return new SharedWord<>(trimmed);
     }
 
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = super.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SharedWord)) {
+            return super.equals(other);
+        }
+
+        final SharedWord<?> that = (SharedWord<?>) other;
+
+        if (that.length != this.length) {
+            return false;
+        }
+        if (this.hash != 0 && that.hash != 0 && this.hash != that.hash) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equals(this.storage[this.offset + i], that.storage[that.offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Iterator for iterating over {@link SharedWord}s.
      *
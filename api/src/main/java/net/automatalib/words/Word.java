@@ -175,6 +175,46 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
         return new SharedWord<>(symbolList);
     }
 
+    /**
+     * Creates a word from the given symbol indices with respect to the given alphabet. The returned word only stores
+     * the indices (using a single byte per symbol if the alphabet contains at most 256 symbols) and decodes the symbols
+     * on access. This makes it especially suitable for storing large numbers of words, e.g., in caches.
+     *
+     * @param alphabet
+     *         the alphabet used for decoding the symbol indices
+     * @param indices
+     *         the symbol indices
+     *
+     * @return the word consisting of the symbols with the given indices
+     *
+     * @throws IllegalArgumentException
+     *         if any of the indices is out of range for the given alphabet
+     */
+    public static <I> Word<I> fromIndices(Alphabet<I> alphabet, int... indices) {
+        if (indices.length == 0) {
+            return epsilon();
+        }
+        return IndexedWord.fromIndices(alphabet, indices, 0, indices.length);
+    }
+
+    /**
+     * Creates an alphabet-indexed copy of the given word, see {@link #fromIndices(Alphabet, int...)}. Subwords of the
+     * returned word share its storage.
+     *
+     * @param alphabet
+     *         the alphabet containing all symbols of the given word
+     * @param word
+     *         the word to copy
+     *
+     * @return the alphabet-indexed copy of the given word
+     */
+    public static <I> Word<I> indexed(Alphabet<I> alphabet, Word<? extends I> word) {
+        if (word.isEmpty()) {
+            return epsilon();
+        }
+        return IndexedWord.fromWord(alphabet, word);
+    }
+
     public static Word<Character> fromString(String str) {
         return fromCharSequence(str);
     }
@@ -0,0 +1,418 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A set of {@link Word}s that is organized as a prefix tree (trie). Besides the usual (deduplicating) set operations,
+ * this class allows to answer prefix-related queries in time linear in the length of the queried word, independent of
+ * the number of stored words, e.g.:
+ * <ul>
+ * <li>whether any stored word is a prefix of a given word ({@link #containsPrefixOf(Word)}),</li>
+ * <li>the longest stored word that is a prefix of a given word ({@link #longestPrefixOf(Word)}),</li>
+ * <li>whether a given word is a prefix of any stored word ({@link #containsExtensionOf(Word)}).</li>
+ * </ul>
+ * Words that share a common prefix share the respective nodes of the trie. Nodes with a single successor (the common
+ * case for long, diverging words) store it directly instead of allocating a map.
+ * <p>
+ * The iteration order of this set is unspecified. Words can be removed via {@link #remove(Object)}, but not via the
+ * iterator.
+ *
+ * @param <I>
+ *         symbol type
+ */
+public class WordTrie<I> extends AbstractSet<Word<I>> {
+
+    private final Node<I> root = new Node<>();
+    private int size;
+
+    /**
+     * Adds the given word to this set.
+     *
+     * @param word
+     *         the word to add
+     *
+     * @return {@code true} if the word has not been contained in this set before, {@code false} otherwise
+     */
+    @Override
+    public boolean add(Word<I> word) {
+        Node<I> node = root;
+
+        for (I sym : word) {
+            node = node.getOrCreateSuccessor(sym);
+        }
+
+        if (node.terminal) {
+            return false;
+        }
+
+        node.terminal = true;
+        size++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(@Nullable Object o) {
+        if (!(o instanceof Word)) {
+            return false;
+        }
+
+        final Node<I> node = find((Word<? extends I>) o);
+        return node != null && node.terminal;
+    }
+
+    /**
+     * Removes the given word from this set. Nodes of the trie that are no longer required are released.
+     *
+     * @param o
+     *         the word to remove
+     *
+     * @return {@code true} if the word has been contained in this set, {@code false} otherwise
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(@Nullable Object o) {
+        if (!(o instanceof Word)) {
+            return false;
+        }
+
+        final Word<I> word = (Word<I>) o;
+        final int length = word.length();
+        final List<Node<I>> path = new ArrayList<>(length + 1);
+
+        Node<I> node = root;
+        path.add(node);
+
+        for (I sym : word) {
+            node = node.getSuccessor(sym);
+            if (node == null) {
+                return false;
+            }
+            path.add(node);
+        }
+
+        if (!node.terminal) {
+            return false;
+        }
+
+        node.terminal = false;
+        size--;
+
+        // prune nodes that do not lead to any stored word anymore
+        for (int i = length; i > 0 && path.get(i).isLeaf(); i--) {
+            path.get(i - 1).removeSuccessor(word.getSymbol(i - 1));
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether any of the stored words is a (not necessarily proper) prefix of the given word.
+     *
+     * @param word
+     *         the word to check
+     *
+     * @return {@code true} if this set contains a prefix of the given word, {@code false} otherwise
+     */
+    public boolean containsPrefixOf(Word<? extends I> word) {
+        return longestPrefixLength(word) >= 0;
+    }
+
+    /**
+     * Checks whether the given word is a (not necessarily proper) prefix of any of the stored words.
+     *
+     * @param word
+     *         the word to check
+     *
+     * @return {@code true} if this set contains an extension of the given word, {@code false} otherwise
+     */
+    public boolean containsExtensionOf(Word<? extends I> word) {
+        // since nodes without terminal successors are pruned upon removal, each node has a terminal successor
+        return find(word) != null && !isEmpty();
+    }
+
+    /**
+     * Returns the length of the longest stored word that is a (not necessarily proper) prefix of the given word.
+     *
+     * @param word
+     *         the word to check
+     *
+     * @return the length of the longest stored prefix of the given word, or {@code -1} if no such prefix exists
+     */
+    public int longestPrefixLength(Word<? extends I> word) {
+        Node<I> node = root;
+        int result = node.terminal ? 0 : -1;
+        int depth = 0;
+
+        for (I sym : word) {
+            node = node.getSuccessor(sym);
+            if (node == null) {
+                break;
+            }
+            depth++;
+            if (node.terminal) {
+                result = depth;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the longest stored word that is a (not necessarily proper) prefix of the given word.
+     *
+     * @param word
+     *         the word to check
+     *
+     * @return the longest stored prefix of the given word, or {@code null} if no such prefix exists
+     */
+    public @Nullable Word<I> longestPrefixOf(Word<I> word) {
+        final int length = longestPrefixLength(word);
+        return length < 0 ? null : word.prefix(length);
+    }
+
+    /**
+     * Returns a view on all stored words that are (not necessarily proper) prefixes of the given word, in order of
+     * increasing length. The view is computed lazily, i.e., the trie is only traversed as far as the returned iterators
+     * are advanced, and the returned words are prefixes (and thus share the storage) of the given word.
+     *
+     * @param word
+     *         the word whose stored prefixes should be returned
+     *
+     * @return a view on the stored prefixes of the given word
+     */
+    public Iterable<Word<I>> prefixesOf(Word<I> word) {
+        return () -> new PrefixIterator<>(root, word);
+    }
+
+    @Override
+    public Iterator<Word<I>> iterator() {
+        return new WordIterator<>(root);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root.clear();
+        size = 0;
+    }
+
+    private @Nullable Node<I> find(Word<? extends I> word) {
+        Node<I> node = root;
+
+        for (I sym : word) {
+            node = node.getSuccessor(sym);
+            if (node == null) {
+                return null;
+            }
+        }
+
+        return node;
+    }
+
+    private static final class Node<I> {
+
+        private boolean terminal;
+
+        // either a single successor (stored inline) or a map of successors
+        private @Nullable I singleSymbol;
+        private @Nullable Node<I> singleSuccessor;
+        private @Nullable Map<I, Node<I>> successors;
+
+        @Nullable Node<I> getSuccessor(I symbol) {
+            if (successors != null) {
+                return successors.get(symbol);
+            }
+            if (singleSuccessor != null && Objects.equals(singleSymbol, symbol)) {
+                return singleSuccessor;
+            }
+            return null;
+        }
+
+        Node<I> getOrCreateSuccessor(I symbol) {
+            final Node<I> succ = getSuccessor(symbol);
+            if (succ != null) {
+                return succ;
+            }
+
+            final Node<I> result = new Node<>();
+
+            if (successors != null) {
+                successors.put(symbol, result);
+            } else if (singleSuccessor == null) {
+                singleSymbol = symbol;
+                singleSuccessor = result;
+            } else {
+                successors = new HashMap<>();
+                successors.put(singleSymbol, singleSuccessor);
+                successors.put(symbol, result);
+                singleSymbol = null;
+                singleSuccessor = null;
+            }
+
+            return result;
+        }
+
+        boolean isLeaf() {
+            return !terminal && singleSuccessor == null && (successors == null || successors.isEmpty());
+        }
+
+        void removeSuccessor(I symbol) {
+            if (successors != null) {
+                successors.remove(symbol);
+            } else if (Objects.equals(singleSymbol, symbol)) {
+                singleSymbol = null;
+                singleSuccessor = null;
+            }
+        }
+
+        Iterator<Map.Entry<I, Node<I>>> successorIterator() {
+            if (successors != null) {
+                return successors.entrySet().iterator();
+            }
+            if (singleSuccessor != null) {
+                return Collections.singletonMap(singleSymbol, singleSuccessor).entrySet().iterator();
+            }
+            return Collections.emptyIterator();
+        }
+
+        void clear() {
+            terminal = false;
+            singleSymbol = null;
+            singleSuccessor = null;
+            successors = null;
+        }
+    }
+
+    private static final class PrefixIterator<I> implements Iterator<Word<I>> {
+
+        private final Word<I> word;
+        private @Nullable Node<I> node;
+        private int depth;
+
+        PrefixIterator(Node<I> root, Word<I> word) {
+            this.word = word;
+            this.node = root;
+            advance(root.terminal);
+        }
+
+        // moves to the next terminal node (including the current one, if requested)
+        private void advance(boolean includeCurrent) {
+            if (includeCurrent) {
+                return;
+            }
+            while (node != null) {
+                if (depth == word.length()) {
+                    node = null;
+                    return;
+                }
+                node = node.getSuccessor(word.getSymbol(depth));
+                depth++;
+                if (node != null && node.terminal) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public Word<I> next() {
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            final Word<I> result = word.prefix(depth);
+            advance(false);
+            return result;
+        }
+    }
+
+    private static final class WordIterator<I> implements Iterator<Word<I>> {
+
+        private final Deque<Iterator<Map.Entry<I, Node<I>>>> stack;
+        private final WordBuilder<I> builder;
+        private @Nullable Word<I> next;
+
+        WordIterator(Node<I> root) {
+            this.stack = new ArrayDeque<>();
+            this.builder = new WordBuilder<>();
+            this.stack.push(root.successorIterator());
+            this.next = root.terminal ? Word.epsilon() : findNext();
+        }
+
+        private @Nullable Word<I> findNext() {
+            while (!stack.isEmpty()) {
+                final Iterator<Map.Entry<I, Node<I>>> iter = stack.peek();
+
+                if (!iter.hasNext()) {
+                    stack.pop();
+                    if (!builder.isEmpty()) {
+                        builder.truncate(builder.size() - 1);
+                    }
+                    continue;
+                }
+
+                final Map.Entry<I, Node<I>> entry = iter.next();
+                final Node<I> succ = entry.getValue();
+
+                builder.append(entry.getKey());
+                stack.push(succ.successorIterator());
+
+                if (succ.terminal) {
+                    return builder.toWord();
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Word<I> next() {
+            final Word<I> result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            next = findNext();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class IndexedWordTest extends AbstractNonemptyWordTest {
+
+    private static final TestAlphabet ALPHABET = new TestAlphabet(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9));
+    private static final int[] DATA = new int[] {1, 0, 2, 2, 6, 8};
+
+    @Test
+    public void testLength() {
+        Assert.assertEquals(4, testWord.length());
+    }
+
+    @Override
+    protected Word<Object> testWord() {
+        return Word.fromIndices(ALPHABET, DATA).subWord(1, 5);
+    }
+
+    @Override
+    protected List<Word<Object>> equalWords() {
+        return Arrays.asList(Word.fromIndices(ALPHABET, 0, 2, 2, 6),
+                             Word.indexed(ALPHABET, Word.fromSymbols(1, 3, 3, 7)),
+                             new SharedWord<>(new Object[] {1, 3, 3, 7}));
+    }
+
+    @Override
+    protected List<Word<Object>> unequalWords() {
+        return Arrays.asList(Word.fromIndices(ALPHABET, DATA),
+                             Word.fromIndices(ALPHABET, 0, 2, 2, 5),
+                             new EmptyWord(),
+                             new SharedWord<>(Arrays.asList(2, 4)));
+    }
+
+    @Override
+    protected List<Word<Object>> realPrefixes() {
+        return Arrays.asList(new EmptyWord(),
+                             Word.fromIndices(ALPHABET, 0, 2),
+                             new SharedWord<>(new Object[] {1, 3, 3}),
+                             new LetterWord<>(1));
+    }
+
+    @Override
+    protected List<Word<Object>> realSuffixes() {
+        return Arrays.asList(new EmptyWord(),
+                             Word.fromIndices(ALPHABET, 2, 6),
+                             new SharedWord<>(new Object[] {3, 3, 7}),
+                             new LetterWord<>(7));
+    }
+
+    @Test
+    public void testHashCodeConsistency() {
+        final Set<Word<Object>> words = new HashSet<>();
+        words.add(new SharedWord<>(new Object[] {1, 3, 3, 7}));
+
+        Assert.assertTrue(words.contains(testWord));
+        Assert.assertEquals(testWord.hashCode(), new SharedWord<>(new Object[] {1, 3, 3, 7}).hashCode());
+        Assert.assertEquals(testWord.prefix(2).hashCode(), Word.fromSymbols(1, 3).hashCode());
+    }
+
+    @Test
+    public void testLargeAlphabet() {
+        final Object[] symbols = new Object[1000];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = i;
+        }
+
+        final TestAlphabet alphabet = new TestAlphabet(Arrays.asList(symbols));
+        final Word<Object> word = Word.fromIndices(alphabet, 999, 256, 0, 512);
+
+        Assert.assertEquals(word, Word.fromSymbols(999, 256, 0, 512));
+        Assert.assertEquals(word.suffix(2), Word.fromIndices(alphabet, 0, 512));
+        Assert.assertEquals(word.toIntArray(alphabet), new int[] {999, 256, 0, 512});
+        Assert.assertEquals(word.subWord(1, 3).trimmed(), Word.fromSymbols(256, 0));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidIndex() {
+        Word.fromIndices(ALPHABET, 0, ALPHABET.size());
+    }
+
+    private static final class TestAlphabet extends AbstractList<Object> implements Alphabet<Object> {
+
+        private final List<Object> symbols;
+
+        TestAlphabet(List<Object> symbols) {
+            this.symbols = symbols;
+        }
+
+        @Override
+        public Object get(int index) {
+            return symbols.get(index);
+        }
+
+        @Override
+        public int size() {
+            return symbols.size();
+        }
+
+        @Override
+        public Object getSymbol(int index) {
+            return symbols.get(index);
+        }
+
+        @Override
+        public int getSymbolIndex(Object symbol) {
+            return symbols.indexOf(symbol);
+        }
+    }
+}
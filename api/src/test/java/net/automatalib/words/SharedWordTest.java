@@ -33,6 +33,12 @@ public class SharedWordTest extends AbstractNonemptyWordTest {
         Assert.assertEquals(LENGTH, testWord.length());
     }
 
+    @Test
+    public void testEmptyHashCode() {
+        Assert.assertEquals(new SharedWord<>(new Object[0]).hashCode(), Word.epsilon().hashCode());
+        Assert.assertEquals(new SharedWord<>(DATA, OFFSET, 0).hashCode(), Word.epsilon().hashCode());
+    }
+
     @Override
     protected Word<Object> testWord() {
         return new SharedWord<>(DATA, OFFSET, LENGTH);
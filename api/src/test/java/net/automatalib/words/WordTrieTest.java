@@ -0,0 +1,176 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class WordTrieTest {
+
+    private static final int NUM_WORDS = 500;
+    private static final int MAX_LENGTH = 8;
+    private static final int NUM_SYMBOLS = 3;
+
+    @Test
+    public void testSetOperations() {
+        final Random random = new Random(42);
+        final WordTrie<Integer> trie = new WordTrie<>();
+        final Set<Word<Integer>> reference = new HashSet<>();
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            final Word<Integer> word = randomWord(random);
+            Assert.assertEquals(trie.add(word), reference.add(word));
+        }
+
+        Assert.assertEquals(trie.size(), reference.size());
+        Assert.assertEquals(new HashSet<>(trie), reference);
+
+        final List<Word<Integer>> iterated = new ArrayList<>(trie);
+        Assert.assertEquals(iterated.size(), new HashSet<>(iterated).size());
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            final Word<Integer> word = randomWord(random);
+            Assert.assertEquals(trie.contains(word), reference.contains(word));
+        }
+
+        Assert.assertFalse(trie.contains("foo"));
+
+        trie.clear();
+        Assert.assertTrue(trie.isEmpty());
+        Assert.assertFalse(trie.iterator().hasNext());
+        Assert.assertFalse(trie.containsExtensionOf(Word.epsilon()));
+    }
+
+    @Test
+    public void testPrefixQueries() {
+        final Random random = new Random(42);
+        final WordTrie<Integer> trie = new WordTrie<>();
+        final Set<Word<Integer>> reference = new HashSet<>();
+
+        for (int i = 0; i < NUM_WORDS / 5; i++) {
+            final Word<Integer> word = randomWord(random);
+            trie.add(word);
+            reference.add(word);
+        }
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            final Word<Integer> word = randomWord(random);
+
+            final List<Word<Integer>> expectedPrefixes = new ArrayList<>();
+            for (Word<Integer> prefix : word.prefixes(false)) {
+                if (reference.contains(prefix)) {
+                    expectedPrefixes.add(prefix);
+                }
+            }
+
+            final List<Word<Integer>> actualPrefixes = new ArrayList<>();
+            trie.prefixesOf(word).forEach(actualPrefixes::add);
+
+            Assert.assertEquals(actualPrefixes, expectedPrefixes);
+            Assert.assertEquals(trie.containsPrefixOf(word), !expectedPrefixes.isEmpty());
+
+            if (expectedPrefixes.isEmpty()) {
+                Assert.assertEquals(trie.longestPrefixLength(word), -1);
+                Assert.assertNull(trie.longestPrefixOf(word));
+            } else {
+                final Word<Integer> longest = expectedPrefixes.get(expectedPrefixes.size() - 1);
+                Assert.assertEquals(trie.longestPrefixLength(word), longest.length());
+                Assert.assertEquals(trie.longestPrefixOf(word), longest);
+            }
+
+            boolean hasExtension = false;
+            for (Word<Integer> w : reference) {
+                hasExtension |= word.isPrefixOf(w);
+            }
+
+            Assert.assertEquals(trie.containsExtensionOf(word), hasExtension);
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        final Random random = new Random(42);
+        final WordTrie<Integer> trie = new WordTrie<>();
+        final Set<Word<Integer>> reference = new HashSet<>();
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            final Word<Integer> word = randomWord(random);
+            if (random.nextBoolean()) {
+                Assert.assertEquals(trie.add(word), reference.add(word));
+            } else {
+                Assert.assertEquals(trie.remove(word), reference.remove(word));
+            }
+        }
+
+        Assert.assertEquals(trie.size(), reference.size());
+        Assert.assertEquals(new HashSet<>(trie), reference);
+
+        for (int i = 0; i < NUM_WORDS; i++) {
+            final Word<Integer> word = randomWord(random);
+
+            boolean hasExtension = false;
+            for (Word<Integer> w : reference) {
+                hasExtension |= word.isPrefixOf(w);
+            }
+
+            Assert.assertEquals(trie.containsExtensionOf(word), hasExtension);
+        }
+
+        for (Word<Integer> w : reference) {
+            Assert.assertTrue(trie.remove(w));
+        }
+
+        Assert.assertTrue(trie.isEmpty());
+        Assert.assertFalse(trie.containsExtensionOf(Word.fromLetter(0)));
+    }
+
+    @Test
+    public void testEpsilon() {
+        final WordTrie<Integer> trie = new WordTrie<>();
+        final Word<Integer> word = Word.fromSymbols(1, 2, 3);
+
+        Assert.assertFalse(trie.containsPrefixOf(word));
+        Assert.assertTrue(trie.add(Word.epsilon()));
+        Assert.assertFalse(trie.add(Word.epsilon()));
+        Assert.assertTrue(trie.containsPrefixOf(word));
+        Assert.assertEquals(trie.longestPrefixOf(word), Word.epsilon());
+        Assert.assertFalse(trie.containsExtensionOf(word));
+
+        trie.add(word);
+        final List<Word<Integer>> prefixes = new ArrayList<>();
+        trie.prefixesOf(word.append(4)).forEach(prefixes::add);
+
+        Assert.assertEquals(prefixes.size(), 2);
+        Assert.assertEquals(prefixes.get(0), Word.epsilon());
+        Assert.assertEquals(prefixes.get(1), word);
+        Assert.assertEquals(new HashSet<>(trie).size(), 2);
+    }
+
+    private static Word<Integer> randomWord(Random random) {
+        final WordBuilder<Integer> wb = new WordBuilder<>();
+        final int length = random.nextInt(MAX_LENGTH);
+        for (int i = 0; i < length; i++) {
+            wb.append(random.nextInt(NUM_SYMBOLS));
+        }
+        return wb.toWord();
+    }
+}
@@ -0,0 +1,69 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Shared utility methods for setting up the benchmark inputs. All randomness is derived from {@link #SEED} so that
+ * repeated runs (and runs of different releases) operate on identical inputs.
+ */
+final class BenchmarkUtil {
+
+    /**
+     * The fixed seed used for generating the random inputs of all benchmarks.
+     */
+    static final long SEED = 42L;
+
+    private BenchmarkUtil() {
+        // prevent instantiation
+    }
+
+    static Alphabet<Integer> inputs(int size) {
+        return Alphabets.integers(0, size - 1);
+    }
+
+    static Collection<Integer> outputs(int size) {
+        return Alphabets.integers(0, size - 1);
+    }
+
+    /**
+     * Generates {@code numWords} random words whose lengths are uniformly distributed in {@code [1, maxLength]}.
+     */
+    static List<Word<Integer>> randomWords(Random random, Alphabet<Integer> alphabet, int numWords, int maxLength) {
+        final List<Word<Integer>> result = new ArrayList<>(numWords);
+        final WordBuilder<Integer> wb = new WordBuilder<>(maxLength);
+
+        for (int i = 0; i < numWords; i++) {
+            final int length = 1 + random.nextInt(maxLength);
+            for (int j = 0; j < length; j++) {
+                wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+            }
+            result.add(wb.toWord());
+            wb.clear();
+        }
+
+        return result;
+    }
+}
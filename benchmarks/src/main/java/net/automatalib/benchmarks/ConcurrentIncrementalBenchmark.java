@@ -0,0 +1,124 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.incremental.mealy.tree.ConcurrentIncrementalMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the throughput of a membership query cache that is shared between multiple (oracle) threads. Each
+ * operation looks up a (uniformly drawn) random query and inserts its answer on a cache miss. The {@link
+ * ConcurrentIncrementalMealyTreeBuilder} is compared against an {@link IncrementalMealyTreeBuilder} whose accesses are
+ * serialized via a global lock. The number of threads can be adjusted via JMH's {@code -t} option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentIncrementalBenchmark {
+
+    private static final int TARGET_SIZE = 1000;
+
+    @Param({"100000"})
+    private int numWords;
+
+    @Param({"2", "10"})
+    private int alphabetSize;
+
+    @Param({"20"})
+    private int maxLength;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<Integer>> outputs;
+
+    private IncrementalMealyTreeBuilder<Integer, Integer> lockedTree;
+    private ConcurrentIncrementalMealyTreeBuilder<Integer, Integer> concurrentTree;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(random, TARGET_SIZE, alphabet, BenchmarkUtil.outputs(alphabetSize));
+
+        this.inputs = BenchmarkUtil.randomWords(random, alphabet, numWords, maxLength);
+        this.outputs = new ArrayList<>(numWords);
+
+        for (Word<Integer> input : inputs) {
+            this.outputs.add(mealy.computeOutput(input));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpCaches() {
+        this.lockedTree = new IncrementalMealyTreeBuilder<>(alphabet);
+        this.concurrentTree = new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+    }
+
+    @Benchmark
+    public boolean lockedTreeQuery() {
+        final int idx = ThreadLocalRandom.current().nextInt(numWords);
+        synchronized (lockedTree) {
+            return query(lockedTree, idx);
+        }
+    }
+
+    @Benchmark
+    public boolean concurrentTreeQuery() {
+        return query(concurrentTree, ThreadLocalRandom.current().nextInt(numWords));
+    }
+
+    private boolean query(IncrementalMealyBuilder<Integer, Integer> cache, int idx) {
+        final Word<Integer> input = inputs.get(idx);
+
+        if (cache.hasDefinitiveInformation(input)) {
+            return true;
+        }
+
+        cache.insert(input, outputs.get(idx));
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the subset construction of {@link NFAs#determinize(net.automatalib.automata.fsa.NFA, Alphabet)}.
+ * <p>
+ * Since the size of the determinized automaton may grow exponentially in the size of an arbitrary (random) NFA, the
+ * benchmarks operate on families of NFAs whose determinized automata have a known, bounded size:
+ * <ul>
+ *     <li>{@link TrackedDFA}: random DFAs with additional non-determinism (at most {@code 2 * size} subsets), and</li>
+ *     <li>{@link NthSymbolFromEnd}: the language of words whose {@code n}-th symbol from the end is the first input
+ *     symbol (exactly {@code 2^n} subsets).</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DeterminizationBenchmark {
+
+    @Benchmark
+    public CompactDFA<Integer> determinizeTrackedDFA(TrackedDFA input) {
+        return NFAs.determinize(input.nfa, input.alphabet);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> determinizeNthSymbolFromEnd(NthSymbolFromEnd input) {
+        return NFAs.determinize(input.nfa, input.alphabet);
+    }
+
+    /**
+     * A random DFA whose states are duplicated into two tracks. Each transition leads to the (original) successor on
+     * the same track and, with a probability of one half, additionally to the successor on the other track. Hence,
+     * every reachable subset consists of the copies of a single state of the original DFA.
+     */
+    @State(Scope.Benchmark)
+    public static class TrackedDFA {
+
+        @Param({"1000", "10000"})
+        private int size;
+
+        @Param({"2", "10"})
+        private int alphabetSize;
+
+        private Alphabet<Integer> alphabet;
+        private CompactNFA<Integer> nfa;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(BenchmarkUtil.SEED);
+
+            this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+
+            final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+            final int numStates = dfa.size();
+
+            this.nfa = new CompactNFA<>(alphabet, 2 * numStates);
+
+            for (int s = 0; s < numStates; s++) {
+                nfa.addState(dfa.isAccepting(s));
+                nfa.addState(dfa.isAccepting(s));
+            }
+
+            nfa.setInitial(2 * dfa.getIntInitialState(), true);
+
+            for (int s = 0; s < numStates; s++) {
+                for (Integer i : alphabet) {
+                    final Integer succ = dfa.getSuccessor(s, i);
+                    if (succ != null) {
+                        for (int track = 0; track < 2; track++) {
+                            nfa.addTransition(2 * s + track, i, 2 * succ + track);
+                            if (random.nextBoolean()) {
+                                nfa.addTransition(2 * s + track, i, 2 * succ + 1 - track);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The (minimal) NFA that accepts all words whose {@code n}-th symbol from the end is the first input symbol. Its
+     * determinized automaton has exactly {@code 2^n} states.
+     */
+    @State(Scope.Benchmark)
+    public static class NthSymbolFromEnd {
+
+        @Param({"8", "12", "16"})
+        private int n;
+
+        @Param({"2", "10"})
+        private int alphabetSize;
+
+        private Alphabet<Integer> alphabet;
+        private CompactNFA<Integer> nfa;
+
+        @Setup
+        public void setUp() {
+            this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+            this.nfa = new CompactNFA<>(alphabet, n + 1);
+
+            for (int s = 0; s < n; s++) {
+                nfa.addState(false);
+            }
+            nfa.addState(true);
+
+            nfa.setInitial(0, true);
+
+            for (Integer i : alphabet) {
+                nfa.addTransition(0, i, 0);
+                for (int s = 1; s < n; s++) {
+                    nfa.addTransition(s, i, s + 1);
+                }
+            }
+            nfa.addTransition(0, alphabet.getSymbol(0), 1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Benchmarks for {@link NearLinearEquivalenceTest#findSeparatingWord(net.automatalib.automata.UniversalDeterministicAutomaton,
+ * net.automatalib.automata.UniversalDeterministicAutomaton, java.util.Collection)}. The {@link #equivalent()} case
+ * compares an automaton with a structurally identical copy and therefore exhibits the worst-case behavior of a complete
+ * product traversal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EquivalenceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"2", "10"})
+    private int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa;
+    private CompactDFA<Integer> copy;
+    private CompactDFA<Integer> other;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+        this.dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+        this.copy = new CompactDFA<>(dfa);
+        this.other = RandomAutomata.randomDFA(random, size, alphabet, false);
+    }
+
+    @Benchmark
+    public @Nullable Word<Integer> equivalent() {
+        return NearLinearEquivalenceTest.findSeparatingWord(dfa, copy, alphabet);
+    }
+
+    @Benchmark
+    public @Nullable Word<Integer> inequivalent() {
+        return NearLinearEquivalenceTest.findSeparatingWord(dfa, other, alphabet);
+    }
+}
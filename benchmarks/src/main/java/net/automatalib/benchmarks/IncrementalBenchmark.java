@@ -0,0 +1,202 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.dfa.Acceptance;
+import net.automatalib.incremental.dfa.tree.IncrementalDFATreeBuilder;
+import net.automatalib.incremental.mealy.dag.CompactIncrementalMealyDAGBuilder;
+import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the incremental construction of Mealy machines (via the {@link IncrementalMealyDAGBuilder}, the
+ * {@link CompactIncrementalMealyDAGBuilder} and the {@link IncrementalMealyTreeBuilder}) and DFAs (via the {@link
+ * IncrementalDFATreeBuilder}). The inserted words are random queries whose answers are determined by a random target
+ * system, as would be the case for a membership query cache. The {@code *All} benchmarks process all queries as a
+ * single batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IncrementalBenchmark {
+
+    private static final int TARGET_SIZE = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    private int numWords;
+
+    @Param({"2", "10"})
+    private int alphabetSize;
+
+    @Param({"20"})
+    private int maxLength;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<Integer>> outputs;
+    private boolean[] acceptance;
+    private List<Boolean> acceptanceList;
+
+    private IncrementalMealyDAGBuilder<Integer, Integer> filledMealyDAG;
+    private CompactIncrementalMealyDAGBuilder<Integer, Integer> filledCompactMealyDAG;
+    private IncrementalDFATreeBuilder<Integer> filledDFATree;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(random, TARGET_SIZE, alphabet, BenchmarkUtil.outputs(alphabetSize));
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, TARGET_SIZE, alphabet);
+
+        this.inputs = BenchmarkUtil.randomWords(random, alphabet, numWords, maxLength);
+        this.outputs = new ArrayList<>(numWords);
+        this.acceptance = new boolean[numWords];
+
+        for (int i = 0; i < numWords; i++) {
+            final Word<Integer> input = inputs.get(i);
+            this.outputs.add(mealy.computeOutput(input));
+            this.acceptance[i] = dfa.accepts(input);
+        }
+
+        this.acceptanceList = new ArrayList<>(numWords);
+        for (boolean acc : acceptance) {
+            this.acceptanceList.add(acc);
+        }
+
+        this.filledMealyDAG = mealyDAGInsert();
+        this.filledCompactMealyDAG = compactMealyDAGInsert();
+        this.filledDFATree = dfaTreeInsert();
+    }
+
+    @Benchmark
+    public IncrementalMealyDAGBuilder<Integer, Integer> mealyDAGInsert() {
+        final IncrementalMealyDAGBuilder<Integer, Integer> builder = new IncrementalMealyDAGBuilder<>(alphabet);
+
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public void mealyDAGLookup(Blackhole blackhole) {
+        final List<Integer> output = new ArrayList<>(maxLength);
+
+        for (Word<Integer> input : inputs) {
+            blackhole.consume(filledMealyDAG.lookup(input, output));
+            output.clear();
+        }
+    }
+
+    @Benchmark
+    public CompactIncrementalMealyDAGBuilder<Integer, Integer> compactMealyDAGInsert() {
+        final CompactIncrementalMealyDAGBuilder<Integer, Integer> builder =
+                new CompactIncrementalMealyDAGBuilder<>(alphabet);
+
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public void compactMealyDAGLookup(Blackhole blackhole) {
+        final List<Integer> output = new ArrayList<>(maxLength);
+
+        for (Word<Integer> input : inputs) {
+            blackhole.consume(filledCompactMealyDAG.lookup(input, output));
+            output.clear();
+        }
+    }
+
+    @Benchmark
+    public IncrementalMealyTreeBuilder<Integer, Integer> mealyTreeInsert() {
+        final IncrementalMealyTreeBuilder<Integer, Integer> builder = new IncrementalMealyTreeBuilder<>(alphabet);
+
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalMealyTreeBuilder<Integer, Integer> mealyTreeInsertAll() {
+        final IncrementalMealyTreeBuilder<Integer, Integer> builder = new IncrementalMealyTreeBuilder<>(alphabet);
+        builder.insertAll(inputs, outputs);
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalDFATreeBuilder<Integer> dfaTreeInsert() {
+        final IncrementalDFATreeBuilder<Integer> builder = new IncrementalDFATreeBuilder<>(alphabet);
+
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), acceptance[i]);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public IncrementalDFATreeBuilder<Integer> dfaTreeInsertAll() {
+        final IncrementalDFATreeBuilder<Integer> builder = new IncrementalDFATreeBuilder<>(alphabet);
+        builder.insertAll(inputs, acceptanceList);
+        return builder;
+    }
+
+    @Benchmark
+    public void dfaTreeLookup(Blackhole blackhole) {
+        for (Word<Integer> input : inputs) {
+            blackhole.consume(filledDFATree.lookup(input));
+        }
+    }
+
+    @Benchmark
+    public List<Acceptance> dfaTreeLookupAll() {
+        return filledDFATree.lookupAll(inputs);
+    }
+}
@@ -0,0 +1,131 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.incremental.mealy.dag.CompactIncrementalMealyDAGBuilder;
+import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the memory footprint of the DAG-based incremental Mealy builders ({@link IncrementalMealyDAGBuilder} and
+ * {@link CompactIncrementalMealyDAGBuilder}). Each invocation fills a fresh builder with random queries and reports the
+ * retained heap per inserted query as the auxiliary {@code bytesPerQuery} counter. The figures are approximations
+ * based on the used heap before and after filling the builder (each measured after requesting a garbage collection).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class IncrementalFootprintBenchmark {
+
+    private static final int TARGET_SIZE = 1000;
+    private static final int GC_RUNS = 3;
+
+    @Param({"100000", "1000000"})
+    private int numWords;
+
+    @Param({"2", "10"})
+    private int alphabetSize;
+
+    @Param({"20"})
+    private int maxLength;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<Integer>> outputs;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(random, TARGET_SIZE, alphabet, BenchmarkUtil.outputs(alphabetSize));
+
+        this.inputs = BenchmarkUtil.randomWords(random, alphabet, numWords, maxLength);
+        this.outputs = new ArrayList<>(numWords);
+
+        for (Word<Integer> input : inputs) {
+            this.outputs.add(mealy.computeOutput(input));
+        }
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> mealyDAG(Footprint footprint) {
+        return measure(new IncrementalMealyDAGBuilder<>(alphabet), footprint);
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> compactMealyDAG(Footprint footprint) {
+        return measure(new CompactIncrementalMealyDAGBuilder<>(alphabet), footprint);
+    }
+
+    private IncrementalMealyBuilder<Integer, Integer> measure(IncrementalMealyBuilder<Integer, Integer> builder,
+                                                             Footprint footprint) {
+        final long before = usedMemory();
+
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        final long after = usedMemory();
+        footprint.bytesPerQuery = (after - before) / numWords;
+
+        return builder;
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_RUNS; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Auxiliary counters that are reported alongside the (single shot) execution times.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerQuery;
+    }
+}
@@ -0,0 +1,119 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link HopcroftMinimization} and {@link PaigeTarjanMinimization} algorithms on (non-minimal)
+ * random DFAs and Mealy machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MinimizationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"2", "10"})
+    private int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa;
+    private CompactMealy<Integer, Integer> mealy;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = BenchmarkUtil.inputs(alphabetSize);
+        this.dfa = RandomAutomata.randomDFA(random, size, alphabet, false);
+        this.mealy = RandomAutomata.randomMealy(random, size, alphabet, BenchmarkUtil.outputs(alphabetSize), false);
+        this.pool = new ForkJoinPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> hopcroftMinimizeDFA() {
+        return HopcroftMinimization.minimizeDFA(dfa, alphabet);
+    }
+
+    @Benchmark
+    public CompactMealy<Integer, Integer> hopcroftMinimizeMealy() {
+        return HopcroftMinimization.minimizeMealy(mealy, alphabet);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> hopcroftMinimizeDFAParallel() {
+        return HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER, pool);
+    }
+
+    @Benchmark
+    public CompactMealy<Integer, Integer> hopcroftMinimizeMealyParallel() {
+        return HopcroftMinimization.minimizeMealy(mealy, alphabet, PruningMode.PRUNE_AFTER, pool);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> paigeTarjanMinimizeDFA() {
+        return PaigeTarjanMinimization.minimizeDFA(dfa, alphabet);
+    }
+
+    @Benchmark
+    public CompactMealy<Integer, Integer> paigeTarjanMinimizeMealy() {
+        return PaigeTarjanMinimization.minimizeMealy(mealy, alphabet);
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> paigeTarjanMinimizeDFAParallel() {
+        return PaigeTarjanMinimization.minimizeDFA(dfa, alphabet, pool);
+    }
+
+    @Benchmark
+    public CompactMealy<Integer, Integer> paigeTarjanMinimizeMealyParallel() {
+        return PaigeTarjanMinimization.minimizeMealy(mealy, alphabet, pool);
+    }
+}
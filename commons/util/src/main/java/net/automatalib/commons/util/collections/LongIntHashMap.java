@@ -0,0 +1,220 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * A map from (primitive) {@code long} keys to non-negative (primitive) {@code int} values. The map uses open addressing
+ * with linear probing and therefore does not allocate any objects on insertion or lookup. This makes it suitable for
+ * e.g. associating encoded state tuples of product automata with their ids.
+ * <p>
+ * Negative values cannot be stored in this map, as they are used to mark empty slots. Removal of entries is not
+ * supported.
+ */
+public class LongIntHashMap {
+
+    /**
+     * The value returned by lookup operations if no value is associated with a given key.
+     */
+    public static final int MISSING = -1;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] values;
+    private int shift;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    /**
+     * Default constructor.
+     */
+    public LongIntHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize
+     *         the number of entries that can be stored in the map without triggering an internal resize operation
+     */
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Returns the value associated with the given key.
+     *
+     * @param key
+     *         the key
+     *
+     * @return the value associated with the given key, or {@link #MISSING} if no such value exists
+     */
+    public int get(long key) {
+        int idx = hash(key);
+
+        while (values[idx] != MISSING) {
+            if (keys[idx] == key) {
+                return values[idx];
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        return MISSING;
+    }
+
+    /**
+     * Returns whether this map contains a value for the given key.
+     *
+     * @param key
+     *         the key
+     *
+     * @return {@code true} if this map contains a value for the given key, {@code false} otherwise
+     */
+    public boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Associates the given value with the given key. Any previously associated value is overwritten.
+     *
+     * @param key
+     *         the key
+     * @param value
+     *         the (non-negative) value
+     *
+     * @return the previously associated value, or {@link #MISSING} if the key was not contained in the map
+     */
+    public int put(long key, int value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * Associates the given value with the given key, if the key is not yet contained in the map.
+     *
+     * @param key
+     *         the key
+     * @param value
+     *         the (non-negative) value
+     *
+     * @return the currently associated value (in which case the map is not modified), or {@link #MISSING} if the key
+     * was not contained in the map and the given value has been stored
+     */
+    public int putIfAbsent(long key, int value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Returns the number of entries stored in this map.
+     *
+     * @return the number of entries stored in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this map is empty.
+     *
+     * @return {@code true} if this map contains no entries, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries from this map. The capacity of this map is retained.
+     */
+    public void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    private int put(long key, int value, boolean overwrite) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative values can be stored, but got " + value);
+        }
+
+        int idx = hash(key);
+
+        while (values[idx] != MISSING) {
+            if (keys[idx] == key) {
+                final int old = values[idx];
+                if (overwrite) {
+                    values[idx] = value;
+                }
+                return old;
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        keys[idx] = key;
+        values[idx] = value;
+
+        if (++size > threshold) {
+            rehash();
+        }
+
+        return MISSING;
+    }
+
+    private int hash(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void rehash() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        allocate(oldValues.length << 1);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            final int value = oldValues[i];
+            if (value != MISSING) {
+                final long key = oldKeys[i];
+                int idx = hash(key);
+                while (values[idx] != MISSING) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = key;
+                values[idx] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if (capacity > 1 << 30) {
+            throw new IllegalStateException("Maximum capacity exceeded");
+        }
+
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(this.values, MISSING);
+        this.shift = Long.numberOfLeadingZeros(capacity - 1);
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        final long required = Math.max(2, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        return (int) Math.min(1 << 30, Long.highestOneBit(required - 1) << 1);
+    }
+}
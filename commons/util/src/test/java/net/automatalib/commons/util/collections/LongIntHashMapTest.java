@@ -0,0 +1,80 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testBasicOperations() {
+        final LongIntHashMap map = new LongIntHashMap(2);
+
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(map.get(42L), LongIntHashMap.MISSING);
+
+        Assert.assertEquals(map.put(42L, 1), LongIntHashMap.MISSING);
+        Assert.assertEquals(map.put(-42L, 2), LongIntHashMap.MISSING);
+        Assert.assertEquals(map.put(Long.MAX_VALUE, 3), LongIntHashMap.MISSING);
+        Assert.assertEquals(map.size(), 3);
+
+        Assert.assertEquals(map.get(42L), 1);
+        Assert.assertEquals(map.get(-42L), 2);
+        Assert.assertEquals(map.get(Long.MAX_VALUE), 3);
+        Assert.assertFalse(map.containsKey(0L));
+
+        Assert.assertEquals(map.put(42L, 4), 1);
+        Assert.assertEquals(map.get(42L), 4);
+        Assert.assertEquals(map.putIfAbsent(42L, 5), 4);
+        Assert.assertEquals(map.get(42L), 4);
+        Assert.assertEquals(map.size(), 3);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.containsKey(42L));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final Random random = new Random(42);
+        final LongIntHashMap map = new LongIntHashMap();
+        final Map<Long, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            final long key = random.nextInt(50_000) * 31L * Integer.MAX_VALUE;
+            final int value = random.nextInt(Integer.MAX_VALUE);
+
+            final Integer expected = reference.put(key, value);
+            Assert.assertEquals(map.put(key, value), expected == null ? LongIntHashMap.MISSING : expected.intValue());
+        }
+
+        Assert.assertEquals(map.size(), reference.size());
+
+        for (Map.Entry<Long, Integer> e : reference.entrySet()) {
+            Assert.assertEquals(map.get(e.getKey()), e.getValue().intValue());
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeValue() {
+        new LongIntHashMap().put(0L, -1);
+    }
+}
@@ -81,6 +81,24 @@ public abstract class AbstractCompact<I, T, SP, TP> implements MutableAutomaton<
         this.stateCapacity = stateCapacity;
     }
 
+    /**
+     * Constructor for subclasses whose storage already contains the data of a given number of states, e.g., because
+     * it has been loaded from an external source.
+     *
+     * @param alphabet
+     *         the input alphabet
+     * @param numStates
+     *         the number of (already existing) states
+     * @param stateCapacity
+     *         the state capacity of the storage
+     * @param resizeFactor
+     *         the resize factor
+     */
+    protected AbstractCompact(Alphabet<I> alphabet, int numStates, int stateCapacity, float resizeFactor) {
+        this(alphabet, stateCapacity, resizeFactor);
+        this.numStates = numStates;
+    }
+
     @Override
     public Collection<Integer> getStates() {
         return CollectionsUtil.intRange(0, numStates);
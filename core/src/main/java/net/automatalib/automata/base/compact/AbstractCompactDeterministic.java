@@ -58,6 +58,15 @@ public abstract class AbstractCompactDeterministic<I, T, SP, TP> extends Abstrac
         this.initial = other.initial;
     }
 
+    protected AbstractCompactDeterministic(Alphabet<I> alphabet,
+                                           int numStates,
+                                           int initial,
+                                           int stateCapacity,
+                                           float resizeFactor) {
+        super(alphabet, numStates, stateCapacity, resizeFactor);
+        this.initial = initial;
+    }
+
     @Override
     public void setInitialState(@Nullable Integer state) {
         setInitialState(toId(state));
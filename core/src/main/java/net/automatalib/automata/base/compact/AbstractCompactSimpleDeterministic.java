@@ -15,6 +15,7 @@
  */
 package net.automatalib.automata.base.compact;
 
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
 
@@ -102,6 +103,35 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
         transitions[toMemoryIndex(state, inputIdx)] = succ;
     }
 
+    /**
+     * Bulk-reads the successors of all {@link #size() states} of this automaton from the given buffer. The buffer is
+     * expected to contain {@code size() * numInputs()} successor IDs in state-major order (i.e., the successor of state
+     * {@code s} for the input symbol with index {@code i} at relative position {@code s * numInputs() + i}), where
+     * {@link AbstractCompact#INVALID_STATE} denotes an undefined transition. The position of the buffer is advanced
+     * accordingly.
+     *
+     * @param source
+     *         the buffer to read the successors from
+     *
+     * @see #writeTransitions(IntBuffer)
+     */
+    public void readTransitions(IntBuffer source) {
+        source.get(transitions, 0, size() * numInputs());
+    }
+
+    /**
+     * Bulk-writes the successors of all {@link #size() states} of this automaton to the given buffer, using the layout
+     * described in {@link #readTransitions(IntBuffer)}. The position of the buffer is advanced accordingly.
+     *
+     * @param target
+     *         the buffer to write the successors to
+     *
+     * @see #readTransitions(IntBuffer)
+     */
+    public void writeTransitions(IntBuffer target) {
+        target.put(transitions, 0, size() * numInputs());
+    }
+
     @Override
     public Void getTransitionProperty(Integer transition) {
         return null;
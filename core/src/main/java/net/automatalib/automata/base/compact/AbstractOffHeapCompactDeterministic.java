@@ -0,0 +1,332 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Abstract super class for deterministic compact automata, whose data is stored outside of the Java heap in {@link
+ * OffHeapIntArray}s. As a result, the number of transitions is not limited by the maximum size of Java arrays and the
+ * (potentially multi-gigabyte) automata data does not put any pressure on the garbage collector.
+ * <p>
+ * Automata of this kind can be {@link #save(Path) saved} to files, whose data can be memory-mapped by the respective
+ * {@code load} methods of the subclasses. Loading an automaton is (nearly) independent of its size, as the contents
+ * of the file are only read on access. The file format consists of a header of {@link #HEADER_SIZE} bytes (containing
+ * a magic number, the format version, the type of the automaton, the size of the input alphabet, the number of states
+ * and the initial state), followed by the transition table and the (subclass-specific) tables of the automaton. All
+ * values are stored as {@code int}s in {@link OffHeapIntArray#BYTE_ORDER little-endian} byte order.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <T>
+ *         transition type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+public abstract class AbstractOffHeapCompactDeterministic<I, T, SP, TP>
+        extends AbstractCompactDeterministic<I, T, SP, TP> {
+
+    /**
+     * The size (in bytes) of the file header.
+     */
+    protected static final int HEADER_SIZE = 32;
+
+    private static final int MAGIC = 0x4C41434F; // "OCAL" in little-endian byte order
+    private static final int FORMAT_VERSION = 1;
+
+    protected OffHeapIntArray transitions;
+    private final float resizeFactor;
+    private int capacity;
+
+    public AbstractOffHeapCompactDeterministic(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
+        super(alphabet, stateCapacity, resizeFactor);
+        this.resizeFactor = resizeFactor;
+        this.capacity = stateCapacity;
+        this.transitions = OffHeapIntArray.allocate((long) stateCapacity * numInputs(), AbstractCompact.INVALID_STATE);
+    }
+
+    protected AbstractOffHeapCompactDeterministic(Alphabet<I> alphabet,
+                                                  AbstractOffHeapCompactDeterministic<?, ?, ?, ?> other) {
+        super(alphabet, other);
+        this.resizeFactor = other.resizeFactor;
+        this.capacity = other.capacity;
+        this.transitions = other.transitions.copyOf(other.transitions.length(), AbstractCompact.INVALID_STATE);
+    }
+
+    protected AbstractOffHeapCompactDeterministic(Alphabet<I> alphabet, Header header, OffHeapIntArray transitions) {
+        super(alphabet, header.numStates, header.initial, header.numStates, DEFAULT_RESIZE_FACTOR);
+        this.resizeFactor = DEFAULT_RESIZE_FACTOR;
+        this.capacity = header.numStates;
+        this.transitions = transitions;
+    }
+
+    @Override
+    public int addIntState(@Nullable SP property) {
+        final int required = size() + 1;
+        if (required > capacity) {
+            final int newCapacity =
+                    (int) Math.min(Integer.MAX_VALUE, Math.max(required, (long) (capacity * resizeFactor)));
+            updateStorageCapacity(newCapacity);
+            this.capacity = newCapacity;
+        }
+        return super.addIntState(property);
+    }
+
+    /**
+     * Implementing classes should override this method in order to resize their (state- and transition-specific)
+     * storages when the state capacity grows. Implementations must call the super implementation.
+     *
+     * @param newCapacity
+     *         the new state capacity
+     */
+    protected void updateStorageCapacity(int newCapacity) {
+        this.transitions = transitions.copyOf((long) newCapacity * numInputs(), AbstractCompact.INVALID_STATE);
+    }
+
+    @Override
+    protected void updateTransitionStorage(Payload payload) {
+        // state capacities are managed by #addIntState, we only need to react to new alphabet symbols
+        final int oldNumInputs = numInputs();
+        final int newNumInputs = getInputAlphabet().size();
+
+        if (oldNumInputs < newNumInputs) {
+            updateStorageLayout(oldNumInputs, newNumInputs);
+        }
+    }
+
+    /**
+     * Implementing classes should override this method in order to update the layout of their transition-specific
+     * storages when the size of the input alphabet grows (see {@link #updateLayout(OffHeapIntArray, int, int, int)}).
+     * Implementations must call the super implementation.
+     *
+     * @param oldNumInputs
+     *         the old size of the input alphabet
+     * @param newNumInputs
+     *         the new size of the input alphabet
+     */
+    protected void updateStorageLayout(int oldNumInputs, int newNumInputs) {
+        this.transitions = updateLayout(transitions, oldNumInputs, newNumInputs, AbstractCompact.INVALID_STATE);
+    }
+
+    /**
+     * Returns a copy of the given transition-specific storage, with the layout for the new size of the input alphabet.
+     *
+     * @param storage
+     *         the current storage
+     * @param oldNumInputs
+     *         the old size of the input alphabet
+     * @param newNumInputs
+     *         the new size of the input alphabet
+     * @param defaultValue
+     *         default value for newly allocated storage positions
+     *
+     * @return a copy of the given storage with updated memory layout
+     */
+    protected final OffHeapIntArray updateLayout(OffHeapIntArray storage,
+                                                 int oldNumInputs,
+                                                 int newNumInputs,
+                                                 int defaultValue) {
+        final OffHeapIntArray result = OffHeapIntArray.allocate((long) capacity * newNumInputs, defaultValue);
+        final int size = size();
+
+        for (int s = 0; s < size; s++) {
+            final long oldOfs = (long) s * oldNumInputs;
+            final long newOfs = (long) s * newNumInputs;
+            for (int i = 0; i < oldNumInputs; i++) {
+                result.set(newOfs + i, storage.get(oldOfs + i));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns for a given state id and input symbol index, the memory location for its associated data.
+     *
+     * @param stateId
+     *         the state id
+     * @param inputId
+     *         the index of input symbol
+     *
+     * @return the memory location for the given state id and input symbol index
+     */
+    protected final long toLongMemoryIndex(int stateId, int inputId) {
+        return (long) stateId * numInputs() + inputId;
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the construction of transition objects)
+    public int getSuccessor(int state, int input) {
+        return transitions.get(toLongMemoryIndex(state, input));
+    }
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        final long lower = toLongMemoryIndex(state, 0);
+        transitions.fill(lower, lower + numInputs(), AbstractCompact.INVALID_STATE);
+    }
+
+    @Override
+    public void clear() {
+        transitions.fill(0, (long) size() * numInputs(), AbstractCompact.INVALID_STATE);
+        super.clear();
+    }
+
+    /**
+     * Writes this automaton to the given file, such that it can be (memory-mapped and) loaded by the {@code load}
+     * method of the respective subclass.
+     *
+     * @param path
+     *         the path of the file to write
+     *
+     * @throws IOException
+     *         if writing the file fails
+     */
+    public void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(OffHeapIntArray.BYTE_ORDER);
+            header.putInt(0, MAGIC)
+                  .putInt(4, FORMAT_VERSION)
+                  .putInt(8, getFormatId())
+                  .putInt(12, numInputs())
+                  .putInt(16, size())
+                  .putInt(20, getIntInitialState());
+
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+
+            position += transitions.writeTo(channel, position, (long) size() * numInputs());
+            writeStorage(channel, position);
+        }
+    }
+
+    /**
+     * Returns the ID that identifies the type of this automaton in the header of saved files.
+     *
+     * @return the format ID
+     */
+    protected abstract int getFormatId();
+
+    /**
+     * Writes the subclass-specific storages to the given channel. This method is called by {@link #save(Path)} after
+     * writing the header and the transition table.
+     *
+     * @param channel
+     *         the channel to write to
+     * @param position
+     *         the position (in bytes) within the channel at which the data should be written
+     *
+     * @throws IOException
+     *         if writing to the channel fails
+     */
+    protected abstract void writeStorage(FileChannel channel, long position) throws IOException;
+
+    /**
+     * Reads and validates the header of a file written by {@link #save(Path)}.
+     *
+     * @param channel
+     *         the channel to read from
+     * @param formatId
+     *         the expected format ID (see {@link #getFormatId()})
+     * @param alphabet
+     *         the input alphabet of the automaton to load
+     *
+     * @return the header information
+     *
+     * @throws IOException
+     *         if reading from the channel fails or the file has not been written by an automaton of the expected type
+     * @throws IllegalArgumentException
+     *         if the size of the given alphabet does not match the size of the alphabet of the saved automaton
+     */
+    protected static Header readHeader(FileChannel channel, int formatId, Alphabet<?> alphabet) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(OffHeapIntArray.BYTE_ORDER);
+
+        long position = 0;
+        while (header.hasRemaining()) {
+            final int read = channel.read(header, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file while reading header");
+            }
+            position += read;
+        }
+
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not an automaton file");
+        }
+        if (header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + header.getInt(4));
+        }
+        if (header.getInt(8) != formatId) {
+            throw new IOException("Unexpected automaton type: " + header.getInt(8) + " (expected " + formatId + ')');
+        }
+
+        final int numInputs = header.getInt(12);
+        if (numInputs != alphabet.size()) {
+            throw new IllegalArgumentException(
+                    "Alphabet sizes must match, but they do not (file/given): " + numInputs + " vs. " +
+                    alphabet.size());
+        }
+
+        return new Header(numInputs, header.getInt(16), header.getInt(20));
+    }
+
+    /**
+     * Checks that the given channel contains at least the given number of bytes.
+     *
+     * @param channel
+     *         the channel to check
+     * @param expectedSize
+     *         the expected minimum size (in bytes)
+     *
+     * @throws IOException
+     *         if the channel is too small
+     */
+    protected static void checkSize(FileChannel channel, long expectedSize) throws IOException {
+        if (channel.size() < expectedSize) {
+            throw new IOException("File is truncated: expected " + expectedSize + " bytes, found " + channel.size());
+        }
+    }
+
+    /**
+     * The information stored in the header of a saved automaton.
+     */
+    protected static final class Header {
+
+        public final int numInputs;
+        public final int numStates;
+        public final int initial;
+
+        Header(int numInputs, int numStates, int initial) {
+            this.numInputs = numInputs;
+            this.numStates = numStates;
+            this.initial = initial;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * A {@code long}-indexed array of {@code int}s, whose data is stored outside of the Java heap. The data is stored in
+ * segments of (direct or memory-mapped) {@link ByteBuffer}s, which allows to store more than {@link Integer#MAX_VALUE}
+ * elements and does not put any pressure on the garbage collector.
+ * <p>
+ * The data is stored in {@link #BYTE_ORDER little-endian} byte order, so that arrays written via {@link
+ * #writeTo(FileChannel, long, long)} can be {@link #map(FileChannel, MapMode, long, long) mapped} on any platform.
+ * <p>
+ * Arrays that are mapped in {@link MapMode#READ_ONLY read-only} mode can still be modified: Upon the first
+ * modification of a segment, the segment is copied to a direct buffer (copy-on-write), so the underlying file is never
+ * modified.
+ * <p>
+ * Note that the memory of direct buffers is only released once the array becomes unreachable and is collected.
+ */
+public final class OffHeapIntArray {
+
+    /**
+     * The byte order in which the data of all arrays is stored.
+     */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // 2^28 ints (1 GiB) per segment
+    private static final int SEGMENT_SHIFT = 28;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final ByteBuffer[] byteSegments;
+    private final IntBuffer[] segments;
+    private final long length;
+
+    private OffHeapIntArray(ByteBuffer[] byteSegments, long length) {
+        this.byteSegments = byteSegments;
+        this.segments = new IntBuffer[byteSegments.length];
+        this.length = length;
+
+        for (int i = 0; i < byteSegments.length; i++) {
+            this.segments[i] = byteSegments[i].order(BYTE_ORDER).asIntBuffer();
+        }
+    }
+
+    /**
+     * Allocates a new array of the given length, whose elements are initialized with the given value.
+     *
+     * @param length
+     *         the number of elements
+     * @param defaultValue
+     *         the initial value of all elements
+     *
+     * @return the allocated array
+     */
+    public static OffHeapIntArray allocate(long length, int defaultValue) {
+        final ByteBuffer[] segments = new ByteBuffer[numSegments(length)];
+
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentLength(length, i) * Integer.BYTES);
+        }
+
+        final OffHeapIntArray result = new OffHeapIntArray(segments, length);
+        if (defaultValue != 0) {
+            result.fill(0, length, defaultValue);
+        }
+        return result;
+    }
+
+    /**
+     * Maps an array of the given length from the given file channel. The contents of the array are loaded lazily by
+     * the operating system, i.e., mapping an array is (nearly) independent of its length.
+     *
+     * @param channel
+     *         the channel to map the data from
+     * @param mode
+     *         the mapping mode, see {@link FileChannel#map(MapMode, long, long)}. For {@link MapMode#READ_ONLY}, the
+     *         segments of the array are copied upon their first modification
+     * @param offset
+     *         the position (in bytes) within the channel at which the array data starts
+     * @param length
+     *         the number of elements
+     *
+     * @return the mapped array
+     *
+     * @throws IOException
+     *         if the data could not be mapped
+     */
+    public static OffHeapIntArray map(FileChannel channel, MapMode mode, long offset, long length) throws IOException {
+        final ByteBuffer[] segments = new ByteBuffer[numSegments(length)];
+
+        long position = offset;
+        for (int i = 0; i < segments.length; i++) {
+            final long bytes = (long) segmentLength(length, i) * Integer.BYTES;
+            segments[i] = channel.map(mode, position, bytes);
+            position += bytes;
+        }
+
+        return new OffHeapIntArray(segments, length);
+    }
+
+    /**
+     * Returns the number of elements of this array.
+     *
+     * @return the number of elements
+     */
+    public long length() {
+        return length;
+    }
+
+    public int get(long idx) {
+        return segments[(int) (idx >>> SEGMENT_SHIFT)].get((int) (idx & SEGMENT_MASK));
+    }
+
+    public void set(long idx, int value) {
+        writableSegment((int) (idx >>> SEGMENT_SHIFT)).put((int) (idx & SEGMENT_MASK), value);
+    }
+
+    /**
+     * Sets the elements between the given indices to the given value.
+     *
+     * @param from
+     *         the index of the first element (inclusive) to set
+     * @param to
+     *         the index of the last element (exclusive) to set
+     * @param value
+     *         the value to set
+     */
+    public void fill(long from, long to, int value) {
+        for (long i = from; i < to; i++) {
+            set(i, value);
+        }
+    }
+
+    /**
+     * Copies the given number of elements from this array to the given destination array.
+     *
+     * @param srcPos
+     *         the index of the first element to copy in this array
+     * @param dest
+     *         the destination array
+     * @param destPos
+     *         the index of the first element to write in the destination array
+     * @param count
+     *         the number of elements to copy
+     */
+    public void copyTo(long srcPos, OffHeapIntArray dest, long destPos, long count) {
+        long src = srcPos, dst = destPos, remaining = count;
+
+        while (remaining > 0) {
+            final int srcOfs = (int) (src & SEGMENT_MASK), dstOfs = (int) (dst & SEGMENT_MASK);
+            final int chunk = (int) Math.min(remaining, Math.min(SEGMENT_SIZE - srcOfs, SEGMENT_SIZE - dstOfs));
+
+            final IntBuffer srcBuffer = segments[(int) (src >>> SEGMENT_SHIFT)].duplicate();
+            final IntBuffer dstBuffer = dest.writableSegment((int) (dst >>> SEGMENT_SHIFT)).duplicate();
+
+            // cast to Buffer for binary compatibility with Java 8
+            ((Buffer) srcBuffer).position(srcOfs);
+            ((Buffer) srcBuffer).limit(srcOfs + chunk);
+            ((Buffer) dstBuffer).position(dstOfs);
+            dstBuffer.put(srcBuffer);
+
+            src += chunk;
+            dst += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Returns a (directly allocated) copy of this array with the given length. If the new length exceeds the length of
+     * this array, the remaining elements are initialized with the given value.
+     *
+     * @param newLength
+     *         the length of the copy
+     * @param defaultValue
+     *         the value of the elements that are not copied from this array
+     *
+     * @return the copy
+     */
+    public OffHeapIntArray copyOf(long newLength, int defaultValue) {
+        final OffHeapIntArray result = allocate(newLength, 0);
+        final long copied = Math.min(length, newLength);
+
+        copyTo(0, result, 0, copied);
+        if (defaultValue != 0) {
+            result.fill(copied, newLength, defaultValue);
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes the given number of elements (starting at index {@code 0}) to the given channel.
+     *
+     * @param channel
+     *         the channel to write to
+     * @param position
+     *         the position (in bytes) within the channel at which the data should be written
+     * @param count
+     *         the number of elements to write
+     *
+     * @return the number of written bytes
+     *
+     * @throws IOException
+     *         if writing to the channel fails
+     */
+    public long writeTo(FileChannel channel, long position, long count) throws IOException {
+        long written = 0;
+        long remaining = count;
+
+        for (int i = 0; remaining > 0; i++) {
+            final int chunk = (int) Math.min(remaining, SEGMENT_SIZE);
+            final ByteBuffer buffer = byteSegments[i].duplicate();
+
+            ((Buffer) buffer).position(0);
+            ((Buffer) buffer).limit(chunk * Integer.BYTES);
+
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer, position + written);
+            }
+
+            remaining -= chunk;
+        }
+
+        return written;
+    }
+
+    private IntBuffer writableSegment(int segment) {
+        final IntBuffer buffer = segments[segment];
+
+        if (!buffer.isReadOnly()) {
+            return buffer;
+        }
+
+        final ByteBuffer source = byteSegments[segment].duplicate();
+        final ByteBuffer copy = ByteBuffer.allocateDirect(source.capacity());
+
+        ((Buffer) source).clear();
+        copy.put(source);
+        ((Buffer) copy).clear();
+
+        byteSegments[segment] = copy;
+        segments[segment] = copy.order(BYTE_ORDER).asIntBuffer();
+
+        return segments[segment];
+    }
+
+    private static int numSegments(long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        return (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    }
+
+    private static int segmentLength(long length, int segment) {
+        return (int) Math.min(SEGMENT_SIZE, length - ((long) segment << SEGMENT_SHIFT));
+    }
+}
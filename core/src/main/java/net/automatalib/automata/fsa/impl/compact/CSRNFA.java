@@ -0,0 +1,245 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+
+/**
+ * An immutable {@link NFA} whose transitions are stored in compressed sparse row (CSR) format: the successors of state
+ * {@code s} for the input symbol with index {@code i} are stored in {@code targets[offsets[s * k + i]]} to {@code
+ * targets[offsets[s * k + i + 1] - 1]}, where {@code k} denotes the size of the input alphabet. Compared to {@link
+ * CompactNFA}, which maintains a {@link BitSet} per transition, this representation is considerably more
+ * memory-efficient for sparse automata and allows to iterate over successors by means of sequential array accesses.
+ * <p>
+ * Instances of this class are created by {@link #freeze(NFA, Alphabet) freezing} an existing NFA.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public final class CSRNFA<I> implements NFA<Integer, I>, InputAlphabetHolder<I>, StateIDs<Integer> {
+
+    private final Alphabet<I> alphabet;
+    private final int numStates;
+    private final Set<Integer> initials;
+    private final BitSet accepting;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private CSRNFA(Alphabet<I> alphabet,
+                   int numStates,
+                   Set<Integer> initials,
+                   BitSet accepting,
+                   int[] offsets,
+                   int[] targets) {
+        this.alphabet = alphabet;
+        this.numStates = numStates;
+        this.initials = Collections.unmodifiableSet(initials);
+        this.accepting = accepting;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Creates a frozen copy of the given NFA. States are identified by their {@link StateIDs state ids} in the given
+     * automaton.
+     *
+     * @param nfa
+     *         the NFA to freeze
+     * @param alphabet
+     *         the input symbols to consider
+     *
+     * @return the frozen NFA
+     */
+    public static <S, I> CSRNFA<I> freeze(NFA<S, I> nfa, Alphabet<I> alphabet) {
+        final int numStates = nfa.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> stateIDs = nfa.stateIDs();
+
+        final Set<Integer> initials = new HashSet<>();
+        for (S init : nfa.getInitialStates()) {
+            initials.add(stateIDs.getStateId(init));
+        }
+
+        final BitSet accepting = new BitSet(numStates);
+        final int[] offsets = new int[numStates * numInputs + 1];
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = stateIDs.getState(s);
+            accepting.set(s, nfa.isAccepting(state));
+
+            for (int i = 0; i < numInputs; i++) {
+                final int idx = s * numInputs + i;
+                offsets[idx + 1] = offsets[idx] + nfa.getTransitions(state, alphabet.getSymbol(i)).size();
+            }
+        }
+
+        final int[] targets = new int[offsets[numStates * numInputs]];
+        int t = 0;
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = stateIDs.getState(s);
+            for (int i = 0; i < numInputs; i++) {
+                for (S succ : nfa.getTransitions(state, alphabet.getSymbol(i))) {
+                    targets[t++] = stateIDs.getStateId(succ);
+                }
+            }
+        }
+
+        return new CSRNFA<>(alphabet, numStates, initials, accepting, offsets, targets);
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public Set<Integer> getInitialStates() {
+        return initials;
+    }
+
+    @Override
+    public Collection<Integer> getTransitions(Integer state, I input) {
+        return getTransitions(state.intValue(), alphabet.getSymbolIndex(input));
+    }
+
+    public Collection<Integer> getTransitions(int state, int inputIdx) {
+        final int idx = state * alphabet.size() + inputIdx;
+        return new TargetList(offsets[idx], offsets[idx + 1]);
+    }
+
+    /**
+     * Returns the position of the first successor of the given state and input in the target array. The successors
+     * are accessible via {@link #getTarget(int)} for all positions between the returned value (inclusive) and {@link
+     * #getSuccessorsHigh(int, int)} (exclusive).
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return the position of the first successor in the target array
+     */
+    public int getSuccessorsLow(int state, int inputIdx) {
+        return offsets[state * alphabet.size() + inputIdx];
+    }
+
+    /**
+     * Returns the position of the last successor of the given state and input in the target array, plus one.
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return the position of the last successor in the target array, plus one
+     *
+     * @see #getSuccessorsLow(int, int)
+     */
+    public int getSuccessorsHigh(int state, int inputIdx) {
+        return offsets[state * alphabet.size() + inputIdx + 1];
+    }
+
+    /**
+     * Returns the (id of the) successor state stored at the given position of the target array.
+     *
+     * @param pos
+     *         the position in the target array
+     *
+     * @return the successor state id
+     */
+    public int getTarget(int pos) {
+        return targets[pos];
+    }
+
+    /**
+     * Returns the total number of transitions of this automaton.
+     *
+     * @return the number of transitions
+     */
+    public int getNumTransitions() {
+        return targets.length;
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    public boolean isAccepting(int state) {
+        return accepting.get(state);
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    private final class TargetList extends AbstractList<Integer> {
+
+        private final int start;
+        private final int end;
+
+        TargetList(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            return targets[start + index];
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+}
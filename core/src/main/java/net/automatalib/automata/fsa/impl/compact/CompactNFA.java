@@ -55,6 +55,16 @@ public class CompactNFA<I> extends AbstractCompactSimpleNondet<I, Boolean> imple
         return new CompactNFA<>(newAlphabet, this);
     }
 
+    /**
+     * Creates an immutable {@link CSRNFA} copy of the current state of this automaton. Since states are identified by
+     * their ids, the states of the returned automaton correspond to the states of this automaton.
+     *
+     * @return the frozen automaton
+     */
+    public CSRNFA<I> freeze() {
+        return CSRNFA.freeze(this, getInputAlphabet());
+    }
+
     @Override
     public boolean isAccepting(Integer state) {
         return isAccepting(state.intValue());
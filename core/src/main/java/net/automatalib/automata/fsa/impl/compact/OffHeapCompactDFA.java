@@ -0,0 +1,231 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractOffHeapCompactDeterministic;
+import net.automatalib.automata.base.compact.OffHeapIntArray;
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.commons.util.WrapperUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variant of the {@link CompactDFA} that stores its transition and acceptance data outside of the Java heap. See
+ * {@link AbstractOffHeapCompactDeterministic} for details.
+ * <p>
+ * The file format of {@link #save(Path) saved} DFAs consists of the common header and transition table, followed by
+ * the acceptance table that stores the acceptance of 32 states in each {@code int}.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public class OffHeapCompactDFA<I> extends AbstractOffHeapCompactDeterministic<I, Integer, Boolean, Void>
+        implements MutableDFA<Integer, I> {
+
+    private static final int FORMAT_ID = 1;
+
+    private OffHeapIntArray acceptance;
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet) {
+        this(alphabet, DEFAULT_INIT_CAPACITY, DEFAULT_RESIZE_FACTOR);
+    }
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet, int stateCapacity) {
+        this(alphabet, stateCapacity, DEFAULT_RESIZE_FACTOR);
+    }
+
+    public OffHeapCompactDFA(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
+        super(alphabet, stateCapacity, resizeFactor);
+        this.acceptance = OffHeapIntArray.allocate(acceptanceLength(stateCapacity), 0);
+    }
+
+    public OffHeapCompactDFA(OffHeapCompactDFA<I> other) {
+        super(other.getInputAlphabet(), other);
+        this.acceptance = other.acceptance.copyOf(other.acceptance.length(), 0);
+    }
+
+    private OffHeapCompactDFA(Alphabet<I> alphabet,
+                              Header header,
+                              OffHeapIntArray transitions,
+                              OffHeapIntArray acceptance) {
+        super(alphabet, header, transitions);
+        this.acceptance = acceptance;
+    }
+
+    /**
+     * Loads a DFA from a file written by {@link #save(Path)}. The contents of the file are memory-mapped {@link
+     * MapMode#READ_ONLY read-only}, i.e., they are only read on access and the file does not need to be writable. Upon
+     * their first modification, the affected parts of the returned DFA are copied to memory, so modifications are not
+     * written back to the file.
+     *
+     * @param path
+     *         the path of the file to load
+     * @param alphabet
+     *         the input alphabet of the DFA
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the loaded DFA
+     *
+     * @throws IOException
+     *         if reading the file fails or the file does not contain a saved DFA
+     */
+    public static <I> OffHeapCompactDFA<I> load(Path path, Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final Header header = readHeader(channel, FORMAT_ID, alphabet);
+
+            final long numTransitions = (long) header.numStates * header.numInputs;
+            final long acceptanceOffset = HEADER_SIZE + numTransitions * Integer.BYTES;
+            final long acceptanceLength = acceptanceLength(header.numStates);
+
+            checkSize(channel, acceptanceOffset + acceptanceLength * Integer.BYTES);
+
+            final OffHeapIntArray transitions =
+                    OffHeapIntArray.map(channel, MapMode.READ_ONLY, HEADER_SIZE, numTransitions);
+            final OffHeapIntArray acceptance =
+                    OffHeapIntArray.map(channel, MapMode.READ_ONLY, acceptanceOffset, acceptanceLength);
+
+            return new OffHeapCompactDFA<>(alphabet, header, transitions, acceptance);
+        }
+    }
+
+    private static long acceptanceLength(int numStates) {
+        return (numStates + (long) Integer.SIZE - 1) / Integer.SIZE;
+    }
+
+    @Override
+    protected void updateStorageCapacity(int newCapacity) {
+        super.updateStorageCapacity(newCapacity);
+        this.acceptance = acceptance.copyOf(acceptanceLength(newCapacity), 0);
+    }
+
+    @Override
+    protected int getFormatId() {
+        return FORMAT_ID;
+    }
+
+    @Override
+    protected void writeStorage(FileChannel channel, long position) throws IOException {
+        acceptance.writeTo(channel, position, acceptanceLength(size()));
+    }
+
+    @Override
+    public void flipAcceptance() {
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            setAccepting(i, !isAccepting(i));
+        }
+    }
+
+    @Override
+    public void setAccepting(Integer state, boolean accepting) {
+        setAccepting(state.intValue(), accepting);
+    }
+
+    public void setAccepting(int state, boolean accepting) {
+        final long idx = state / Integer.SIZE;
+        final int mask = 1 << (state % Integer.SIZE);
+        final int word = acceptance.get(idx);
+        acceptance.set(idx, accepting ? word | mask : word & ~mask);
+    }
+
+    @Override
+    public Integer addState(boolean accepting) {
+        return addState(Boolean.valueOf(accepting));
+    }
+
+    @Override
+    public void clear() {
+        acceptance.fill(0, acceptanceLength(size()), 0);
+        super.clear();
+    }
+
+    @Override
+    public void setStateProperty(int stateId, @Nullable Boolean property) {
+        setAccepting(stateId, WrapperUtil.booleanValue(property));
+    }
+
+    @Override
+    public Boolean getStateProperty(int stateId) {
+        return isAccepting(stateId);
+    }
+
+    public boolean isAccepting(int stateId) {
+        return (acceptance.get(stateId / Integer.SIZE) & (1 << (stateId % Integer.SIZE))) != 0;
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    @Override
+    public Integer createTransition(int successor, Void property) {
+        return successor;
+    }
+
+    @Override
+    public @Nullable Integer getTransition(int state, int input) {
+        return toState(transitions.get(toLongMemoryIndex(state, input)));
+    }
+
+    @Override
+    public void setTransitionProperty(Integer transition, Void property) {}
+
+    @Override
+    public Void getTransitionProperty(Integer transition) {
+        return null;
+    }
+
+    @Override
+    public void setTransition(int state, int input, @Nullable Integer transition) {
+        setTransition(state, input, toId(transition));
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, Void property) {
+        setTransition(state, input, successor);
+    }
+
+    public void setTransition(int state, int inputIdx, int succ) {
+        transitions.set(toLongMemoryIndex(state, inputIdx), succ);
+    }
+
+    @Override
+    public int getIntSuccessor(Integer transition) {
+        return toId(transition);
+    }
+
+    public static final class Creator<I> implements AutomatonCreator<OffHeapCompactDFA<I>, I> {
+
+        @Override
+        public OffHeapCompactDFA<I> createAutomaton(Alphabet<I> alphabet, int numStates) {
+            return new OffHeapCompactDFA<>(alphabet, numStates);
+        }
+
+        @Override
+        public OffHeapCompactDFA<I> createAutomaton(Alphabet<I> alphabet) {
+            return new OffHeapCompactDFA<>(alphabet);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.base.compact.AbstractOffHeapCompactDeterministic;
+import net.automatalib.automata.base.compact.OffHeapCompactTransition;
+import net.automatalib.automata.base.compact.OffHeapIntArray;
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.automata.transducers.StateLocalInputMealyMachine;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A variant of the {@link CompactMealy} that stores its transition data outside of the Java heap. See {@link
+ * AbstractOffHeapCompactDeterministic} for details.
+ * <p>
+ * Outputs are stored as indices into the (on-heap) list of {@link #getOutputs() distinct outputs} of this Mealy
+ * machine, where {@code -1} encodes a {@code null} output. The file format of {@link #save(Path) saved} Mealy machines
+ * consists of the common header and transition table, followed by the output index table. Note that the outputs
+ * themselves are not part of the file. Instead, they need to be provided to the {@link #load(Path, Alphabet, List)}
+ * method in the same order as returned by {@link #getOutputs()} when saving the Mealy machine.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class OffHeapCompactMealy<I, O>
+        extends AbstractOffHeapCompactDeterministic<I, OffHeapCompactTransition<O>, Void, O>
+        implements MutableMealyMachine<Integer, I, OffHeapCompactTransition<O>, O>,
+                   StateLocalInputMealyMachine<Integer, I, OffHeapCompactTransition<O>, O> {
+
+    private static final int FORMAT_ID = 2;
+    private static final int NO_OUTPUT = -1;
+
+    private OffHeapIntArray outputIndices;
+    private final List<@Nullable O> outputs;
+    private final Map<@Nullable O, Integer> outputMap;
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet) {
+        this(alphabet, DEFAULT_INIT_CAPACITY, DEFAULT_RESIZE_FACTOR);
+    }
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet, int stateCapacity) {
+        this(alphabet, stateCapacity, DEFAULT_RESIZE_FACTOR);
+    }
+
+    public OffHeapCompactMealy(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
+        super(alphabet, stateCapacity, resizeFactor);
+        this.outputIndices = OffHeapIntArray.allocate((long) stateCapacity * numInputs(), NO_OUTPUT);
+        this.outputs = new ArrayList<>();
+        this.outputMap = new HashMap<>();
+    }
+
+    public OffHeapCompactMealy(OffHeapCompactMealy<I, O> other) {
+        super(other.getInputAlphabet(), other);
+        this.outputIndices = other.outputIndices.copyOf(other.outputIndices.length(), NO_OUTPUT);
+        this.outputs = new ArrayList<>(other.outputs);
+        this.outputMap = new HashMap<>(other.outputMap);
+    }
+
+    private OffHeapCompactMealy(Alphabet<I> alphabet,
+                                Header header,
+                                OffHeapIntArray transitions,
+                                OffHeapIntArray outputIndices,
+                                List<? extends O> outputs) {
+        super(alphabet, header, transitions);
+        this.outputIndices = outputIndices;
+        this.outputs = new ArrayList<>(outputs);
+        this.outputMap = new HashMap<>();
+
+        for (int i = 0; i < outputs.size(); i++) {
+            this.outputMap.putIfAbsent(outputs.get(i), i);
+        }
+    }
+
+    /**
+     * Loads a Mealy machine from a file written by {@link #save(Path)}. The contents of the file are memory-mapped
+     * {@link MapMode#READ_ONLY read-only}, i.e., they are only read on access and the file does not need to be
+     * writable. Upon their first modification, the affected parts of the returned Mealy machine are copied to memory,
+     * so modifications are not written back to the file.
+     *
+     * @param path
+     *         the path of the file to load
+     * @param alphabet
+     *         the input alphabet of the Mealy machine
+     * @param outputs
+     *         the distinct outputs of the Mealy machine, in the order returned by {@link #getOutputs()} when saving
+     *         the Mealy machine
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the loaded Mealy machine
+     *
+     * @throws IOException
+     *         if reading the file fails or the file does not contain a saved Mealy machine
+     */
+    public static <I, O> OffHeapCompactMealy<I, O> load(Path path, Alphabet<I> alphabet, List<? extends O> outputs)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final Header header = readHeader(channel, FORMAT_ID, alphabet);
+
+            final long numTransitions = (long) header.numStates * header.numInputs;
+            final long outputsOffset = HEADER_SIZE + numTransitions * Integer.BYTES;
+
+            checkSize(channel, outputsOffset + numTransitions * Integer.BYTES);
+
+            final OffHeapIntArray transitions =
+                    OffHeapIntArray.map(channel, MapMode.READ_ONLY, HEADER_SIZE, numTransitions);
+            final OffHeapIntArray outputIndices =
+                    OffHeapIntArray.map(channel, MapMode.READ_ONLY, outputsOffset, numTransitions);
+
+            return new OffHeapCompactMealy<>(alphabet, header, transitions, outputIndices, outputs);
+        }
+    }
+
+    /**
+     * Returns the distinct outputs of this Mealy machine. The position of each output in the returned list corresponds
+     * to the index that is used for storing the output.
+     *
+     * @return the distinct outputs of this Mealy machine
+     */
+    public List<@Nullable O> getOutputs() {
+        return Collections.unmodifiableList(outputs);
+    }
+
+    @Override
+    protected void updateStorageCapacity(int newCapacity) {
+        super.updateStorageCapacity(newCapacity);
+        this.outputIndices = outputIndices.copyOf((long) newCapacity * numInputs(), NO_OUTPUT);
+    }
+
+    @Override
+    protected void updateStorageLayout(int oldNumInputs, int newNumInputs) {
+        super.updateStorageLayout(oldNumInputs, newNumInputs);
+        this.outputIndices = updateLayout(outputIndices, oldNumInputs, newNumInputs, NO_OUTPUT);
+    }
+
+    @Override
+    protected int getFormatId() {
+        return FORMAT_ID;
+    }
+
+    @Override
+    protected void writeStorage(FileChannel channel, long position) throws IOException {
+        outputIndices.writeTo(channel, position, (long) size() * numInputs());
+    }
+
+    private int toOutputIndex(@Nullable O output) {
+        if (output == null) {
+            return NO_OUTPUT;
+        }
+
+        final Integer idx = outputMap.get(output);
+        if (idx != null) {
+            return idx;
+        }
+
+        final int newIdx = outputs.size();
+        outputs.add(output);
+        outputMap.put(output, newIdx);
+        return newIdx;
+    }
+
+    @SuppressWarnings("unchecked")
+    private O toOutput(int idx) {
+        return idx == NO_OUTPUT ? null : (O) outputs.get(idx);
+    }
+
+    @Override
+    public O getTransitionOutput(OffHeapCompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public O getTransitionProperty(OffHeapCompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public void setTransitionProperty(OffHeapCompactTransition<O> transition, O property) {
+        transition.setProperty(property);
+
+        if (transition.isAutomatonTransition()) {
+            outputIndices.set(transition.getMemoryIdx(), toOutputIndex(property));
+        }
+    }
+
+    @Override
+    public void setTransitionOutput(OffHeapCompactTransition<O> transition, O output) {
+        setTransitionProperty(transition, output);
+    }
+
+    @Override
+    public void removeAllTransitions(Integer state) {
+        super.removeAllTransitions(state);
+        final long lower = toLongMemoryIndex(state, 0);
+        outputIndices.fill(lower, lower + numInputs(), NO_OUTPUT);
+    }
+
+    @Override
+    public int getIntSuccessor(OffHeapCompactTransition<O> transition) {
+        return transition.getSuccId();
+    }
+
+    @Override
+    public OffHeapCompactTransition<O> createTransition(int succId, O property) {
+        return new OffHeapCompactTransition<>(succId, property);
+    }
+
+    @Override
+    public void setStateProperty(int state, Void property) {}
+
+    @Override
+    public Void getStateProperty(int stateId) {
+        return null;
+    }
+
+    @Override
+    public void setTransition(int state, int input, @Nullable OffHeapCompactTransition<O> transition) {
+        if (transition == null) {
+            setTransition(state, input, AbstractCompact.INVALID_STATE, null);
+        } else {
+            setTransition(state, input, transition.getSuccId(), transition.getProperty());
+            transition.setMemoryIdx(toLongMemoryIndex(state, input));
+        }
+    }
+
+    @Override
+    public void setTransition(int state, int input, int successor, @Nullable O property) {
+        final long idx = toLongMemoryIndex(state, input);
+        transitions.set(idx, successor);
+        outputIndices.set(idx, toOutputIndex(property));
+    }
+
+    @Override
+    public void clear() {
+        outputIndices.fill(0, (long) size() * numInputs(), NO_OUTPUT);
+        super.clear();
+    }
+
+    @Override
+    public @Nullable OffHeapCompactTransition<O> getTransition(int state, int input) {
+        final long idx = toLongMemoryIndex(state, input);
+        final int succ = transitions.get(idx);
+
+        if (succ == AbstractCompact.INVALID_STATE) {
+            return null;
+        }
+
+        return new OffHeapCompactTransition<>(idx, succ, toOutput(outputIndices.get(idx)));
+    }
+
+    public static final class Creator<I, O> implements AutomatonCreator<OffHeapCompactMealy<I, O>, I> {
+
+        @Override
+        public OffHeapCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet, int sizeHint) {
+            return new OffHeapCompactMealy<>(alphabet, sizeHint);
+        }
+
+        @Override
+        public OffHeapCompactMealy<I, O> createAutomaton(Alphabet<I> alphabet) {
+            return new OffHeapCompactMealy<>(alphabet);
+        }
+    }
+}
@@ -136,4 +136,15 @@ public abstract class AbstractCompactGraph<E extends CompactEdge<EP>, NP, EP>
         return edge.getProperty();
     }
 
+    /**
+     * Creates an immutable {@link CSRGraph} copy of the current state of this graph, including its node and edge
+     * properties. Since nodes are identified by their ids, the nodes of the returned graph correspond to the nodes of
+     * this graph.
+     *
+     * @return the frozen graph
+     */
+    public CSRGraph<NP, EP> freeze() {
+        return CSRGraph.freeze(this);
+    }
+
 }
\ No newline at end of file
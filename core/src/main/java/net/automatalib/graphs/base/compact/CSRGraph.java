@@ -0,0 +1,318 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.graphs.base.compact;
+
+import java.util.Collection;
+
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.UniversalGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable graph whose edges are stored in compressed sparse row (CSR) format: the outgoing edges of node {@code n}
+ * are identified by the integers between {@code offsets[n]} (inclusive) and {@code offsets[n + 1]} (exclusive), and the
+ * target of edge {@code e} is stored in {@code targets[e]}. Nodes and edges are therefore plain integers and
+ * traversals only perform sequential array accesses.
+ * <p>
+ * Node and edge properties are stored in optional columns, i.e., arrays indexed by node and edge ids, respectively.
+ * Additionally, an optional primitive column of edge weights can be stored, which is used by the {@code int}-based
+ * graph algorithms of the {@code automata-util} module.
+ * <p>
+ * Instances of this class are created by {@link #freeze(Graph) freezing} an existing graph.
+ *
+ * @param <NP>
+ *         node property type
+ * @param <EP>
+ *         edge property type
+ */
+public final class CSRGraph<NP, EP>
+        implements UniversalGraph<Integer, Integer, NP, EP>, UniversalGraph.IntAbstraction<Integer, NP, EP>,
+                   NodeIDs<Integer> {
+
+    private final int numNodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final @Nullable Object[] nodeProperties;
+    private final @Nullable Object[] edgeProperties;
+    private final float @Nullable [] edgeWeights;
+
+    private CSRGraph(int numNodes,
+                     int[] offsets,
+                     int[] targets,
+                     @Nullable Object[] nodeProperties,
+                     @Nullable Object[] edgeProperties,
+                     float @Nullable [] edgeWeights) {
+        this.numNodes = numNodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.nodeProperties = nodeProperties;
+        this.edgeProperties = edgeProperties;
+        this.edgeWeights = edgeWeights;
+    }
+
+    /**
+     * Creates a frozen copy of the transition structure of the given graph. Nodes are identified by their {@link
+     * NodeIDs node ids} in the given graph.
+     *
+     * @param graph
+     *         the graph to freeze
+     *
+     * @return the frozen graph
+     */
+    public static <N, E> CSRGraph<@Nullable Void, @Nullable Void> freeze(Graph<N, E> graph) {
+        return build(graph, null, null);
+    }
+
+    /**
+     * Creates a frozen copy of the transition structure of the given graph, additionally storing the given edge weights
+     * in a primitive column. Nodes are identified by their {@link NodeIDs node ids} in the given graph.
+     *
+     * @param graph
+     *         the graph to freeze
+     * @param weights
+     *         the edge weights to store
+     *
+     * @return the frozen graph
+     */
+    public static <N, E> CSRGraph<@Nullable Void, @Nullable Void> freeze(Graph<N, E> graph, EdgeWeights<E> weights) {
+        return build(graph, null, weights);
+    }
+
+    /**
+     * Creates a frozen copy of the given graph, including its node and edge properties. Nodes are identified by their
+     * {@link NodeIDs node ids} in the given graph.
+     *
+     * @param graph
+     *         the graph to freeze
+     *
+     * @return the frozen graph
+     */
+    public static <N, E, NP, EP> CSRGraph<NP, EP> freeze(UniversalGraph<N, E, NP, EP> graph) {
+        return build(graph, graph, null);
+    }
+
+    /**
+     * Creates a frozen copy of the given graph, including its node and edge properties, additionally storing the given
+     * edge weights in a primitive column. Nodes are identified by their {@link NodeIDs node ids} in the given graph.
+     *
+     * @param graph
+     *         the graph to freeze
+     * @param weights
+     *         the edge weights to store
+     *
+     * @return the frozen graph
+     */
+    public static <N, E, NP, EP> CSRGraph<NP, EP> freeze(UniversalGraph<N, E, NP, EP> graph, EdgeWeights<E> weights) {
+        return build(graph, graph, weights);
+    }
+
+    private static <N, E, NP, EP> CSRGraph<NP, EP> build(Graph<N, E> graph,
+                                                         @Nullable UniversalGraph<N, E, NP, EP> properties,
+                                                         @Nullable EdgeWeights<E> weights) {
+        final int numNodes = graph.size();
+        final NodeIDs<N> nodeIDs = graph.nodeIDs();
+        final int[] offsets = new int[numNodes + 1];
+
+        for (int n = 0; n < numNodes; n++) {
+            offsets[n + 1] = offsets[n] + graph.getOutgoingEdges(nodeIDs.getNode(n)).size();
+        }
+
+        final int numEdges = offsets[numNodes];
+        final int[] targets = new int[numEdges];
+        final @Nullable Object[] nodeProperties = properties == null ? null : new Object[numNodes];
+        final @Nullable Object[] edgeProperties = properties == null ? null : new Object[numEdges];
+        final float[] edgeWeights = weights == null ? null : new float[numEdges];
+
+        for (int n = 0; n < numNodes; n++) {
+            final N node = nodeIDs.getNode(n);
+            int e = offsets[n];
+
+            for (E edge : graph.getOutgoingEdges(node)) {
+                targets[e] = nodeIDs.getNodeId(graph.getTarget(edge));
+                if (edgeProperties != null) {
+                    edgeProperties[e] = properties.getEdgeProperty(edge);
+                }
+                if (edgeWeights != null) {
+                    edgeWeights[e] = weights.getEdgeWeight(edge);
+                }
+                e++;
+            }
+
+            if (nodeProperties != null) {
+                nodeProperties[n] = properties.getNodeProperty(node);
+            }
+        }
+
+        return new CSRGraph<>(numNodes, offsets, targets, nodeProperties, edgeProperties, edgeWeights);
+    }
+
+    @Override
+    public int size() {
+        return numNodes;
+    }
+
+    /**
+     * Returns the total number of edges of this graph.
+     *
+     * @return the number of edges
+     */
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    @Override
+    public Collection<Integer> getNodes() {
+        return CollectionsUtil.intRange(0, numNodes);
+    }
+
+    @Override
+    public Collection<Integer> getOutgoingEdges(Integer node) {
+        return getOutgoingEdges(node.intValue());
+    }
+
+    @Override
+    public Collection<Integer> getOutgoingEdges(int node) {
+        return CollectionsUtil.intRange(offsets[node], offsets[node + 1]);
+    }
+
+    /**
+     * Returns the number of outgoing edges of the given node.
+     *
+     * @param node
+     *         the node id
+     *
+     * @return the number of outgoing edges
+     */
+    public int getOutDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Returns the id of the first outgoing edge of the given node. The outgoing edges of the given node are identified
+     * by the integers between the returned value (inclusive) and {@link #getEdgesHigh(int)} (exclusive).
+     *
+     * @param node
+     *         the node id
+     *
+     * @return the id of the first outgoing edge of the given node
+     */
+    public int getEdgesLow(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the id of the last outgoing edge of the given node, plus one.
+     *
+     * @param node
+     *         the node id
+     *
+     * @return the id of the last outgoing edge of the given node, plus one
+     *
+     * @see #getEdgesLow(int)
+     */
+    public int getEdgesHigh(int node) {
+        return offsets[node + 1];
+    }
+
+    /**
+     * Returns the (id of the) target node of the given edge.
+     *
+     * @param edge
+     *         the edge id
+     *
+     * @return the target node id
+     */
+    public int getEdgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns whether this graph stores a column of edge weights.
+     *
+     * @return {@code true} if this graph stores edge weights, {@code false} otherwise
+     */
+    public boolean hasEdgeWeights() {
+        return edgeWeights != null;
+    }
+
+    /**
+     * Returns the weight of the given edge. If this graph does not store a column of edge weights, each edge has the
+     * weight {@code 1}.
+     *
+     * @param edge
+     *         the edge id
+     *
+     * @return the weight of the given edge
+     */
+    public float getEdgeWeight(int edge) {
+        return edgeWeights == null ? 1 : edgeWeights[edge];
+    }
+
+    @Override
+    public Integer getTarget(Integer edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public int getIntTarget(Integer edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public boolean isConnected(int source, int target) {
+        for (int e = offsets[source]; e < offsets[source + 1]; e++) {
+            if (targets[e] == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public NP getNodeProperty(Integer node) {
+        return getNodeProperty(node.intValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NP getNodeProperty(int node) {
+        return nodeProperties == null ? null : (NP) nodeProperties[node];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public EP getEdgeProperty(Integer edge) {
+        return edgeProperties == null ? null : (EP) edgeProperties[edge];
+    }
+
+    @Override
+    public NodeIDs<Integer> nodeIDs() {
+        return this;
+    }
+
+    @Override
+    public int getNodeId(Integer node) {
+        return node;
+    }
+
+    @Override
+    public Integer getNode(int id) {
+        return id;
+    }
+}
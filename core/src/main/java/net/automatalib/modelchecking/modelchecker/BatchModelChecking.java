@@ -0,0 +1,183 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import net.automatalib.commons.util.concurrent.ScalingThreadPoolExecutor;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelchecking.ModelChecker;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Utility methods for implementing {@link ModelChecker#findCounterExamples(Object, Collection, Collection, boolean)}
+ * on the basis of a bounded pool of worker threads.
+ */
+public final class BatchModelChecking {
+
+    private static final long KEEP_ALIVE_SECONDS = 1;
+
+    private BatchModelChecking() {
+        // prevent instantiation
+    }
+
+    /**
+     * Checks the given {@code properties} concurrently with at most {@code parallelism} worker threads.
+     * <p>
+     * If {@code firstOnly} is set, the batch terminates as soon as the first counterexample (in order of completion)
+     * is found. Pending checks are then discarded and running checks are interrupted. Note that the result is returned
+     * without awaiting the termination of interrupted checks, so the given {@code checker} should respond to
+     * interruption (e.g. by terminating external processes) and must not rely on any resources that are released by
+     * the caller after this method returns.
+     * <p>
+     * If the check of a property throws an exception, the whole batch is aborted and the exception is re-thrown
+     * (wrapped in a {@link ModelCheckingException}, if it is not an unchecked exception).
+     *
+     * @param properties
+     *         the properties to check
+     * @param checker
+     *         the function that checks a single property and returns its counterexample, or {@code null} if the
+     *         property is satisfied. The function may be invoked concurrently and therefore needs to be thread-safe.
+     * @param parallelism
+     *         the maximum number of properties that are checked concurrently. A value of 1 (or less) checks all
+     *         properties sequentially in the calling thread.
+     * @param firstOnly
+     *         whether to stop after the first counterexample has been found
+     * @param <P>
+     *         property type
+     * @param <R>
+     *         counterexample type
+     *
+     * @return a map from each (found) violated property to its counterexample, in iteration order of the given
+     * properties
+     */
+    public static <P, R> Map<P, R> findCounterExamples(Collection<? extends P> properties,
+                                                       Function<? super P, ? extends @Nullable R> checker,
+                                                       int parallelism,
+                                                       boolean firstOnly) {
+
+        final List<P> props = new ArrayList<>(properties);
+        final int numProps = props.size();
+
+        if (parallelism <= 1 || numProps <= 1) {
+            return findCounterExamplesSequential(props, checker, firstOnly);
+        }
+
+        final ThreadPoolExecutor executor = createExecutor(Math.min(parallelism, numProps));
+        final CompletionService<@Nullable R> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<@Nullable R>, Integer> indices = new HashMap<>(numProps * 4 / 3 + 1);
+        final List<@Nullable R> results = new ArrayList<>(numProps);
+
+        try {
+            for (int i = 0; i < numProps; i++) {
+                final P prop = props.get(i);
+                indices.put(completionService.submit(() -> checker.apply(prop)), i);
+                results.add(null);
+            }
+
+            for (int i = 0; i < numProps; i++) {
+                final Future<@Nullable R> future = completionService.take();
+                final R result = getResult(future);
+
+                if (result != null) {
+                    results.set(indices.get(future), result);
+                    if (firstOnly) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Map<P, R> counterExamples = new LinkedHashMap<>();
+
+        for (int i = 0; i < numProps; i++) {
+            final R result = results.get(i);
+            if (result != null) {
+                counterExamples.put(props.get(i), result);
+            }
+        }
+
+        return counterExamples;
+    }
+
+    private static <P, R> Map<P, R> findCounterExamplesSequential(List<P> properties,
+                                                                  Function<? super P, ? extends @Nullable R> checker,
+                                                                  boolean firstOnly) {
+        final Map<P, R> counterExamples = new LinkedHashMap<>();
+
+        for (P prop : properties) {
+            final R result = checker.apply(prop);
+            if (result != null) {
+                counterExamples.put(prop, result);
+                if (firstOnly) {
+                    break;
+                }
+            }
+        }
+
+        return counterExamples;
+    }
+
+    private static <R> @Nullable R getResult(Future<@Nullable R> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause instanceof Exception) {
+                throw new ModelCheckingException((Exception) cause);
+            }
+            throw new ModelCheckingException(ee);
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor(int poolSize) {
+        final ScalingThreadPoolExecutor executor =
+                new ScalingThreadPoolExecutor(0, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        executor.setThreadFactory(r -> {
+            final Thread thread = delegate.newThread(r);
+            thread.setName("model-checker-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return executor;
+    }
+}
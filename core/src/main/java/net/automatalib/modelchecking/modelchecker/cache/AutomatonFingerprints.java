@@ -0,0 +1,138 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Utility methods for computing canonical, structural fingerprints of deterministic automata.
+ * <p>
+ * The fingerprint of an automaton is a SHA-256 hash over an encoding of its reachable part in which states are
+ * numbered in breadth-first order (exploring successors in the iteration order of the given inputs). Hence, the
+ * fingerprint is independent of state identifiers and unreachable states: automata whose reachable parts are
+ * isomorphic (with respect to the given inputs) share the same fingerprint. Inputs, state properties and transition
+ * properties contribute via their string representation (which is also what the serializers of model checkers such
+ * as LTSmin see), so fingerprints are stable across different runs of the JVM.
+ */
+final class AutomatonFingerprints {
+
+    private static final int UNDEFINED = -1;
+
+    private AutomatonFingerprints() {
+        // prevent instantiation
+    }
+
+    /**
+     * Computes the fingerprint of the reachable part of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the inputs that should be regarded for exploring the automaton
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     *
+     * @return the fingerprint of the automaton
+     */
+    static <S, I, T> HashCode of(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                 Collection<? extends I> inputs) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+
+        hasher.putInt(inputs.size());
+        for (I i : inputs) {
+            putString(hasher, i);
+        }
+
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            hasher.putInt(UNDEFINED);
+            return hasher.hash();
+        }
+
+        final Map<S, Integer> ids = new HashMap<>();
+        final Queue<S> queue = new ArrayDeque<>();
+
+        ids.put(init, 0);
+        queue.add(init);
+
+        S state;
+        while ((state = queue.poll()) != null) {
+            putString(hasher, automaton.getStateProperty(state));
+
+            for (I i : inputs) {
+                final T trans = automaton.getTransition(state, i);
+
+                if (trans == null) {
+                    hasher.putInt(UNDEFINED);
+                } else {
+                    final S succ = automaton.getSuccessor(trans);
+                    Integer succId = ids.get(succ);
+
+                    if (succId == null) {
+                        succId = ids.size();
+                        ids.put(succ, succId);
+                        queue.add(succ);
+                    }
+
+                    hasher.putInt(succId);
+                    putString(hasher, automaton.getTransitionProperty(trans));
+                }
+            }
+        }
+
+        return hasher.hash();
+    }
+
+    /**
+     * Combines the fingerprint of an automaton with the string representation of a property.
+     *
+     * @param fingerprint
+     *         the fingerprint of the automaton
+     * @param property
+     *         the property
+     *
+     * @return the combined fingerprint
+     */
+    static HashCode of(HashCode fingerprint, Object property) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putBytes(fingerprint.asBytes());
+        putString(hasher, property);
+        return hasher.hash();
+    }
+
+    private static void putString(Hasher hasher, @Nullable Object o) {
+        final String string = String.valueOf(o);
+        // prefix the length to keep the encoding of consecutive strings unambiguous
+        hasher.putInt(string.length());
+        hasher.putString(string, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.ModelCheckerCache.DFAModelCheckerCache;
+
+/**
+ * A DFAModelCheckerCache that re-uses the cached counter examples when {@link ModelChecker#findCounterExample(Object,
+ * Collection, Object)} is called with a DFA whose reachable part is structurally identical (w.r.t. the given input
+ * alphabet) to the DFA of a previous call.
+ * <p>
+ * Contrary to the {@link SizeDFAModelCheckerCache}, a changed hypothesis of equal size never yields stale results and
+ * results for hypotheses that re-occur later on (e.g. across several rounds of active learning) are re-used. The
+ * number of cached results is bounded and the cache optionally persists discharged properties in a file, so that
+ * repeated (learning) runs can skip previously discharged properties.
+ *
+ * @param <I>
+ *         the input type
+ * @param <P>
+ *         the property type
+ * @param <R>
+ *         the counterexample type
+ */
+public class FingerprintDFAModelCheckerCache<I, P, R> extends FingerprintModelCheckerCache<I, DFA<?, I>, P, R>
+        implements DFAModelCheckerCache<I, P, R> {
+
+    public FingerprintDFAModelCheckerCache(DFAModelChecker<I, P, R> modelChecker, int capacity) {
+        super(modelChecker, capacity);
+    }
+
+    public FingerprintDFAModelCheckerCache(DFAModelChecker<I, P, R> modelChecker, int capacity, Path storage)
+            throws IOException {
+        super(modelChecker, capacity, storage);
+    }
+}
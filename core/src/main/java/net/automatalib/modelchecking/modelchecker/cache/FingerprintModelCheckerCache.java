@@ -0,0 +1,262 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.hash.HashCode;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.ModelCheckerCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An implementation of a cache for model checkers. Based on a canonical, structural fingerprint of the (reachable part
+ * of the) automaton and the input alphabet (see {@link AutomatonFingerprints}).
+ * <p>
+ * Contrary to the {@link SizeModelCheckerCache}, results remain valid across structurally different automata (of
+ * possibly equal size): a result is only re-used if the automaton that is checked has the same fingerprint as the
+ * automaton for which the result has been computed. The cache holds at most a given number of results and evicts the
+ * least recently used ones.
+ * <p>
+ * Optionally, the cache can be backed by a file which stores the fingerprints of all discharged properties (i.e.
+ * properties for which no counterexample exists) across different instances (and runs of the JVM). Properties are
+ * identified by their string representation in this file.
+ *
+ * @param <I>
+ *         the input type
+ * @param <A>
+ *         the automaton type
+ * @param <P>
+ *         the property type
+ * @param <R>
+ *         the result type of a call to {@link #findCounterExample(UniversalDeterministicAutomaton, Collection,
+ *         Object)}.
+ */
+class FingerprintModelCheckerCache<I, A extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>, P, R>
+        implements ModelCheckerCache<I, A, P, R> {
+
+    /**
+     * The actual cache. We need to wrap R in an {@link Optional} because results from {@link
+     * ModelChecker#findCounterExample(Object, Collection, Object)} can be null.
+     */
+    private final Map<Pair<HashCode, P>, Optional<R>> counterExamples;
+
+    /**
+     * The maximum number of entries in {@link #counterExamples}.
+     */
+    private final int capacity;
+
+    /**
+     * The fingerprints of all discharged properties (combined with the respective automata) contained in {@link
+     * #storage}.
+     */
+    private final Set<HashCode> discharged;
+
+    /**
+     * The file in which fingerprints of discharged properties are persisted, {@code null} if not persisted.
+     */
+    private final @Nullable Path storage;
+
+    /**
+     * A function to any ModelChecker.findCounterExample.
+     */
+    private final ModelChecker<I, A, P, R> modelChecker;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a new {@link FingerprintModelCheckerCache}.
+     *
+     * @param modelChecker
+     *         a function to any ModelChecker.findCounterExample.
+     * @param capacity
+     *         the maximum number of cached results.
+     */
+    FingerprintModelCheckerCache(ModelChecker<I, A, P, R> modelChecker, int capacity) {
+        this.modelChecker = modelChecker;
+        this.counterExamples = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = checkCapacity(capacity);
+        this.discharged = new HashSet<>();
+        this.storage = null;
+    }
+
+    /**
+     * Constructs a new {@link FingerprintModelCheckerCache} that persists the fingerprints of discharged properties in
+     * the given file. If the file already exists, previously discharged properties are loaded from it.
+     *
+     * @param modelChecker
+     *         a function to any ModelChecker.findCounterExample.
+     * @param capacity
+     *         the maximum number of cached results (not including persisted discharged properties).
+     * @param storage
+     *         the file in which fingerprints of discharged properties are persisted.
+     *
+     * @throws IOException
+     *         if the existing file could not be read.
+     */
+    FingerprintModelCheckerCache(ModelChecker<I, A, P, R> modelChecker, int capacity, Path storage)
+            throws IOException {
+        this.modelChecker = modelChecker;
+        this.counterExamples = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = checkCapacity(capacity);
+        this.discharged = readStorage(storage);
+        this.storage = storage;
+    }
+
+    /**
+     * The cached implementation for finding counter examples.
+     *
+     * @see ModelChecker#findCounterExample(Object, Collection, Object)
+     */
+    @Override
+    public @Nullable R findCounterExample(A automaton, Collection<? extends I> inputs, P property) {
+        final UniversalDeterministicAutomaton<?, I, ?, ?, ?> structure = automaton;
+        final HashCode fingerprint = AutomatonFingerprints.of(structure, inputs);
+        final Pair<HashCode, P> key = Pair.of(fingerprint, property);
+        final Optional<R> cached = counterExamples.get(key);
+
+        if (cached != null) {
+            hits++;
+            return cached.orElse(null);
+        }
+
+        final HashCode persistentKey = storage == null ? null : AutomatonFingerprints.of(fingerprint, property);
+
+        if (persistentKey != null && discharged.contains(persistentKey)) {
+            hits++;
+            cache(key, Optional.empty());
+            return null;
+        }
+
+        misses++;
+
+        final R result = modelChecker.findCounterExample(automaton, inputs, property);
+        cache(key, Optional.ofNullable(result));
+
+        if (result == null && persistentKey != null && discharged.add(persistentKey)) {
+            writeStorage(persistentKey);
+        }
+
+        return result;
+    }
+
+    /**
+     * Clears the cached results. Persisted discharged properties are not removed from the file but only from this
+     * cache instance.
+     */
+    @Override
+    public void clear() {
+        counterExamples.clear();
+        discharged.clear();
+    }
+
+    /**
+     * Returns the number of queries that have been answered by this cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries that have been delegated to the model checker.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters of this cache.
+     */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    private void cache(Pair<HashCode, P> key, Optional<R> value) {
+        counterExamples.put(key, value);
+
+        if (counterExamples.size() > capacity) {
+            // the iteration order of the (access-ordered) map starts with the least recently used entry
+            final Iterator<Pair<HashCode, P>> iter = counterExamples.keySet().iterator();
+            iter.next();
+            iter.remove();
+        }
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        return capacity;
+    }
+
+    private static Set<HashCode> readStorage(Path storage) throws IOException {
+        final Set<HashCode> result = new HashSet<>();
+
+        if (Files.exists(storage)) {
+            try (BufferedReader reader = Files.newBufferedReader(storage, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String trimmed = line.trim();
+                    if (!trimmed.isEmpty()) {
+                        try {
+                            result.add(HashCode.fromString(trimmed));
+                        } catch (IllegalArgumentException iae) {
+                            throw new IOException("Malformed fingerprint: " + trimmed, iae);
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void writeStorage(HashCode persistentKey) {
+        assert storage != null;
+
+        try (Writer writer = Files.newBufferedWriter(storage,
+                                                     StandardCharsets.UTF_8,
+                                                     StandardOpenOption.CREATE,
+                                                     StandardOpenOption.APPEND)) {
+            writer.write(persistentKey.toString());
+            writer.write(System.lineSeparator());
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        }
+    }
+}
@@ -26,12 +26,14 @@ import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
 import net.automatalib.automata.transducers.impl.FastMealy;
 import net.automatalib.automata.transducers.impl.FastMoore;
 import net.automatalib.automata.transducers.impl.FastProbMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMoore;
 import net.automatalib.automata.transducers.impl.compact.CompactSST;
+import net.automatalib.automata.transducers.impl.compact.OffHeapCompactMealy;
 import net.automatalib.exception.GrowingAlphabetNotSupportedException;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -195,6 +197,11 @@ public class GrowingAlphabetAutomatonTest {
         this.testGrowableOutputAutomaton(CompactDFA::new);
     }
 
+    @Test
+    public void testOffHeapCompactDFA() {
+        this.testGrowableOutputAutomaton(OffHeapCompactDFA::new);
+    }
+
     @Test
     public void testCompactNFA() {
         this.testGrowableOutputAutomaton(CompactNFA::new);
@@ -215,6 +222,11 @@ public class GrowingAlphabetAutomatonTest {
         this.testGrowableOutputAutomaton(CompactMealy::new);
     }
 
+    @Test
+    public void testOffHeapCompactMealy() {
+        this.testGrowableOutputAutomaton(OffHeapCompactMealy::new);
+    }
+
     @Test
     public void testFastMealy() {
         this.testGrowableOutputAutomaton(FastMealy::new);
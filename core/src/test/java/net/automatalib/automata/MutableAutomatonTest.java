@@ -28,12 +28,14 @@ import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
 import net.automatalib.automata.transducers.impl.FastMealy;
 import net.automatalib.automata.transducers.impl.FastMoore;
 import net.automatalib.automata.transducers.impl.FastProbMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMoore;
 import net.automatalib.automata.transducers.impl.compact.CompactSST;
+import net.automatalib.automata.transducers.impl.compact.OffHeapCompactMealy;
 import net.automatalib.automata.transducers.probabilistic.ProbabilisticOutput;
 import net.automatalib.commons.util.random.RandomUtil;
 import net.automatalib.ts.modal.CompactMTS;
@@ -74,6 +76,11 @@ public class MutableAutomatonTest {
         this.checkAutomaton(new CompactDFA.Creator<>(), ALPHABET, STATE_PROPS, EMPTY_PROPS);
     }
 
+    @Test
+    public void testOffHeapCompactDFA() {
+        this.checkAutomaton(new OffHeapCompactDFA.Creator<>(), ALPHABET, STATE_PROPS, EMPTY_PROPS);
+    }
+
     @Test
     public void testCompactNFA() {
         this.checkAutomaton(new CompactNFA.Creator<>(), ALPHABET, STATE_PROPS, EMPTY_PROPS);
@@ -94,6 +101,11 @@ public class MutableAutomatonTest {
         this.checkAutomaton(new CompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
     }
 
+    @Test
+    public void testOffHeapCompactMealy() {
+        this.checkAutomaton(new OffHeapCompactMealy.Creator<>(), ALPHABET, EMPTY_PROPS, TRANS_PROPS);
+    }
+
     @Test
     public void testFastMealy() {
         this.checkAutomaton(FastMealy::new, ALPHABET, EMPTY_PROPS, TRANS_PROPS);
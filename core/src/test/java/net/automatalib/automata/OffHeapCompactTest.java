@@ -0,0 +1,169 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.OffHeapCompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.OffHeapCompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class OffHeapCompactTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 4);
+    private static final List<String> OUTPUTS = Arrays.asList("a", "b", "c");
+    private static final int SIZE = 1000;
+
+    @Test
+    public void testDFA() throws IOException {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> expected = new CompactDFA<>(ALPHABET);
+        final OffHeapCompactDFA<Integer> actual = new OffHeapCompactDFA<>(ALPHABET);
+
+        for (int i = 0; i < SIZE; i++) {
+            final boolean accepting = random.nextBoolean();
+            Assert.assertEquals(actual.addIntState(accepting), expected.addIntState(accepting));
+        }
+        expected.setInitial(0, true);
+        actual.setInitial(0, true);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                // leave some transitions undefined
+                if (random.nextInt(10) > 0) {
+                    final int succ = random.nextInt(SIZE);
+                    expected.setTransition(s, i, succ);
+                    actual.setTransition(s, i, succ);
+                }
+            }
+        }
+
+        checkEquals(expected, actual);
+        checkEquals(expected, new OffHeapCompactDFA<>(actual));
+
+        final Path file = Files.createTempFile("automatalib", ".dfa");
+        try {
+            actual.save(file);
+            Assert.assertTrue(file.toFile().setReadOnly());
+            final byte[] content = Files.readAllBytes(file);
+            final OffHeapCompactDFA<Integer> loaded = OffHeapCompactDFA.load(file, ALPHABET);
+            checkEquals(expected, loaded);
+
+            // loaded automata should remain mutable without affecting the file
+            loaded.flipAcceptance();
+            final int newState = loaded.addIntState(true);
+            loaded.setTransition(newState, 0, 0);
+            Assert.assertEquals(loaded.size(), SIZE + 1);
+            Assert.assertTrue(loaded.isAccepting(newState));
+            Assert.assertEquals(loaded.getSuccessor(newState, 0), 0);
+            Assert.assertNotEquals(loaded.isAccepting(0), expected.isAccepting(0));
+
+            Assert.assertEquals(Files.readAllBytes(file), content);
+            checkEquals(expected, OffHeapCompactDFA.load(file, ALPHABET));
+
+            Assert.assertThrows(IllegalArgumentException.class,
+                                () -> OffHeapCompactDFA.load(file, Alphabets.integers(0, 1)));
+            Assert.assertThrows(IOException.class,
+                                () -> OffHeapCompactMealy.load(file, ALPHABET, OUTPUTS));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMealy() throws IOException {
+        final Random random = new Random(42);
+        final CompactMealy<Integer, String> expected = new CompactMealy<>(ALPHABET);
+        final OffHeapCompactMealy<Integer, String> actual = new OffHeapCompactMealy<>(ALPHABET);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(actual.addIntState(), expected.addIntState());
+        }
+        expected.setInitial(0, true);
+        actual.setInitial(0, true);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                if (random.nextInt(10) > 0) {
+                    final int succ = random.nextInt(SIZE);
+                    final String output = OUTPUTS.get(random.nextInt(OUTPUTS.size()));
+                    expected.setTransition(s, i, succ, output);
+                    actual.setTransition(s, i, succ, output);
+                }
+            }
+        }
+
+        checkEquals(expected, actual);
+        checkEquals(expected, new OffHeapCompactMealy<>(actual));
+
+        final Path file = Files.createTempFile("automatalib", ".mealy");
+        try {
+            actual.save(file);
+            Assert.assertTrue(file.toFile().setReadOnly());
+            final byte[] content = Files.readAllBytes(file);
+            final OffHeapCompactMealy<Integer, String> loaded =
+                    OffHeapCompactMealy.load(file, ALPHABET, actual.getOutputs());
+            checkEquals(expected, loaded);
+
+            final Integer state = 0;
+            final Integer input = ALPHABET.getSymbol(0);
+            loaded.addTransition(state, input, 1, "a");
+            loaded.setTransitionOutput(loaded.getTransition(state, input), "d");
+            Assert.assertEquals(loaded.getOutput(state, input), "d");
+            Assert.assertTrue(loaded.getOutputs().contains("d"));
+
+            Assert.assertEquals(Files.readAllBytes(file), content);
+            checkEquals(expected, OffHeapCompactMealy.load(file, ALPHABET, actual.getOutputs()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void checkEquals(CompactDFA<Integer> expected, OffHeapCompactDFA<Integer> actual) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getIntInitialState(), expected.getIntInitialState());
+
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.isAccepting(s), expected.isAccepting(s));
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                Assert.assertEquals(actual.getSuccessor(s, i), expected.getSuccessor(s, i));
+            }
+        }
+    }
+
+    private static void checkEquals(CompactMealy<Integer, String> expected,
+                                    OffHeapCompactMealy<Integer, String> actual) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getIntInitialState(), expected.getIntInitialState());
+
+        for (int s = 0; s < expected.size(); s++) {
+            for (Integer i : ALPHABET) {
+                Assert.assertEquals(actual.getSuccessor(s, i), expected.getSuccessor(s, i));
+                Assert.assertEquals(actual.getOutput(s, i), expected.getOutput(s, i));
+            }
+        }
+    }
+}
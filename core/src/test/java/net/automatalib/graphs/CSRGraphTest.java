@@ -0,0 +1,136 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.graphs;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CSRNFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.commons.util.random.RandomUtil;
+import net.automatalib.graphs.base.compact.CSRGraph;
+import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactGraph;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class CSRGraphTest {
+
+    private static final int SIZE = 25;
+    private static final List<Character> NPS = CollectionsUtil.charRange('A', 'F');
+    private static final List<Character> EPS = CollectionsUtil.charRange('0', '9');
+
+    @Test
+    public void testFreezeGraph() {
+        final Random random = new Random(42);
+        final CompactGraph<Character, Character> graph = new CompactGraph<>();
+
+        for (int i = 0; i < SIZE; i++) {
+            graph.addIntNode(RandomUtil.choose(NPS, random));
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                if (random.nextBoolean()) {
+                    graph.connect(i, j, RandomUtil.choose(EPS, random));
+                }
+            }
+        }
+
+        final CSRGraph<Character, Character> csr = graph.freeze();
+
+        Assert.assertEquals(csr.size(), graph.size());
+        Assert.assertEquals(csr.getNodes(), graph.getNodes());
+        Assert.assertFalse(csr.hasEdgeWeights());
+
+        int numEdges = 0;
+
+        for (int n = 0; n < SIZE; n++) {
+            Assert.assertEquals(csr.getNodeProperty(n), graph.getNodeProperty(n));
+
+            final List<CompactEdge<Character>> edges = new ArrayList<>(graph.getOutgoingEdges(n));
+            Assert.assertEquals(csr.getOutDegree(n), edges.size());
+
+            int e = csr.getEdgesLow(n);
+            for (CompactEdge<Character> edge : edges) {
+                Assert.assertEquals(csr.getEdgeTarget(e), edge.getTarget());
+                Assert.assertEquals(csr.getEdgeProperty(e), edge.getProperty());
+                Assert.assertEquals(csr.getEdgeWeight(e), 1f);
+                e++;
+            }
+            Assert.assertEquals(e, csr.getEdgesHigh(n));
+
+            for (int m = 0; m < SIZE; m++) {
+                Assert.assertEquals(csr.isConnected(n, m), graph.isConnected(n, m));
+            }
+
+            numEdges += edges.size();
+        }
+
+        Assert.assertEquals(csr.getNumEdges(), numEdges);
+    }
+
+    @Test
+    public void testFreezeNFA() {
+        final Random random = new Random(42);
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final CompactNFA<Character> nfa = new CompactNFA<>(alphabet);
+
+        for (int i = 0; i < SIZE; i++) {
+            nfa.addState(random.nextBoolean());
+        }
+
+        nfa.setInitial(0, true);
+        nfa.setInitial(SIZE - 1, true);
+
+        for (int i = 0; i < SIZE; i++) {
+            for (Character c : alphabet) {
+                for (int j = 0; j < SIZE; j++) {
+                    if (random.nextInt(5) == 0) {
+                        nfa.addTransition(i, c, j);
+                    }
+                }
+            }
+        }
+
+        final CSRNFA<Character> csr = nfa.freeze();
+
+        Assert.assertEquals(csr.size(), nfa.size());
+        Assert.assertEquals(csr.getInitialStates(), nfa.getInitialStates());
+        Assert.assertSame(csr.getInputAlphabet(), alphabet);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertEquals(csr.isAccepting(i), nfa.isAccepting(i));
+
+            for (int c = 0; c < alphabet.size(); c++) {
+                final Character sym = alphabet.getSymbol(c);
+                final List<Integer> succs = new ArrayList<>();
+
+                for (int t = csr.getSuccessorsLow(i, c); t < csr.getSuccessorsHigh(i, c); t++) {
+                    succs.add(csr.getTarget(t));
+                }
+
+                Assert.assertEquals(new HashSet<>(succs), nfa.getTransitions(i, sym));
+                Assert.assertEquals(new HashSet<>(csr.getTransitions(Integer.valueOf(i), sym)), nfa.getTransitions(i, sym));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BatchModelCheckingTest {
+
+    private static final List<Integer> PROPERTIES = Arrays.asList(5, 4, 3, 2, 1, 0, 9, 8, 7, 6);
+
+    @Test
+    public void testOrder() {
+        for (int parallelism : new int[] {1, 3, 16}) {
+            final Map<Integer, String> result =
+                    BatchModelChecking.findCounterExamples(PROPERTIES, this::checkEven, parallelism, false);
+
+            Assert.assertEquals(new ArrayList<>(result.keySet()), Arrays.asList(4, 2, 0, 8, 6));
+            Assert.assertEquals(result.get(8), "ce8");
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertTrue(BatchModelChecking.findCounterExamples(Collections.emptyList(), p -> "ce", 4, false)
+                                            .isEmpty());
+        Assert.assertTrue(BatchModelChecking.findCounterExamples(PROPERTIES, p -> null, 4, false).isEmpty());
+    }
+
+    @Test(timeOut = 10000)
+    public void testFirstOnly() throws InterruptedException {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final Map<Integer, String> result = BatchModelChecking.findCounterExamples(PROPERTIES, p -> {
+            if (p == 5) {
+                try {
+                    // block until cancelled
+                    blocker.await();
+                } catch (InterruptedException ie) {
+                    interrupted.countDown();
+                }
+                return null;
+            }
+            return p == 4 ? "ce" : null;
+        }, 2, true);
+
+        Assert.assertEquals(result, Collections.singletonMap(4, "ce"));
+        // the blocked check must have been cancelled
+        Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSequentialFirstOnly() {
+        final AtomicInteger checks = new AtomicInteger();
+        final Map<Integer, String> result = BatchModelChecking.findCounterExamples(PROPERTIES, p -> {
+            checks.incrementAndGet();
+            return p < 3 ? "ce" : null;
+        }, 1, true);
+
+        Assert.assertEquals(result, Collections.singletonMap(2, "ce"));
+        Assert.assertEquals(checks.get(), 4);
+    }
+
+    @Test
+    public void testExceptions() {
+        Assert.assertThrows(IllegalStateException.class, () -> BatchModelChecking.findCounterExamples(PROPERTIES, p -> {
+            if (p == 3) {
+                throw new IllegalStateException();
+            }
+            return null;
+        }, 4, false));
+    }
+
+    private @Nullable String checkEven(Integer property) {
+        return property % 2 == 0 ? "ce" + property : null;
+    }
+}
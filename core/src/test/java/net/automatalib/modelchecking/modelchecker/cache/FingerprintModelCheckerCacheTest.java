@@ -0,0 +1,251 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Function;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.modelchecking.ModelChecker.DFAModelChecker;
+import net.automatalib.modelchecking.ModelChecker.MealyModelChecker;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FingerprintModelCheckerCacheTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'b');
+
+    @Test
+    public void testStructuralChanges() {
+        final CountingDFAModelChecker<String> mc = new CountingDFAModelChecker<>(dfa -> "ce");
+        final FingerprintDFAModelCheckerCache<Character, String, String> cache =
+                new FingerprintDFAModelCheckerCache<>(mc, 10);
+
+        final CompactDFA<Character> dfa = buildDFA(false);
+
+        Assert.assertEquals(cache.findCounterExample(dfa, ALPHABET, "p"), "ce");
+        Assert.assertEquals(cache.findCounterExample(dfa, ALPHABET, "p"), "ce");
+        Assert.assertEquals(mc.checks, 1);
+
+        // a different property
+        Assert.assertEquals(cache.findCounterExample(dfa, ALPHABET, "q"), "ce");
+        Assert.assertEquals(mc.checks, 2);
+
+        // a different alphabet
+        Assert.assertEquals(cache.findCounterExample(dfa, Alphabets.characters('a', 'a'), "p"), "ce");
+        Assert.assertEquals(mc.checks, 3);
+
+        // a structurally different automaton of equal size
+        dfa.setTransition(1, 1, 0);
+        Assert.assertEquals(cache.findCounterExample(dfa, ALPHABET, "p"), "ce");
+        Assert.assertEquals(mc.checks, 4);
+
+        // an automaton of equal size but with different acceptance
+        dfa.setAccepting(1, !dfa.isAccepting(1));
+        Assert.assertEquals(cache.findCounterExample(dfa, ALPHABET, "p"), "ce");
+        Assert.assertEquals(mc.checks, 5);
+
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertEquals(cache.getMisses(), 5);
+
+        cache.resetStatistics();
+        Assert.assertEquals(cache.getHits(), 0);
+        Assert.assertEquals(cache.getMisses(), 0);
+    }
+
+    @Test
+    public void testIsomorphicAutomata() {
+        final CountingDFAModelChecker<String> mc = new CountingDFAModelChecker<>(dfa -> null);
+        final FingerprintDFAModelCheckerCache<Character, String, String> cache =
+                new FingerprintDFAModelCheckerCache<>(mc, 10);
+
+        Assert.assertNull(cache.findCounterExample(buildDFA(false), ALPHABET, "p"));
+        Assert.assertEquals(mc.checks, 1);
+
+        // same structure, but different state ids
+        Assert.assertNull(cache.findCounterExample(buildDFA(true), ALPHABET, "p"));
+        Assert.assertEquals(mc.checks, 1);
+
+        // unreachable states do not matter
+        final CompactDFA<Character> dfa = buildDFA(false);
+        dfa.addState(true);
+        Assert.assertNull(cache.findCounterExample(dfa, ALPHABET, "p"));
+        Assert.assertEquals(mc.checks, 1);
+
+        cache.clear();
+        Assert.assertNull(cache.findCounterExample(dfa, ALPHABET, "p"));
+        Assert.assertEquals(mc.checks, 2);
+    }
+
+    @Test
+    public void testEviction() {
+        final CountingDFAModelChecker<String> mc = new CountingDFAModelChecker<>(dfa -> "ce");
+        final FingerprintDFAModelCheckerCache<Character, String, String> cache =
+                new FingerprintDFAModelCheckerCache<>(mc, 2);
+
+        final DFA<?, Character> dfa = buildDFA(false);
+
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        cache.findCounterExample(dfa, ALPHABET, "q");
+        // access p, so that q becomes the least recently used entry
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        cache.findCounterExample(dfa, ALPHABET, "r");
+        Assert.assertEquals(mc.checks, 3);
+
+        cache.findCounterExample(dfa, ALPHABET, "p");
+        Assert.assertEquals(mc.checks, 3);
+
+        cache.findCounterExample(dfa, ALPHABET, "q");
+        Assert.assertEquals(mc.checks, 4);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new FingerprintDFAModelCheckerCache<>(new CountingDFAModelChecker<String>(dfa -> null), 0);
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        final Path storage = Files.createTempFile("mc-cache", ".txt");
+        Files.delete(storage);
+
+        try {
+            final CountingDFAModelChecker<String> mc1 =
+                    new CountingDFAModelChecker<>(dfa -> dfa.isAccepting(dfa.getIntInitialState()) ? null : "ce");
+            final FingerprintDFAModelCheckerCache<Character, String, String> cache1 =
+                    new FingerprintDFAModelCheckerCache<>(mc1, 10, storage);
+
+            final CompactDFA<Character> discharged = buildDFA(false);
+            final CompactDFA<Character> violated = buildDFA(false);
+            violated.setAccepting(0, false);
+
+            Assert.assertNull(cache1.findCounterExample(discharged, ALPHABET, "p"));
+            Assert.assertEquals(cache1.findCounterExample(violated, ALPHABET, "p"), "ce");
+            Assert.assertEquals(mc1.checks, 2);
+
+            // a new cache (e.g. in a subsequent run) only skips the discharged property
+            final CountingDFAModelChecker<String> mc2 =
+                    new CountingDFAModelChecker<>(dfa -> dfa.isAccepting(dfa.getIntInitialState()) ? null : "ce");
+            final FingerprintDFAModelCheckerCache<Character, String, String> cache2 =
+                    new FingerprintDFAModelCheckerCache<>(mc2, 10, storage);
+
+            Assert.assertNull(cache2.findCounterExample(buildDFA(true), ALPHABET, "p"));
+            Assert.assertEquals(mc2.checks, 0);
+            Assert.assertEquals(cache2.getHits(), 1);
+
+            Assert.assertNull(cache2.findCounterExample(discharged, ALPHABET, "q"));
+            Assert.assertEquals(cache2.findCounterExample(violated, ALPHABET, "p"), "ce");
+            Assert.assertEquals(mc2.checks, 2);
+        } finally {
+            Files.deleteIfExists(storage);
+        }
+    }
+
+    @Test
+    public void testMealyOutputs() {
+        final int[] checks = new int[1];
+        final MealyModelChecker<Character, Integer, String, String> mc =
+                new MealyModelChecker<Character, Integer, String, String>() {
+
+                    @Override
+                    public @Nullable String findCounterExample(MealyMachine<?, Character, ?, Integer> automaton,
+                                                               Collection<? extends Character> inputs,
+                                                               String property) {
+                        checks[0]++;
+                        return null;
+                    }
+
+                    @Override
+                    public Collection<? super Integer> getSkipOutputs() {
+                        return Collections.emptyList();
+                    }
+
+                    @Override
+                    public void setSkipOutputs(Collection<? super Integer> skipOutputs) {}
+                };
+
+        final FingerprintMealyModelCheckerCache<Character, Integer, String, String> cache =
+                new FingerprintMealyModelCheckerCache<>(mc, 10);
+
+        final CompactMealy<Character, Integer> mealy = new CompactMealy<>(ALPHABET);
+        final int s0 = mealy.addInitialState();
+        mealy.addTransition(s0, 'a', s0, 0);
+        mealy.addTransition(s0, 'b', s0, 1);
+
+        cache.findCounterExample(mealy, ALPHABET, "p");
+        cache.findCounterExample(mealy, ALPHABET, "p");
+        Assert.assertEquals(checks[0], 1);
+
+        mealy.setTransition(s0, 1, s0, (Integer) 0);
+        cache.findCounterExample(mealy, ALPHABET, "p");
+        Assert.assertEquals(checks[0], 2);
+    }
+
+    /**
+     * Builds a 3-state DFA over {@link #ALPHABET}. If {@code permuted} is set, the states are added in a different
+     * order (resulting in different state ids for the same structure).
+     */
+    private static CompactDFA<Character> buildDFA(boolean permuted) {
+        final CompactDFA<Character> dfa = new CompactDFA<>(ALPHABET);
+
+        final int q0, q1, q2;
+        if (permuted) {
+            q2 = dfa.addState(false);
+            q1 = dfa.addState(true);
+            q0 = dfa.addInitialState(true);
+        } else {
+            q0 = dfa.addInitialState(true);
+            q1 = dfa.addState(true);
+            q2 = dfa.addState(false);
+        }
+
+        dfa.setTransition(q0, 0, q1);
+        dfa.setTransition(q0, 1, q2);
+        dfa.setTransition(q1, 0, q0);
+        dfa.setTransition(q1, 1, q1);
+        dfa.setTransition(q2, 0, q2);
+
+        return dfa;
+    }
+
+    private static final class CountingDFAModelChecker<R> implements DFAModelChecker<Character, String, R> {
+
+        private final Function<CompactDFA<Character>, @Nullable R> result;
+        private int checks;
+
+        CountingDFAModelChecker(Function<CompactDFA<Character>, @Nullable R> result) {
+            this.result = result;
+        }
+
+        @Override
+        public @Nullable R findCounterExample(DFA<?, Character> automaton,
+                                              Collection<? extends Character> inputs,
+                                              String property) {
+            checks++;
+            return result.apply((CompactDFA<Character>) automaton);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+
+/**
+ * Utility methods for processing batches of words in incremental constructions. Sorting a batch lexicographically
+ * places words that share a common prefix next to each other (and a prefix before its extensions), so that
+ * tree-based constructions only need to traverse the shared prefix once, see {@link #commonPrefixLength(Word, Word)}.
+ */
+public final class IncrementalBatches {
+
+    private IncrementalBatches() {
+        // prevent instantiation
+    }
+
+    /**
+     * Computes the lexicographic order (with respect to the symbol indices of the given alphabet) of the given words.
+     * Shorter words precede their extensions.
+     *
+     * @param words
+     *         the words to sort
+     * @param alphabet
+     *         the alphabet determining the order of symbols
+     * @param <I>
+     *         input symbol type
+     *
+     * @return an array of the indices of the given words in lexicographic order of the respective words
+     */
+    public static <I> int[] lexicographicOrder(List<? extends Word<? extends I>> words, Alphabet<I> alphabet) {
+        final int size = words.size();
+        final int[][] encoded = new int[size][];
+        final Integer[] order = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            final Word<? extends I> word = words.get(i);
+            final int[] symbols = new int[word.length()];
+            for (int j = 0; j < symbols.length; j++) {
+                symbols[j] = alphabet.getSymbolIndex(word.getSymbol(j));
+            }
+            encoded[i] = symbols;
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (i1, i2) -> compare(encoded[i1], encoded[i2]));
+
+        final int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the length of the longest common prefix of two words.
+     *
+     * @param w1
+     *         the first word
+     * @param w2
+     *         the second word
+     *
+     * @return the length of the longest common prefix of the two words
+     */
+    public static int commonPrefixLength(Word<?> w1, Word<?> w2) {
+        final int maxLength = Math.min(w1.length(), w2.length());
+
+        for (int i = 0; i < maxLength; i++) {
+            if (!Objects.equals(w1.getSymbol(i), w2.getSymbol(i))) {
+                return i;
+            }
+        }
+
+        return maxLength;
+    }
+
+    /**
+     * Checks that the given batches of input words and their associated data are of equal size.
+     *
+     * @param inputs
+     *         the batch of input words
+     * @param data
+     *         the data associated with the input words
+     *
+     * @throws IllegalArgumentException
+     *         if the sizes do not match
+     */
+    public static void checkBatchSize(List<?> inputs, List<?> data) {
+        if (inputs.size() != data.size()) {
+            throw new IllegalArgumentException(
+                    "Batch sizes must match, but they do not (inputs/data): " + inputs.size() + " vs. " + data.size());
+        }
+    }
+
+    private static int compare(int[] w1, int[] w2) {
+        final int maxLength = Math.min(w1.length, w2.length);
+
+        for (int i = 0; i < maxLength; i++) {
+            final int cmp = Integer.compare(w1[i], w2[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+
+        return Integer.compare(w1.length, w2.length);
+    }
+}
@@ -15,10 +15,14 @@
  */
 package net.automatalib.incremental.dfa;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.automatalib.SupportsGrowingAlphabet;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.graphs.Graph;
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.incremental.IncrementalConstruction;
 import net.automatalib.ts.UniversalDTS;
 import net.automatalib.words.Word;
@@ -43,6 +47,25 @@ public interface IncrementalDFABuilder<I> extends IncrementalConstruction<DFA<?,
      */
     Acceptance lookup(Word<? extends I> inputWord);
 
+    /**
+     * Looks up the tri-state acceptance values for a batch of words. Implementations may re-order the batch
+     * internally, e.g. to process shared prefixes of the words only once.
+     *
+     * @param inputWords
+     *         the words
+     *
+     * @return the tri-state acceptance values, in the order of the given words
+     *
+     * @see #lookup(Word)
+     */
+    default List<Acceptance> lookupAll(List<? extends Word<? extends I>> inputWords) {
+        final List<Acceptance> result = new ArrayList<>(inputWords.size());
+        for (Word<? extends I> w : inputWords) {
+            result.add(lookup(w));
+        }
+        return result;
+    }
+
     /**
      * Inserts a new word into the automaton, with a given acceptance value.
      *
@@ -69,6 +92,30 @@ public interface IncrementalDFABuilder<I> extends IncrementalConstruction<DFA<?,
      */
     void insert(Word<? extends I> word);
 
+    /**
+     * Inserts a batch of words into the automaton, with given acceptance values. The effect is the same as inserting
+     * each word individually via {@link #insert(Word, boolean)}, however implementations may re-order the batch
+     * internally, e.g. to process shared prefixes of the words only once. In case of a conflict, some (but not
+     * necessarily all) of the remaining words may have already been inserted.
+     *
+     * @param words
+     *         the words to insert
+     * @param acceptances
+     *         the acceptance values of the words (at the same positions as their words)
+     *
+     * @throws ConflictException
+     *         if some of the newly provided information conflicts with existing information
+     * @throws IllegalArgumentException
+     *         if the number of words and acceptance values does not match
+     */
+    default void insertAll(List<? extends Word<? extends I>> words, List<Boolean> acceptances) {
+        IncrementalBatches.checkBatchSize(words, acceptances);
+
+        for (int i = 0; i < words.size(); i++) {
+            insert(words.get(i), acceptances.get(i));
+        }
+    }
+
     @Override
     GraphView<I, ?, ?> asGraph();
 
@@ -17,6 +17,7 @@ package net.automatalib.incremental.dfa.tree;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -27,6 +28,7 @@ import java.util.Map;
 import com.google.common.collect.Iterators;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.incremental.dfa.AbstractIncrementalDFABuilder;
 import net.automatalib.incremental.dfa.Acceptance;
 import net.automatalib.util.graphs.traversal.GraphTraversal;
@@ -176,10 +178,80 @@ public class IncrementalDFATreeBuilder<I> extends AbstractIncrementalDFABuilder<
             curr = succ;
         }
 
-        Acceptance acc = curr.getAcceptance();
+        updateAcceptance(curr, word, acceptance);
+    }
+
+    @Override
+    public List<Acceptance> lookupAll(List<? extends Word<? extends I>> inputWords) {
+        final Acceptance[] result = new Acceptance[inputWords.size()];
+        final List<Node<I>> path = new ArrayList<>();
+        Word<? extends I> prev = Word.epsilon();
+
+        path.add(root);
+
+        // re-use the path of the previous word for the common prefix, see IncrementalBatches
+        for (int idx : IncrementalBatches.lexicographicOrder(inputWords, inputAlphabet)) {
+            final Word<? extends I> word = inputWords.get(idx);
+            final int reuse = Math.min(IncrementalBatches.commonPrefixLength(prev, word), path.size() - 1);
+
+            path.subList(reuse + 1, path.size()).clear();
+            Node<I> curr = path.get(reuse);
+
+            for (int i = reuse; i < word.length(); i++) {
+                int symIdx = inputAlphabet.getSymbolIndex(word.getSymbol(i));
+                Node<I> succ = curr.getChild(symIdx);
+                if (succ == null) {
+                    break;
+                }
+                curr = succ;
+                path.add(curr);
+            }
+
+            result[idx] = path.size() == word.length() + 1 ? curr.getAcceptance() : Acceptance.DONT_KNOW;
+            prev = word;
+        }
+
+        return Arrays.asList(result);
+    }
+
+    @Override
+    public void insertAll(List<? extends Word<? extends I>> words, List<Boolean> acceptances) {
+        IncrementalBatches.checkBatchSize(words, acceptances);
+
+        final List<Node<I>> path = new ArrayList<>();
+        Word<? extends I> prev = Word.epsilon();
+
+        path.add(root);
+
+        // re-use the path of the previous word for the common prefix, see IncrementalBatches
+        for (int idx : IncrementalBatches.lexicographicOrder(words, inputAlphabet)) {
+            final Word<? extends I> word = words.get(idx);
+            final int reuse = IncrementalBatches.commonPrefixLength(prev, word);
+
+            path.subList(reuse + 1, path.size()).clear();
+            Node<I> curr = path.get(reuse);
+
+            for (int i = reuse; i < word.length(); i++) {
+                int inputIdx = inputAlphabet.getSymbolIndex(word.getSymbol(i));
+                Node<I> succ = curr.getChild(inputIdx);
+                if (succ == null) {
+                    succ = new Node<>();
+                    curr.setChild(inputIdx, alphabetSize, succ);
+                }
+                curr = succ;
+                path.add(curr);
+            }
+
+            updateAcceptance(curr, word, acceptances.get(idx));
+            prev = word;
+        }
+    }
+
+    private void updateAcceptance(Node<I> node, Word<? extends I> word, boolean acceptance) {
+        Acceptance acc = node.getAcceptance();
         Acceptance newWordAcc = Acceptance.fromBoolean(acceptance);
         if (acc == Acceptance.DONT_KNOW) {
-            curr.setAcceptance(newWordAcc);
+            node.setAcceptance(newWordAcc);
         } else if (acc != newWordAcc) {
             throw new ConflictException(
                     "Conflicting acceptance values for word " + word + ": " + acc + " vs " + newWordAcc);
@@ -16,13 +16,16 @@
 package net.automatalib.incremental.dfa.tree;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.commons.util.mappings.MutableMapping;
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.incremental.dfa.Acceptance;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -159,6 +162,26 @@ public class IncrementalPCDFATreeBuilder<I> extends IncrementalDFATreeBuilder<I>
         }
     }
 
+    @Override
+    public List<Acceptance> lookupAll(List<? extends Word<? extends I>> inputWords) {
+        // the prefix-closed semantics do not allow to re-use paths of the regular tree builder
+        final List<Acceptance> result = new ArrayList<>(inputWords.size());
+        for (Word<? extends I> w : inputWords) {
+            result.add(lookup(w));
+        }
+        return result;
+    }
+
+    @Override
+    public void insertAll(List<? extends Word<? extends I>> words, List<Boolean> acceptances) {
+        IncrementalBatches.checkBatchSize(words, acceptances);
+
+        // the prefix-closed semantics do not allow to re-use paths of the regular tree builder
+        for (int i = 0; i < words.size(); i++) {
+            insert(words.get(i), acceptances.get(i));
+        }
+    }
+
     @Override
     public TransitionSystemView asTransitionSystem() {
         return new TransitionSystemView();
@@ -15,7 +15,10 @@
  */
 package net.automatalib.incremental.mealy;
 
+import java.util.List;
+
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.words.Word;
 
 public interface IncrementalMealyBuilder<I, O> extends MealyBuilder<I, O> {
@@ -33,4 +36,29 @@ public interface IncrementalMealyBuilder<I, O> extends MealyBuilder<I, O> {
      */
     void insert(Word<? extends I> inputWord, Word<? extends O> outputWord);
 
+    /**
+     * Incorporates a batch of input/output words into the stored information. The effect is the same as inserting
+     * each pair individually via {@link #insert(Word, Word)}, however implementations may re-order the batch
+     * internally, e.g. to process shared prefixes of the input words only once. In case of a conflict, some (but not
+     * necessarily all) of the remaining pairs may have already been incorporated.
+     *
+     * @param inputWords
+     *         the input words
+     * @param outputWords
+     *         the corresponding output words (at the same positions as their input words)
+     *
+     * @throws ConflictException
+     *         if some of the information conflicts with information already stored
+     * @throws IllegalArgumentException
+     *         if the number of input words and output words does not match
+     */
+    default void insertAll(List<? extends Word<? extends I>> inputWords,
+                           List<? extends Word<? extends O>> outputWords) {
+        IncrementalBatches.checkBatchSize(inputWords, outputWords);
+
+        for (int i = 0; i < inputWords.size(); i++) {
+            insert(inputWords.get(i), outputWords.get(i));
+        }
+    }
+
 }
@@ -58,6 +58,24 @@ public interface MealyBuilder<I, O>
         return wb.toWord();
     }
 
+    /**
+     * Retrieves the output words for a batch of input words. For each input word, the returned list contains (at the
+     * same position) the output word that would be returned by {@link #lookup(Word)}. Implementations may re-order the
+     * batch internally, e.g. to process shared prefixes of the input words only once.
+     *
+     * @param inputWords
+     *         the input words
+     *
+     * @return the (possibly partial) output words, in the order of the given input words
+     */
+    default List<Word<O>> lookupAll(List<? extends Word<? extends I>> inputWords) {
+        final List<Word<O>> result = new ArrayList<>(inputWords.size());
+        for (Word<? extends I> w : inputWords) {
+            result.add(lookup(w));
+        }
+        return result;
+    }
+
     @Override
     default boolean hasDefinitiveInformation(Word<? extends I> word) {
         return lookup(word, new ArrayList<>(word.length()));
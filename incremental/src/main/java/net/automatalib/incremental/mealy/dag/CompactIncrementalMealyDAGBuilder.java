@@ -0,0 +1,937 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.dag;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.commons.smartcollections.ArrayUtil;
+import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.UnionFind;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.AbstractGraphView;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.ts.output.MealyTransitionSystem;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A memory-efficient variant of the {@link IncrementalMealyDAGBuilder}.
+ * <p>
+ * Instead of representing each state (and its signature) by a set of objects, states are identified by integers and
+ * their signatures (successors and outputs) are stored in plain {@code int} arrays. Output symbols are interned, i.e.,
+ * each distinct output symbol is only stored once and referenced by its index. The register (which is used for
+ * identifying states with equal signatures) is an open-addressing hash table of state IDs that is keyed by the cached
+ * signature hashes of the states. States that become unreachable during an insertion are recycled by subsequent
+ * insertions.
+ * <p>
+ * As a result, the memory consumption per state is reduced to (roughly) {@code 8 * alphabetSize + 16} bytes, compared
+ * to several hundred bytes of object headers and references per state of the {@link IncrementalMealyDAGBuilder}.
+ *
+ * @param <I>
+ *         input symbol class
+ * @param <O>
+ *         output symbol class
+ */
+public class CompactIncrementalMealyDAGBuilder<I, O> implements IncrementalMealyBuilder<I, O>, InputAlphabetHolder<I> {
+
+    private static final int INIT = 0;
+    private static final int NO_STATE = -1;
+    private static final int NO_OUTPUT = -1;
+
+    private static final int EMPTY_SLOT = -1;
+    private static final int DELETED_SLOT = -2;
+
+    private static final int DEFAULT_STATE_CAPACITY = 16;
+    private static final int DEFAULT_TABLE_CAPACITY = 32;
+
+    private final Alphabet<I> inputAlphabet;
+    private int alphabetSize;
+
+    // state storage
+    private int[] successors;
+    private int[] outputs;
+    private int[] numIncoming;
+    private int[] hashes;
+    private int stateCapacity;
+    private int numStates;
+
+    // recycling of unreachable states
+    private int[] freeStates;
+    private int numFreeStates;
+    private int[] discardedStates;
+    private int numDiscardedStates;
+
+    // register
+    private int[] table;
+    private int numRegistered;
+    private int numDeleted;
+
+    // output interning
+    private final List<@Nullable O> outputSymbols;
+    private final Map<@Nullable O, Integer> outputIndices;
+
+    /**
+     * Constructor.
+     *
+     * @param inputAlphabet
+     *         the input alphabet to use
+     */
+    public CompactIncrementalMealyDAGBuilder(Alphabet<I> inputAlphabet) {
+        this.inputAlphabet = inputAlphabet;
+        this.alphabetSize = inputAlphabet.size();
+
+        this.stateCapacity = DEFAULT_STATE_CAPACITY;
+        this.successors = new int[stateCapacity * alphabetSize];
+        this.outputs = new int[stateCapacity * alphabetSize];
+        this.numIncoming = new int[stateCapacity];
+        this.hashes = new int[stateCapacity];
+        Arrays.fill(successors, NO_STATE);
+        Arrays.fill(outputs, NO_OUTPUT);
+
+        this.freeStates = new int[DEFAULT_STATE_CAPACITY];
+        this.discardedStates = new int[DEFAULT_STATE_CAPACITY];
+
+        this.table = new int[DEFAULT_TABLE_CAPACITY];
+        Arrays.fill(table, EMPTY_SLOT);
+
+        this.outputSymbols = new ArrayList<>();
+        this.outputIndices = new HashMap<>();
+
+        // the initial state is never registered, since it can never legally act as a successor
+        final int init = allocateState();
+        assert init == INIT;
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        if (!this.inputAlphabet.containsSymbol(symbol)) {
+            Alphabets.toGrowingAlphabetOrThrowException(this.inputAlphabet).addSymbol(symbol);
+        }
+
+        final int newAlphabetSize = this.inputAlphabet.size();
+        // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+        if (alphabetSize < newAlphabetSize) {
+            // signature hashes only depend on defined transitions, hence the register remains valid
+            this.successors = updateLayout(successors, alphabetSize, newAlphabetSize, NO_STATE);
+            this.outputs = updateLayout(outputs, alphabetSize, newAlphabetSize, NO_OUTPUT);
+            this.alphabetSize = newAlphabetSize;
+        }
+    }
+
+    private int[] updateLayout(int[] storage, int oldAlphabetSize, int newAlphabetSize, int defaultValue) {
+        final int[] result = new int[stateCapacity * newAlphabetSize];
+        Arrays.fill(result, defaultValue);
+
+        for (int s = 0; s < numStates; s++) {
+            System.arraycopy(storage, s * oldAlphabetSize, result, s * newAlphabetSize, oldAlphabetSize);
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean hasDefinitiveInformation(Word<? extends I> word) {
+        return getState(word) != NO_STATE;
+    }
+
+    /**
+     * Retrieves the (internal) state reached by the given input word, or {@link #NO_STATE} if no information about the
+     * input word is present.
+     *
+     * @param word
+     *         the input word
+     *
+     * @return the corresponding state
+     */
+    private int getState(Word<? extends I> word) {
+        int s = INIT;
+
+        for (I sym : word) {
+            s = getSuccessor(s, inputAlphabet.getSymbolIndex(sym));
+            if (s == NO_STATE) {
+                break;
+            }
+        }
+        return s;
+    }
+
+    @Override
+    public boolean lookup(Word<? extends I> word, List<? super O> output) {
+        int curr = INIT;
+        for (I sym : word) {
+            int idx = inputAlphabet.getSymbolIndex(sym);
+            int succ = getSuccessor(curr, idx);
+            if (succ == NO_STATE) {
+                return false;
+            }
+            output.add(getOutput(curr, idx));
+            curr = succ;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void insert(Word<? extends I> word, Word<? extends O> outputWord) {
+        try {
+            doInsert(word, outputWord);
+        } finally {
+            releaseDiscardedStates();
+        }
+    }
+
+    private void doInsert(Word<? extends I> word, Word<? extends O> outputWord) {
+        int curr = INIT;
+        int conf = NO_STATE;
+
+        final int len = word.length();
+        final int[] pathStates = new int[len];
+        final int[] pathIndices = new int[len];
+        int pathSize = 0;
+
+        // Find the internal state in the automaton that can be reached by a
+        // maximal prefix of the word (i.e., a path of secured information)
+        Iterator<? extends O> outWordIterator = outputWord.iterator();
+        for (I sym : word) {
+            // During this, store the *first* confluence state (i.e., state with multiple incoming edges).
+            if (conf == NO_STATE && isConfluence(curr)) {
+                conf = curr;
+            }
+
+            int idx = inputAlphabet.getSymbolIndex(sym);
+            int succ = getSuccessor(curr, idx);
+            if (succ == NO_STATE) {
+                break;
+            }
+
+            // If a transition exists for the input symbol, it also has an output symbol.
+            // Check if this matches the provided one, otherwise there is a conflict
+            O outSym = outWordIterator.next();
+            O storedSym = getOutput(curr, idx);
+            if (!Objects.equals(outSym, storedSym)) {
+                throw new ConflictException(
+                        "Error inserting " + word.prefix(pathSize + 1) + " / " + outputWord.prefix(pathSize + 1) +
+                        ": Incompatible output symbols: " + outSym + " vs " + storedSym);
+            }
+            pathStates[pathSize] = curr;
+            pathIndices[pathSize] = idx;
+            pathSize++;
+            curr = succ;
+        }
+
+        // The information was already present - we do not need to continue
+        if (pathSize == len) {
+            return;
+        }
+
+        int last = curr;
+
+        if (conf != NO_STATE) {
+            if (conf == last) {
+                conf = NO_STATE;
+            }
+            last = hiddenClone(last);
+            if (conf == NO_STATE) {
+                assert pathSize > 0;
+                int prev = pathStates[pathSize - 1];
+                int prevIdx = pathIndices[pathSize - 1];
+                if (prev != INIT) {
+                    updateSignature(prev, prevIdx, last);
+                } else {
+                    updateInitSignature(prevIdx, last);
+                }
+            }
+        } else if (last != INIT) {
+            unregister(last);
+        }
+
+        // We then create a suffix path, i.e., a linear sequence of states corresponding to
+        // the suffix (more precisely: the suffix minus the first symbol, since this is the
+        // transition which is used for gluing the suffix path to the existing automaton).
+        Word<? extends I> suffix = word.subWord(pathSize);
+        Word<? extends O> suffixOut = outputWord.subWord(pathSize);
+
+        // Here we prepare the "gluing" transition
+        int suffTransIdx = inputAlphabet.getSymbolIndex(suffix.firstSymbol());
+        int suffTransOut = toOutputIndex(suffixOut.firstSymbol());
+
+        int suffixState = createSuffix(suffix.subWord(1), suffixOut.subWord(1));
+
+        if (last != INIT) {
+            last = unhide(last, suffTransIdx, suffixState, suffTransOut);
+
+            // the suffixState may be part of our current path and become confluent due to un-hiding
+            if (isConfluence(suffixState)) {
+                // update the reference with whatever state comes first
+                for (int i = 0; i < pathSize; i++) {
+                    final int s = pathStates[i];
+                    if (s == conf || s == suffixState) {
+                        conf = s;
+                        break;
+                    }
+                }
+            }
+        } else {
+            updateInitSignature(suffTransIdx, suffixState, suffTransOut);
+        }
+
+        if (pathSize == 0) {
+            return;
+        }
+
+        if (conf != NO_STATE) {
+            // If there was a confluence state, we have to clone all nodes on
+            // the prefix path up to this state, in order to separate it from other
+            // prefixes reaching the confluence state (we do not know anything about them plus the suffix).
+            int state;
+            do {
+                pathSize--;
+                state = pathStates[pathSize];
+                last = clone(state, pathIndices[pathSize], last);
+            } while (state != conf);
+        }
+
+        // Finally, we have to refresh all the signatures, iterating backwards until the updating becomes stable.
+        while (pathSize > 1) {
+            pathSize--;
+            int state = pathStates[pathSize];
+            int idx = pathIndices[pathSize];
+
+            // when extending the path we previously traversed (i.e. expanding the suffix), it may happen that we end up
+            // adding a cyclic transition. If this is the case, simply clone the current state and update the parent in
+            // the next iteration
+            if (state == last) {
+                last = clone(state, idx, last);
+                continue;
+            }
+
+            int updated = updateSignature(state, idx, last);
+            if (state == updated) {
+                return;
+            }
+            last = updated;
+        }
+
+        updateInitSignature(pathIndices[0], last);
+    }
+
+    private int hiddenClone(int other) {
+        final int state = allocateState();
+        copySignature(other, state);
+
+        for (int i = 0; i < alphabetSize; i++) {
+            increaseIncoming(getSuccessor(state, i));
+        }
+        return state;
+    }
+
+    /**
+     * Update the signature of a state, changing only the successor state of a single transition index.
+     *
+     * @param state
+     *         the state which's signature to update
+     * @param idx
+     *         the transition index to modify
+     * @param succ
+     *         the new successor state
+     *
+     * @return the resulting state, which can either be the same as the input state (if the new signature is unique), or
+     * the result of merging with another state.
+     */
+    private int updateSignature(int state, int idx, int succ) {
+        final int memIdx = state * alphabetSize + idx;
+        final int oldSucc = successors[memIdx];
+        if (oldSucc == succ) {
+            return state;
+        }
+
+        unregister(state);
+        decreaseIncoming(oldSucc);
+        successors[memIdx] = succ;
+        increaseIncoming(succ);
+        return replaceOrRegister(state);
+    }
+
+    /**
+     * Update the signature of the initial state. This requires special handling, as the initial state is not stored in
+     * the register (since it can never legally act as a predecessor).
+     *
+     * @param idx
+     *         the transition index being changed
+     * @param succ
+     *         the new successor state
+     */
+    private void updateInitSignature(int idx, int succ) {
+        final int oldSucc = successors[idx];
+        if (oldSucc == succ) {
+            return;
+        }
+        decreaseIncoming(oldSucc);
+        successors[idx] = succ;
+        increaseIncoming(succ);
+    }
+
+    /**
+     * Updates the signature of the initial state, changing both the successor state and the output symbol.
+     *
+     * @param idx
+     *         the transition index to change
+     * @param succ
+     *         the new successor state
+     * @param out
+     *         the (index of the) output symbol
+     */
+    private void updateInitSignature(int idx, int succ, int out) {
+        final int oldSucc = successors[idx];
+        if (oldSucc == succ && outputs[idx] == out) {
+            return;
+        }
+        decreaseIncoming(oldSucc);
+        successors[idx] = succ;
+        outputs[idx] = out;
+        increaseIncoming(succ);
+    }
+
+    private int createSuffix(Word<? extends I> suffix, Word<? extends O> suffixOut) {
+        int last = replaceOrRegisterNew(allocateState());
+
+        int len = suffix.length();
+        for (int i = len - 1; i >= 0; i--) {
+            final int state = allocateState();
+            final int memIdx = state * alphabetSize + inputAlphabet.getSymbolIndex(suffix.getSymbol(i));
+            successors[memIdx] = last;
+            outputs[memIdx] = toOutputIndex(suffixOut.getSymbol(i));
+            last = replaceOrRegisterNew(state);
+        }
+
+        return last;
+    }
+
+    private int unhide(int state, int idx, int succ, int out) {
+        final int memIdx = state * alphabetSize + idx;
+        decreaseIncoming(successors[memIdx]);
+        successors[memIdx] = succ;
+        increaseIncoming(succ);
+        outputs[memIdx] = out;
+        return replaceOrRegister(state);
+    }
+
+    private int clone(int other, int idx, int succ) {
+        if (getSuccessor(other, idx) == succ) {
+            return other;
+        }
+        final int state = allocateState();
+        copySignature(other, state);
+        successors[state * alphabetSize + idx] = succ;
+        return replaceOrRegisterNew(state);
+    }
+
+    /**
+     * Returns the registered state with the same signature as the given (existing, but unregistered) state, or
+     * registers the given state if no such state exists. If the given state is replaced, its references to its
+     * successors are removed and the state is discarded.
+     */
+    private int replaceOrRegister(int state) {
+        hashes[state] = computeHash(state);
+        final int other = find(state);
+        if (other != NO_STATE) {
+            if (state != other) {
+                for (int i = 0; i < alphabetSize; i++) {
+                    decreaseIncoming(getSuccessor(state, i));
+                }
+                discardState(state);
+            }
+            return other;
+        }
+
+        register(state);
+        return state;
+    }
+
+    /**
+     * Returns the registered state with the same signature as the given (freshly allocated) state, or registers the
+     * given state if no such state exists. If the given state is replaced, it is immediately released.
+     */
+    private int replaceOrRegisterNew(int state) {
+        hashes[state] = computeHash(state);
+        final int other = find(state);
+        if (other != NO_STATE) {
+            releaseState(state);
+            return other;
+        }
+
+        register(state);
+        for (int i = 0; i < alphabetSize; i++) {
+            increaseIncoming(getSuccessor(state, i));
+        }
+        return state;
+    }
+
+    // /////////////////////////////////////////////////////////////////////
+    // State storage //
+    // /////////////////////////////////////////////////////////////////////
+
+    private int getSuccessor(int state, int idx) {
+        return successors[state * alphabetSize + idx];
+    }
+
+    private O getOutput(int state, int idx) {
+        return toOutput(outputs[state * alphabetSize + idx]);
+    }
+
+    private boolean isConfluence(int state) {
+        return numIncoming[state] > 1;
+    }
+
+    private void increaseIncoming(int state) {
+        if (state != NO_STATE) {
+            numIncoming[state]++;
+        }
+    }
+
+    private void decreaseIncoming(int state) {
+        if (state != NO_STATE) {
+            numIncoming[state]--;
+        }
+    }
+
+    private void copySignature(int source, int target) {
+        System.arraycopy(successors, source * alphabetSize, successors, target * alphabetSize, alphabetSize);
+        System.arraycopy(outputs, source * alphabetSize, outputs, target * alphabetSize, alphabetSize);
+    }
+
+    private int allocateState() {
+        if (numFreeStates > 0) {
+            return freeStates[--numFreeStates];
+        }
+
+        if (numStates == stateCapacity) {
+            final int newCapacity = ArrayUtil.computeNewCapacity(stateCapacity, numStates + 1);
+            final int oldLength = successors.length;
+
+            this.successors = Arrays.copyOf(successors, newCapacity * alphabetSize);
+            this.outputs = Arrays.copyOf(outputs, newCapacity * alphabetSize);
+            Arrays.fill(successors, oldLength, successors.length, NO_STATE);
+            Arrays.fill(outputs, oldLength, outputs.length, NO_OUTPUT);
+            this.numIncoming = Arrays.copyOf(numIncoming, newCapacity);
+            this.hashes = Arrays.copyOf(hashes, newCapacity);
+            this.stateCapacity = newCapacity;
+        }
+
+        return numStates++;
+    }
+
+    /**
+     * Marks the given state as discarded. Discarded states may still be referenced (e.g., by the path of the current
+     * insertion) and are therefore only released after the insertion has finished.
+     */
+    private void discardState(int state) {
+        if (numDiscardedStates == discardedStates.length) {
+            discardedStates = Arrays.copyOf(discardedStates, numDiscardedStates * 2);
+        }
+        discardedStates[numDiscardedStates++] = state;
+    }
+
+    private void releaseDiscardedStates() {
+        Arrays.sort(discardedStates, 0, numDiscardedStates);
+
+        int prev = NO_STATE;
+        for (int i = 0; i < numDiscardedStates; i++) {
+            final int state = discardedStates[i];
+            if (state != prev) {
+                releaseState(state);
+                prev = state;
+            }
+        }
+
+        numDiscardedStates = 0;
+    }
+
+    private void releaseState(int state) {
+        final int memIdx = state * alphabetSize;
+        Arrays.fill(successors, memIdx, memIdx + alphabetSize, NO_STATE);
+        Arrays.fill(outputs, memIdx, memIdx + alphabetSize, NO_OUTPUT);
+        numIncoming[state] = 0;
+
+        if (numFreeStates == freeStates.length) {
+            freeStates = Arrays.copyOf(freeStates, numFreeStates * 2);
+        }
+        freeStates[numFreeStates++] = state;
+    }
+
+    // /////////////////////////////////////////////////////////////////////
+    // Register //
+    // /////////////////////////////////////////////////////////////////////
+
+    private int computeHash(int state) {
+        final int memIdx = state * alphabetSize;
+        int result = 1;
+
+        // only consider defined transitions so that the hash is independent of the alphabet size
+        for (int i = 0; i < alphabetSize; i++) {
+            final int succ = successors[memIdx + i];
+            if (succ != NO_STATE) {
+                result = 31 * result + i;
+                result = 31 * result + succ;
+                result = 31 * result + outputs[memIdx + i];
+            }
+        }
+
+        return result ^ (result >>> 16);
+    }
+
+    private boolean hasEqualSignature(int state1, int state2) {
+        final int memIdx1 = state1 * alphabetSize;
+        final int memIdx2 = state2 * alphabetSize;
+
+        for (int i = 0; i < alphabetSize; i++) {
+            if (successors[memIdx1 + i] != successors[memIdx2 + i] || outputs[memIdx1 + i] != outputs[memIdx2 + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int find(int state) {
+        final int hash = hashes[state];
+        final int mask = table.length - 1;
+
+        int slot = hash & mask;
+        int entry;
+        while ((entry = table[slot]) != EMPTY_SLOT) {
+            if (entry >= 0 && hashes[entry] == hash && hasEqualSignature(entry, state)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return NO_STATE;
+    }
+
+    private void register(int state) {
+        // keep the load factor (including deleted slots) below 0.5
+        if (2 * (numRegistered + numDeleted + 1) > table.length) {
+            rehash(2 * (numRegistered + 1) > table.length / 2 ? table.length * 2 : table.length);
+        }
+
+        insertIntoTable(state);
+        numRegistered++;
+    }
+
+    private void insertIntoTable(int state) {
+        final int mask = table.length - 1;
+
+        int slot = hashes[state] & mask;
+        while (table[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (table[slot] == DELETED_SLOT) {
+            numDeleted--;
+        }
+        table[slot] = state;
+    }
+
+    private void unregister(int state) {
+        final int mask = table.length - 1;
+
+        int slot = hashes[state] & mask;
+        int entry;
+        while ((entry = table[slot]) != EMPTY_SLOT) {
+            if (entry == state) {
+                table[slot] = DELETED_SLOT;
+                numRegistered--;
+                numDeleted++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash(int newLength) {
+        final int[] oldTable = table;
+
+        this.table = new int[newLength];
+        Arrays.fill(table, EMPTY_SLOT);
+        this.numDeleted = 0;
+
+        for (int entry : oldTable) {
+            if (entry >= 0) {
+                insertIntoTable(entry);
+            }
+        }
+    }
+
+    // /////////////////////////////////////////////////////////////////////
+    // Output interning //
+    // /////////////////////////////////////////////////////////////////////
+
+    private int toOutputIndex(@Nullable O output) {
+        final Integer idx = outputIndices.get(output);
+        if (idx != null) {
+            return idx;
+        }
+
+        final int newIdx = outputSymbols.size();
+        outputSymbols.add(output);
+        outputIndices.put(output, newIdx);
+        return newIdx;
+    }
+
+    @SuppressWarnings("nullness") // outputs are only requested for defined transitions
+    private O toOutput(int idx) {
+        return outputSymbols.get(idx);
+    }
+
+    @Override
+    public GraphView asGraph() {
+        return new GraphView();
+    }
+
+    @Override
+    public AutomatonView asTransitionSystem() {
+        return new AutomatonView();
+    }
+
+    @Override
+    public @Nullable Word<I> findSeparatingWord(MealyMachine<?, I, ?, O> target,
+                                                Collection<? extends I> inputs,
+                                                boolean omitUndefined) {
+        return doFindSeparatingWord(target, inputs, omitUndefined);
+    }
+
+    private <S, T> @Nullable Word<I> doFindSeparatingWord(MealyMachine<S, I, T, O> mealy,
+                                                          Collection<? extends I> inputs,
+                                                          boolean omitUndefined) {
+        S init2 = mealy.getInitialState();
+
+        if (init2 == null) {
+            return omitUndefined ? null : Word.epsilon();
+        }
+
+        StateIDs<S> mealyIds = mealy.stateIDs();
+
+        // state IDs are already array indices, so no additional mapping is required
+        int thisStates = numStates;
+        int id1 = INIT, id2 = mealyIds.getStateId(init2) + thisStates;
+
+        IntDisjointSets uf = new UnionFind(thisStates + mealy.size());
+        uf.link(id1, id2);
+
+        Queue<Record<S, I>> queue = new ArrayDeque<>();
+
+        queue.offer(new Record<>(INIT, init2));
+
+        I lastSym = null;
+
+        Record<S, I> current;
+
+        explore:
+        while ((current = queue.poll()) != null) {
+            int state1 = current.state1;
+            S state2 = current.state2;
+
+            for (I sym : inputs) {
+                int idx = inputAlphabet.getSymbolIndex(sym);
+                int succ1 = getSuccessor(state1, idx);
+                if (succ1 == NO_STATE) {
+                    continue;
+                }
+
+                T trans2 = mealy.getTransition(state2, sym);
+                if (trans2 == null) {
+                    if (omitUndefined) {
+                        continue;
+                    }
+                    lastSym = sym;
+                    break explore;
+                }
+
+                Object out1 = getOutput(state1, idx);
+                Object out2 = mealy.getTransitionOutput(trans2);
+                if (!Objects.equals(out1, out2)) {
+                    lastSym = sym;
+                    break explore;
+                }
+
+                S succ2 = mealy.getSuccessor(trans2);
+
+                id1 = succ1;
+                id2 = mealyIds.getStateId(succ2) + thisStates;
+
+                int r1 = uf.find(id1), r2 = uf.find(id2);
+
+                if (r1 == r2) {
+                    continue;
+                }
+
+                uf.link(r1, r2);
+
+                queue.offer(new Record<>(succ1, succ2, current, sym));
+            }
+        }
+
+        if (current == null) {
+            return null;
+        }
+
+        int ceLength = current.depth;
+        if (lastSym != null) {
+            ceLength++;
+        }
+
+        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
+        WordBuilder<I> wb = new WordBuilder<>(null, ceLength);
+
+        int index = ceLength;
+
+        if (lastSym != null) {
+            wb.setSymbol(--index, lastSym);
+        }
+
+        while (current.reachedFrom != null) {
+            final I reachedVia = current.reachedVia;
+            wb.setSymbol(--index, reachedVia);
+            current = current.reachedFrom;
+        }
+
+        return wb.toWord();
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+
+    // /////////////////////////////////////////////////////////////////////
+    // Equivalence test //
+    // /////////////////////////////////////////////////////////////////////
+
+    private static final class Record<S, I> {
+
+        private final int state1;
+        private final S state2;
+        private final I reachedVia;
+        private final @Nullable Record<S, I> reachedFrom;
+        private final int depth;
+
+        @SuppressWarnings("nullness") // we will only access reachedVia after checking reachedFrom for null
+        Record(int state1, S state2) {
+            this.state1 = state1;
+            this.state2 = state2;
+            this.reachedFrom = null;
+            this.reachedVia = null;
+            this.depth = 0;
+        }
+
+        Record(int state1, S state2, Record<S, I> reachedFrom, I reachedVia) {
+            this.state1 = state1;
+            this.state2 = state2;
+            this.reachedFrom = reachedFrom;
+            this.reachedVia = reachedVia;
+            this.depth = reachedFrom.depth + 1;
+        }
+    }
+
+    public class GraphView extends AbstractGraphView<I, O, Integer, IntTransitionRecord> {
+
+        @Override
+        public Collection<IntTransitionRecord> getOutgoingEdges(Integer node) {
+            List<IntTransitionRecord> edges = new ArrayList<>(alphabetSize);
+            for (int i = 0; i < alphabetSize; i++) {
+                if (getSuccessor(node, i) != NO_STATE) {
+                    edges.add(new IntTransitionRecord(node, i));
+                }
+            }
+            return edges;
+        }
+
+        @Override
+        public Integer getTarget(IntTransitionRecord edge) {
+            return getSuccessor(edge.source, edge.transIdx);
+        }
+
+        @Override
+        public Collection<Integer> getNodes() {
+            final List<Integer> nodes = new ArrayList<>(numRegistered + 1);
+            nodes.add(INIT);
+            for (int entry : table) {
+                if (entry >= 0) {
+                    nodes.add(entry);
+                }
+            }
+            return nodes;
+        }
+
+        @Override
+        public I getInputSymbol(IntTransitionRecord edge) {
+            return inputAlphabet.getSymbol(edge.transIdx);
+        }
+
+        @Override
+        public O getOutputSymbol(IntTransitionRecord edge) {
+            return getOutput(edge.source, edge.transIdx);
+        }
+
+        @Override
+        public Integer getInitialNode() {
+            return INIT;
+        }
+    }
+
+    public class AutomatonView implements MealyTransitionSystem<Integer, I, IntTransitionRecord, O> {
+
+        @Override
+        public Integer getSuccessor(IntTransitionRecord transition) {
+            return CompactIncrementalMealyDAGBuilder.this.getSuccessor(transition.source, transition.transIdx);
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return INIT;
+        }
+
+        @Override
+        public @Nullable IntTransitionRecord getTransition(Integer state, I input) {
+            int inputIdx = inputAlphabet.getSymbolIndex(input);
+            if (CompactIncrementalMealyDAGBuilder.this.getSuccessor(state, inputIdx) == NO_STATE) {
+                return null;
+            }
+            return new IntTransitionRecord(state, inputIdx);
+        }
+
+        @Override
+        public O getTransitionOutput(IntTransitionRecord transition) {
+            return CompactIncrementalMealyDAGBuilder.this.getOutput(transition.source, transition.transIdx);
+        }
+    }
+}
@@ -20,7 +20,9 @@ import java.util.Collection;
 import java.util.List;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -60,6 +62,11 @@ abstract class AbstractAlphabetBasedMealyTreeBuilder<I, O> extends AbstractMealy
         }
     }
 
+    @Override
+    public List<Word<O>> lookupAll(List<? extends Word<? extends I>> inputWords) {
+        return lookupAll(inputWords, IncrementalBatches.lexicographicOrder(inputWords, inputAlphabet));
+    }
+
     @Override
     protected @Nullable Edge<Node<O>, O> getEdge(Node<O> node, I symbol) {
         return node.getEdge(inputAlphabet.getSymbolIndex(symbol));
@@ -17,6 +17,7 @@ package net.automatalib.incremental.mealy.tree;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -27,6 +28,8 @@ import java.util.Objects;
 
 import com.google.common.collect.Iterators;
 import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.incremental.mealy.AbstractGraphView;
 import net.automatalib.incremental.mealy.MealyBuilder;
 import net.automatalib.ts.output.MealyTransitionSystem;
@@ -62,6 +65,111 @@ public abstract class AbstractMealyTreeBuilder<N, I, O> implements MealyBuilder<
         return true;
     }
 
+    /**
+     * Batch variant of {@link #lookup(Word, List)} that processes the given words in the given order. The tree path
+     * of the previously processed word is re-used for the common prefix with the currently processed word, so that
+     * shared prefixes of consecutive words only need to be traversed once.
+     *
+     * @param inputWords
+     *         the input words
+     * @param order
+     *         the order in which to process the input words, see
+     *         {@link IncrementalBatches#lexicographicOrder(List, net.automatalib.words.Alphabet)}
+     *
+     * @return the (possibly partial) output words, in the order of the given input words
+     */
+    protected List<Word<O>> lookupAll(List<? extends Word<? extends I>> inputWords, int[] order) {
+        @SuppressWarnings("unchecked")
+        final Word<O>[] result = new Word[inputWords.size()];
+        final List<N> path = new ArrayList<>();
+        final WordBuilder<O> outputs = new WordBuilder<>();
+        Word<? extends I> prev = Word.epsilon();
+
+        path.add(root);
+
+        for (int idx : order) {
+            final Word<? extends I> word = inputWords.get(idx);
+            final int reuse = Math.min(IncrementalBatches.commonPrefixLength(prev, word), outputs.size());
+
+            path.subList(reuse + 1, path.size()).clear();
+            outputs.truncate(reuse);
+
+            N curr = path.get(reuse);
+            for (int i = reuse; i < word.length(); i++) {
+                final Edge<N, O> edge = getEdge(curr, word.getSymbol(i));
+                if (edge == null) {
+                    break;
+                }
+                outputs.append(edge.getOutput());
+                curr = edge.getTarget();
+                path.add(curr);
+            }
+
+            result[idx] = outputs.toWord();
+            prev = word;
+        }
+
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Batch variant of an insertion that processes the given words in the given order. The tree path of the previously
+     * processed word is re-used for the common prefix with the currently processed word, so that shared prefixes of
+     * consecutive words only need to be traversed once.
+     *
+     * @param inputWords
+     *         the input words
+     * @param outputWords
+     *         the corresponding output words
+     * @param order
+     *         the order in which to process the input words, see
+     *         {@link IncrementalBatches#lexicographicOrder(List, net.automatalib.words.Alphabet)}
+     *
+     * @throws ConflictException
+     *         if some of the information conflicts with information already stored
+     */
+    protected void insertAll(List<? extends Word<? extends I>> inputWords,
+                             List<? extends Word<? extends O>> outputWords,
+                             int[] order) {
+        final List<N> path = new ArrayList<>();
+        Word<? extends I> prevInput = Word.epsilon();
+        Word<? extends O> prevOutput = Word.epsilon();
+
+        path.add(root);
+
+        for (int idx : order) {
+            final Word<? extends I> input = inputWords.get(idx);
+            final Word<? extends O> outputWord = outputWords.get(idx);
+            final int reuse = IncrementalBatches.commonPrefixLength(prevInput, input);
+
+            // the outputs of the shared prefix have already been checked/inserted for the previous word
+            if (IncrementalBatches.commonPrefixLength(prevOutput, outputWord) < reuse) {
+                throw new ConflictException();
+            }
+
+            path.subList(reuse + 1, path.size()).clear();
+            N curr = path.get(reuse);
+
+            for (int i = reuse; i < input.length(); i++) {
+                I sym = input.getSymbol(i);
+                O out = outputWord.getSymbol(i);
+                Edge<N, O> edge = getEdge(curr, sym);
+                if (edge == null) {
+                    curr = insertNode(curr, sym, out);
+                } else {
+                    if (!Objects.equals(out, edge.getOutput())) {
+                        throw new ConflictException();
+                    }
+                    curr = edge.getTarget();
+                }
+                path.add(curr);
+            }
+
+            prevInput = input;
+            prevOutput = outputWord;
+        }
+    }
+
     @Override
     public GraphView asGraph() {
         return new GraphView();
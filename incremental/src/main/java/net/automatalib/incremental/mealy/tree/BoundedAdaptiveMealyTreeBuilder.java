@@ -0,0 +1,348 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.incremental.mealy.AdaptiveMealyBuilder;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A capacity-limited variant of the {@link AdaptiveMealyTreeBuilder}. Once the number of tree nodes exceeds the given
+ * capacity, stored queries are evicted according to the given {@link EvictionPolicy} until the capacity is met again.
+ * Evicting a query removes the branch of the tree that is exclusively used by this query, i.e. information about
+ * prefixes that are shared with other stored queries is retained. Evicting a query that is a prefix of other stored
+ * queries only discards its bookkeeping but no tree nodes. The most recently inserted query is never evicted, so the
+ * capacity may temporarily be exceeded by a single query that is longer than the capacity.
+ * <p>
+ * Apart from the forgotten information of evicted queries, this builder behaves like a regular {@link
+ * AdaptiveMealyTreeBuilder}. In particular, {@link #getOldestInput()} returns the oldest (non-overridden and
+ * non-evicted) input. Additionally, this builder keeps track of the number of cache hits (lookups for which complete
+ * information was available), cache misses and evictions.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class BoundedAdaptiveMealyTreeBuilder<I, O> extends AbstractMealyTreeBuilder<BoundedNode<I, O>, I, O>
+        implements AdaptiveMealyBuilder<I, O>, InputAlphabetHolder<I> {
+
+    private final Alphabet<I> inputAlphabet;
+    private final int capacity;
+    private final EvictionPolicy evictionPolicy;
+    private final EvictionQueue<I, O> evictionQueue;
+    private int alphabetSize;
+    private int numNodes;
+
+    // insertion order
+    private @Nullable CacheEntry<I, O> oldest;
+    private @Nullable CacheEntry<I, O> newest;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor.
+     *
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param capacity
+     *         the maximum number of tree nodes (excluding the root) that should be stored
+     * @param evictionPolicy
+     *         the policy for determining the queries to evict
+     */
+    public BoundedAdaptiveMealyTreeBuilder(Alphabet<I> inputAlphabet, int capacity, EvictionPolicy evictionPolicy) {
+        super(new BoundedNode<>(inputAlphabet.size(), null, -1));
+
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+
+        this.inputAlphabet = inputAlphabet;
+        this.capacity = capacity;
+        this.evictionPolicy = evictionPolicy;
+        this.evictionQueue = evictionPolicy.createQueue();
+        this.alphabetSize = inputAlphabet.size();
+    }
+
+    @Override
+    public boolean insert(Word<? extends I> input, Word<? extends O> outputWord) {
+        BoundedNode<I, O> curr = root;
+        boolean hasOverwritten = false;
+
+        for (int i = 0; i < input.length(); i++) {
+            I sym = input.getSymbol(i);
+            O out = outputWord.getSymbol(i);
+            Edge<BoundedNode<I, O>, O> edge = getEdge(curr, sym);
+            if (edge == null) {
+                curr = insertNode(curr, sym, out);
+            } else {
+                if (!Objects.equals(out, edge.getOutput())) {
+                    hasOverwritten = true;
+                    removeSubtree(edge.getTarget());
+                    curr.setEdge(inputAlphabet.getSymbolIndex(sym), null);
+                    curr = insertNode(curr, sym, out);
+                } else {
+                    curr = edge.getTarget();
+                }
+            }
+        }
+
+        CacheEntry<I, O> entry = curr.getEntry();
+        if (entry == null) {
+            entry = new CacheEntry<>(curr, Word.upcast(input));
+            curr.setEntry(entry);
+            evictionQueue.add(entry);
+        } else {
+            evictionQueue.update(entry);
+            unlinkInsertion(entry);
+        }
+
+        // Make sure it uses the new ages.
+        linkInsertion(entry);
+        evict(entry);
+
+        return hasOverwritten;
+    }
+
+    @Override
+    public boolean lookup(Word<? extends I> word, List<? super O> output) {
+        BoundedNode<I, O> curr = root;
+
+        for (I sym : word) {
+            Edge<BoundedNode<I, O>, O> edge = getEdge(curr, sym);
+            if (edge == null) {
+                misses++;
+                return false;
+            }
+            output.add(edge.getOutput());
+            curr = edge.getTarget();
+        }
+
+        hits++;
+
+        final CacheEntry<I, O> entry = curr.getEntry();
+        if (entry != null) {
+            evictionQueue.access(entry);
+        }
+
+        return true;
+    }
+
+    @Override
+    public @Nullable Word<I> getOldestInput() {
+        return oldest == null ? null : oldest.query;
+    }
+
+    /**
+     * Returns the number of lookups for which complete information was available.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups for which no complete information was available.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of queries that have been evicted due to the capacity limit. Note that this does not include
+     * queries that have been overridden by conflicting insertions.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of currently stored tree nodes (excluding the root).
+     *
+     * @return the number of currently stored tree nodes
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    private void evict(CacheEntry<I, O> protectedEntry) {
+        while (numNodes > capacity) {
+            final CacheEntry<I, O> victim = evictionQueue.victim(protectedEntry);
+            if (victim == null) {
+                return;
+            }
+
+            removeEntry(victim);
+            evictions++;
+
+            // prune the branch that has exclusively been used by the victim
+            BoundedNode<I, O> node = victim.node;
+            BoundedNode<I, O> parent = node.getParent();
+            while (parent != null && node.isLeaf() && node.getEntry() == null) {
+                parent.setEdge(node.getParentIdx(), null);
+                numNodes--;
+                node = parent;
+                parent = node.getParent();
+            }
+        }
+    }
+
+    private void removeSubtree(BoundedNode<I, O> node) {
+        final Deque<BoundedNode<I, O>> stack = new ArrayDeque<>();
+        stack.push(node);
+
+        while (!stack.isEmpty()) {
+            final BoundedNode<I, O> curr = stack.pop();
+            final CacheEntry<I, O> entry = curr.getEntry();
+
+            if (entry != null) {
+                removeEntry(entry);
+            }
+            numNodes--;
+
+            for (int i = 0; i < alphabetSize; i++) {
+                final BoundedNode<I, O> succ = curr.getSuccessor(i);
+                if (succ != null) {
+                    stack.push(succ);
+                }
+            }
+        }
+    }
+
+    private void removeEntry(CacheEntry<I, O> entry) {
+        evictionQueue.remove(entry);
+        unlinkInsertion(entry);
+        entry.node.setEntry(null);
+    }
+
+    private void linkInsertion(CacheEntry<I, O> entry) {
+        entry.older = newest;
+        entry.newer = null;
+
+        if (newest == null) {
+            oldest = entry;
+        } else {
+            newest.newer = entry;
+        }
+
+        newest = entry;
+    }
+
+    private void unlinkInsertion(CacheEntry<I, O> entry) {
+        final CacheEntry<I, O> older = entry.older;
+        final CacheEntry<I, O> newer = entry.newer;
+
+        if (older == null) {
+            oldest = newer;
+        } else {
+            older.newer = newer;
+        }
+
+        if (newer == null) {
+            newest = older;
+        } else {
+            newer.older = older;
+        }
+
+        entry.older = null;
+        entry.newer = null;
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        if (!inputAlphabet.containsSymbol(symbol)) {
+            Alphabets.toGrowingAlphabetOrThrowException(inputAlphabet).addSymbol(symbol);
+        }
+
+        final int newAlphabetSize = inputAlphabet.size();
+        // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+        if (alphabetSize < newAlphabetSize) {
+            ensureInputCapacity(root, alphabetSize, newAlphabetSize);
+            alphabetSize = newAlphabetSize;
+        }
+    }
+
+    private void ensureInputCapacity(BoundedNode<I, O> node, int oldAlphabetSize, int newAlphabetSize) {
+        node.ensureInputCapacity(newAlphabetSize);
+        for (int i = 0; i < oldAlphabetSize; i++) {
+            final BoundedNode<I, O> child = node.getSuccessor(i);
+            if (child != null) {
+                ensureInputCapacity(child, oldAlphabetSize, newAlphabetSize);
+            }
+        }
+    }
+
+    @Override
+    protected @Nullable Edge<BoundedNode<I, O>, O> getEdge(BoundedNode<I, O> node, I symbol) {
+        return node.getEdge(inputAlphabet.getSymbolIndex(symbol));
+    }
+
+    @Override
+    protected BoundedNode<I, O> createNode() {
+        return new BoundedNode<>(alphabetSize, null, -1);
+    }
+
+    @Override
+    protected BoundedNode<I, O> insertNode(BoundedNode<I, O> parent, I symIdx, O output) {
+        final int idx = inputAlphabet.getSymbolIndex(symIdx);
+        final BoundedNode<I, O> succ = new BoundedNode<>(alphabetSize, parent, idx);
+        parent.setEdge(idx, new Edge<>(output, succ));
+        numNodes++;
+        return succ;
+    }
+
+    @Override
+    protected Collection<AnnotatedEdge<BoundedNode<I, O>, I, O>> getOutgoingEdges(BoundedNode<I, O> node) {
+        List<AnnotatedEdge<BoundedNode<I, O>, I, O>> result = new ArrayList<>(alphabetSize);
+        for (int i = 0; i < alphabetSize; i++) {
+            Edge<BoundedNode<I, O>, O> edge = node.getEdge(i);
+            if (edge != null) {
+                result.add(new AnnotatedEdge<>(edge, inputAlphabet.getSymbol(i)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import net.automatalib.commons.smartcollections.ResizingArrayStorage;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The {@link Node} counterpart for {@link BoundedAdaptiveMealyTreeBuilder}s. In addition to the outgoing edges, a node
+ * stores a reference to its parent (for pruning evicted branches bottom-up) and a reference to the cache entry of the
+ * query that ends in this node (if any).
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+final class BoundedNode<I, O> {
+
+    private final ResizingArrayStorage<@Nullable Edge<BoundedNode<I, O>, O>> outEdges;
+    private final @Nullable BoundedNode<I, O> parent;
+    private final int parentIdx;
+    private int numChildren;
+    private @Nullable CacheEntry<I, O> entry;
+
+    BoundedNode(int alphabetSize, @Nullable BoundedNode<I, O> parent, int parentIdx) {
+        this.outEdges = new ResizingArrayStorage<>(Edge.class, alphabetSize);
+        this.parent = parent;
+        this.parentIdx = parentIdx;
+    }
+
+    @Nullable Edge<BoundedNode<I, O>, O> getEdge(int idx) {
+        return outEdges.array[idx];
+    }
+
+    void setEdge(int idx, @Nullable Edge<BoundedNode<I, O>, O> edge) {
+        final Edge<BoundedNode<I, O>, O> oldEdge = outEdges.array[idx];
+
+        if (oldEdge == null && edge != null) {
+            numChildren++;
+        } else if (oldEdge != null && edge == null) {
+            numChildren--;
+        }
+
+        outEdges.array[idx] = edge;
+    }
+
+    @Nullable BoundedNode<I, O> getSuccessor(int idx) {
+        Edge<BoundedNode<I, O>, O> edge = outEdges.array[idx];
+        if (edge != null) {
+            return edge.getTarget();
+        }
+        return null;
+    }
+
+    @Nullable BoundedNode<I, O> getParent() {
+        return parent;
+    }
+
+    int getParentIdx() {
+        return parentIdx;
+    }
+
+    boolean isLeaf() {
+        return numChildren == 0;
+    }
+
+    @Nullable CacheEntry<I, O> getEntry() {
+        return entry;
+    }
+
+    void setEntry(@Nullable CacheEntry<I, O> entry) {
+        this.entry = entry;
+    }
+
+    /**
+     * See {@link ResizingArrayStorage#ensureCapacity(int)}.
+     */
+    boolean ensureInputCapacity(int capacity) {
+        return this.outEdges.ensureCapacity(capacity);
+    }
+}
@@ -0,0 +1,48 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A query stored in a {@link BoundedAdaptiveMealyTreeBuilder}. Entries are intrusively linked into two lists: the
+ * (policy-specific) list of their {@link EvictionQueue} and the global insertion order of the cache.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+final class CacheEntry<I, O> {
+
+    final BoundedNode<I, O> node;
+    final Word<I> query;
+
+    // links of the eviction queue
+    EvictionQueue.@Nullable EntryList<I, O> list;
+    @Nullable CacheEntry<I, O> prev;
+    @Nullable CacheEntry<I, O> next;
+
+    // links of the insertion order
+    @Nullable CacheEntry<I, O> older;
+    @Nullable CacheEntry<I, O> newer;
+
+    CacheEntry(BoundedNode<I, O> node, Word<I> query) {
+        this.node = node;
+        this.query = query;
+    }
+}
@@ -0,0 +1,286 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread-safe variant of the {@link IncrementalMealyTreeBuilder}, which allows multiple threads (e.g. parallel
+ * membership oracles) to share a single cache.
+ * <p>
+ * Since nodes and edges of the tree are never removed or modified once they have been created, all operations work on
+ * a monotonically growing structure:
+ * <ul>
+ * <li>{@link #lookup(Word, List) Lookups} and {@link #hasDefinitiveInformation(Word) definitive-information
+ * checks} are lock-free and only perform volatile reads.</li>
+ * <li>{@link #insert(Word, Word) Insertions} atomically add missing edges via compare-and-set operations on the
+ * respective tree nodes, i.e. two threads only contend if they simultaneously extend the same node with the same
+ * input symbol.</li>
+ * <li>{@link #findSeparatingWord(MealyMachine, Collection, boolean) Counterexample searches} may run while insertions
+ * continue and operate on a weakly consistent view of the tree: every query inserted before the search started is
+ * considered, queries inserted concurrently may or may not be considered.</li>
+ * </ul>
+ * Only {@link #addAlphabetSymbol(Object) extending the alphabet} requires exclusive access to the tree. Insertions and
+ * counterexample searches therefore share a (non-exclusive) lock which only blocks alphabet extensions, whereas lookups
+ * are executed optimistically (see {@link StampedLock#tryOptimisticRead()}) and only fall back to the shared lock if
+ * they overlapped with an alphabet extension. Note that the used input alphabet itself needs to be safe for concurrent
+ * reads.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class ConcurrentIncrementalMealyTreeBuilder<I, O> extends AbstractMealyTreeBuilder<ConcurrentNode<O>, I, O>
+        implements IncrementalMealyBuilder<I, O>, InputAlphabetHolder<I> {
+
+    private final Alphabet<I> inputAlphabet;
+    private final StampedLock alphabetLock;
+    private volatile int alphabetSize;
+
+    public ConcurrentIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+        super(new ConcurrentNode<>(inputAlphabet.size()));
+        this.inputAlphabet = inputAlphabet;
+        this.alphabetLock = new StampedLock();
+        this.alphabetSize = inputAlphabet.size();
+    }
+
+    @Override
+    public boolean lookup(Word<? extends I> word, List<? super O> output) {
+        final long stamp = alphabetLock.tryOptimisticRead();
+
+        if (stamp != 0) {
+            final List<O> buffer = new ArrayList<>(word.length());
+            try {
+                final boolean result = super.lookup(word, buffer);
+                if (alphabetLock.validate(stamp)) {
+                    output.addAll(buffer);
+                    return result;
+                }
+            } catch (RuntimeException ex) {
+                // the tree may be inconsistent due to a concurrent alphabet extension, retry below
+                if (alphabetLock.validate(stamp)) {
+                    throw ex;
+                }
+            }
+        }
+
+        final long readStamp = alphabetLock.readLock();
+        try {
+            return super.lookup(word, output);
+        } finally {
+            alphabetLock.unlockRead(readStamp);
+        }
+    }
+
+    @Override
+    public boolean hasDefinitiveInformation(Word<? extends I> word) {
+        final long stamp = alphabetLock.tryOptimisticRead();
+
+        if (stamp != 0) {
+            try {
+                final boolean result = isDefined(word);
+                if (alphabetLock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException ex) {
+                // the tree may be inconsistent due to a concurrent alphabet extension, retry below
+                if (alphabetLock.validate(stamp)) {
+                    throw ex;
+                }
+            }
+        }
+
+        final long readStamp = alphabetLock.readLock();
+        try {
+            return isDefined(word);
+        } finally {
+            alphabetLock.unlockRead(readStamp);
+        }
+    }
+
+    private boolean isDefined(Word<? extends I> word) {
+        ConcurrentNode<O> curr = root;
+
+        for (I sym : word) {
+            final Edge<ConcurrentNode<O>, O> edge = getEdge(curr, sym);
+            if (edge == null) {
+                return false;
+            }
+            curr = edge.getTarget();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) {
+        // a shared lock only blocks alphabet extensions, other insertions may continue
+        final long stamp = alphabetLock.readLock();
+        try {
+            doInsert(input, outputWord);
+        } finally {
+            alphabetLock.unlockRead(stamp);
+        }
+    }
+
+    private void doInsert(Word<? extends I> input, Word<? extends O> outputWord) {
+        ConcurrentNode<O> curr = root;
+
+        for (int i = 0; i < input.length(); i++) {
+            I sym = input.getSymbol(i);
+            O out = outputWord.getSymbol(i);
+            Edge<ConcurrentNode<O>, O> edge = getEdge(curr, sym);
+            if (edge == null) {
+                curr = insertNode(curr, sym, out);
+            } else {
+                if (!Objects.equals(out, edge.getOutput())) {
+                    throw new ConflictException();
+                }
+                curr = edge.getTarget();
+            }
+        }
+    }
+
+    @Override
+    public List<Word<O>> lookupAll(List<? extends Word<? extends I>> inputWords) {
+        // batches are comparatively long-running, so use the shared lock instead of an optimistic read
+        final long stamp = alphabetLock.readLock();
+        try {
+            return lookupAll(inputWords, IncrementalBatches.lexicographicOrder(inputWords, inputAlphabet));
+        } finally {
+            alphabetLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void insertAll(List<? extends Word<? extends I>> inputWords,
+                          List<? extends Word<? extends O>> outputWords) {
+        IncrementalBatches.checkBatchSize(inputWords, outputWords);
+
+        // see #insert(Word, Word)
+        final long stamp = alphabetLock.readLock();
+        try {
+            insertAll(inputWords, outputWords, IncrementalBatches.lexicographicOrder(inputWords, inputAlphabet));
+        } finally {
+            alphabetLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable Word<I> findSeparatingWord(MealyMachine<?, I, ?, O> target,
+                                                Collection<? extends I> inputs,
+                                                boolean omitUndefined) {
+        // see #insert(Word, Word)
+        final long stamp = alphabetLock.readLock();
+        try {
+            return super.findSeparatingWord(target, inputs, omitUndefined);
+        } finally {
+            alphabetLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        final long stamp = alphabetLock.writeLock();
+        try {
+            if (!inputAlphabet.containsSymbol(symbol)) {
+                Alphabets.toGrowingAlphabetOrThrowException(inputAlphabet).addSymbol(symbol);
+            }
+
+            final int newAlphabetSize = inputAlphabet.size();
+            // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+            if (alphabetSize < newAlphabetSize) {
+                ensureInputCapacity(root, alphabetSize, newAlphabetSize);
+                alphabetSize = newAlphabetSize;
+            }
+        } finally {
+            alphabetLock.unlockWrite(stamp);
+        }
+    }
+
+    private void ensureInputCapacity(ConcurrentNode<O> node, int oldAlphabetSize, int newAlphabetSize) {
+        node.ensureInputCapacity(newAlphabetSize);
+        for (int i = 0; i < oldAlphabetSize; i++) {
+            final ConcurrentNode<O> child = node.getSuccessor(i);
+            if (child != null) {
+                ensureInputCapacity(child, oldAlphabetSize, newAlphabetSize);
+            }
+        }
+    }
+
+    @Override
+    protected @Nullable Edge<ConcurrentNode<O>, O> getEdge(ConcurrentNode<O> node, I symbol) {
+        return node.getEdge(inputAlphabet.getSymbolIndex(symbol));
+    }
+
+    @Override
+    protected ConcurrentNode<O> createNode() {
+        return new ConcurrentNode<>(alphabetSize);
+    }
+
+    /**
+     * Atomically inserts a new node as the successor of the given parent. If another thread has concurrently inserted a
+     * successor for the same input symbol, this successor is returned instead.
+     *
+     * @throws ConflictException
+     *         if a concurrently inserted successor has been reached with a different output than the given one
+     */
+    @Override
+    protected ConcurrentNode<O> insertNode(ConcurrentNode<O> parent, I symIdx, O output) {
+        final Edge<ConcurrentNode<O>, O> edge = new Edge<>(output, createNode());
+        final Edge<ConcurrentNode<O>, O> actual =
+                parent.setEdgeIfAbsent(inputAlphabet.getSymbolIndex(symIdx), edge);
+
+        if (actual != edge && !Objects.equals(output, actual.getOutput())) {
+            throw new ConflictException();
+        }
+
+        return actual.getTarget();
+    }
+
+    @Override
+    protected Collection<AnnotatedEdge<ConcurrentNode<O>, I, O>> getOutgoingEdges(ConcurrentNode<O> node) {
+        final int size = alphabetSize;
+        final List<AnnotatedEdge<ConcurrentNode<O>, I, O>> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Edge<ConcurrentNode<O>, O> edge = node.getEdge(i);
+            if (edge != null) {
+                result.add(new AnnotatedEdge<>(edge, inputAlphabet.getSymbol(i)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+}
@@ -0,0 +1,96 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The {@link Node} counterpart for {@link ConcurrentIncrementalMealyTreeBuilder}s. Outgoing edges are stored in an
+ * {@link AtomicReferenceArray} so that they can be read without locking and set via compare-and-set operations.
+ *
+ * @param <O>
+ *         output symbol type
+ */
+final class ConcurrentNode<O> {
+
+    private AtomicReferenceArray<@Nullable Edge<ConcurrentNode<O>, O>> outEdges;
+
+    ConcurrentNode(int alphabetSize) {
+        this.outEdges = new AtomicReferenceArray<>(alphabetSize);
+    }
+
+    @Nullable Edge<ConcurrentNode<O>, O> getEdge(int idx) {
+        final AtomicReferenceArray<@Nullable Edge<ConcurrentNode<O>, O>> edges = outEdges;
+        // readers may observe a stale array while the alphabet grows
+        return idx < edges.length() ? edges.get(idx) : null;
+    }
+
+    /**
+     * Atomically sets the edge for the given index, if no edge exists yet.
+     *
+     * @param idx
+     *         the index of the edge
+     * @param edge
+     *         the edge to set
+     *
+     * @return the edge that is stored for the given index after this operation, i.e. either the given edge or the edge
+     * that has been concurrently set by another thread
+     */
+    Edge<ConcurrentNode<O>, O> setEdgeIfAbsent(int idx, Edge<ConcurrentNode<O>, O> edge) {
+        final AtomicReferenceArray<@Nullable Edge<ConcurrentNode<O>, O>> edges = outEdges;
+
+        while (true) {
+            if (edges.compareAndSet(idx, null, edge)) {
+                return edge;
+            }
+            final Edge<ConcurrentNode<O>, O> existing = edges.get(idx);
+            if (existing != null) {
+                return existing;
+            }
+        }
+    }
+
+    @Nullable ConcurrentNode<O> getSuccessor(int idx) {
+        final Edge<ConcurrentNode<O>, O> edge = getEdge(idx);
+        if (edge != null) {
+            return edge.getTarget();
+        }
+        return null;
+    }
+
+    /**
+     * Grows the edge storage of this node to the given capacity. This method must not be called concurrently with
+     * {@link #setEdgeIfAbsent(int, Edge)}.
+     *
+     * @param capacity
+     *         the new minimal capacity
+     */
+    void ensureInputCapacity(int capacity) {
+        final AtomicReferenceArray<@Nullable Edge<ConcurrentNode<O>, O>> edges = outEdges;
+        final int oldCapacity = edges.length();
+
+        if (oldCapacity < capacity) {
+            final AtomicReferenceArray<@Nullable Edge<ConcurrentNode<O>, O>> newEdges =
+                    new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < oldCapacity; i++) {
+                newEdges.set(i, edges.get(i));
+            }
+            this.outEdges = newEdges;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import net.automatalib.incremental.mealy.tree.EvictionQueue.FrequencyQueue;
+import net.automatalib.incremental.mealy.tree.EvictionQueue.RecencyQueue;
+import net.automatalib.incremental.mealy.tree.EvictionQueue.WeightQueue;
+
+/**
+ * The policies that a {@link BoundedAdaptiveMealyTreeBuilder} may use to determine which queries to evict once its
+ * capacity has been exceeded. For all policies, the bookkeeping of an access (lookup, insertion) runs in constant time.
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the least recently used query first. Both (successful) lookups and (re-)insertions of a query count as a
+     * use.
+     */
+    LRU {
+        @Override
+        <I, O> EvictionQueue<I, O> createQueue() {
+            return new RecencyQueue<>(true);
+        }
+    },
+
+    /**
+     * Evicts the least frequently used query first. Both (successful) lookups and (re-)insertions of a query count as a
+     * use. Queries with equal frequencies are evicted in LRU order.
+     */
+    LFU {
+        @Override
+        <I, O> EvictionQueue<I, O> createQueue() {
+            return new FrequencyQueue<>();
+        }
+    },
+
+    /**
+     * Evicts the oldest query first, i.e. the query that has been (re-)inserted least recently. Lookups do not affect
+     * the order of queries.
+     */
+    FIFO {
+        @Override
+        <I, O> EvictionQueue<I, O> createQueue() {
+            return new RecencyQueue<>(false);
+        }
+    },
+
+    /**
+     * Evicts the longest query first, as it potentially frees the most memory. Queries of equal length are evicted in
+     * LRU order.
+     */
+    SIZE_WEIGHTED {
+        @Override
+        <I, O> EvictionQueue<I, O> createQueue() {
+            return new WeightQueue<>();
+        }
+    };
+
+    abstract <I, O> EvictionQueue<I, O> createQueue();
+}
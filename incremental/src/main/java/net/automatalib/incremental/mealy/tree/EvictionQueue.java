@@ -0,0 +1,323 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The bookkeeping structure of an {@link EvictionPolicy}. Unless stated otherwise, all operations run in constant
+ * time.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+abstract class EvictionQueue<I, O> {
+
+    /**
+     * Registers a newly inserted entry.
+     */
+    abstract void add(CacheEntry<I, O> entry);
+
+    /**
+     * Notifies the queue about a (successful) lookup of the given entry.
+     */
+    abstract void access(CacheEntry<I, O> entry);
+
+    /**
+     * Notifies the queue about a re-insertion of the given entry. By default, this is treated like an access.
+     */
+    void update(CacheEntry<I, O> entry) {
+        access(entry);
+    }
+
+    /**
+     * Unregisters the given entry.
+     */
+    abstract void remove(CacheEntry<I, O> entry);
+
+    /**
+     * Returns the next entry that should be evicted.
+     *
+     * @param exclude
+     *         an entry that must not be returned
+     *
+     * @return the next entry that should be evicted, or {@code null} if there exists no entry other than the excluded
+     * one
+     */
+    abstract @Nullable CacheEntry<I, O> victim(@Nullable CacheEntry<I, O> exclude);
+
+    /**
+     * A queue that orders entries by their insertion time and (optionally) by the time of their last access.
+     */
+    static final class RecencyQueue<I, O> extends EvictionQueue<I, O> {
+
+        private final EntryList<I, O> entries = new EntryList<>();
+        private final boolean trackAccesses;
+
+        RecencyQueue(boolean trackAccesses) {
+            this.trackAccesses = trackAccesses;
+        }
+
+        @Override
+        void add(CacheEntry<I, O> entry) {
+            entries.add(entry);
+        }
+
+        @Override
+        void access(CacheEntry<I, O> entry) {
+            if (trackAccesses) {
+                update(entry);
+            }
+        }
+
+        @Override
+        void update(CacheEntry<I, O> entry) {
+            entries.remove(entry);
+            entries.add(entry);
+        }
+
+        @Override
+        void remove(CacheEntry<I, O> entry) {
+            entries.remove(entry);
+        }
+
+        @Override
+        @Nullable CacheEntry<I, O> victim(@Nullable CacheEntry<I, O> exclude) {
+            return entries.first(exclude);
+        }
+    }
+
+    /**
+     * A queue that orders entries by their number of accesses (and, for equal frequencies, by the time of their last
+     * access). Entries are grouped in buckets of equal frequency which form a list of ascending frequencies.
+     */
+    static final class FrequencyQueue<I, O> extends EvictionQueue<I, O> {
+
+        private @Nullable FrequencyBucket<I, O> lowest;
+
+        @Override
+        void add(CacheEntry<I, O> entry) {
+            FrequencyBucket<I, O> bucket = lowest;
+            if (bucket == null || bucket.frequency != 1) {
+                bucket = new FrequencyBucket<>(1);
+                link(null, bucket);
+            }
+            bucket.add(entry);
+        }
+
+        @Override
+        void access(CacheEntry<I, O> entry) {
+            final FrequencyBucket<I, O> bucket = (FrequencyBucket<I, O>) entry.list;
+            assert bucket != null;
+
+            FrequencyBucket<I, O> next = bucket.higher;
+            if (next == null || next.frequency != bucket.frequency + 1) {
+                next = new FrequencyBucket<>(bucket.frequency + 1);
+                link(bucket, next);
+            }
+
+            remove(entry);
+            next.add(entry);
+        }
+
+        @Override
+        void remove(CacheEntry<I, O> entry) {
+            final FrequencyBucket<I, O> bucket = (FrequencyBucket<I, O>) entry.list;
+            assert bucket != null;
+
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                unlink(bucket);
+            }
+        }
+
+        @Override
+        @Nullable CacheEntry<I, O> victim(@Nullable CacheEntry<I, O> exclude) {
+            FrequencyBucket<I, O> bucket = lowest;
+
+            // since empty buckets are removed, we need to check at most two buckets
+            while (bucket != null) {
+                final CacheEntry<I, O> result = bucket.first(exclude);
+                if (result != null) {
+                    return result;
+                }
+                bucket = bucket.higher;
+            }
+
+            return null;
+        }
+
+        private void link(@Nullable FrequencyBucket<I, O> pred, FrequencyBucket<I, O> bucket) {
+            final FrequencyBucket<I, O> succ = pred == null ? lowest : pred.higher;
+
+            bucket.lower = pred;
+            bucket.higher = succ;
+
+            if (pred == null) {
+                lowest = bucket;
+            } else {
+                pred.higher = bucket;
+            }
+
+            if (succ != null) {
+                succ.lower = bucket;
+            }
+        }
+
+        private void unlink(FrequencyBucket<I, O> bucket) {
+            final FrequencyBucket<I, O> pred = bucket.lower;
+            final FrequencyBucket<I, O> succ = bucket.higher;
+
+            if (pred == null) {
+                lowest = succ;
+            } else {
+                pred.higher = succ;
+            }
+
+            if (succ != null) {
+                succ.lower = pred;
+            }
+        }
+    }
+
+    /**
+     * A queue that orders entries by their weight (the length of their query, which bounds the number of tree nodes
+     * that are released by evicting them) and, for equal weights, by the time of their last access. Determining a
+     * victim may require to skip empty weight buckets, which is amortized over the insertions of the entries.
+     */
+    static final class WeightQueue<I, O> extends EvictionQueue<I, O> {
+
+        private final List<EntryList<I, O>> buckets = new ArrayList<>();
+        private int maxWeight = -1;
+
+        @Override
+        void add(CacheEntry<I, O> entry) {
+            final int weight = entry.query.length();
+
+            while (buckets.size() <= weight) {
+                buckets.add(new EntryList<>());
+            }
+
+            buckets.get(weight).add(entry);
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        @Override
+        void access(CacheEntry<I, O> entry) {
+            final EntryList<I, O> bucket = entry.list;
+            assert bucket != null;
+
+            bucket.remove(entry);
+            bucket.add(entry);
+        }
+
+        @Override
+        void remove(CacheEntry<I, O> entry) {
+            final EntryList<I, O> bucket = entry.list;
+            assert bucket != null;
+
+            bucket.remove(entry);
+        }
+
+        @Override
+        @Nullable CacheEntry<I, O> victim(@Nullable CacheEntry<I, O> exclude) {
+            while (maxWeight >= 0 && buckets.get(maxWeight).isEmpty()) {
+                maxWeight--;
+            }
+
+            for (int i = maxWeight; i >= 0; i--) {
+                final CacheEntry<I, O> result = buckets.get(i).first(exclude);
+                if (result != null) {
+                    return result;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * An intrusive, doubly-linked list of {@link CacheEntry cache entries}.
+     */
+    static class EntryList<I, O> {
+
+        private @Nullable CacheEntry<I, O> head;
+        private @Nullable CacheEntry<I, O> tail;
+
+        void add(CacheEntry<I, O> entry) {
+            entry.list = this;
+            entry.prev = tail;
+            entry.next = null;
+
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+
+            tail = entry;
+        }
+
+        void remove(CacheEntry<I, O> entry) {
+            final CacheEntry<I, O> prev = entry.prev;
+            final CacheEntry<I, O> next = entry.next;
+
+            if (prev == null) {
+                head = next;
+            } else {
+                prev.next = next;
+            }
+
+            if (next == null) {
+                tail = prev;
+            } else {
+                next.prev = prev;
+            }
+
+            entry.list = null;
+            entry.prev = null;
+            entry.next = null;
+        }
+
+        boolean isEmpty() {
+            return head == null;
+        }
+
+        @Nullable CacheEntry<I, O> first(@Nullable CacheEntry<I, O> exclude) {
+            final CacheEntry<I, O> first = head;
+            return first != null && first == exclude ? first.next : first;
+        }
+    }
+
+    /**
+     * An {@link EntryList} of entries with the same access frequency.
+     */
+    static final class FrequencyBucket<I, O> extends EntryList<I, O> {
+
+        final int frequency;
+        @Nullable FrequencyBucket<I, O> lower;
+        @Nullable FrequencyBucket<I, O> higher;
+
+        FrequencyBucket(int frequency) {
+            this.frequency = frequency;
+        }
+    }
+}
@@ -15,9 +15,11 @@
  */
 package net.automatalib.incremental.mealy.tree;
 
+import java.util.List;
 import java.util.Objects;
 
 import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.IncrementalBatches;
 import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -47,4 +49,12 @@ public class IncrementalMealyTreeBuilder<I, O> extends AbstractAlphabetBasedMeal
             }
         }
     }
+
+    @Override
+    public void insertAll(List<? extends Word<? extends I>> inputWords,
+                          List<? extends Word<? extends O>> outputWords) {
+        IncrementalBatches.checkBatchSize(inputWords, outputWords);
+
+        insertAll(inputWords, outputWords, IncrementalBatches.lexicographicOrder(inputWords, getInputAlphabet()));
+    }
 }
@@ -16,6 +16,10 @@
 package net.automatalib.incremental.dfa;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 import javax.swing.SwingUtilities;
 
@@ -23,10 +27,12 @@ import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.commons.util.system.JVMUtil;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.dfa.IncrementalDFABuilder.TransitionSystemView;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.visualization.Visualization;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.GrowingAlphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
 import net.automatalib.words.impl.Alphabets;
 import net.automatalib.words.impl.GrowingMapAlphabet;
 import org.testng.Assert;
@@ -228,4 +234,47 @@ public abstract class AbstractIncrementalDFABuilderTest {
         Assert.assertEquals(growableBuilder.lookup(input2), Acceptance.FALSE);
     }
 
+    @Test
+    public void testBatchOperations() {
+        final Random random = new Random(42);
+        final CompactDFA<Character> target = RandomAutomata.randomDFA(random, 10, TEST_ALPHABET);
+
+        final List<Word<Character>> words = new ArrayList<>();
+        final List<Boolean> acceptances = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            final WordBuilder<Character> wb = new WordBuilder<>();
+            final int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                wb.append(TEST_ALPHABET.getSymbol(random.nextInt(TEST_ALPHABET.size())));
+            }
+            final Word<Character> word = wb.toWord();
+            words.add(word);
+            acceptances.add(target.accepts(word));
+        }
+
+        final IncrementalDFABuilder<Character> batch = createIncrementalDFABuilder(TEST_ALPHABET);
+        final IncrementalDFABuilder<Character> sequential = createIncrementalDFABuilder(TEST_ALPHABET);
+
+        batch.insertAll(words.subList(0, 100), acceptances.subList(0, 100));
+        for (int i = 0; i < 100; i++) {
+            sequential.insert(words.get(i), acceptances.get(i));
+        }
+
+        final List<Acceptance> lookups = batch.lookupAll(words);
+        Assert.assertEquals(lookups.size(), words.size());
+        for (int i = 0; i < words.size(); i++) {
+            Assert.assertEquals(lookups.get(i), sequential.lookup(words.get(i)));
+        }
+
+        Assert.assertEquals(batch.asGraph().size(), sequential.asGraph().size());
+        Assert.assertNull(batch.findSeparatingWord(target, TEST_ALPHABET, false));
+
+        final Word<Character> known = words.get(0);
+        Assert.assertThrows(ConflictException.class,
+                            () -> batch.insertAll(Collections.singletonList(known),
+                                                  Collections.singletonList(!acceptances.get(0))));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> batch.insertAll(words, Collections.emptyList()));
+    }
 }
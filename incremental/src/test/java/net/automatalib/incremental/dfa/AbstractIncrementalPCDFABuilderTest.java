@@ -16,6 +16,8 @@
 package net.automatalib.incremental.dfa;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collections;
 
 import javax.swing.SwingUtilities;
 
@@ -280,4 +282,18 @@ public abstract class AbstractIncrementalPCDFABuilderTest {
         Assert.assertEquals(incPcDfa.asGraph().size(), 7);
         Assert.assertThrows(ConflictException.class, () -> incPcDfa.insert(Word.epsilon(), false));
     }
+
+    @Test
+    public void testBatchOperations() {
+        final IncrementalDFABuilder<Character> incPcDfa = createIncrementalPCDFABuilder(TEST_ALPHABET);
+        final Word<Character> rejected = Word.fromString("acbb");
+
+        incPcDfa.insertAll(Arrays.asList(W_1, rejected, W_2), Arrays.asList(true, false, true));
+
+        Assert.assertEquals(incPcDfa.lookupAll(Arrays.asList(W_3, rejected.append('a'), W_1, Word.fromString("b"))),
+                            Arrays.asList(Acceptance.TRUE, Acceptance.FALSE, Acceptance.TRUE, Acceptance.DONT_KNOW));
+        Assert.assertThrows(ConflictException.class,
+                            () -> incPcDfa.insertAll(Collections.singletonList(rejected.append('c')),
+                                                     Collections.singletonList(true)));
+    }
 }
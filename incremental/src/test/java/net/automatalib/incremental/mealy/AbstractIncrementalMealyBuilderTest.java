@@ -17,6 +17,10 @@ package net.automatalib.incremental.mealy;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 import javax.swing.SwingUtilities;
 
@@ -24,6 +28,7 @@ import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.commons.util.system.JVMUtil;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.ts.output.MealyTransitionSystem;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.visualization.Visualization;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.GrowingAlphabet;
@@ -243,4 +248,63 @@ public abstract class AbstractIncrementalMealyBuilderTest {
         Assert.assertEquals(growableBuilder.lookup(input2), Word.fromLetter('1'));
     }
 
+    @Test
+    public void testBatchOperations() {
+        final Random random = new Random(42);
+        final CompactMealy<Character, Character> target =
+                RandomAutomata.randomMealy(random, 10, TEST_ALPHABET, TEST_ALPHABET);
+
+        final List<Word<Character>> inputs = new ArrayList<>();
+        final List<Word<Character>> outputs = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            final WordBuilder<Character> wb = new WordBuilder<>();
+            final int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                wb.append(TEST_ALPHABET.getSymbol(random.nextInt(TEST_ALPHABET.size())));
+            }
+            final Word<Character> input = wb.toWord();
+            inputs.add(input);
+            outputs.add(target.computeOutput(input));
+        }
+
+        final IncrementalMealyBuilder<Character, Character> batch = createIncrementalMealyBuilder(TEST_ALPHABET);
+        final IncrementalMealyBuilder<Character, Character> sequential = createIncrementalMealyBuilder(TEST_ALPHABET);
+
+        batch.insertAll(inputs.subList(0, 100), outputs.subList(0, 100));
+        for (int i = 0; i < 100; i++) {
+            sequential.insert(inputs.get(i), outputs.get(i));
+        }
+
+        final List<Word<Character>> lookups = batch.lookupAll(inputs);
+        Assert.assertEquals(lookups.size(), inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            Assert.assertEquals(lookups.get(i), sequential.lookup(inputs.get(i)));
+        }
+
+        Assert.assertEquals(batch.asGraph().size(), sequential.asGraph().size());
+        Assert.assertNull(batch.findSeparatingWord(target, TEST_ALPHABET, false));
+
+        final Word<Character> conflictInput = W_1.concat(W_1);
+        final Word<Character> knownOutput = target.computeOutput(conflictInput);
+        final Word<Character> knownPrefixOutput = target.computeOutput(W_1);
+        final Word<Character> conflictFirst =
+                Word.fromLetter(flip(knownOutput.firstSymbol())).concat(knownOutput.subWord(1));
+        final Word<Character> conflictLast =
+                knownOutput.prefix(knownOutput.length() - 1).append(flip(knownOutput.lastSymbol()));
+
+        batch.insertAll(Collections.singletonList(conflictInput), Collections.singletonList(knownOutput));
+        Assert.assertThrows(ConflictException.class,
+                            () -> batch.insertAll(Arrays.asList(W_1, conflictInput),
+                                                  Arrays.asList(knownPrefixOutput, conflictFirst)));
+        Assert.assertThrows(ConflictException.class,
+                            () -> batch.insertAll(Arrays.asList(W_1, conflictInput),
+                                                  Arrays.asList(knownPrefixOutput, conflictLast)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> batch.insertAll(inputs, Collections.emptyList()));
+    }
+
+    private static char flip(char c) {
+        return c == 'a' ? 'b' : 'a';
+    }
 }
@@ -0,0 +1,207 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.Random;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.mealy.tree.AdaptiveMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.BoundedAdaptiveMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.EvictionPolicy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class BoundedAdaptiveMealyTreeBuilderTest {
+
+    private static final Alphabet<Character> TEST_ALPHABET = Alphabets.characters('a', 'c');
+    private static final Word<Character> W_1 = Word.fromString("aaa");
+    private static final Word<Character> W_2 = Word.fromString("bbb");
+    private static final Word<Character> W_3 = Word.fromString("ccc");
+
+    /**
+     * Without reaching the capacity, the bounded builder needs to behave like the regular adaptive builder (including
+     * overrides of previous information).
+     */
+    @Test
+    public void testUnboundedEquivalence() {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            final Random random = new Random(42);
+            final CompactMealy<Character, Character> target1 =
+                    RandomAutomata.randomMealy(random, 5, TEST_ALPHABET, TEST_ALPHABET);
+            final CompactMealy<Character, Character> target2 =
+                    RandomAutomata.randomMealy(random, 5, TEST_ALPHABET, TEST_ALPHABET);
+
+            final AdaptiveMealyTreeBuilder<Character, Character> expected =
+                    new AdaptiveMealyTreeBuilder<>(TEST_ALPHABET);
+            final BoundedAdaptiveMealyTreeBuilder<Character, Character> actual =
+                    new BoundedAdaptiveMealyTreeBuilder<>(TEST_ALPHABET, Integer.MAX_VALUE, policy);
+
+            for (int i = 0; i < 500; i++) {
+                final Word<Character> input = randomWord(random, 6);
+                final CompactMealy<Character, Character> target = random.nextInt(10) == 0 ? target2 : target1;
+                final Word<Character> output = target.computeOutput(input);
+
+                Assert.assertEquals(actual.insert(input, output), expected.insert(input, output));
+                Assert.assertEquals(actual.getOldestInput(), expected.getOldestInput());
+            }
+
+            for (int i = 0; i < 100; i++) {
+                final Word<Character> input = randomWord(random, 8);
+                Assert.assertEquals(actual.lookup(input), expected.lookup(input));
+            }
+
+            Assert.assertEquals(actual.asGraph().size(), expected.asGraph().size());
+            Assert.assertEquals(actual.getNumNodes() + 1, actual.asGraph().size());
+            Assert.assertEquals(actual.getEvictions(), 0);
+        }
+    }
+
+    @Test
+    public void testCapacity() {
+        final int capacity = 50;
+
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            final Random random = new Random(42);
+            final CompactMealy<Character, Character> target =
+                    RandomAutomata.randomMealy(random, 10, TEST_ALPHABET, TEST_ALPHABET);
+            final BoundedAdaptiveMealyTreeBuilder<Character, Character> cache =
+                    new BoundedAdaptiveMealyTreeBuilder<>(TEST_ALPHABET, capacity, policy);
+
+            for (int i = 0; i < 500; i++) {
+                final Word<Character> input = randomWord(random, 8);
+                final Word<Character> output = target.computeOutput(input);
+
+                if (!cache.hasDefinitiveInformation(input)) {
+                    cache.insert(input, output);
+                }
+
+                Assert.assertTrue(cache.getNumNodes() <= capacity);
+                Assert.assertEquals(cache.lookup(input), output);
+            }
+
+            Assert.assertEquals(cache.getNumNodes() + 1, cache.asGraph().size());
+            Assert.assertNull(cache.findSeparatingWord(target, TEST_ALPHABET, false));
+            Assert.assertTrue(cache.getEvictions() > 0);
+            Assert.assertEquals(cache.getHits() + cache.getMisses(), 1000);
+        }
+    }
+
+    @Test
+    public void testPolicies() {
+        // LRU: the lookup of W_1 makes W_2 the least recently used query
+        BoundedAdaptiveMealyTreeBuilder<Character, Character> cache = fill(EvictionPolicy.LRU);
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_1));
+        cache.insert(W_3, W_3);
+        assertContents(cache, true, false, true);
+        Assert.assertEquals(cache.getOldestInput(), W_1);
+
+        // FIFO: lookups do not influence the eviction order
+        cache = fill(EvictionPolicy.FIFO);
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_1));
+        cache.insert(W_3, W_3);
+        assertContents(cache, false, true, true);
+        Assert.assertEquals(cache.getOldestInput(), W_2);
+
+        // LFU: W_1 is used more often than W_2, even though W_2 is used more recently
+        cache = fill(EvictionPolicy.LFU);
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_1));
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_1));
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_2));
+        cache.insert(W_3, W_3);
+        assertContents(cache, true, false, true);
+
+        // SIZE_WEIGHTED: the longest query is evicted first
+        final Word<Character> longWord = W_1.concat(W_1);
+        cache = new BoundedAdaptiveMealyTreeBuilder<>(TEST_ALPHABET, 9, EvictionPolicy.SIZE_WEIGHTED);
+        cache.insert(W_2, W_2);
+        cache.insert(longWord, longWord);
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_2));
+        cache.insert(W_3, W_3);
+        Assert.assertFalse(cache.hasDefinitiveInformation(longWord));
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_2));
+        Assert.assertTrue(cache.hasDefinitiveInformation(W_3));
+        Assert.assertEquals(cache.getNumNodes(), 6);
+        Assert.assertEquals(cache.getEvictions(), 1);
+    }
+
+    @Test
+    public void testSharedPrefixes() {
+        final BoundedAdaptiveMealyTreeBuilder<Character, Character> cache =
+                new BoundedAdaptiveMealyTreeBuilder<>(TEST_ALPHABET, 3, EvictionPolicy.FIFO);
+        final Word<Character> abc = Word.fromString("abc");
+        final Word<Character> ab = Word.fromString("ab");
+        final Word<Character> b = Word.fromString("b");
+
+        cache.insert(abc, abc);
+        cache.insert(ab, ab);
+        Assert.assertEquals(cache.getNumNodes(), 3);
+        Assert.assertEquals(cache.getOldestInput(), abc);
+
+        // evicting abc only releases its last node, since its prefix is still used by ab
+        cache.insert(b, b);
+        Assert.assertEquals(cache.getNumNodes(), 3);
+        Assert.assertFalse(cache.hasDefinitiveInformation(abc));
+        Assert.assertTrue(cache.hasDefinitiveInformation(ab));
+        Assert.assertTrue(cache.hasDefinitiveInformation(b));
+        Assert.assertEquals(cache.getOldestInput(), ab);
+
+        // a query that exceeds the capacity on its own is retained
+        final Word<Character> longWord = Word.fromString("cccc");
+        cache.insert(longWord, longWord);
+        Assert.assertEquals(cache.getNumNodes(), 4);
+        Assert.assertTrue(cache.hasDefinitiveInformation(longWord));
+        Assert.assertEquals(cache.getOldestInput(), longWord);
+        Assert.assertEquals(cache.getEvictions(), 3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        new BoundedAdaptiveMealyTreeBuilder<>(TEST_ALPHABET, -1, EvictionPolicy.LRU);
+    }
+
+    private static BoundedAdaptiveMealyTreeBuilder<Character, Character> fill(EvictionPolicy policy) {
+        final BoundedAdaptiveMealyTreeBuilder<Character, Character> cache =
+                new BoundedAdaptiveMealyTreeBuilder<>(TEST_ALPHABET, 6, policy);
+        cache.insert(W_1, W_1);
+        cache.insert(W_2, W_2);
+        return cache;
+    }
+
+    private static void assertContents(BoundedAdaptiveMealyTreeBuilder<Character, Character> cache,
+                                       boolean w1,
+                                       boolean w2,
+                                       boolean w3) {
+        Assert.assertEquals(cache.hasDefinitiveInformation(W_1), w1);
+        Assert.assertEquals(cache.hasDefinitiveInformation(W_2), w2);
+        Assert.assertEquals(cache.hasDefinitiveInformation(W_3), w3);
+        Assert.assertEquals(cache.getNumNodes(), 6);
+    }
+
+    private static Word<Character> randomWord(Random random, int maxLength) {
+        final WordBuilder<Character> wb = new WordBuilder<>();
+        final int length = random.nextInt(maxLength + 1);
+        for (int j = 0; j < length; j++) {
+            wb.append(TEST_ALPHABET.getSymbol(random.nextInt(TEST_ALPHABET.size())));
+        }
+        return wb.toWord();
+    }
+}
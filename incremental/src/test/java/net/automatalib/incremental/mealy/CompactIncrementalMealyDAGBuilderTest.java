@@ -0,0 +1,73 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.Random;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.mealy.dag.CompactIncrementalMealyDAGBuilder;
+import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class CompactIncrementalMealyDAGBuilderTest extends IncrementalMealyDAGBuilderTest {
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new CompactIncrementalMealyDAGBuilder<>(alphabet);
+    }
+
+    /**
+     * Compares the compact builder against the regular DAG builder on random queries of a random target system. Since
+     * both builders construct the minimal acyclic Mealy machine, they need to agree on all lookups and sizes.
+     */
+    @Test
+    public void testEquivalenceToDAGBuilder() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> inputs = Alphabets.integers(0, 3);
+        final Alphabet<Character> outputs = Alphabets.characters('a', 'c');
+        final CompactMealy<Integer, Character> target = RandomAutomata.randomMealy(random, 50, inputs, outputs);
+
+        final IncrementalMealyDAGBuilder<Integer, Character> expected = new IncrementalMealyDAGBuilder<>(inputs);
+        final CompactIncrementalMealyDAGBuilder<Integer, Character> actual =
+                new CompactIncrementalMealyDAGBuilder<>(inputs);
+
+        for (int i = 0; i < 2000; i++) {
+            final WordBuilder<Integer> wb = new WordBuilder<>();
+            final int length = random.nextInt(15);
+            for (int j = 0; j < length; j++) {
+                wb.append(inputs.getSymbol(random.nextInt(inputs.size())));
+            }
+
+            final Word<Integer> input = wb.toWord();
+            final Word<Character> output = target.computeOutput(input);
+
+            expected.insert(input, output);
+            actual.insert(input, output);
+
+            Assert.assertEquals(actual.lookup(input), output);
+            Assert.assertEquals(actual.asGraph().size(), expected.asGraph().size());
+        }
+
+        Assert.assertNull(actual.findSeparatingWord(target, inputs, true));
+    }
+}
@@ -0,0 +1,129 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.mealy.tree.ConcurrentIncrementalMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.GrowingAlphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class ConcurrentIncrementalMealyTreeBuilderTest extends IncrementalMealyTreeBuilderTest {
+
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_WORDS = 1000;
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+    }
+
+    /**
+     * Concurrently inserts and looks up random queries of a random target system while other threads search for
+     * counterexamples and extend the alphabet. Afterwards, the cache needs to coincide with a sequentially constructed
+     * one.
+     */
+    @Test
+    public void testConcurrentAccess() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> inputs = Alphabets.integers(0, 3);
+        final Alphabet<Character> outputs = Alphabets.characters('a', 'c');
+        final CompactMealy<Integer, Character> target = RandomAutomata.randomMealy(random, 50, inputs, outputs);
+
+        final List<List<Word<Integer>>> queries = new ArrayList<>(NUM_THREADS);
+        for (int t = 0; t < NUM_THREADS; t++) {
+            final List<Word<Integer>> words = new ArrayList<>(NUM_WORDS);
+            for (int i = 0; i < NUM_WORDS; i++) {
+                final WordBuilder<Integer> wb = new WordBuilder<>();
+                final int length = random.nextInt(15);
+                for (int j = 0; j < length; j++) {
+                    wb.append(inputs.getSymbol(random.nextInt(inputs.size())));
+                }
+                words.add(wb.toWord());
+            }
+            queries.add(words);
+        }
+
+        final GrowingAlphabet<Integer> alphabet = new GrowingMapAlphabet<>(inputs);
+        final ConcurrentIncrementalMealyTreeBuilder<Integer, Character> cache =
+                new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS + 2);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS + 2);
+
+            for (List<Word<Integer>> words : queries) {
+                futures.add(executor.submit(() -> {
+                    for (Word<Integer> w : words) {
+                        final Word<Character> output = target.computeOutput(w);
+                        final Word<Character> prefixOutput = cache.lookup(w);
+                        Assert.assertEquals(prefixOutput, output.prefix(prefixOutput.length()));
+
+                        cache.insert(w, output);
+                        Assert.assertTrue(cache.hasDefinitiveInformation(w));
+                        Assert.assertEquals(cache.lookup(w), output);
+                    }
+                }));
+            }
+
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    Assert.assertNull(cache.findSeparatingWord(target, inputs, false));
+                }
+            }));
+
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    cache.addAlphabetSymbol(inputs.size() + i);
+                    Thread.yield();
+                }
+            }));
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final IncrementalMealyTreeBuilder<Integer, Character> expected = new IncrementalMealyTreeBuilder<>(inputs);
+        for (List<Word<Integer>> words : queries) {
+            for (Word<Integer> w : words) {
+                expected.insert(w, target.computeOutput(w));
+            }
+        }
+
+        Assert.assertEquals(cache.asGraph().size(), expected.asGraph().size());
+        Assert.assertNull(cache.findSeparatingWord(target, inputs, false));
+        Assert.assertEquals(alphabet.size(), inputs.size() + 10);
+    }
+}
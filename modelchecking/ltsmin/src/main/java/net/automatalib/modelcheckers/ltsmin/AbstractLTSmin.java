@@ -15,22 +15,39 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import com.google.common.collect.Lists;
 import net.automatalib.AutomataLibSettings;
 import net.automatalib.commons.util.IOUtil;
+import net.automatalib.commons.util.concurrent.ScalingThreadPoolExecutor;
 import net.automatalib.commons.util.process.ProcessUtil;
 import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.modelchecker.BatchModelChecking;
 import net.automatalib.serialization.etf.writer.AbstractETFWriter;
 import net.automatalib.serialization.fsm.parser.AbstractFSMParser;
+import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import org.checkerframework.checker.initialization.qual.UnknownInitialization;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
@@ -68,6 +85,14 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLTSmin.class);
 
+    private static final long PIPE_KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * The (unbounded) pool of daemon threads that serve the ends of the named pipes. Threads are kept alive for some
+     * time, so that subsequent model checking queries do not need to spawn new threads.
+     */
+    private static final ExecutorService PIPE_EXECUTOR = createPipeExecutor();
+
     /**
      * @see #isKeepFiles()
      */
@@ -78,6 +103,16 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
      */
     private final Function<String, I> string2Input;
 
+    /**
+     * @see #isUseNamedPipes()
+     */
+    private boolean useNamedPipes;
+
+    /**
+     * @see #getParallelism()
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * Constructs a new AbstractLTSmin.
      *
@@ -137,6 +172,123 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
         return string2Input;
     }
 
+    /**
+     * Returns whether the ETF, the LTL formula and the FSM are streamed to and from the LTSmin binaries via named pipes
+     * instead of temporary files.
+     *
+     * @return whether named pipes are used.
+     *
+     * @see #setUseNamedPipes(boolean)
+     */
+    public boolean isUseNamedPipes() {
+        return useNamedPipes;
+    }
+
+    /**
+     * Sets whether the ETF, the LTL formula and the FSM should be streamed to and from the LTSmin binaries via named
+     * pipes (FIFOs) instead of temporary files. Data is then exchanged through the page cache of the operating system
+     * and never materialized on disk. The reading and writing ends of the pipes are served by a pool of long-lived
+     * daemon threads that is shared among all LTSmin model checkers. The GCF written by etf2lts-mc is still stored in a
+     * temporary file (which is subject to {@link #isKeepFiles()}), because ltsmin-convert requires random access to it.
+     * <p>
+     * If the current system does not support named pipes (i.e. does not provide {@code mkfifo}), temporary files are
+     * used regardless of this setting.
+     *
+     * @param useNamedPipes
+     *         whether named pipes should be used.
+     */
+    public void setUseNamedPipes(boolean useNamedPipes) {
+        this.useNamedPipes = useNamedPipes;
+    }
+
+    /**
+     * Returns the maximum number of LTSmin processes that are run concurrently when checking multiple properties via
+     * {@link #findCounterExamples(Object, Collection, Collection, boolean)}.
+     *
+     * @return the maximum number of concurrent LTSmin processes.
+     *
+     * @see #setParallelism(int)
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of LTSmin processes that are run concurrently when checking multiple properties via
+     * {@link #findCounterExamples(Object, Collection, Collection, boolean)}. Defaults to the number of available
+     * processors. A value of 1 checks the properties sequentially.
+     *
+     * @param parallelism
+     *         the maximum number of concurrent LTSmin processes.
+     *
+     * @throws IllegalArgumentException
+     *         when {@code parallelism < 1}.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates the reader that transforms the FSM representation of a counterexample (as computed by LTSmin) into the
+     * counterexample returned by {@code this} model checker. Each check of a property uses a fresh reader, so readers
+     * do not need to be thread-safe.
+     *
+     * @param hypothesis
+     *         the hypothesis that is checked
+     * @param inputs
+     *         the inputs which are regarded for checking
+     *
+     * @return the reader for the counterexample
+     */
+    protected abstract FSMReader<R> createCounterExampleReader(A hypothesis, Collection<? extends I> inputs);
+
+    @Override
+    public @Nullable R findCounterExample(A hypothesis, Collection<? extends I> inputs, String property) {
+        return findCounterExampleFSM(hypothesis, inputs, property, createCounterExampleReader(hypothesis, inputs));
+    }
+
+    /**
+     * Checks the given {@code properties} by running up to {@link #getParallelism()} LTSmin processes concurrently.
+     * The hypothesis is serialized only once and its ETF representation is shared by all LTSmin processes. If
+     * {@code firstOnly} is set, pending checks are discarded and running LTSmin processes are killed as soon as the
+     * first counterexample has been found.
+     */
+    @Override
+    public Map<String, R> findCounterExamples(A hypothesis,
+                                              Collection<? extends I> inputs,
+                                              Collection<? extends String> properties,
+                                              boolean firstOnly) {
+
+        for (String property : properties) {
+            verifyFormula0(property);
+        }
+
+        if (useNamedPipes && NamedPipe.isSupported()) {
+            final byte[] etf = automaton2ETF(hypothesis, inputs);
+            return BatchModelChecking.findCounterExamples(properties, p -> {
+                final FSMReader<R> reader = createCounterExampleReader(hypothesis, inputs);
+                return findCounterExamplePiped(etf, p, reader);
+            }, parallelism, firstOnly);
+        }
+
+        final File etf = writeETF(hypothesis, inputs);
+
+        try {
+            return BatchModelChecking.findCounterExamples(properties, p -> {
+                final FSMReader<R> reader = createCounterExampleReader(hypothesis, inputs);
+                return readCounterExample(findCounterExampleFSM(etf, p), reader);
+            }, parallelism, firstOnly);
+        } finally {
+            // LTSmin processes of cancelled checks have been killed at this point
+            if (!keepFiles && !etf.delete()) {
+                LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
+            }
+        }
+    }
+
     /**
      * Finds a counterexample for the given {@code formula}, and given {@code hypothesis} in FSM format.
      *
@@ -154,12 +306,61 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
      */
     protected final @Nullable File findCounterExampleFSM(A hypothesis, Collection<? extends I> inputs, String formula) {
 
+        verifyFormula0(formula);
+
+        final File etf = writeETF(hypothesis, inputs);
+
+        try {
+            return findCounterExampleFSM(etf, formula);
+        } finally {
+            if (!keepFiles && !etf.delete()) {
+                LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Finds a counterexample for the given {@code formula}, and given {@code hypothesis} and reads its FSM
+     * representation with the given {@code reader}. Depending on {@link #isUseNamedPipes()}, the data is either
+     * exchanged with the LTSmin binaries via temporary files or via named pipes.
+     *
+     * @param hypothesis
+     *         the hypothesis to check
+     * @param inputs
+     *         the inputs which should be regarded for checking
+     * @param formula
+     *         the formula that should be checked
+     * @param reader
+     *         the reader that transforms the FSM representation of a counterexample
+     * @param <T>
+     *         the type of the transformed counterexample
+     *
+     * @return the transformed counterexample, or {@code null} if no such counterexample could be found.
+     *
+     * @see AbstractLTSmin
+     */
+    protected final <T> @Nullable T findCounterExampleFSM(A hypothesis,
+                                                          Collection<? extends I> inputs,
+                                                          String formula,
+                                                          FSMReader<T> reader) {
+        if (useNamedPipes && NamedPipe.isSupported()) {
+            verifyFormula0(formula);
+            // serialize the hypothesis upfront, so that errors are reported before any LTSmin binary is invoked
+            return findCounterExamplePiped(automaton2ETF(hypothesis, inputs), formula, reader);
+        }
+
+        return readCounterExample(findCounterExampleFSM(hypothesis, inputs, formula), reader);
+    }
+
+    private void verifyFormula0(String formula) {
         try {
             verifyFormula(formula);
         } catch (IllegalArgumentException iae) {
             throw new ModelCheckingException(iae);
         }
+    }
 
+    private File writeETF(A hypothesis, Collection<? extends I> inputs) {
         final File etf;
 
         try {
@@ -179,6 +380,11 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
             throw new ModelCheckingException(ioe);
         }
 
+        return etf;
+    }
+
+    private @Nullable File findCounterExampleFSM(File etf, String formula) {
+
         final File ltlFile;
 
         try {
@@ -204,36 +410,14 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
             // create the GCF that will possibly contain the counterexample
             gcf = File.createTempFile("etf2gcf", ".gcf");
         } catch (IOException ioe) {
-            if (!keepFiles && !etf.delete()) {
-                LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
+            if (!keepFiles && !ltlFile.delete()) {
+                LOGGER.warn("Could not delete file: " + ltlFile.getAbsolutePath());
             }
             throw new ModelCheckingException(ioe);
         }
 
-        // the command lines for the ProcessBuilder
-        final List<String> ltsminCommandLine = Lists.newArrayList(// add the etf2lts-mc binary
-                                                                  LTSminUtil.ETF2LTS_MC,
-                                                                  // add the ETF file that contains the hypothesis
-                                                                  etf.getAbsolutePath(),
-                                                                  // add the LTL formula
-                                                                  "--ltl=" + ltlFile,
-                                                                  // write the trace to this file
-                                                                  "--trace=" + gcf.getAbsolutePath(),
-                                                                  // use only one thread (hypotheses are always small)
-                                                                  "--threads=1",
-                                                                  // use LTSmin LTL semantics
-                                                                  "--ltl-semantics=ltsmin",
-                                                                  // do not abort on partial LTSs
-                                                                  "--allow-undefined-edges");
-
-        if (LTSminUtil.isVerbose()) {
-            ltsminCommandLine.add("-v");
-        }
-
-        ltsminCommandLine.addAll(getExtraCommandLineOptions());
-
         try {
-            final int ltsminExitValue = runCommandLine(ltsminCommandLine);
+            final int ltsminExitValue = runCommandLine(buildLTSminCommandLine(etf, ltlFile, gcf));
 
             if (ltsminExitValue == 0) {
                 // we have not found a counterexample
@@ -249,20 +433,7 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
                     throw new ModelCheckingException(ioe);
                 }
 
-                final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
-                                                                           LTSminUtil.LTSMIN_CONVERT,
-                                                                           // use the GCF as input
-                                                                           gcf.getAbsolutePath(),
-                                                                           // use the FSM as output
-                                                                           fsm.getAbsolutePath(),
-                                                                           // required option
-                                                                           "--rdwr");
-
-                if (LTSminUtil.isVerbose()) {
-                    convertCommandLine.add("-v");
-                }
-
-                final int convertExitValue = runCommandLine(convertCommandLine);
+                final int convertExitValue = runCommandLine(buildConvertCommandLine(gcf, fsm));
 
                 // check the conversion is successful
                 if (convertExitValue != 0) {
@@ -277,9 +448,6 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
             }
         } finally {
             if (!keepFiles) {
-                if (!etf.delete()) {
-                    LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
-                }
                 if (!ltlFile.delete()) {
                     LOGGER.warn("Could not delete file: " + ltlFile.getAbsolutePath());
                 }
@@ -290,13 +458,238 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
         }
     }
 
+    private <T> @Nullable T readCounterExample(@Nullable File fsm, FSMReader<T> reader) {
+
+        if (fsm == null) {
+            return null;
+        }
+
+        try (InputStream is = IOUtil.asBufferedInputStream(fsm)) {
+            return reader.read(is);
+        } catch (IOException | FSMFormatException e) {
+            throw new ModelCheckingException(e);
+        } finally {
+            // check if we must keep the FSM
+            if (!keepFiles && !fsm.delete()) {
+                LOGGER.warn("Could not delete file: " + fsm.getAbsolutePath());
+            }
+        }
+    }
+
+    private <T> @Nullable T findCounterExamplePiped(byte[] etf, String formula, FSMReader<T> reader) {
+
+        final byte[] ltl = formula.getBytes(StandardCharsets.UTF_8);
+
+        final File gcf;
+        final int ltsminExitValue;
+
+        try {
+            // create the GCF that will possibly contain the counterexample
+            gcf = File.createTempFile("etf2gcf", ".gcf");
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        }
+
+        try {
+            try (NamedPipe etfPipe = NamedPipe.create("automaton.etf");
+                 NamedPipe ltlPipe = NamedPipe.create("formula.ltl")) {
+                etfPipe.submit(PIPE_EXECUTOR, () -> write(etfPipe.getFile(), etf));
+                ltlPipe.submit(PIPE_EXECUTOR, () -> write(ltlPipe.getFile(), ltl));
+
+                ltsminExitValue = runCommandLine(buildLTSminCommandLine(etfPipe.getFile(), ltlPipe.getFile(), gcf));
+            } catch (IOException ioe) {
+                throw new ModelCheckingException(ioe);
+            }
+
+            if (ltsminExitValue == 0) {
+                // we have not found a counterexample
+                return null;
+            } else if (ltsminExitValue != 1) {
+                throw new ModelCheckingException(
+                        "Could not model check ETF. Enable debug logging to see LTSmin's debug information.");
+            }
+
+            // we have found a counterexample
+            final Future<T> result;
+            final int convertExitValue;
+
+            try (NamedPipe fsmPipe = NamedPipe.create("trace.fsm")) {
+                result = fsmPipe.submit(PIPE_EXECUTOR, () -> {
+                    // channel-based streams (cf. Files#newInputStream) may try to seek in the pipe
+                    try (InputStream is = IOUtil.asBufferedInputStream(new FileInputStream(fsmPipe.getFile()))) {
+                        return reader.read(is);
+                    }
+                });
+
+                convertExitValue = runCommandLine(buildConvertCommandLine(gcf, fsmPipe.getFile()));
+            } catch (IOException ioe) {
+                throw new ModelCheckingException(ioe);
+            }
+
+            // check the conversion is successful
+            if (convertExitValue != 0) {
+                throw new ModelCheckingException(
+                        "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
+            }
+
+            // closing the pipe has awaited the termination of the reader
+            return getResult(result);
+        } finally {
+            if (!keepFiles && !gcf.delete()) {
+                LOGGER.warn("Could not delete file: " + gcf.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Serializes the given {@code hypothesis} to an in-memory ETF representation.
+     *
+     * @param hypothesis
+     *         the hypothesis to serialize
+     * @param inputs
+     *         the inputs which should be regarded for serialization
+     *
+     * @return the ETF representation
+     */
+    private byte[] automaton2ETF(A hypothesis, Collection<? extends I> inputs) {
+        final ByteArrayOutputStream etf = new ByteArrayOutputStream();
+
+        try {
+            automaton2ETF(hypothesis, inputs, etf);
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        }
+
+        return etf.toByteArray();
+    }
+
+    private List<String> buildLTSminCommandLine(File etf, File ltl, File gcf) {
+        // the command lines for the ProcessBuilder
+        final List<String> ltsminCommandLine = Lists.newArrayList(// add the etf2lts-mc binary
+                                                                  LTSminUtil.ETF2LTS_MC,
+                                                                  // add the ETF file that contains the hypothesis
+                                                                  etf.getAbsolutePath(),
+                                                                  // add the LTL formula
+                                                                  "--ltl=" + ltl,
+                                                                  // write the trace to this file
+                                                                  "--trace=" + gcf.getAbsolutePath(),
+                                                                  // use only one thread (hypotheses are always small)
+                                                                  "--threads=1",
+                                                                  // use LTSmin LTL semantics
+                                                                  "--ltl-semantics=ltsmin",
+                                                                  // do not abort on partial LTSs
+                                                                  "--allow-undefined-edges");
+
+        if (LTSminUtil.isVerbose()) {
+            ltsminCommandLine.add("-v");
+        }
+
+        ltsminCommandLine.addAll(getExtraCommandLineOptions());
+
+        return ltsminCommandLine;
+    }
+
+    private static List<String> buildConvertCommandLine(File gcf, File fsm) {
+        final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
+                                                                   LTSminUtil.LTSMIN_CONVERT,
+                                                                   // use the GCF as input
+                                                                   gcf.getAbsolutePath(),
+                                                                   // use the FSM as output
+                                                                   fsm.getAbsolutePath(),
+                                                                   // required option
+                                                                   "--rdwr");
+
+        if (LTSminUtil.isVerbose()) {
+            convertCommandLine.add("-v");
+        }
+
+        return convertCommandLine;
+    }
+
+    private static @Nullable Void write(File pipe, byte[] data) throws IOException {
+        try (OutputStream os = new FileOutputStream(pipe)) {
+            os.write(data);
+        }
+        return null;
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
+        } catch (CancellationException ce) {
+            throw new ModelCheckingException("Counterexample has not been written by LTSmin");
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof ModelCheckingException) {
+                throw (ModelCheckingException) cause;
+            } else if (cause instanceof Exception) {
+                throw new ModelCheckingException((Exception) cause);
+            }
+            throw new ModelCheckingException(ee);
+        }
+    }
+
     static int runCommandLine(List<String> commandLine) {
+        LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
+
+        final Process process;
+
         try {
-            LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
-            return ProcessUtil.invokeProcess(commandLine, LOGGER::debug);
-        } catch (IOException | InterruptedException e) {
-            throw new ModelCheckingException(e);
+            process = ProcessUtil.buildProcess(commandLine.toArray(new String[0]), null, LOGGER::debug, LOGGER::debug);
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
         }
+
+        try {
+            return process.waitFor();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
+        } finally {
+            // kills the process if we have been interrupted (e.g. because the check has been cancelled)
+            process.destroy();
+        }
+    }
+
+    private static ExecutorService createPipeExecutor() {
+        final ScalingThreadPoolExecutor executor =
+                new ScalingThreadPoolExecutor(0, Integer.MAX_VALUE, PIPE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        executor.setThreadFactory(r -> {
+            final Thread thread = delegate.newThread(r);
+            thread.setName("ltsmin-pipe-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return executor;
+    }
+
+    /**
+     * A reader for the FSM representation of a counterexample.
+     *
+     * @param <T>
+     *         the type of the read counterexample
+     */
+    @FunctionalInterface
+    protected interface FSMReader<T> {
+
+        /**
+         * Reads the counterexample from the given stream. The stream is closed by the caller.
+         *
+         * @param fsm
+         *         the stream containing the FSM representation of the counterexample
+         *
+         * @return the read counterexample
+         *
+         * @throws IOException
+         *         if reading from the stream fails
+         */
+        T read(InputStream fsm) throws IOException;
     }
 
     public static final class BuilderDefaults {
@@ -15,8 +15,8 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 
 import net.automatalib.automata.fsa.DFA;
@@ -60,7 +60,8 @@ public interface LTSminDFA<I, R> extends LTSmin<I, DFA<?, I>, R>, ModelChecker.D
     String LABEL_VALUE = "accept";
 
     @Override
-    default void automaton2ETF(DFA<?, I> automaton, Collection<? extends I> inputs, File etf) throws IOException {
+    default void automaton2ETF(DFA<?, I> automaton, Collection<? extends I> inputs, OutputStream etf)
+            throws IOException {
         dfa2ETF(automaton, inputs, etf);
     }
 
@@ -72,14 +73,14 @@ public interface LTSminDFA<I, R> extends LTSmin<I, DFA<?, I>, R>, ModelChecker.D
      * @param inputs
      *         the alphabet.
      * @param etf
-     *         the file to write to.
+     *         the stream to write to.
      * @param <S>
      *         the state type
      *
-     * @throws IOException if the dfa couldn't be written to the provided file.
+     * @throws IOException if the dfa couldn't be written to the provided stream.
      * @throws ModelCheckingException if the dfa cannot be transformed into a valid LTS.
      */
-    default <S> void dfa2ETF(DFA<S, I> dfa, Collection<? extends I> inputs, File etf) throws IOException {
+    default <S> void dfa2ETF(DFA<S, I> dfa, Collection<? extends I> inputs, OutputStream etf) throws IOException {
         // check that the DFA rejects the empty language
         if (DFAs.acceptsEmptyLanguage(dfa)) {
             throw new ModelCheckingException("DFA accepts the empty language, the LTS for such a DFA is not defined.");
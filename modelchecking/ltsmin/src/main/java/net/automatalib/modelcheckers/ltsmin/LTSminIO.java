@@ -15,8 +15,9 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 
 import net.automatalib.automata.transducers.MealyMachine;
@@ -40,14 +41,14 @@ import net.automatalib.words.impl.Alphabets;
 public interface LTSminIO<I, O, R> extends LTSminMealy<I, O, R> {
 
     @Override
-    default CompactMealy<I, O> fsm2Mealy(File fsm,
+    default CompactMealy<I, O> fsm2Mealy(InputStream fsm,
                                          MealyMachine<?, I, ?, O> originalAutomaton,
                                          Collection<? extends I> inputs) throws IOException {
         return FSM2MealyParserIO.getParser(inputs, getString2Input(), getString2Output()).readModel(fsm);
     }
 
     @Override
-    default void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, File etf)
+    default void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, OutputStream etf)
             throws IOException {
         Mealy2ETFWriterIO.<I, O>getInstance().writeModel(etf, automaton, Alphabets.fromCollection(inputs));
     }
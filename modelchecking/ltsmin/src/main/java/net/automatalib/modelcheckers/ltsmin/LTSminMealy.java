@@ -15,8 +15,9 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.function.Function;
 
@@ -43,7 +44,7 @@ public interface LTSminMealy<I, O, R>
         extends ModelChecker.MealyModelChecker<I, O, String, R>, LTSmin<I, MealyMachine<?, I, ?, O>, R> {
 
     /**
-     * Converts the given {@code fsm} to a {@link CompactMealy}.
+     * Reads the given {@code fsm} stream into a {@link CompactMealy}.
      *
      * @param fsm
      *         the FSM to convert.
@@ -59,36 +60,38 @@ public interface LTSminMealy<I, O, R>
      * @throws FSMFormatException
      *         when {@code fsm} is invalid.
      */
-    CompactMealy<I, O> fsm2Mealy(File fsm, MealyMachine<?, I, ?, O> originalAutomaton, Collection<? extends I> inputs)
-            throws IOException;
+    CompactMealy<I, O> fsm2Mealy(InputStream fsm,
+                                 MealyMachine<?, I, ?, O> originalAutomaton,
+                                 Collection<? extends I> inputs) throws IOException;
 
     /**
-     * Writes the given {@link MealyMachine} to the {@code etf} file.
+     * Writes the given {@link MealyMachine} to the {@code etf} stream.
      *
      * @param automaton
      *         the {@link MealyMachine} to write.
      * @param inputs
      *         the alphabet.
      * @param etf
-     *         the file to write to.
+     *         the stream to write to.
      *
      * @throws IOException
-     *         when {@code etf} can not be read.
+     *         when {@code etf} can not be written.
      */
-    void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, File etf) throws IOException;
+    void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, OutputStream etf)
+            throws IOException;
 
     /**
-     * Writes the {@link MealyMachine} to the {@code etf} file while pruning way the outputs given in {@link
+     * Writes the {@link MealyMachine} to the {@code etf} stream while pruning way the outputs given in {@link
      * #getSkipOutputs()}.
      *
      * @param mealyMachine
      *         the {@link MealyMachine} to write.
      *
      * @throws IOException
-     *         see {@link #mealy2ETF(MealyMachine, Collection, File)}.
+     *         see {@link #mealy2ETF(MealyMachine, Collection, OutputStream)}.
      */
     @Override
-    default void automaton2ETF(MealyMachine<?, I, ?, O> mealyMachine, Collection<? extends I> inputs, File etf)
+    default void automaton2ETF(MealyMachine<?, I, ?, O> mealyMachine, Collection<? extends I> inputs, OutputStream etf)
             throws IOException {
         final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
         mealy2ETF(MealyFilter.pruneTransitionsWithOutput(mealyMachine, alphabet, getSkipOutputs()), inputs, etf);
@@ -0,0 +1,218 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.automatalib.commons.util.process.ProcessUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A named pipe (FIFO) in the file system that allows to stream data between the JVM and an external process without
+ * materializing it on disk. Named pipes are created via the {@code mkfifo} command and are therefore only available on
+ * POSIX systems, see {@link #isSupported()}.
+ * <p>
+ * Opening a named pipe blocks until its other end has been opened as well. Hence, the (single) task that reads from or
+ * writes to a pipe has to be run asynchronously (see {@link #submit(ExecutorService, Callable)}) while the external
+ * process is running. If the process terminates without ever opening its end of the pipe, {@link #close()} temporarily
+ * opens the pipe for reading and writing in order to release the blocked task.
+ */
+final class NamedPipe implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NamedPipe.class);
+
+    private static final long RELEASE_INTERVAL_MS = 50;
+
+    private static @Nullable Boolean supported;
+
+    private final Path directory;
+    private final File file;
+    private final AtomicBoolean started;
+    private @Nullable Future<?> task;
+
+    private NamedPipe(Path directory, File file) {
+        this.directory = directory;
+        this.file = file;
+        this.started = new AtomicBoolean();
+    }
+
+    /**
+     * Returns whether named pipes can be created on this system.
+     *
+     * @return {@code true} if named pipes can be created, {@code false} otherwise
+     */
+    static synchronized boolean isSupported() {
+        if (supported == null) {
+            try {
+                create("probe").close();
+                supported = true;
+            } catch (IOException ioe) {
+                LOGGER.debug("Named pipes are not supported", ioe);
+                supported = false;
+            }
+        }
+        return supported;
+    }
+
+    /**
+     * Creates a new named pipe in a fresh temporary directory.
+     *
+     * @param name
+     *         the name of the pipe (including a potential suffix, e.g. {@code automaton.etf})
+     *
+     * @return the named pipe
+     *
+     * @throws IOException
+     *         if the pipe could not be created
+     */
+    static NamedPipe create(String name) throws IOException {
+        final Path directory = Files.createTempDirectory("ltsmin");
+        final File file = directory.resolve(name).toFile();
+
+        final int exitValue;
+        try {
+            exitValue = ProcessUtil.invokeProcess(new String[] {"mkfifo", file.getAbsolutePath()}, LOGGER::debug);
+        } catch (IOException | InterruptedException e) {
+            Files.deleteIfExists(directory);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Could not create named pipe", e);
+        }
+
+        if (exitValue != 0) {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(directory);
+            throw new IOException("Could not create named pipe, mkfifo exited with " + exitValue);
+        }
+
+        return new NamedPipe(directory, file);
+    }
+
+    /**
+     * Returns the file of this pipe, which can be passed to external processes.
+     *
+     * @return the file of this pipe
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Asynchronously executes the task that opens and reads from (or writes to) this pipe.
+     *
+     * @param executor
+     *         the executor that runs the task
+     * @param task
+     *         the task
+     * @param <T>
+     *         the result type of the task
+     *
+     * @return the future of the task
+     */
+    <T> Future<T> submit(ExecutorService executor, Callable<T> task) {
+        assert this.task == null : "A named pipe only supports a single task";
+
+        final Future<T> result = executor.submit(() -> {
+            if (!started.compareAndSet(false, true)) {
+                // the pipe has been closed before the task could be started
+                throw new CancellationException();
+            }
+            return task.call();
+        });
+        this.task = result;
+        return result;
+    }
+
+    /**
+     * Waits for the termination of the submitted task (releasing it, if it is still blocked by opening the pipe) and
+     * removes the pipe from the file system. If the current thread is interrupted meanwhile, its interrupt status is
+     * restored after the task has terminated.
+     *
+     * @throws IOException
+     *         if the pipe could not be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            final Future<?> t = task;
+            if (t != null) {
+                if (started.compareAndSet(false, true)) {
+                    // the task has not been started yet and will never open the pipe
+                    t.cancel(false);
+                } else {
+                    awaitTermination(t);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private void awaitTermination(Future<?> t) throws IOException {
+        // the task needs to be released in any case (e.g. if the check has been cancelled), because it would block its
+        // thread forever otherwise. Hence, interrupts are only propagated after the task has terminated
+        boolean interrupted = false;
+
+        try {
+            while (!t.isDone()) {
+                try {
+                    if (await(t)) {
+                        break;
+                    }
+                    // on Linux, opening a FIFO for reading and writing does not block. Keeping both ends open unblocks
+                    // the task if it waits for its peer and closing them signals an EOF (or a broken pipe) to the task
+                    try (RandomAccessFile peer = new RandomAccessFile(file, "rw")) {
+                        await(t);
+                    }
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean await(Future<?> t) throws InterruptedException {
+        try {
+            t.get(RELEASE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException te) {
+            return false;
+        } catch (ExecutionException | CancellationException e) {
+            LOGGER.trace("Pipe task failed", e);
+        }
+        return true;
+    }
+}
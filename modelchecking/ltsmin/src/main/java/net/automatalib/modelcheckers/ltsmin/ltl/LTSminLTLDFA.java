@@ -15,25 +15,17 @@
  */
 package net.automatalib.modelcheckers.ltsmin.ltl;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.function.Function;
 
 import com.github.misberner.buildergen.annotations.GenerateBuilder;
 import net.automatalib.automata.fsa.DFA;
-import net.automatalib.automata.fsa.impl.compact.CompactDFA;
-import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelcheckers.ltsmin.LTSminDFA;
 import net.automatalib.modelcheckers.ltsmin.LTSminLTLParser;
 import net.automatalib.modelchecking.Lasso.DFALasso;
 import net.automatalib.modelchecking.ModelCheckerLasso.DFAModelCheckerLasso;
 import net.automatalib.modelchecking.lasso.DFALassoImpl;
 import net.automatalib.serialization.fsm.parser.FSM2DFAParser;
-import net.automatalib.serialization.fsm.parser.FSMFormatException;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An LTL model checker using LTSmin for DFAs.
@@ -46,8 +38,6 @@ import org.slf4j.LoggerFactory;
 public class LTSminLTLDFA<I> extends AbstractLTSminLTL<I, DFA<?, I>, DFALasso<I>>
         implements DFAModelCheckerLasso<I, String>, LTSminDFA<I, DFALasso<I>> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(LTSminLTLDFA.class);
-
     /**
      * The index in the FSM state vector for accept/reject.
      */
@@ -77,25 +67,8 @@ public class LTSminLTLDFA<I> extends AbstractLTSminLTL<I, DFA<?, I>, DFALasso<I>
      * @see AbstractLTSminLTL#findCounterExample(Object, Collection, Object)
      */
     @Override
-    public @Nullable DFALasso<I> findCounterExample(DFA<?, I> automaton, Collection<? extends I> inputs, String property) {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        if (fsm == null) {
-            return null;
-        }
-
-        try {
-            final CompactDFA<I> dfa =
-                    FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
-
-            return new DFALassoImpl<>(dfa, inputs, computeUnfolds(automaton.size()));
-        } catch (IOException | FSMFormatException e) {
-            throw new ModelCheckingException(e);
-        } finally {
-            // check if we must keep the FSM
-            if (!isKeepFiles() && !fsm.delete()) {
-                LOGGER.warn("Could not delete file: " + fsm.getAbsolutePath());
-            }
-        }
+    protected FSMReader<DFALasso<I>> createCounterExampleReader(DFA<?, I> automaton, Collection<? extends I> inputs) {
+        final FSM2DFAParser<I> parser = FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE);
+        return fsm -> new DFALassoImpl<>(parser.readModel(fsm), inputs, computeUnfolds(automaton.size()));
     }
 }
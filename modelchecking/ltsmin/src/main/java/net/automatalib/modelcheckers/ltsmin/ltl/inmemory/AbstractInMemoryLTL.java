@@ -0,0 +1,274 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.smartcollections.IntSeq;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.ltsmin.ltl.AbstractLTSminLTL;
+import net.automatalib.modelcheckers.ltsmin.ltl.inmemory.LTLFormula.Proposition;
+import net.automatalib.modelchecking.Lasso;
+import net.automatalib.modelchecking.modelchecker.AbstractUnfoldingModelChecker;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An LTL model checker that operates directly on the in-memory representation of a hypothesis, i.e. without writing
+ * it to disk and without invoking any external (LTSmin) binaries.
+ * <p>
+ * Formulae use the same syntax and edge-label semantics as the ones of {@link AbstractLTSminLTL}: an atomic
+ * proposition refers to the label of the edge that is taken at the respective position of an (infinite) run, and runs
+ * that end in a deadlock are not considered. The negation of a formula is translated into a {@link BuchiAutomaton},
+ * whose product with the hypothesis is explored on-the-fly by a {@link ProductEmptinessCheck nested depth-first
+ * search}. Found counterexamples are returned as lasso-shaped automata directly.
+ *
+ * @param <I>
+ *         the input type
+ * @param <A>
+ *         the automaton type
+ * @param <L>
+ *         the lasso type
+ */
+public abstract class AbstractInMemoryLTL<I, A, L extends Lasso<I, ?>>
+        extends AbstractUnfoldingModelChecker<I, A, String, L> {
+
+    private final List<String> labels;
+
+    /**
+     * Constructor.
+     *
+     * @param minimumUnfolds
+     *         the minimum number of unfolds
+     * @param multiplier
+     *         the multiplier
+     * @param labels
+     *         the names of the edge labels that may be referenced in formulae
+     *
+     * @see AbstractUnfoldingModelChecker#AbstractUnfoldingModelChecker(int, double)
+     */
+    protected AbstractInMemoryLTL(int minimumUnfolds, double multiplier, List<String> labels) {
+        super(minimumUnfolds, multiplier);
+        this.labels = labels;
+    }
+
+    /**
+     * Searches for a lasso-shaped run of the given automaton that violates the given formula.
+     *
+     * @param automaton
+     *         the automaton to check
+     * @param inputs
+     *         the inputs which should be regarded for checking
+     * @param formula
+     *         the formula to check
+     * @param labeling
+     *         the labeling of the edges of {@code automaton}
+     * @param <S>
+     *         the state type
+     * @param <T>
+     *         the transition type
+     *
+     * @return the counterexample run, or {@code null} if the automaton satisfies the formula
+     *
+     * @throws ModelCheckingException
+     *         if the formula cannot be parsed
+     */
+    protected <S, T> @Nullable LassoPath<I, T> findLassoPath(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                                             Collection<? extends I> inputs,
+                                                             String formula,
+                                                             EdgeLabeling<S, I, T> labeling) {
+        final LTLFormula parsed;
+        try {
+            parsed = LTLFormulaParser.parse(formula, labels);
+        } catch (IllegalArgumentException iae) {
+            throw new ModelCheckingException(iae);
+        }
+
+        final BuchiAutomaton buchi = BuchiAutomaton.fromFormula(parsed.toNNF(true));
+
+        final S init = automaton.getInitialState();
+        if (init == null) {
+            return null;
+        }
+
+        final Map<Proposition, Integer> propIds = new HashMap<>();
+        for (int i = 0; i < buchi.propositions.size(); i++) {
+            propIds.put(buchi.propositions.get(i), i);
+        }
+
+        // explore the reachable part of the automaton, state 0 is the initial state
+        final Map<S, Integer> stateIds = new HashMap<>();
+        final Deque<S> queue = new ArrayDeque<>();
+        final List<Integer> firstEdge = new ArrayList<>();
+        final List<Integer> edgeTargets = new ArrayList<>();
+        final List<int[]> edgeProps = new ArrayList<>();
+        final List<I> edgeInputs = new ArrayList<>();
+        final List<T> edgeTransitions = new ArrayList<>();
+
+        stateIds.put(init, 0);
+        queue.add(init);
+
+        while (!queue.isEmpty()) {
+            final S state = queue.poll();
+            firstEdge.add(edgeTargets.size());
+
+            for (I input : inputs) {
+                final T trans = automaton.getTransition(state, input);
+                if (trans == null) {
+                    continue;
+                }
+
+                final String[] values = labeling.getLabels(state, input, trans);
+                if (values == null) {
+                    continue;
+                }
+
+                final S succ = automaton.getSuccessor(trans);
+                Integer succId = stateIds.get(succ);
+                if (succId == null) {
+                    succId = stateIds.size();
+                    stateIds.put(succ, succId);
+                    queue.add(succ);
+                }
+
+                edgeTargets.add(succId);
+                edgeProps.add(computeProps(values, propIds));
+                edgeInputs.add(input);
+                edgeTransitions.add(trans);
+            }
+        }
+        firstEdge.add(edgeTargets.size());
+
+        final ProductEmptinessCheck check = new ProductEmptinessCheck(buchi,
+                                                                      toArray(firstEdge),
+                                                                      toArray(edgeTargets),
+                                                                      edgeProps.toArray(new int[0][]));
+        final ProductEmptinessCheck.Lasso lasso = check.findLasso();
+
+        if (lasso == null) {
+            return null;
+        }
+
+        final int length = lasso.prefix.size() + lasso.loop.size();
+        final List<I> pathInputs = new ArrayList<>(length);
+        final List<T> pathTransitions = new ArrayList<>(length);
+
+        for (IntSeq seq : new IntSeq[] {lasso.prefix, lasso.loop}) {
+            for (int i = 0; i < seq.size(); i++) {
+                final int edge = seq.get(i);
+                pathInputs.add(edgeInputs.get(edge));
+                pathTransitions.add(edgeTransitions.get(edge));
+            }
+        }
+
+        return new LassoPath<>(pathInputs, pathTransitions, lasso.prefix.size());
+    }
+
+    private int[] computeProps(String[] values, Map<Proposition, Integer> propIds) {
+        final List<Integer> result = new ArrayList<>(values.length);
+
+        for (int i = 0; i < values.length; i++) {
+            final Integer id = propIds.get(new Proposition(labels.get(i), values[i]));
+            if (id != null) {
+                result.add(id);
+            }
+        }
+
+        return toArray(result);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        final int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * A labeling of the edges of an automaton.
+     *
+     * @param <S>
+     *         the state type
+     * @param <I>
+     *         the input type
+     * @param <T>
+     *         the transition type
+     */
+    @FunctionalInterface
+    protected interface EdgeLabeling<S, I, T> {
+
+        /**
+         * Returns the values of the edge labels (in the order of the label names passed to the constructor of the
+         * model checker) for the given transition.
+         *
+         * @param state
+         *         the source state
+         * @param input
+         *         the input symbol
+         * @param transition
+         *         the transition
+         *
+         * @return the values of the edge labels, or {@code null} if the transition should not be part of the checked
+         * system
+         */
+        String @Nullable [] getLabels(S state, I input, T transition);
+    }
+
+    /**
+     * A lasso-shaped run of an automaton, i.e. a finite sequence of transitions whose suffix (starting at index {@link
+     * #getLoopBegin()}) can be repeated indefinitely.
+     *
+     * @param <I>
+     *         the input type
+     * @param <T>
+     *         the transition type
+     */
+    protected static final class LassoPath<I, T> {
+
+        private final List<I> inputs;
+        private final List<T> transitions;
+        private final int loopBegin;
+
+        LassoPath(List<I> inputs, List<T> transitions, int loopBegin) {
+            this.inputs = inputs;
+            this.transitions = transitions;
+            this.loopBegin = loopBegin;
+        }
+
+        public List<I> getInputs() {
+            return inputs;
+        }
+
+        public List<T> getTransitions() {
+            return transitions;
+        }
+
+        public int getLoopBegin() {
+            return loopBegin;
+        }
+
+        public int size() {
+            return inputs.size();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.automatalib.modelcheckers.ltsmin.ltl.inmemory.LTLFormula.Kind;
+import net.automatalib.modelcheckers.ltsmin.ltl.inmemory.LTLFormula.Proposition;
+
+/**
+ * A generalized Büchi automaton whose nodes are labeled with conjunctions of (possibly negated) propositions. The
+ * automaton is constructed from an LTL formula by means of the tableau construction of Gerth, Peled, Vardi and Wolper
+ * (<a href="https://doi.org/10.1007/978-0-387-34892-6_1">Simple on-the-fly automatic verification of linear temporal
+ * logic</a>).
+ * <p>
+ * A run of the automaton on an infinite word {@code a_0 a_1 ...} is a sequence of nodes {@code n_0 n_1 ...}, such that
+ * {@code n_0} is initial, {@code n_{i+1}} is a successor of {@code n_i}, and the label of {@code n_i} is satisfied by
+ * {@code a_i}. A run is accepting, if it visits each acceptance set infinitely often.
+ */
+final class BuchiAutomaton {
+
+    private static final int INIT = -1;
+
+    final List<Proposition> propositions;
+    final int[] initialNodes;
+    final int[][] successors;
+    final int[][] positiveLabels;
+    final int[][] negativeLabels;
+    final BitSet[] acceptanceSets;
+
+    private BuchiAutomaton(List<Proposition> propositions,
+                           int[] initialNodes,
+                           int[][] successors,
+                           int[][] positiveLabels,
+                           int[][] negativeLabels,
+                           BitSet[] acceptanceSets) {
+        this.propositions = propositions;
+        this.initialNodes = initialNodes;
+        this.successors = successors;
+        this.positiveLabels = positiveLabels;
+        this.negativeLabels = negativeLabels;
+        this.acceptanceSets = acceptanceSets;
+    }
+
+    int size() {
+        return successors.length;
+    }
+
+    /**
+     * Returns whether the label of the given node is satisfied by a letter in which exactly the given propositions
+     * hold.
+     *
+     * @param node
+     *         the node
+     * @param props
+     *         the (indices of the) propositions that hold
+     *
+     * @return {@code true} if the label of {@code node} is satisfied, {@code false} otherwise
+     */
+    boolean isSatisfied(int node, int[] props) {
+        for (int p : positiveLabels[node]) {
+            if (!contains(props, p)) {
+                return false;
+            }
+        }
+        for (int p : negativeLabels[node]) {
+            if (contains(props, p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] array, int value) {
+        for (int a : array) {
+            if (a == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Constructs a generalized Büchi automaton that accepts exactly the words satisfying the given formula.
+     *
+     * @param formula
+     *         the formula in negation normal form
+     *
+     * @return the Büchi automaton
+     */
+    static BuchiAutomaton fromFormula(LTLFormula formula) {
+        final List<TableauNode> nodes = new ArrayList<>();
+        final Map<List<Set<LTLFormula>>, TableauNode> nodeIndex = new HashMap<>();
+        final Deque<TableauNode> worklist = new ArrayDeque<>();
+
+        final TableauNode init = new TableauNode();
+        init.incoming.add(INIT);
+        init.pending.add(formula);
+        worklist.push(init);
+
+        outer:
+        while (!worklist.isEmpty()) {
+            final TableauNode node = worklist.pop();
+
+            while (!node.pending.isEmpty()) {
+                final LTLFormula eta = node.pending.pop();
+
+                if (node.old.contains(eta)) {
+                    continue;
+                }
+
+                if (eta.isLiteral()) {
+                    if (eta.kind == Kind.FALSE || node.old.contains(negate(eta))) {
+                        continue outer; // contradiction, discard node
+                    }
+                    node.old.add(eta);
+                    continue;
+                }
+
+                node.old.add(eta);
+
+                switch (eta.kind) {
+                    case AND:
+                        node.addPending(eta.left());
+                        node.addPending(eta.right());
+                        break;
+                    case NEXT:
+                        node.next.add(eta.left());
+                        break;
+                    case OR: {
+                        final TableauNode split = node.copy();
+                        node.addPending(eta.left());
+                        split.addPending(eta.right());
+                        worklist.push(split);
+                        break;
+                    }
+                    case UNTIL: {
+                        final TableauNode split = node.copy();
+                        node.addPending(eta.left());
+                        node.next.add(eta);
+                        split.addPending(eta.right());
+                        worklist.push(split);
+                        break;
+                    }
+                    case RELEASE: {
+                        final TableauNode split = node.copy();
+                        node.addPending(eta.right());
+                        node.next.add(eta);
+                        split.addPending(eta.left());
+                        split.addPending(eta.right());
+                        worklist.push(split);
+                        break;
+                    }
+                    default:
+                        throw new IllegalStateException("Formula is not in negation normal form: " + formula);
+                }
+            }
+
+            final List<Set<LTLFormula>> key = Arrays.asList(node.old, node.next);
+            final TableauNode existing = nodeIndex.get(key);
+
+            if (existing != null) {
+                existing.incoming.addAll(node.incoming);
+            } else {
+                node.id = nodes.size();
+                nodes.add(node);
+                nodeIndex.put(key, node);
+
+                final TableauNode succ = new TableauNode();
+                succ.incoming.add(node.id);
+                for (LTLFormula f : node.next) {
+                    succ.pending.push(f);
+                }
+                worklist.push(succ);
+            }
+        }
+
+        return toAutomaton(formula, nodes);
+    }
+
+    private static BuchiAutomaton toAutomaton(LTLFormula formula, List<TableauNode> nodes) {
+        final int numNodes = nodes.size();
+        final Map<Proposition, Integer> propIds = new HashMap<>();
+        final List<Proposition> propositions = new ArrayList<>();
+        final Set<LTLFormula> untils = new LinkedHashSet<>();
+
+        collect(formula, propIds, propositions, untils);
+
+        final List<List<Integer>> succs = new ArrayList<>(numNodes);
+        for (int i = 0; i < numNodes; i++) {
+            succs.add(new ArrayList<>());
+        }
+
+        final List<Integer> initials = new ArrayList<>();
+        final int[][] positive = new int[numNodes][];
+        final int[][] negative = new int[numNodes][];
+
+        for (TableauNode n : nodes) {
+            for (Integer pred : n.incoming) {
+                if (pred == INIT) {
+                    initials.add(n.id);
+                } else {
+                    succs.get(pred).add(n.id);
+                }
+            }
+
+            final List<Integer> pos = new ArrayList<>();
+            final List<Integer> neg = new ArrayList<>();
+
+            for (LTLFormula f : n.old) {
+                if (f.kind == Kind.ATOM) {
+                    pos.add(propIds.get(f.proposition));
+                } else if (f.kind == Kind.NOT && f.left().kind == Kind.ATOM) {
+                    neg.add(propIds.get(f.left().proposition));
+                }
+            }
+
+            positive[n.id] = toArray(pos);
+            negative[n.id] = toArray(neg);
+        }
+
+        final int[][] successors = new int[numNodes][];
+        for (int i = 0; i < numNodes; i++) {
+            successors[i] = toArray(succs.get(i));
+        }
+
+        final BitSet[] acceptanceSets = new BitSet[untils.size()];
+        int idx = 0;
+        for (LTLFormula u : untils) {
+            final BitSet set = new BitSet(numNodes);
+            for (TableauNode n : nodes) {
+                if (!n.old.contains(u) || n.old.contains(u.right())) {
+                    set.set(n.id);
+                }
+            }
+            acceptanceSets[idx++] = set;
+        }
+
+        return new BuchiAutomaton(propositions, toArray(initials), successors, positive, negative, acceptanceSets);
+    }
+
+    private static void collect(LTLFormula formula,
+                                Map<Proposition, Integer> propIds,
+                                List<Proposition> propositions,
+                                Set<LTLFormula> untils) {
+        final Deque<LTLFormula> stack = new ArrayDeque<>();
+        final Set<LTLFormula> visited = new HashSet<>();
+        stack.push(formula);
+
+        while (!stack.isEmpty()) {
+            final LTLFormula f = stack.pop();
+            if (!visited.add(f)) {
+                continue;
+            }
+
+            if (f.kind == Kind.ATOM) {
+                final Proposition p = f.proposition;
+                assert p != null;
+                if (!propIds.containsKey(p)) {
+                    propIds.put(p, propositions.size());
+                    propositions.add(p);
+                }
+            } else if (f.kind == Kind.UNTIL) {
+                untils.add(f);
+            }
+
+            if (f.left != null) {
+                stack.push(f.left);
+            }
+            if (f.right != null) {
+                stack.push(f.right);
+            }
+        }
+    }
+
+    private static LTLFormula negate(LTLFormula literal) {
+        switch (literal.kind) {
+            case TRUE:
+                return LTLFormula.FALSE;
+            case FALSE:
+                return LTLFormula.TRUE;
+            case NOT:
+                return literal.left();
+            default:
+                return LTLFormula.not(literal);
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        final int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    private static final class TableauNode {
+
+        int id = -1;
+        final Set<Integer> incoming = new HashSet<>();
+        final Deque<LTLFormula> pending = new ArrayDeque<>();
+        final Set<LTLFormula> old = new HashSet<>();
+        final Set<LTLFormula> next = new HashSet<>();
+
+        void addPending(LTLFormula formula) {
+            if (!old.contains(formula)) {
+                pending.push(formula);
+            }
+        }
+
+        TableauNode copy() {
+            final TableauNode result = new TableauNode();
+            result.incoming.addAll(incoming);
+            result.pending.addAll(pending);
+            result.old.addAll(old);
+            result.next.addAll(next);
+            return result;
+        }
+    }
+}
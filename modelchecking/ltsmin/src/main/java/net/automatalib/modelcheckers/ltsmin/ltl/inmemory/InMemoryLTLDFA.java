@@ -0,0 +1,103 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.misberner.buildergen.annotations.GenerateBuilder;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.ltsmin.ltl.AbstractLTSminLTL;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLDFA;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.modelchecking.ModelCheckerLasso.DFAModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.DFALassoImpl;
+import net.automatalib.util.automata.fsa.DFAs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An in-memory LTL model checker for DFAs that behaves like {@link LTSminLTLDFA}: the DFA has to be prefix-closed and
+ * its rejecting states are not part of the checked system. Formulae reference the inputs of the DFA via the {@code
+ * letter} label.
+ *
+ * @param <I>
+ *         the input type
+ */
+public class InMemoryLTLDFA<I> extends AbstractInMemoryLTL<I, DFA<?, I>, DFALasso<I>>
+        implements DFAModelCheckerLasso<I, String> {
+
+    private static final List<String> LABELS = Collections.singletonList("letter");
+
+    @GenerateBuilder(defaults = AbstractLTSminLTL.BuilderDefaults.class)
+    public InMemoryLTLDFA(int minimumUnfolds, double multiplier) {
+        super(minimumUnfolds, multiplier, LABELS);
+    }
+
+    @Override
+    public @Nullable DFALasso<I> findCounterExample(DFA<?, I> automaton,
+                                                   Collection<? extends I> inputs,
+                                                   String property) {
+        // check that the DFA rejects the empty language
+        if (DFAs.acceptsEmptyLanguage(automaton)) {
+            throw new ModelCheckingException("DFA accepts the empty language, the LTS for such a DFA is not defined.");
+        }
+
+        final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+
+        // check the DFA is prefix-closed
+        if (!DFAs.isPrefixClosed(automaton, alphabet)) {
+            throw new ModelCheckingException("DFA is not prefix closed.");
+        }
+
+        return findCounterExampleInternal(automaton, alphabet, property);
+    }
+
+    private <S> @Nullable DFALasso<I> findCounterExampleInternal(DFA<S, I> automaton,
+                                                                 Alphabet<I> alphabet,
+                                                                 String property) {
+        // rejecting states are not part of the system
+        final LassoPath<I, S> path = findLassoPath(automaton,
+                                                   alphabet,
+                                                   property,
+                                                   (s, i, t) -> automaton.isAccepting(t) ?
+                                                           new String[] {String.valueOf(i)} :
+                                                           null);
+
+        if (path == null) {
+            return null;
+        }
+
+        final int size = path.size();
+        final CompactDFA<I> lasso = new CompactDFA<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            lasso.addIntState(true);
+        }
+        lasso.setInitial(0, true);
+
+        for (int i = 0; i < size; i++) {
+            final int succ = i + 1 < size ? i + 1 : path.getLoopBegin();
+            lasso.setTransition(i, alphabet.getSymbolIndex(path.getInputs().get(i)), succ);
+        }
+
+        return new DFALassoImpl<>(lasso, alphabet, computeUnfolds(automaton.size()));
+    }
+}
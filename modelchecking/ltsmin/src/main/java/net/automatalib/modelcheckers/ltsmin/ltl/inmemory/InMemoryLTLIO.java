@@ -0,0 +1,114 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.github.misberner.buildergen.annotations.GenerateBuilder;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.modelcheckers.ltsmin.ltl.AbstractLTSminLTL;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLIO;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.modelchecking.ModelCheckerLasso.MealyModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.MealyLassoImpl;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An in-memory LTL model checker for Mealy machines that behaves like {@link LTSminLTLIO}, i.e. it uses synchronous
+ * edge semantics where formulae reference the inputs and outputs of a transition via the {@code input} and {@code
+ * output} labels.
+ *
+ * @param <I>
+ *         the input type
+ * @param <O>
+ *         the output type
+ */
+public class InMemoryLTLIO<I, O> extends AbstractInMemoryLTL<I, MealyMachine<?, I, ?, O>, MealyLasso<I, O>>
+        implements MealyModelCheckerLasso<I, O, String> {
+
+    private static final List<String> LABELS = Arrays.asList("input", "output");
+
+    /**
+     * @see #getSkipOutputs()
+     * @see #setSkipOutputs(Collection)
+     */
+    private Collection<? super O> skipOutputs;
+
+    @GenerateBuilder(defaults = AbstractLTSminLTL.BuilderDefaults.class)
+    public InMemoryLTLIO(int minimumUnfolds, double multiplier, Collection<? super O> skipOutputs) {
+        super(minimumUnfolds, multiplier, LABELS);
+        this.skipOutputs = skipOutputs;
+    }
+
+    /**
+     * Gets a set of outputs whose transitions are not part of the checked system.
+     *
+     * @return the Collection.
+     */
+    public Collection<? super O> getSkipOutputs() {
+        return skipOutputs;
+    }
+
+    /**
+     * Sets a set of outputs whose transitions are not part of the checked system.
+     */
+    public void setSkipOutputs(Collection<? super O> skipOutputs) {
+        this.skipOutputs = skipOutputs;
+    }
+
+    @Override
+    public @Nullable MealyLasso<I, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
+                                                         Collection<? extends I> inputs,
+                                                         String property) {
+        return findCounterExampleInternal(automaton, Alphabets.fromCollection(inputs), property);
+    }
+
+    private <S, T> @Nullable MealyLasso<I, O> findCounterExampleInternal(MealyMachine<S, I, T, O> automaton,
+                                                                         Alphabet<I> alphabet,
+                                                                         String property) {
+        final LassoPath<I, T> path = findLassoPath(automaton, alphabet, property, (s, i, t) -> {
+            final O output = automaton.getTransitionOutput(t);
+            return skipOutputs.contains(output) ?
+                    null :
+                    new String[] {String.valueOf(i), String.valueOf(output)};
+        });
+
+        if (path == null) {
+            return null;
+        }
+
+        final int size = path.size();
+        final CompactMealy<I, O> lasso = new CompactMealy<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            lasso.addIntState();
+        }
+        lasso.setInitial(0, true);
+
+        for (int i = 0; i < size; i++) {
+            final int succ = i + 1 < size ? i + 1 : path.getLoopBegin();
+            final O output = automaton.getTransitionOutput(path.getTransitions().get(i));
+            lasso.addTransition(i, path.getInputs().get(i), succ, output);
+        }
+
+        return new MealyLassoImpl<>(lasso, alphabet, computeUnfolds(automaton.size()));
+    }
+}
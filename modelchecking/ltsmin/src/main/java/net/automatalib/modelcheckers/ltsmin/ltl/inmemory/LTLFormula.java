@@ -0,0 +1,227 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.Objects;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An (immutable) LTL formula over atomic propositions of the form {@code name == "value"}. Formulae are compared
+ * structurally, so that equal sub-formulae can be identified during the translation to Büchi automata.
+ */
+final class LTLFormula {
+
+    static final LTLFormula TRUE = new LTLFormula(Kind.TRUE, null, null, null);
+    static final LTLFormula FALSE = new LTLFormula(Kind.FALSE, null, null, null);
+
+    final Kind kind;
+    final @Nullable Proposition proposition;
+    final @Nullable LTLFormula left;
+    final @Nullable LTLFormula right;
+
+    private final int hash;
+
+    private LTLFormula(Kind kind,
+                       @Nullable Proposition proposition,
+                       @Nullable LTLFormula left,
+                       @Nullable LTLFormula right) {
+        this.kind = kind;
+        this.proposition = proposition;
+        this.left = left;
+        this.right = right;
+        this.hash = Objects.hash(kind, proposition, left, right);
+    }
+
+    static LTLFormula atom(Proposition proposition) {
+        return new LTLFormula(Kind.ATOM, proposition, null, null);
+    }
+
+    static LTLFormula not(LTLFormula formula) {
+        return new LTLFormula(Kind.NOT, null, formula, null);
+    }
+
+    static LTLFormula and(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Kind.AND, null, left, right);
+    }
+
+    static LTLFormula or(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Kind.OR, null, left, right);
+    }
+
+    static LTLFormula next(LTLFormula formula) {
+        return new LTLFormula(Kind.NEXT, null, formula, null);
+    }
+
+    static LTLFormula until(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Kind.UNTIL, null, left, right);
+    }
+
+    static LTLFormula release(LTLFormula left, LTLFormula right) {
+        return new LTLFormula(Kind.RELEASE, null, left, right);
+    }
+
+    /**
+     * Returns whether this formula is a literal, i.e. a (possibly negated) proposition or a boolean constant.
+     *
+     * @return {@code true} if this formula is a literal, {@code false} otherwise
+     */
+    boolean isLiteral() {
+        return kind == Kind.TRUE || kind == Kind.FALSE || kind == Kind.ATOM ||
+               (kind == Kind.NOT && left().kind == Kind.ATOM);
+    }
+
+    LTLFormula left() {
+        assert left != null;
+        return left;
+    }
+
+    LTLFormula right() {
+        assert right != null;
+        return right;
+    }
+
+    /**
+     * Transforms this formula into negation normal form, i.e. negations only occur directly in front of propositions.
+     *
+     * @param negate
+     *         whether the negation of this formula should be transformed
+     *
+     * @return the formula in negation normal form
+     */
+    LTLFormula toNNF(boolean negate) {
+        switch (kind) {
+            case TRUE:
+                return negate ? FALSE : TRUE;
+            case FALSE:
+                return negate ? TRUE : FALSE;
+            case ATOM:
+                return negate ? not(this) : this;
+            case NOT:
+                return left().toNNF(!negate);
+            case AND:
+                return negate ? or(left().toNNF(true), right().toNNF(true)) :
+                        and(left().toNNF(false), right().toNNF(false));
+            case OR:
+                return negate ? and(left().toNNF(true), right().toNNF(true)) :
+                        or(left().toNNF(false), right().toNNF(false));
+            case NEXT:
+                return next(left().toNNF(negate));
+            case UNTIL:
+                return negate ? release(left().toNNF(true), right().toNNF(true)) :
+                        until(left().toNNF(false), right().toNNF(false));
+            case RELEASE:
+                return negate ? until(left().toNNF(true), right().toNNF(true)) :
+                        release(left().toNNF(false), right().toNNF(false));
+            default:
+                throw new IllegalStateException("Unknown kind: " + kind);
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LTLFormula)) {
+            return false;
+        }
+
+        final LTLFormula that = (LTLFormula) o;
+        return hash == that.hash && kind == that.kind && Objects.equals(proposition, that.proposition) &&
+               Objects.equals(left, that.left) && Objects.equals(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case ATOM:
+                return String.valueOf(proposition);
+            case NOT:
+                return "!(" + left + ')';
+            case NEXT:
+                return "X(" + left + ')';
+            case AND:
+                return '(' + String.valueOf(left) + " && " + right + ')';
+            case OR:
+                return '(' + String.valueOf(left) + " || " + right + ')';
+            case UNTIL:
+                return '(' + String.valueOf(left) + " U " + right + ')';
+            case RELEASE:
+                return '(' + String.valueOf(left) + " R " + right + ')';
+            default:
+                throw new IllegalStateException("Unknown kind: " + kind);
+        }
+    }
+
+    enum Kind {
+        TRUE,
+        FALSE,
+        ATOM,
+        NOT,
+        AND,
+        OR,
+        NEXT,
+        UNTIL,
+        RELEASE
+    }
+
+    /**
+     * An atomic proposition that holds on an edge whose label {@code name} (e.g. {@code input}) has the given value.
+     */
+    static final class Proposition {
+
+        final String name;
+        final String value;
+
+        Proposition(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Proposition)) {
+                return false;
+            }
+
+            final Proposition that = (Proposition) o;
+            return name.equals(that.name) && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name + " == \"" + value.replace("\"", "\\\"") + '"';
+        }
+    }
+}
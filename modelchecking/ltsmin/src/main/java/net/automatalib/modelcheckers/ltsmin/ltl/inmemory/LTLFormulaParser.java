@@ -0,0 +1,238 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.modelcheckers.ltsmin.LTSminLTLParser;
+import net.automatalib.modelcheckers.ltsmin.ltl.inmemory.LTLFormula.Proposition;
+
+/**
+ * A recursive-descent parser for the LTL syntax of LTSmin (see {@link LTSminLTLParser}) that constructs an {@link
+ * LTLFormula}.
+ * <p>
+ * The syntax validated by {@link LTSminLTLParser} does not fix any operator precedences. This parser uses the
+ * conventional ones (from strongest to weakest binding): the unary operators ({@code !}, {@code []}, {@code <>},
+ * {@code X}), {@code U} / {@code R}, {@code &&}, {@code ||}, {@code ->} and {@code <->}. All binary temporal operators
+ * as well as implications associate to the right.
+ */
+final class LTLFormulaParser {
+
+    private static final String[] SYMBOLS = {"<->", "->", "==", "&&", "||", "[]", "<>", "(", ")", "!", "X", "U", "R"};
+
+    private final String formula;
+    private final Collection<String> labels;
+    private int pos;
+
+    private LTLFormulaParser(String formula, Collection<String> labels) {
+        this.formula = formula;
+        this.labels = labels;
+    }
+
+    /**
+     * Parses the given formula.
+     *
+     * @param formula
+     *         the formula to parse
+     * @param labels
+     *         the names of the edge labels (e.g. {@code letter}) that may be referenced by the atomic propositions
+     *
+     * @return the parsed formula
+     *
+     * @throws IllegalArgumentException
+     *         if the formula does not adhere to the expected format
+     */
+    static LTLFormula parse(String formula, Collection<String> labels) {
+        final LTLFormulaParser parser = new LTLFormulaParser(formula, labels);
+        final LTLFormula result = parser.parseEquivalence();
+        parser.skipWhitespace();
+
+        if (parser.pos < formula.length()) {
+            throw parser.error("Unexpected input");
+        }
+
+        return result;
+    }
+
+    private LTLFormula parseEquivalence() {
+        final LTLFormula left = parseImplication();
+
+        if (consume("<->")) {
+            final LTLFormula right = parseEquivalence();
+            return LTLFormula.or(LTLFormula.and(left, right),
+                                 LTLFormula.and(LTLFormula.not(left), LTLFormula.not(right)));
+        }
+
+        return left;
+    }
+
+    private LTLFormula parseImplication() {
+        final LTLFormula left = parseDisjunction();
+
+        if (consume("->")) {
+            return LTLFormula.or(LTLFormula.not(left), parseImplication());
+        }
+
+        return left;
+    }
+
+    private LTLFormula parseDisjunction() {
+        final List<LTLFormula> operands = new ArrayList<>();
+        operands.add(parseConjunction());
+
+        while (consume("||")) {
+            operands.add(parseConjunction());
+        }
+
+        LTLFormula result = operands.get(operands.size() - 1);
+        for (int i = operands.size() - 2; i >= 0; i--) {
+            result = LTLFormula.or(operands.get(i), result);
+        }
+        return result;
+    }
+
+    private LTLFormula parseConjunction() {
+        final List<LTLFormula> operands = new ArrayList<>();
+        operands.add(parseTemporal());
+
+        while (consume("&&")) {
+            operands.add(parseTemporal());
+        }
+
+        LTLFormula result = operands.get(operands.size() - 1);
+        for (int i = operands.size() - 2; i >= 0; i--) {
+            result = LTLFormula.and(operands.get(i), result);
+        }
+        return result;
+    }
+
+    private LTLFormula parseTemporal() {
+        final LTLFormula left = parseUnary();
+
+        if (consume("U")) {
+            return LTLFormula.until(left, parseTemporal());
+        } else if (consume("R")) {
+            return LTLFormula.release(left, parseTemporal());
+        }
+
+        return left;
+    }
+
+    private LTLFormula parseUnary() {
+        if (consume("!")) {
+            return LTLFormula.not(parseUnary());
+        } else if (consume("[]")) {
+            return LTLFormula.release(LTLFormula.FALSE, parseUnary());
+        } else if (consume("<>")) {
+            return LTLFormula.until(LTLFormula.TRUE, parseUnary());
+        } else if (consume("X")) {
+            return LTLFormula.next(parseUnary());
+        } else if (consume("(")) {
+            final LTLFormula result = parseEquivalence();
+            expect(")");
+            return result;
+        } else if (consumeIgnoreCase("true")) {
+            return LTLFormula.TRUE;
+        } else if (consumeIgnoreCase("false")) {
+            return LTLFormula.FALSE;
+        }
+
+        for (String label : labels) {
+            if (consume(label)) {
+                expect("==");
+                return LTLFormula.atom(new Proposition(label, parseLabelValue()));
+            }
+        }
+
+        throw error("Expected an atomic proposition or a unary operator");
+    }
+
+    private String parseLabelValue() {
+        expect("\"");
+
+        final StringBuilder sb = new StringBuilder();
+
+        while (pos < formula.length()) {
+            final char c = formula.charAt(pos);
+            if (c == '"') {
+                pos++;
+                return sb.toString();
+            } else if (c == '\\' && pos + 1 < formula.length() && formula.charAt(pos + 1) == '"') {
+                sb.append('"');
+                pos += 2;
+            } else {
+                sb.append(c);
+                pos++;
+            }
+        }
+
+        throw error("Unterminated label");
+    }
+
+    private void expect(String token) {
+        if (!consume(token)) {
+            throw error("Expected '" + token + '\'');
+        }
+    }
+
+    private boolean consume(String token) {
+        skipWhitespace();
+
+        if (formula.startsWith(token, pos) && !isPrefixOfLongerSymbol(token)) {
+            pos += token.length();
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean consumeIgnoreCase(String token) {
+        skipWhitespace();
+
+        if (formula.regionMatches(true, pos, token, 0, token.length())) {
+            pos += token.length();
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean isPrefixOfLongerSymbol(String token) {
+        for (String s : SYMBOLS) {
+            if (s.length() > token.length() && s.startsWith(token) && formula.startsWith(s, pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < formula.length()) {
+            final char c = formula.charAt(pos);
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                pos++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " of formula '" + formula + '\'');
+    }
+}
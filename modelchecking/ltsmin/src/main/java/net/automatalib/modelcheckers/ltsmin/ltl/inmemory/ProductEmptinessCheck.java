@@ -0,0 +1,393 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import net.automatalib.commons.smartcollections.IntSeq;
+import net.automatalib.exception.ModelCheckingException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An emptiness check for the (on-the-fly) product of an edge-labeled transition system and a {@link BuchiAutomaton}.
+ * The acceptance condition of the generalized Büchi automaton is degeneralized by means of a counter and the resulting
+ * product is explored by the nested depth-first search of Courcoubetis, Vardi, Wolper and Yannakakis (<a
+ * href="https://doi.org/10.1007/BF00121128">Memory-efficient algorithms for the verification of temporal
+ * properties</a>).
+ * <p>
+ * The transition system is given in a compressed sparse row format: the outgoing edges of state {@code s} are the edges
+ * {@code firstEdge[s]} (inclusive) to {@code firstEdge[s + 1]} (exclusive), and state {@code 0} is the initial state.
+ */
+final class ProductEmptinessCheck {
+
+    private final BuchiAutomaton buchi;
+    private final int[] firstEdge;
+    private final int[] edgeTargets;
+    private final int[][] edgeProps;
+
+    private final int numNodes;
+    private final int numCounters;
+
+    private final BitSet blue = new BitSet();
+    private final BitSet red = new BitSet();
+
+    /**
+     * Constructor.
+     *
+     * @param buchi
+     *         the Büchi automaton
+     * @param firstEdge
+     *         the offsets of the outgoing edges of each state
+     * @param edgeTargets
+     *         the target state of each edge
+     * @param edgeProps
+     *         the (indices of the) propositions that hold on each edge
+     */
+    ProductEmptinessCheck(BuchiAutomaton buchi, int[] firstEdge, int[] edgeTargets, int[][] edgeProps) {
+        this.buchi = buchi;
+        this.firstEdge = firstEdge;
+        this.edgeTargets = edgeTargets;
+        this.edgeProps = edgeProps;
+        this.numNodes = buchi.size();
+        this.numCounters = Math.max(1, buchi.acceptanceSets.length);
+
+        final int numStates = firstEdge.length - 1;
+        try {
+            Math.multiplyExact(Math.multiplyExact(numStates, numNodes), numCounters);
+        } catch (ArithmeticException ae) {
+            throw new ModelCheckingException(ae);
+        }
+    }
+
+    /**
+     * Searches for an accepting lasso in the product. Once the nested depth-first search has found an accepting cycle,
+     * the counterexample is shortened by replacing the cycle with a shortest cycle through the same accepting state and
+     * the prefix with a shortest path to this cycle.
+     *
+     * @return the edges of the system that make up the (prefix and loop of the) lasso, or {@code null} if the language
+     * of the product is empty
+     */
+    @Nullable Lasso findLasso() {
+        if (firstEdge.length <= 1) {
+            return null;
+        }
+
+        final int[] roots = new int[buchi.initialNodes.length];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = encode(0, buchi.initialNodes[i], 0);
+        }
+
+        for (int root : roots) {
+            if (!blue.get(root)) {
+                final int seed = blueSearch(root);
+                if (seed >= 0) {
+                    final Path loop = shortestPath(new int[] {seed}, s -> s == seed, false);
+                    assert loop != null;
+
+                    final Set<Integer> loopStates = new HashSet<>(loop.states);
+                    final Path prefix = shortestPath(roots, loopStates::contains, true);
+                    assert prefix != null;
+
+                    // rotate the loop such that it starts at the end of the prefix
+                    final int offset = loop.states.indexOf(prefix.target);
+                    final int[] rotated = new int[loop.edges.size()];
+                    for (int i = 0; i < rotated.length; i++) {
+                        rotated[i] = loop.edges.get((offset + i) % rotated.length);
+                    }
+
+                    return normalize(toArray(prefix.edges), rotated);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Shortens a lasso of the system without changing the infinite run it describes: trailing prefix edges are moved
+     * into the loop as long as they coincide with the last loop edge and the loop is reduced to its shortest period.
+     */
+    private static Lasso normalize(int[] prefix, int[] loop) {
+        int prefixLength = prefix.length;
+        final int loopLength = loop.length;
+        int loopOffset = 0;
+
+        while (prefixLength > 0 && prefix[prefixLength - 1] == loop[(loopOffset + loopLength - 1) % loopLength]) {
+            prefixLength--;
+            loopOffset = (loopOffset + loopLength - 1) % loopLength;
+        }
+
+        int period = 1;
+        while (loopLength % period != 0 || !hasPeriod(loop, period)) {
+            period++;
+        }
+
+        final int[] normalizedLoop = new int[period];
+        for (int i = 0; i < period; i++) {
+            normalizedLoop[i] = loop[(loopOffset + i) % loopLength];
+        }
+
+        return new Lasso(IntSeq.of(Arrays.copyOf(prefix, prefixLength)), IntSeq.of(normalizedLoop));
+    }
+
+    private static boolean hasPeriod(int[] loop, int period) {
+        for (int i = period; i < loop.length; i++) {
+            if (loop[i] != loop[i - period]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        final int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Nested depth-first search (outer / blue part).
+     *
+     * @return an accepting state that lies on a cycle, or {@code -1} if no such state is reachable from {@code root}
+     */
+    private int blueSearch(int root) {
+        final Deque<Iterator<Long>> stack = new ArrayDeque<>();
+        final Deque<Integer> states = new ArrayDeque<>();
+        blue.set(root);
+        stack.push(new SuccessorIterator(root));
+        states.push(root);
+
+        while (!stack.isEmpty()) {
+            final Iterator<Long> successors = stack.peek();
+
+            if (successors.hasNext()) {
+                final int succ = (int) (successors.next() >>> Integer.SIZE);
+                if (!blue.get(succ)) {
+                    blue.set(succ);
+                    stack.push(new SuccessorIterator(succ));
+                    states.push(succ);
+                }
+            } else {
+                stack.pop();
+                final int state = states.pop();
+                if (isAccepting(state) && redSearch(state)) {
+                    return state;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Nested depth-first search (inner / red part).
+     *
+     * @return {@code true} if {@code seed} lies on a cycle (of not yet red states), {@code false} otherwise
+     */
+    private boolean redSearch(int seed) {
+        final Deque<Iterator<Long>> stack = new ArrayDeque<>();
+        red.set(seed);
+        stack.push(new SuccessorIterator(seed));
+
+        while (!stack.isEmpty()) {
+            final Iterator<Long> successors = stack.peek();
+
+            if (successors.hasNext()) {
+                final int succ = (int) (successors.next() >>> Integer.SIZE);
+                if (succ == seed) {
+                    return true;
+                } else if (!red.get(succ)) {
+                    red.set(succ);
+                    stack.push(new SuccessorIterator(succ));
+                }
+            } else {
+                stack.pop();
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes a shortest path (via breadth-first search) from any of the given sources to a state satisfying the
+     * given target predicate.
+     */
+    private @Nullable Path shortestPath(int[] sources, IntPredicate target, boolean allowEmpty) {
+        // maps a state to its BFS predecessor (upper half) and the respective edge (lower half)
+        final Map<Integer, Long> predecessors = new HashMap<>();
+        final Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int src : sources) {
+            if (allowEmpty && target.test(src)) {
+                return new Path(src, Collections.emptyList(), Collections.emptyList());
+            }
+            if (!predecessors.containsKey(src)) {
+                predecessors.put(src, -1L);
+                queue.add(src);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            final Iterator<Long> successors = new SuccessorIterator(state);
+
+            while (successors.hasNext()) {
+                final long next = successors.next();
+                final int succ = (int) (next >>> Integer.SIZE);
+
+                if (target.test(succ)) {
+                    final List<Integer> states = new ArrayList<>();
+                    final List<Integer> edges = new ArrayList<>();
+                    states.add(state);
+                    edges.add((int) next);
+
+                    long pred = predecessors.get(state);
+                    while (pred >= 0) {
+                        states.add((int) (pred >>> Integer.SIZE));
+                        edges.add((int) pred);
+                        pred = predecessors.get((int) (pred >>> Integer.SIZE));
+                    }
+
+                    Collections.reverse(states);
+                    Collections.reverse(edges);
+                    return new Path(succ, states, edges);
+                } else if (!predecessors.containsKey(succ)) {
+                    predecessors.put(succ, ((long) state << Integer.SIZE) | (next & 0xFFFFFFFFL));
+                    queue.add(succ);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isAccepting(int state) {
+        final int counter = state % numCounters;
+        final int node = (state / numCounters) % numNodes;
+        return counter == 0 && isInAcceptanceSet(node, 0);
+    }
+
+    private boolean isInAcceptanceSet(int node, int counter) {
+        return buchi.acceptanceSets.length == 0 || buchi.acceptanceSets[counter].get(node);
+    }
+
+    private int encode(int state, int node, int counter) {
+        return (state * numNodes + node) * numCounters + counter;
+    }
+
+    /**
+     * Iterates over the successors of a product state. Successors are encoded as {@code long}s whose upper half
+     * contains the product state and whose lower half contains the respective system edge.
+     */
+    private final class SuccessorIterator implements Iterator<Long> {
+
+        private final int node;
+        private final int nextCounter;
+        private final int lastEdge;
+
+        private int edge;
+        private int succIdx;
+
+        SuccessorIterator(int state) {
+            final int counter = state % numCounters;
+            final int rest = state / numCounters;
+            final int sysState = rest / numNodes;
+
+            this.node = rest % numNodes;
+            this.nextCounter = isInAcceptanceSet(node, counter) ? (counter + 1) % numCounters : counter;
+            this.edge = firstEdge[sysState];
+            this.lastEdge = firstEdge[sysState + 1];
+            this.succIdx = 0;
+            skipDisabled();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return edge < lastEdge;
+        }
+
+        @Override
+        public Long next() {
+            final int[] succs = buchi.successors[node];
+            final int target = encode(edgeTargets[edge], succs[succIdx], nextCounter);
+            final long result = ((long) target << Integer.SIZE) | (edge & 0xFFFFFFFFL);
+
+            succIdx++;
+            if (succIdx >= succs.length) {
+                succIdx = 0;
+                edge++;
+                skipDisabled();
+            }
+
+            return result;
+        }
+
+        private void skipDisabled() {
+            if (buchi.successors[node].length == 0) {
+                edge = lastEdge;
+                return;
+            }
+            while (edge < lastEdge && !buchi.isSatisfied(node, edgeProps[edge])) {
+                edge++;
+            }
+        }
+    }
+
+    /**
+     * A path in the product that ends in state {@code target}. {@code states.get(i)} denotes the source state of the
+     * system edge {@code edges.get(i)}.
+     */
+    private static final class Path {
+
+        final int target;
+        final List<Integer> states;
+        final List<Integer> edges;
+
+        Path(int target, List<Integer> states, List<Integer> edges) {
+            this.target = target;
+            this.states = states;
+            this.edges = edges;
+        }
+    }
+
+    /**
+     * The edges of an accepting lasso of the product.
+     */
+    static final class Lasso {
+
+        final IntSeq prefix;
+        final IntSeq loop;
+
+        Lasso(IntSeq prefix, IntSeq loop) {
+            this.prefix = prefix;
+            this.loop = loop;
+        }
+    }
+}
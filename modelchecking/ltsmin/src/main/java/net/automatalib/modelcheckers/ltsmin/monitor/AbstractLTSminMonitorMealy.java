@@ -15,8 +15,6 @@
  */
 package net.automatalib.modelcheckers.ltsmin.monitor;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.function.Function;
 
@@ -28,11 +26,8 @@ import net.automatalib.modelcheckers.ltsmin.AbstractLTSmin;
 import net.automatalib.modelcheckers.ltsmin.LTSminLTLParser;
 import net.automatalib.modelcheckers.ltsmin.LTSminMealy;
 import net.automatalib.modelcheckers.ltsmin.ltl.AbstractLTSminLTL;
-import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import net.automatalib.words.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An monitor model checker using LTSmin for Mealy machines.
@@ -48,8 +43,6 @@ public abstract class AbstractLTSminMonitorMealy<I, O>
         extends AbstractLTSminMonitor<I, MealyMachine<?, I, ?, O>, MealyMachine<?, I, ?, O>>
         implements LTSminMealy<I, O, MealyMachine<?, I, ?, O>> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLTSminMonitorMealy.class);
-
     /**
      * @see #getString2Output()
      */
@@ -119,66 +112,54 @@ public abstract class AbstractLTSminMonitorMealy<I, O>
      * @see AbstractLTSmin#findCounterExample(Object, Collection, Object)
      */
     @Override
-    public @Nullable MealyMachine<?, I, ?, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
-                                                       Collection<? extends I> inputs,
-                                                       String property) {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        if (fsm == null) {
-            return null;
-        }
-
-        try {
-            final CompactMealy<I, O> result = fsm2Mealy(fsm, automaton, inputs);
-            final Integer deadlock = result.getStates()
-                                           .stream()
-                                           .filter(s -> inputs.stream()
-                                                              .allMatch(i -> result.getSuccessor(s, i) == null))
-                                           .findFirst()
-                                           .orElseThrow(() -> new ModelCheckingException("No deadlock found"));
-
-            return new MealyMachine<Integer, I, CompactTransition<O>, O>() {
-
-                @Override
-                @SuppressWarnings("nullness") // TODO XXX FIXME: Returning non-null values would currently break PropertyOracles in LearnLib. We should rethink a clean API here.
-                public Word<O> computeStateOutput(Integer state, Iterable<? extends I> input) {
-                    final Integer succ = getSuccessor(state, input);
-
-                    return deadlock.equals(succ) ? MealyMachine.super.computeStateOutput(state, input) : null;
-                }
-
-                @Override
-                public @Nullable Integer getInitialState() {
-                    return result.getInitialState();
-                }
-
-                @Override
-                public Integer getSuccessor(CompactTransition<O> transition) {
-                    return result.getSuccessor(transition);
-                }
-
-                @Override
-                public @Nullable CompactTransition<O> getTransition(Integer state, I input) {
-                    return result.getTransition(state, input);
-                }
-
-                @Override
-                public O getTransitionOutput(CompactTransition<O> transition) {
-                    return result.getTransitionOutput(transition);
-                }
-
-                @Override
-                public Collection<Integer> getStates() {
-                    return result.getStates();
-                }
-            };
-        } catch (IOException | FSMFormatException e) {
-            throw new ModelCheckingException(e);
-        } finally {
-            // check if we must keep the FSM
-            if (!isKeepFiles() && !fsm.delete()) {
-                LOGGER.warn("Could not delete file: " + fsm.getAbsolutePath());
+    protected FSMReader<MealyMachine<?, I, ?, O>> createCounterExampleReader(MealyMachine<?, I, ?, O> automaton,
+                                                                             Collection<? extends I> inputs) {
+        return fsm -> toMonitor(fsm2Mealy(fsm, automaton, inputs), inputs);
+    }
+
+    private MealyMachine<?, I, ?, O> toMonitor(CompactMealy<I, O> result, Collection<? extends I> inputs) {
+
+        final Integer deadlock = result.getStates()
+                                       .stream()
+                                       .filter(s -> inputs.stream()
+                                                          .allMatch(i -> result.getSuccessor(s, i) == null))
+                                       .findFirst()
+                                       .orElseThrow(() -> new ModelCheckingException("No deadlock found"));
+
+        return new MealyMachine<Integer, I, CompactTransition<O>, O>() {
+
+            @Override
+            @SuppressWarnings("nullness") // TODO XXX FIXME: Returning non-null values would currently break PropertyOracles in LearnLib. We should rethink a clean API here.
+            public Word<O> computeStateOutput(Integer state, Iterable<? extends I> input) {
+                final Integer succ = getSuccessor(state, input);
+
+                return deadlock.equals(succ) ? MealyMachine.super.computeStateOutput(state, input) : null;
+            }
+
+            @Override
+            public @Nullable Integer getInitialState() {
+                return result.getInitialState();
+            }
+
+            @Override
+            public Integer getSuccessor(CompactTransition<O> transition) {
+                return result.getSuccessor(transition);
+            }
+
+            @Override
+            public @Nullable CompactTransition<O> getTransition(Integer state, I input) {
+                return result.getTransition(state, input);
+            }
+
+            @Override
+            public O getTransitionOutput(CompactTransition<O> transition) {
+                return result.getTransitionOutput(transition);
+            }
+
+            @Override
+            public Collection<Integer> getStates() {
+                return result.getStates();
             }
-        }
+        };
     }
 }
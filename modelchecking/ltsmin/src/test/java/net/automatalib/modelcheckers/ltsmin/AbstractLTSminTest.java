@@ -15,6 +15,12 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import net.automatalib.automata.concepts.DetOutputAutomaton;
 import net.automatalib.automata.concepts.Output;
 import net.automatalib.words.Alphabet;
@@ -90,6 +96,35 @@ public abstract class AbstractLTSminTest<A, R extends Output<String, ?>> {
         Assert.assertEquals(counterExample.computeOutput(input), ce.computeOutput(input));
     }
 
+    /**
+     * Same as {@link #testFindCounterExample()}, but exchanges the data with LTSmin via named pipes.
+     */
+    @Test
+    public void testFindCounterExamplePiped() {
+        getModelChecker().setUseNamedPipes(true);
+        testFindCounterExample();
+        testFindCounterExamples();
+    }
+
+    /**
+     * Checks multiple properties at once, sharing a single serialization of the automaton.
+     */
+    @Test
+    public void testFindCounterExamples() {
+        final AbstractLTSmin<String, A, R> modelChecker = getModelChecker();
+        final String conjunction = falseProperty + " && " + falseProperty;
+
+        final List<String> properties = Arrays.asList("true", falseProperty, conjunction);
+
+        final Map<String, R> all = modelChecker.findCounterExamples(automaton, alphabet, properties);
+        Assert.assertEquals(new ArrayList<>(all.keySet()), Arrays.asList(falseProperty, conjunction));
+        Assert.assertEquals(counterExample.computeOutput(input), all.get(falseProperty).computeOutput(input));
+
+        modelChecker.setParallelism(1);
+        final Map<String, R> first = modelChecker.findCounterExamples(automaton, alphabet, properties, true);
+        Assert.assertEquals(first.keySet(), Collections.singleton(falseProperty));
+    }
+
     /**
      * It appears that the input buffer of LTSmin for input formulae is limited to 8192 (2^13) bytes. As a result, we
      * need to pass longer formulae as a file. This test checks for compatibility with long formulae.
@@ -0,0 +1,138 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import net.automatalib.AutomataLibProperty;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLDFA;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLDFABuilder;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for exchanging data with the LTSmin binaries via named pipes. The tests run against stubs of the LTSmin
+ * binaries (see {@code src/test/resources/ltsmin-stub}), whose behavior depends on the checked formula. This allows
+ * to test processes that fail without ever opening their pipes, which cannot be provoked with a regular LTSmin
+ * installation.
+ * <p>
+ * The {@link AutomataLibProperty#LTSMIN_PATH LTSmin path} has to point to the stubs before {@link LTSminUtil} is
+ * initialized, hence this test is run in a separate surefire execution.
+ */
+public class NamedPipeLTSminTest {
+
+    private static final String STUB_PATH = "ltsmin-stub";
+
+    private static final String TRUE_PROPERTY = "true";
+    private static final String FALSE_PROPERTY = "letter == \"b\"";
+    private static final String UNOPENED_ETF_PROPERTY = "false";
+    private static final String UNOPENED_FSM_PROPERTY = "letter == \"a\"";
+
+    private final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'b');
+
+    private DFA<?, String> automaton;
+
+    private LTSminLTLDFA<String> modelChecker;
+
+    @BeforeClass
+    public void setUpBeforeClass() {
+        final String ltsminPath = System.getProperty(AutomataLibProperty.LTSMIN_PATH.getPropertyKey());
+
+        if (ltsminPath == null || !ltsminPath.endsWith(STUB_PATH)) {
+            throw new SkipException("LTSmin path does not point to the stub binaries");
+        }
+        if (!NamedPipe.isSupported()) {
+            throw new SkipException("Named pipes are not supported");
+        }
+
+        // resources may be copied without their permissions
+        Assert.assertTrue(new File(LTSminUtil.ETF2LTS_MC).setExecutable(true));
+        Assert.assertTrue(new File(LTSminUtil.LTSMIN_CONVERT).setExecutable(true));
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        this.automaton = AutomatonBuilders.newDFA(alphabet)
+                                          .withInitial("q0")
+                                          .withAccepting("q0")
+                                          .from("q0")
+                                          .on("a")
+                                          .loop()
+                                          .create();
+
+        this.modelChecker = new LTSminLTLDFABuilder<String>().withString2Input(s -> s).create();
+        this.modelChecker.setUseNamedPipes(true);
+    }
+
+    @Test(timeOut = 10000)
+    public void testNoCounterExample() {
+        Assert.assertNull(modelChecker.findCounterExample(automaton, alphabet, TRUE_PROPERTY));
+    }
+
+    @Test(timeOut = 10000)
+    public void testCounterExample() {
+        final DFALasso<String> ce = modelChecker.findCounterExample(automaton, alphabet, FALSE_PROPERTY);
+
+        Assert.assertNotNull(ce);
+        Assert.assertEquals(ce.getPrefix(), Word.epsilon());
+        Assert.assertEquals(ce.getLoop(), Word.fromLetter("a"));
+    }
+
+    @Test(timeOut = 10000)
+    public void testFindCounterExamples() {
+        final Map<String, DFALasso<String>> result =
+                modelChecker.findCounterExamples(automaton, alphabet, Arrays.asList(TRUE_PROPERTY, FALSE_PROPERTY));
+
+        Assert.assertEquals(result.keySet(), Collections.singleton(FALSE_PROPERTY));
+    }
+
+    /**
+     * etf2lts-mc fails without ever opening the pipe of the ETF, which must neither block the model checker nor
+     * report a (missing) counterexample.
+     */
+    @Test(timeOut = 10000, expectedExceptions = ModelCheckingException.class)
+    public void testUnopenedETF() {
+        modelChecker.findCounterExample(automaton, alphabet, UNOPENED_ETF_PROPERTY);
+    }
+
+    /**
+     * ltsmin-convert fails without ever opening the pipe of the FSM, which must not block the reader of the FSM.
+     */
+    @Test(timeOut = 10000, expectedExceptions = ModelCheckingException.class)
+    public void testUnopenedFSM() {
+        modelChecker.findCounterExample(automaton, alphabet, UNOPENED_FSM_PROPERTY);
+    }
+
+    @Test(timeOut = 10000, expectedExceptions = ModelCheckingException.class)
+    public void testUnopenedPipesInBatch() {
+        modelChecker.findCounterExamples(automaton,
+                                         alphabet,
+                                         Arrays.asList(TRUE_PROPERTY, UNOPENED_ETF_PROPERTY, FALSE_PROPERTY));
+    }
+}
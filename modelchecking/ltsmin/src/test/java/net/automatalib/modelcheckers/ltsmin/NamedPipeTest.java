@@ -0,0 +1,132 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.automatalib.commons.util.process.ProcessUtil;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the {@link NamedPipe} class.
+ */
+public class NamedPipeTest {
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp() {
+        if (!NamedPipe.isSupported()) {
+            throw new SkipException("Named pipes are not supported");
+        }
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testRoundTrip() throws Exception {
+        final byte[] data = new byte[1 << 20];
+        new Random(42).nextBytes(data);
+
+        final Future<byte[]> result;
+
+        try (NamedPipe in = NamedPipe.create("in"); NamedPipe out = NamedPipe.create("out")) {
+            in.submit(executor, () -> {
+                try (OutputStream os = new FileOutputStream(in.getFile())) {
+                    os.write(data);
+                }
+                return null;
+            });
+            result = out.submit(executor, () -> {
+                try (InputStream is = new FileInputStream(out.getFile())) {
+                    return readFully(is);
+                }
+            });
+
+            final String[] command = {"sh",
+                                      "-c",
+                                      "cat \"$0\" > \"$1\"",
+                                      in.getFile().getAbsolutePath(),
+                                      out.getFile().getAbsolutePath()};
+
+            Assert.assertEquals(ProcessUtil.invokeProcess(command), 0);
+        }
+
+        Assert.assertTrue(Arrays.equals(result.get(), data));
+    }
+
+    @Test(timeOut = 10000)
+    public void testUnopenedPipes() throws Exception {
+        final NamedPipe in = NamedPipe.create("in");
+        final NamedPipe out = NamedPipe.create("out");
+
+        final Future<?> writer = in.submit(executor, () -> {
+            try (OutputStream os = new FileOutputStream(in.getFile())) {
+                os.write(new byte[1 << 20]);
+            }
+            return null;
+        });
+        final Future<byte[]> reader = out.submit(executor, () -> {
+            try (InputStream is = new FileInputStream(out.getFile())) {
+                return readFully(is);
+            }
+        });
+
+        // make sure that both tasks are blocked by opening their pipes
+        Thread.sleep(100);
+
+        // a process that never opens the pipes must not cause close() to block
+        Assert.assertEquals(ProcessUtil.invokeProcess(new String[] {"true"}), 0);
+
+        in.close();
+        out.close();
+
+        Assert.assertTrue(writer.isDone());
+        Assert.assertTrue(reader.isDone());
+        Assert.assertFalse(in.getFile().exists());
+        Assert.assertFalse(out.getFile().exists());
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int len;
+        while ((len = is.read(buffer)) >= 0) {
+            baos.write(buffer, 0, len);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,277 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.modelcheckers.ltsmin.LTSminUtil;
+import net.automatalib.modelcheckers.ltsmin.ltl.AbstractLTSminLTL;
+import net.automatalib.modelchecking.Lasso;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Checks the in-memory model checkers on random automata and random formulae. Each found counterexample is validated
+ * against the hypothesis and the (independently evaluated) formula, and each violating lasso up to a bounded length
+ * must be detected. If a proper LTSmin installation is available, the results are additionally compared with the
+ * respective LTSmin model checker.
+ *
+ * @param <A>
+ *         the automaton type
+ * @param <L>
+ *         the lasso type
+ */
+public abstract class AbstractInMemoryLTLTest<A extends UniversalDeterministicAutomaton<?, String, ?, ?, ?>,
+        L extends Lasso<String, ?>> {
+
+    private static final int NUM_AUTOMATA = 30;
+    private static final int NUM_FORMULAE = 15;
+    private static final int MAX_FORMULA_DEPTH = 4;
+    private static final int MAX_LASSO_LENGTH = 6;
+
+    private final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'c');
+
+    protected Alphabet<String> getAlphabet() {
+        return alphabet;
+    }
+
+    protected abstract AbstractInMemoryLTL<String, A, L> getModelChecker();
+
+    protected abstract AbstractLTSminLTL<String, A, L> getLTSminModelChecker();
+
+    protected abstract A createRandomAutomaton(Random random);
+
+    protected abstract List<String> getLabels();
+
+    /**
+     * Returns the values of the edge labels, or {@code null} if the given transition is not part of the system.
+     */
+    protected abstract <S> String @Nullable [] getLabels(A automaton, S state, String input);
+
+    @Test
+    public void testRandomAutomata() {
+        final Random random = new Random(42);
+        final boolean ltsmin = LTSminUtil.supports(AbstractLTSminLTL.REQUIRED_VERSION);
+
+        for (int i = 0; i < NUM_AUTOMATA; i++) {
+            final A automaton = createRandomAutomaton(random);
+
+            for (int j = 0; j < NUM_FORMULAE; j++) {
+                final String formula = randomFormula(random, MAX_FORMULA_DEPTH);
+                final LTLFormula parsed = LTLFormulaParser.parse(formula, getLabels());
+                final L ce = getModelChecker().findCounterExample(automaton, alphabet, formula);
+
+                if (ce == null) {
+                    Assert.assertFalse(hasBoundedCounterExample(automaton, parsed), formula);
+                } else {
+                    checkCounterExample(automaton, parsed, ce);
+                }
+
+                if (ltsmin) {
+                    final L expected = getLTSminModelChecker().findCounterExample(automaton, alphabet, formula);
+                    Assert.assertEquals(ce == null, expected == null, formula);
+                }
+            }
+        }
+    }
+
+    private <S> void checkCounterExample(A automaton, LTLFormula formula, L ce) {
+        final Word<String> prefix = ce.getPrefix();
+        final Word<String> loop = ce.getLoop();
+        final List<String[]> labels = new ArrayList<>();
+
+        Assert.assertFalse(loop.isEmpty());
+
+        @SuppressWarnings("unchecked")
+        final UniversalDeterministicAutomaton<S, String, ?, ?, ?> aut =
+                (UniversalDeterministicAutomaton<S, String, ?, ?, ?>) automaton;
+
+        S state = aut.getInitialState();
+        S loopBegin = null;
+
+        for (String input : prefix.concat(loop)) {
+            if (labels.size() == prefix.length()) {
+                loopBegin = state;
+            }
+            Assert.assertNotNull(state);
+            final String[] values = getLabels(automaton, state, input);
+            Assert.assertNotNull(values);
+            labels.add(values);
+            state = aut.getSuccessor(state, input);
+        }
+
+        Assert.assertEquals(state, loopBegin);
+        Assert.assertFalse(evaluate(formula, labels, prefix.length())[0], formula.toString());
+    }
+
+    private <S> boolean hasBoundedCounterExample(A automaton, LTLFormula formula) {
+        @SuppressWarnings("unchecked")
+        final UniversalDeterministicAutomaton<S, String, ?, ?, ?> aut =
+                (UniversalDeterministicAutomaton<S, String, ?, ?, ?>) automaton;
+        final S init = aut.getInitialState();
+        return init != null && hasBoundedCounterExample(automaton,
+                                                       aut,
+                                                       formula,
+                                                       new ArrayList<>(Arrays.asList(init)),
+                                                       new ArrayList<>());
+    }
+
+    private <S> boolean hasBoundedCounterExample(A automaton,
+                                                 UniversalDeterministicAutomaton<S, String, ?, ?, ?> aut,
+                                                 LTLFormula formula,
+                                                 List<S> states,
+                                                 List<String[]> labels) {
+        final S last = states.get(states.size() - 1);
+
+        // try to close a loop
+        for (int i = 0; i < states.size() - 1; i++) {
+            if (states.get(i).equals(last) && !evaluate(formula, labels, i)[0]) {
+                return true;
+            }
+        }
+
+        if (labels.size() == MAX_LASSO_LENGTH) {
+            return false;
+        }
+
+        for (String input : alphabet) {
+            final S succ = aut.getSuccessor(last, input);
+            final String[] values = succ == null ? null : getLabels(automaton, last, input);
+            if (values != null) {
+                states.add(succ);
+                labels.add(values);
+                final boolean result = hasBoundedCounterExample(automaton, aut, formula, states, labels);
+                states.remove(states.size() - 1);
+                labels.remove(labels.size() - 1);
+                if (result) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Evaluates the given formula on each position of the lasso described by the given edge labels, whose last
+     * position is followed by the position {@code loopBegin}.
+     */
+    private boolean[] evaluate(LTLFormula formula, List<String[]> labels, int loopBegin) {
+        final int n = labels.size();
+        final boolean[] result = new boolean[n];
+
+        switch (formula.kind) {
+            case TRUE:
+                Arrays.fill(result, true);
+                break;
+            case FALSE:
+                break;
+            case ATOM:
+                for (int i = 0; i < n; i++) {
+                    final String value = labels.get(i)[getLabels().indexOf(formula.proposition.name)];
+                    result[i] = value.equals(formula.proposition.value);
+                }
+                break;
+            case NOT: {
+                final boolean[] sub = evaluate(formula.left(), labels, loopBegin);
+                for (int i = 0; i < n; i++) {
+                    result[i] = !sub[i];
+                }
+                break;
+            }
+            case AND:
+            case OR: {
+                final boolean[] l = evaluate(formula.left(), labels, loopBegin);
+                final boolean[] r = evaluate(formula.right(), labels, loopBegin);
+                for (int i = 0; i < n; i++) {
+                    result[i] = formula.kind == LTLFormula.Kind.AND ? l[i] && r[i] : l[i] || r[i];
+                }
+                break;
+            }
+            case NEXT: {
+                final boolean[] sub = evaluate(formula.left(), labels, loopBegin);
+                for (int i = 0; i < n; i++) {
+                    result[i] = sub[next(i, n, loopBegin)];
+                }
+                break;
+            }
+            case UNTIL:
+            case RELEASE: {
+                final boolean until = formula.kind == LTLFormula.Kind.UNTIL;
+                final boolean[] l = evaluate(formula.left(), labels, loopBegin);
+                final boolean[] r = evaluate(formula.right(), labels, loopBegin);
+                Arrays.fill(result, !until);
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    for (int i = n - 1; i >= 0; i--) {
+                        final boolean succ = result[next(i, n, loopBegin)];
+                        final boolean value = until ? r[i] || (l[i] && succ) : r[i] && (l[i] || succ);
+                        if (value != result[i]) {
+                            result[i] = value;
+                            changed = true;
+                        }
+                    }
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException();
+        }
+
+        return result;
+    }
+
+    private static int next(int i, int n, int loopBegin) {
+        return i + 1 < n ? i + 1 : loopBegin;
+    }
+
+    private String randomFormula(Random random, int depth) {
+        final int choice = random.nextInt(depth > 0 ? 12 : 3);
+
+        switch (choice) {
+            case 0:
+            case 1:
+                final List<String> labels = getLabels();
+                final String label = labels.get(random.nextInt(labels.size()));
+                final String value = "output".equals(label) ? Integer.toString(random.nextInt(2)) :
+                        alphabet.getSymbol(random.nextInt(alphabet.size()));
+                return label + " == \"" + value + '"';
+            case 2:
+                return random.nextBoolean() ? "true" : "false";
+            case 3:
+                return "!(" + randomFormula(random, depth - 1) + ')';
+            case 4:
+                return "[](" + randomFormula(random, depth - 1) + ')';
+            case 5:
+                return "<>(" + randomFormula(random, depth - 1) + ')';
+            case 6:
+                return "X(" + randomFormula(random, depth - 1) + ')';
+            default:
+                final String[] ops = {"&&", "||", "->", "<->", "U", "R"};
+                return '(' + randomFormula(random, depth - 1) + ") " + ops[choice - 7] + " (" +
+                       randomFormula(random, depth - 1) + ')';
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLDFA;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLDFABuilder;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class InMemoryLTLDFATest extends AbstractInMemoryLTLTest<DFA<?, String>, DFALasso<String>> {
+
+    private InMemoryLTLDFA<String> modelChecker;
+
+    @BeforeMethod
+    public void setUp() {
+        modelChecker = new InMemoryLTLDFABuilder<String>().create();
+    }
+
+    @Override
+    protected InMemoryLTLDFA<String> getModelChecker() {
+        return modelChecker;
+    }
+
+    @Override
+    protected LTSminLTLDFA<String> getLTSminModelChecker() {
+        return new LTSminLTLDFABuilder<String>().withString2Input(s -> s).create();
+    }
+
+    @Override
+    protected List<String> getLabels() {
+        return Collections.singletonList("letter");
+    }
+
+    @Override
+    protected <S> String @Nullable [] getLabels(DFA<?, String> automaton, S state, String input) {
+        @SuppressWarnings("unchecked")
+        final DFA<S, String> dfa = (DFA<S, String>) automaton;
+        final S succ = dfa.getSuccessor(state, input);
+        return succ != null && dfa.isAccepting(succ) ? new String[] {input} : null;
+    }
+
+    /**
+     * Creates a random prefix-closed DFA, whose (optional) rejecting sink has no outgoing transitions.
+     */
+    @Override
+    protected DFA<?, String> createRandomAutomaton(Random random) {
+        final int size = 1 + random.nextInt(6);
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet(), size + 1);
+
+        for (int i = 0; i < size; i++) {
+            dfa.addState(true);
+        }
+        final int sink = dfa.addIntState(false);
+        dfa.setInitial(0, true);
+
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < getAlphabet().size(); i++) {
+                final int choice = random.nextInt(10);
+                if (choice < 2) {
+                    dfa.setTransition(s, i, sink);
+                } else if (choice < 8) {
+                    dfa.setTransition(s, i, random.nextInt(size));
+                }
+            }
+        }
+
+        return dfa;
+    }
+
+    @Test
+    public void testFindCounterExample() {
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet());
+        final int q0 = dfa.addInitialState(true);
+        dfa.addTransition(q0, "a", q0);
+
+        Assert.assertNull(modelChecker.findCounterExample(dfa, getAlphabet(), "true"));
+        Assert.assertNull(modelChecker.findCounterExample(dfa, getAlphabet(), "[](letter == \"a\")"));
+
+        final DFALasso<String> ce = modelChecker.findCounterExample(dfa, getAlphabet(), "letter == \"b\"");
+        Assert.assertNotNull(ce);
+        Assert.assertEquals(ce.getPrefix(), Word.epsilon());
+        Assert.assertEquals(ce.getLoop(), Word.fromLetter("a"));
+        Assert.assertEquals(ce.getWord(), Word.fromSymbols("a", "a", "a"));
+        Assert.assertTrue(ce.getOutput());
+    }
+
+    @Test
+    public void testRejectingStatesAreIgnored() {
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet());
+        final int q0 = dfa.addInitialState(true);
+        final int q1 = dfa.addState(true);
+        final int q2 = dfa.addState(false);
+        dfa.addTransition(q0, "a", q1);
+        dfa.addTransition(q0, "c", q2);
+        dfa.addTransition(q1, "b", q1);
+        dfa.addTransition(q1, "c", q2);
+
+        Assert.assertNull(modelChecker.findCounterExample(dfa, getAlphabet(), "!(<>(letter == \"c\"))"));
+        Assert.assertNull(modelChecker.findCounterExample(dfa, getAlphabet(), "X([](letter == \"b\"))"));
+
+        final DFALasso<String> ce = modelChecker.findCounterExample(dfa, getAlphabet(), "<>([](letter == \"a\"))");
+        Assert.assertNotNull(ce);
+        Assert.assertEquals(ce.getPrefix(), Word.fromLetter("a"));
+        Assert.assertEquals(ce.getLoop(), Word.fromLetter("b"));
+    }
+
+    @Test
+    public void testLongFormula() {
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet());
+        final int q0 = dfa.addInitialState(true);
+        dfa.addTransition(q0, "a", q0);
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < (1 << 13) / 10; i++) {
+            builder.append("[](letter == \"a\") && ");
+        }
+        builder.append("letter == \"b\"");
+
+        Assert.assertNotNull(modelChecker.findCounterExample(dfa, getAlphabet(), builder.toString()));
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testInvalidFormula() {
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet());
+        dfa.addInitialState(true);
+
+        modelChecker.findCounterExample(dfa, getAlphabet(), "input == \"a\"");
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testPrefixClosed() {
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet());
+        final int q0 = dfa.addInitialState(false);
+        final int q1 = dfa.addState(true);
+        dfa.addTransition(q0, "a", q1);
+
+        modelChecker.findCounterExample(dfa, getAlphabet(), "true");
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testEmptyLanguage() {
+        final CompactDFA<String> dfa = new CompactDFA<>(getAlphabet());
+        final int q0 = dfa.addInitialState(false);
+        dfa.addTransition(q0, "a", q0);
+        dfa.addTransition(q0, "b", q0);
+
+        modelChecker.findCounterExample(dfa, getAlphabet(), "true");
+    }
+}
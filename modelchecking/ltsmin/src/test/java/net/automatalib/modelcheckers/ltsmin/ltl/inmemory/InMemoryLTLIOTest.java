@@ -0,0 +1,123 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.ltl.inmemory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLIO;
+import net.automatalib.modelcheckers.ltsmin.ltl.LTSminLTLIOBuilder;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class InMemoryLTLIOTest
+        extends AbstractInMemoryLTLTest<MealyMachine<?, String, ?, String>, MealyLasso<String, String>> {
+
+    private InMemoryLTLIO<String, String> modelChecker;
+
+    @BeforeMethod
+    public void setUp() {
+        modelChecker = new InMemoryLTLIOBuilder<String, String>().create();
+    }
+
+    @Override
+    protected InMemoryLTLIO<String, String> getModelChecker() {
+        return modelChecker;
+    }
+
+    @Override
+    protected LTSminLTLIO<String, String> getLTSminModelChecker() {
+        return new LTSminLTLIOBuilder<String, String>().withString2Input(s -> s).withString2Output(s -> s).create();
+    }
+
+    @Override
+    protected List<String> getLabels() {
+        return Arrays.asList("input", "output");
+    }
+
+    @Override
+    protected <S> String @Nullable [] getLabels(MealyMachine<?, String, ?, String> automaton, S state, String input) {
+        @SuppressWarnings("unchecked")
+        final MealyMachine<S, String, ?, String> mealy = (MealyMachine<S, String, ?, String>) automaton;
+        final String output = mealy.getOutput(state, input);
+        return output == null ? null : new String[] {input, output};
+    }
+
+    /**
+     * Creates a random (partial) Mealy machine with outputs "0" and "1".
+     */
+    @Override
+    protected MealyMachine<?, String, ?, String> createRandomAutomaton(Random random) {
+        final int size = 1 + random.nextInt(6);
+        final CompactMealy<String, String> mealy = new CompactMealy<>(getAlphabet(), size);
+
+        for (int i = 0; i < size; i++) {
+            mealy.addState();
+        }
+        mealy.setInitial(0, true);
+
+        for (int s = 0; s < size; s++) {
+            for (String i : getAlphabet()) {
+                if (random.nextInt(5) > 0) {
+                    mealy.addTransition(s, i, random.nextInt(size), Integer.toString(random.nextInt(2)));
+                }
+            }
+        }
+
+        return mealy;
+    }
+
+    @Test
+    public void testFindCounterExample() {
+        final CompactMealy<String, String> mealy = new CompactMealy<>(getAlphabet());
+        final int q0 = mealy.addInitialState();
+        final int q1 = mealy.addState();
+        mealy.addTransition(q0, "a", q1, "1");
+        mealy.addTransition(q1, "b", q1, "2");
+
+        Assert.assertNull(modelChecker.findCounterExample(mealy, getAlphabet(), "true"));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, getAlphabet(), "X([](output == \"2\"))"));
+
+        final MealyLasso<String, String> ce =
+                modelChecker.findCounterExample(mealy, getAlphabet(), "[](input == \"a\" -> X(output == \"1\"))");
+        Assert.assertNotNull(ce);
+        Assert.assertEquals(ce.getPrefix(), Word.fromLetter("a"));
+        Assert.assertEquals(ce.getLoop(), Word.fromLetter("b"));
+        Assert.assertEquals(ce.getOutput(), Word.fromSymbols("1", "2", "2", "2"));
+    }
+
+    @Test
+    public void testSkipOutputs() {
+        final CompactMealy<String, String> mealy = new CompactMealy<>(getAlphabet());
+        final int q0 = mealy.addInitialState();
+        mealy.addTransition(q0, "a", q0, "1");
+        mealy.addTransition(q0, "b", q0, "2");
+
+        Assert.assertNotNull(modelChecker.findCounterExample(mealy, getAlphabet(), "!(input == \"b\")"));
+
+        modelChecker.setSkipOutputs(Collections.singleton("2"));
+
+        Assert.assertNull(modelChecker.findCounterExample(mealy, getAlphabet(), "!(input == \"b\")"));
+    }
+}
@@ -43,6 +43,10 @@ public class ADDSolver<L, AP> extends AbstractDDSolver<ADDTransformer<L, AP>, L,
         super(cfmps);
     }
 
+    private ADDSolver(ADDSolver<L, AP> solver) {
+        super(solver);
+    }
+
     @Override
     protected void initDDManager(DependencyGraph<L, AP> dependencyGraph) {
         this.ddManager = new BooleanVectorLogicDDManager(dependencyGraph.getNumVariables());
@@ -74,4 +78,9 @@ public class ADDSolver<L, AP> extends AbstractDDSolver<ADDTransformer<L, AP>, L,
     protected TransformerSerializer<ADDTransformer<L, AP>, L, AP> getSerializer() {
         return new ADDTransformerSerializer<>(ddManager);
     }
+
+    @Override
+    protected ADDSolver<L, AP> copy() {
+        return new ADDSolver<>(this);
+    }
 }
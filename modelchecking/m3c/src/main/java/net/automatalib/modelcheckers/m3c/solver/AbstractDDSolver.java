@@ -21,17 +21,25 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
+import net.automatalib.commons.util.concurrent.ScalingThreadPoolExecutor;
 import net.automatalib.commons.util.mappings.Mapping;
 import net.automatalib.commons.util.mappings.MutableMapping;
+import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.graphs.ContextFreeModalProcessSystem;
 import net.automatalib.graphs.ProceduralModalProcessGraph;
 import net.automatalib.modelcheckers.m3c.formula.AndNode;
@@ -47,6 +55,7 @@ import net.automatalib.modelcheckers.m3c.formula.visitor.CTLToMuCalc;
 import net.automatalib.modelcheckers.m3c.transformer.AbstractPropertyTransformer;
 import net.automatalib.modelcheckers.m3c.transformer.TransformerSerializer;
 import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.modelchecker.BatchModelChecking;
 import net.automatalib.ts.modal.transition.ModalEdgeProperty;
 import net.automatalib.ts.modal.transition.ProceduralModalEdgeProperty;
 import org.checkerframework.checker.initialization.qual.UnderInitialization;
@@ -71,18 +80,29 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>, L, AP>
         implements ModelChecker<L, ContextFreeModalProcessSystem<L, AP>, FormulaNode<L, AP>, WitnessTree<L, AP>> {
 
+    private static final long KEEP_ALIVE_SECONDS = 1;
+
     // Attributes that are constant for a given CFMPS
     private final @KeyFor("workUnits") L mainProcess;
+    private final List<List<List<L>>> procedureLevels; // see DependencyOrders#procedureLevels
 
     // Attributes that change for each formula
     private TransformerSerializer<T, L, AP> serializer;
     private DependencyGraph<L, AP> dependencyGraph;
     private int currentBlockIndex;
+    private boolean forwardReferences; // see DependencyOrders#hasForwardReferences
     // Per-procedure attributes
     private final Map<L, WorkUnit<?, ?>> workUnits;
     // Per-action attributes
     private Map<L, T> mustTransformers;
     private Map<L, T> mayTransformers;
+    // Per-iteration statistics
+    private int numberOfUpdates;
+    private int numberOfChangedTransformers;
+    private int numberOfCompositions;
+    // Attributes for concurrent computations
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int procedureParallelism = 1;
 
     AbstractDDSolver(ContextFreeModalProcessSystem<L, AP> cfmps) {
         final Map<L, ProceduralModalProcessGraph<?, L, ?, AP, ?>> pmpgs = cfmps.getPMPGs();
@@ -95,6 +115,14 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
             workUnits.put(label, initializeWorkUnits(label, pmpg));
         }
 
+        final Map<L, Set<L>> callees = Maps.newLinkedHashMapWithExpectedSize(pmpgs.size());
+        for (L label : pmpgs.keySet()) {
+            final Set<L> calledProcedures = new HashSet<>(workUnits.get(label).callSites.keySet());
+            calledProcedures.retainAll(workUnits.keySet());
+            callees.put(label, calledProcedures);
+        }
+        this.procedureLevels = DependencyOrders.procedureLevels(callees);
+
         // TODO handle empty CFMPSs
         final L mainProcess = cfmps.getMainProcess();
         if (mainProcess == null || !workUnits.containsKey(mainProcess)) {
@@ -104,6 +132,36 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         this.mainProcess = mainProcess;
     }
 
+    /**
+     * Copy constructor. The new solver shares the formula-independent information about the system (i.e., the
+     * procedures, their predecessor mappings and the update order) with the given {@code solver} but maintains its own
+     * formula-dependent state, so that both solvers may be used concurrently.
+     *
+     * @param solver
+     *         the solver to copy
+     */
+    AbstractDDSolver(AbstractDDSolver<T, L, AP> solver) {
+        this.workUnits = Maps.newHashMapWithExpectedSize(solver.workUnits.size());
+        for (WorkUnit<?, ?> unit : solver.workUnits.values()) {
+            workUnits.put(unit.label, copyWorkUnit(unit));
+        }
+
+        this.mainProcess = solver.mainProcess;
+        this.procedureLevels = solver.procedureLevels;
+        this.parallelism = solver.parallelism;
+        this.procedureParallelism = solver.procedureParallelism;
+    }
+
+    private <N, E> WorkUnit<N, E> copyWorkUnit(@UnderInitialization AbstractDDSolver<T, L, AP> this,
+                                               WorkUnit<N, E> unit) {
+        return new WorkUnit<>(unit.label,
+                              unit.pmpg,
+                              unit.predecessors,
+                              unit.nodes,
+                              unit.nodeIndices,
+                              unit.callSites);
+    }
+
     private <N> void checkPMPG(@UnderInitialization AbstractDDSolver<T, L, AP> this,
                                L label,
                                ProceduralModalProcessGraph<N, L, ?, AP, ?> pmpg) {
@@ -128,10 +186,40 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return true;
     }
 
-    private <N> WorkUnit<N, ?> initializeWorkUnits(@UnderInitialization AbstractDDSolver<T, L, AP> this,
-                                                   L label,
-                                                   ProceduralModalProcessGraph<N, L, ?, AP, ?> pmpg) {
-        return new WorkUnit<>(label, pmpg, initPredecessorsMapping(pmpg));
+    private <N, E> WorkUnit<N, E> initializeWorkUnits(@UnderInitialization AbstractDDSolver<T, L, AP> this,
+                                                      L label,
+                                                      ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg) {
+        final List<N> nodes = DependencyOrders.nodeOrder(pmpg);
+        final MutableMapping<N, @Nullable Integer> nodeIndices = pmpg.createStaticNodeMapping();
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIndices.put(nodes.get(i), i);
+        }
+
+        // we put an index for every node, so it's no longer null
+        return new WorkUnit<>(label,
+                              pmpg,
+                              initPredecessorsMapping(pmpg),
+                              nodes,
+                              (MutableMapping<N, Integer>) nodeIndices,
+                              initCallSites(pmpg));
+    }
+
+    private static <N, L, E, AP> Map<L, List<N>> initCallSites(ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg) {
+        final Map<L, List<N>> callSites = new HashMap<>();
+
+        for (N node : pmpg.getNodes()) {
+            for (E outgoingEdge : pmpg.getOutgoingEdges(node)) {
+                if (pmpg.getEdgeProperty(outgoingEdge).isProcess()) {
+                    final List<N> nodes = callSites.computeIfAbsent(pmpg.getEdgeLabel(outgoingEdge),
+                                                                    k -> new ArrayList<>());
+                    if (nodes.isEmpty() || !Objects.equals(nodes.get(nodes.size() - 1), node)) {
+                        nodes.add(node);
+                    }
+                }
+            }
+        }
+
+        return callSites;
     }
 
     private static <N, L, E, AP> Mapping<N, @Nullable Set<N>> initPredecessorsMapping(ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg) {
@@ -163,31 +251,114 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         final FormulaNode<L, AP> ast = ctlToMuCalc(negatedFormula).toNNF();
 
         initialize(ast);
-        this.solveInternal(false, Collections.emptyList());
 
-        final boolean sat = isSat();
+        try {
+            this.solveInternal(false, Collections.emptyList(), Collections.emptyList());
 
-        if (sat) {
-            try {
+            if (isSat()) {
                 final Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> units = Collections.unmodifiableMap(workUnits);
                 return WitnessTreeExtractor.computeWitness(cfmps,
                                                            units,
                                                            dependencyGraph,
                                                            ast,
                                                            getAllAPDeadlockedNode());
-            } finally {
-                shutdownDDManager();
             }
+
+            return null;
+        } finally {
+            shutdownDDManager();
         }
+    }
+
+    /**
+     * Checks the given {@code properties} concurrently on up to {@link #getParallelism()} threads. The
+     * formula-independent information about the system is computed only once (upon construction of {@code this}
+     * solver) and is shared by all threads, whereas each property is solved by a separate copy of {@code this} solver
+     * that uses its own decision diagram manager.
+     */
+    @Override
+    public Map<FormulaNode<L, AP>, WitnessTree<L, AP>> findCounterExamples(ContextFreeModalProcessSystem<L, AP> cfmps,
+                                                                           Collection<? extends L> inputs,
+                                                                           Collection<? extends FormulaNode<L, AP>> properties,
+                                                                           boolean firstOnly) {
+        return BatchModelChecking.findCounterExamples(properties,
+                                                      p -> copy().findCounterExample(cfmps, inputs, p),
+                                                      parallelism,
+                                                      firstOnly);
+    }
 
-        return null;
+    /**
+     * Returns the maximum number of properties that are checked concurrently by
+     * {@link #findCounterExamples(ContextFreeModalProcessSystem, Collection, Collection, boolean)}.
+     *
+     * @return the maximum number of concurrently checked properties
+     *
+     * @see #setParallelism(int)
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of properties that are checked concurrently by
+     * {@link #findCounterExamples(ContextFreeModalProcessSystem, Collection, Collection, boolean)}. Defaults to the
+     * number of available processors. A value of 1 checks the properties sequentially.
+     *
+     * @param parallelism
+     *         the maximum number of concurrently checked properties
+     *
+     * @throws IllegalArgumentException
+     *         when {@code parallelism < 1}
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the maximum number of threads that are used to update the property transformers of independent
+     * procedures concurrently.
+     *
+     * @return the maximum number of threads that are used to update the property transformers of independent
+     * procedures concurrently
+     *
+     * @see #setProcedureParallelism(int)
+     */
+    public int getProcedureParallelism() {
+        return procedureParallelism;
+    }
+
+    /**
+     * Sets the maximum number of threads that are used to update the property transformers of independent procedures
+     * concurrently. Defaults to 1, i.e., all procedures are updated sequentially.
+     * <p>
+     * Procedures are independent if neither of them (transitively) calls the other one. Since the decision diagrams of
+     * a single manager must not be accessed concurrently, each thread uses a separate manager, and property
+     * transformers are exchanged between the managers via {@link #getSerializer() serialization}. Therefore, a
+     * concurrent update only pays off for systems with several large, independent procedures. Note that
+     * {@link #solveAndRecordHistory(FormulaNode)} always updates all procedures sequentially.
+     *
+     * @param procedureParallelism
+     *         the maximum number of threads that are used to update the property transformers of independent
+     *         procedures concurrently
+     *
+     * @throws IllegalArgumentException
+     *         when {@code procedureParallelism < 1}
+     */
+    public void setProcedureParallelism(int procedureParallelism) {
+        if (procedureParallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + procedureParallelism);
+        }
+        this.procedureParallelism = procedureParallelism;
     }
 
     public boolean solve(FormulaNode<L, AP> formula) {
         final FormulaNode<L, AP> ast = ctlToMuCalc(formula).toNNF();
 
         initialize(ast);
-        this.solveInternal(false, Collections.emptyList());
+        this.solveInternal(false, Collections.emptyList(), Collections.emptyList());
 
         final boolean sat = isSat();
         shutdownDDManager();
@@ -196,6 +367,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
 
     public SolverHistory<T, L, AP> solveAndRecordHistory(FormulaNode<L, AP> formula) {
         final List<SolverState<?, T, L, AP>> history = new ArrayList<>();
+        final List<SolverStatistics> statistics = new ArrayList<>();
         final FormulaNode<L, AP> ast = ctlToMuCalc(formula).toNNF();
 
         initialize(ast);
@@ -205,7 +377,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
             data.put(e.getKey(), createProcessData(e.getValue()));
         }
 
-        this.solveInternal(true, history);
+        this.solveInternal(true, history, statistics);
 
         final Map<L, List<String>> serializedMustTransformers = serializePropertyTransformerMap(mustTransformers);
         final Map<L, List<String>> serializedMayTransformers = serializePropertyTransformerMap(mayTransformers);
@@ -213,7 +385,12 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
 
         shutdownDDManager();
 
-        return new SolverHistory<>(data, serializedMustTransformers, serializedMayTransformers, history, isSat);
+        return new SolverHistory<>(data,
+                                   serializedMustTransformers,
+                                   serializedMayTransformers,
+                                   history,
+                                   statistics,
+                                   isSat);
     }
 
     private <N, E> SolverData<N, T, L, AP> createProcessData(WorkUnit<N, E> unit) {
@@ -228,24 +405,83 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return serializedTransformers;
     }
 
-    private void solveInternal(boolean recordHistory, List<SolverState<?, T, L, AP>> history) {
-        boolean workSetIsEmpty = false;
-        while (!workSetIsEmpty) {
-            workSetIsEmpty = true;
-            for (Entry<L, WorkUnit<?, ?>> entry : workUnits.entrySet()) {
-                workSetIsEmpty &= solveInternal(entry.getValue(), recordHistory, history);
+    private void solveInternal(boolean recordHistory,
+                               List<SolverState<?, T, L, AP>> history,
+                               List<SolverStatistics> statistics) {
+        final ExecutorService executor = recordHistory ? null : createExecutor();
+
+        try {
+            while (true) {
+                final long start = System.nanoTime();
+                resetStatistics();
+
+                // the procedures of a level only depend on the procedures of previous levels, so a single pass over
+                // all levels computes the fixed point of the current block
+                for (List<List<L>> level : procedureLevels) {
+                    solveLevel(level, recordHistory, history, executor);
+                }
+
+                assert workSetIsEmpty();
+
+                if (recordHistory) {
+                    statistics.add(new SolverStatistics(currentBlockIndex,
+                                                        numberOfUpdates,
+                                                        numberOfChangedTransformers,
+                                                        numberOfCompositions,
+                                                        System.nanoTime() - start));
+                }
+
+                if (currentBlockIndex == 0) {
+                    break;
+                }
+
+                setCurrentBlock(currentBlockIndex - 1);
+                resetWorkSet();
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void solveLevel(List<List<L>> level,
+                            boolean recordHistory,
+                            List<SolverState<?, T, L, AP>> history,
+                            @Nullable ExecutorService executor) {
+        if (executor != null) {
+            final List<List<L>> pendingSCCs = new ArrayList<>(level.size());
+            for (List<L> scc : level) {
+                if (!workSetIsEmpty(scc)) {
+                    pendingSCCs.add(scc);
+                }
+            }
+
+            if (pendingSCCs.size() > 1) {
+                solveConcurrently(pendingSCCs, executor);
+                return;
             }
         }
+
+        for (List<L> scc : level) {
+            solveSCC(scc, recordHistory, history);
+        }
     }
 
-    private <N> boolean solveInternal(WorkUnit<N, ?> unit,
-                                      boolean recordHistory,
-                                      List<SolverState<?, T, L, AP>> history) {
-        if (!unit.workSet.isEmpty()) {
-            final Iterator<N> iter = unit.workSet.iterator();
-            final N node = iter.next();
-            iter.remove();
+    private void solveSCC(List<L> scc, boolean recordHistory, List<SolverState<?, T, L, AP>> history) {
+        while (!workSetIsEmpty(scc)) {
+            for (L label : scc) {
+                solveInternal(workUnits.get(label), recordHistory, history);
+            }
+        }
+    }
 
+    private <N> void solveInternal(WorkUnit<N, ?> unit,
+                                   boolean recordHistory,
+                                   List<SolverState<?, T, L, AP>> history) {
+        // always update the pending node that comes first in the update order, i.e., successors first
+        for (int idx = unit.workSet.nextSetBit(0); idx >= 0; idx = unit.workSet.nextSetBit(0)) {
+            final N node = unit.nodes.get(idx);
             final L label = unit.label;
             final List<T> compositions = updateNodeAndGetCompositions(unit, node);
 
@@ -261,11 +497,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
                                               copyWorkSet(),
                                               getSatisfiedSubformulas(unit, node)));
             }
-
-            return false;
         }
-
-        return true;
     }
 
     private <N> List<T> updateNodeAndGetCompositions(WorkUnit<N, ?> unit, N node) {
@@ -274,9 +506,202 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         final List<T> compositions = createCompositions(unit, node);
         final T updatedTransformer = getUpdatedPropertyTransformer(unit, node, nodeTransformer, compositions);
         updateTransformerAndWorkSet(unit, node, nodeTransformer, updatedTransformer);
+
+        numberOfUpdates++;
+        numberOfCompositions += compositions.size();
+
         return compositions;
     }
 
+    /**
+     * Updates the given (independent) SCCs concurrently. Each SCC is updated by a separate {@link #copy() copy} of
+     * {@code this} solver that uses its own decision diagram manager. The relevant property transformers are exchanged
+     * in serialized form. Since the decision diagrams of {@code this} solver must not be accessed concurrently, the
+     * property transformers of {@code this} solver are only (de-)serialized by the calling thread.
+     */
+    private void solveConcurrently(List<List<L>> sccs, ExecutorService executor) {
+        final List<Callable<ProcedureData<L>>> tasks = new ArrayList<>(sccs.size());
+        final DependencyGraph<L, AP> dependencyGraph = this.dependencyGraph;
+        final int currentBlockIndex = this.currentBlockIndex;
+
+        for (List<L> scc : sccs) {
+            final AbstractDDSolver<T, L, AP> solver = copy();
+            final ProcedureData<L> input = exportProcedures(scc);
+            tasks.add(() -> solver.solveDetached(scc, input, dependencyGraph, currentBlockIndex));
+        }
+
+        final List<Future<ProcedureData<L>>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
+        }
+
+        for (Future<ProcedureData<L>> future : futures) {
+            importProcedures(getResult(future));
+        }
+    }
+
+    private ProcedureData<L> exportProcedures(List<L> scc) {
+        final ProcedureData<L> data = new ProcedureData<>(0, 0, 0);
+
+        for (L label : scc) {
+            final WorkUnit<?, ?> unit = workUnits.get(label);
+            data.transformers.put(label, serializePropertyTransformers(unit, false));
+            // the pending updates are handed over to the copy and (if not resolved) re-imported afterwards
+            data.workSets.put(label, unit.workSet);
+            unit.workSet = new BitSet();
+        }
+
+        // for called procedures, only the transformers of the initial nodes are relevant
+        for (L label : scc) {
+            for (L callee : workUnits.get(label).callSites.keySet()) {
+                final WorkUnit<?, ?> calleeUnit = workUnits.get(callee);
+                if (calleeUnit != null && !data.transformers.containsKey(callee)) {
+                    data.transformers.put(callee, serializePropertyTransformers(calleeUnit, true));
+                }
+            }
+        }
+
+        return data;
+    }
+
+    private void importProcedures(ProcedureData<L> data) {
+        for (Entry<L, List<@Nullable List<String>>> e : data.transformers.entrySet()) {
+            deserializePropertyTransformers(workUnits.get(e.getKey()), e.getValue());
+        }
+
+        for (Entry<L, BitSet> e : data.workSets.entrySet()) {
+            workUnits.get(e.getKey()).workSet.or(e.getValue());
+        }
+
+        numberOfUpdates += data.numberOfUpdates;
+        numberOfChangedTransformers += data.numberOfChangedTransformers;
+        numberOfCompositions += data.numberOfCompositions;
+    }
+
+    /**
+     * Computes the fixed point of the given SCC (for the current block) on the basis of the given serialized state.
+     * This method is invoked on a (fresh) copy of the original solver, which is not used afterwards.
+     */
+    private ProcedureData<L> solveDetached(List<L> scc,
+                                           ProcedureData<L> input,
+                                           DependencyGraph<L, AP> dependencyGraph,
+                                           int currentBlockIndex) {
+        initialize(dependencyGraph, currentBlockIndex);
+
+        try {
+            for (Entry<L, List<@Nullable List<String>>> e : input.transformers.entrySet()) {
+                initPropertyTransformers(workUnits.get(e.getKey()), e.getValue());
+            }
+
+            for (Entry<L, BitSet> e : input.workSets.entrySet()) {
+                workUnits.get(e.getKey()).workSet = e.getValue();
+            }
+
+            resetStatistics();
+            solveSCC(scc, false, Collections.emptyList());
+
+            final ProcedureData<L> output =
+                    new ProcedureData<>(numberOfUpdates, numberOfChangedTransformers, numberOfCompositions);
+
+            for (L label : scc) {
+                output.transformers.put(label, serializePropertyTransformers(workUnits.get(label), false));
+            }
+
+            // updates of initial nodes may have added call sites of other procedures to the work set
+            for (WorkUnit<?, ?> unit : workUnits.values()) {
+                if (!unit.workSet.isEmpty()) {
+                    output.workSets.put(unit.label, unit.workSet);
+                }
+            }
+
+            return output;
+        } finally {
+            shutdownDDManager();
+        }
+    }
+
+    private <N> List<@Nullable List<String>> serializePropertyTransformers(WorkUnit<N, ?> unit,
+                                                                           boolean initialNodeOnly) {
+        final List<@Nullable List<String>> result = new ArrayList<>(unit.nodes.size());
+        final N initialNode = unit.pmpg.getInitialNode();
+
+        for (N node : unit.nodes) {
+            if (initialNodeOnly && !Objects.equals(node, initialNode)) {
+                result.add(null);
+            } else {
+                result.add(serializer.serialize(unit.propTransformers.get(node)));
+            }
+        }
+
+        return result;
+    }
+
+    private <N> void initPropertyTransformers(WorkUnit<N, ?> unit, List<@Nullable List<String>> data) {
+        unit.propTransformers = unit.pmpg.createStaticNodeMapping();
+        deserializePropertyTransformers(unit, data);
+    }
+
+    private <N> void deserializePropertyTransformers(WorkUnit<N, ?> unit, List<@Nullable List<String>> data) {
+        for (int i = 0; i < data.size(); i++) {
+            final List<String> transformer = data.get(i);
+            if (transformer != null) {
+                unit.propTransformers.put(unit.nodes.get(i), serializer.deserialize(transformer));
+            }
+        }
+    }
+
+    private static <R> R getResult(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ModelCheckingException(ee);
+        }
+    }
+
+    private @Nullable ExecutorService createExecutor() {
+        int maxLevelSize = 0;
+        for (List<List<L>> level : procedureLevels) {
+            maxLevelSize = Math.max(maxLevelSize, level.size());
+        }
+
+        final int poolSize = Math.min(procedureParallelism, maxLevelSize);
+
+        if (poolSize <= 1) {
+            return null;
+        }
+
+        final ScalingThreadPoolExecutor executor =
+                new ScalingThreadPoolExecutor(0, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        executor.setThreadFactory(r -> {
+            final Thread thread = delegate.newThread(r);
+            thread.setName("m3c-solver-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return executor;
+    }
+
+    private void resetStatistics() {
+        numberOfUpdates = 0;
+        numberOfChangedTransformers = 0;
+        numberOfCompositions = 0;
+    }
+
     private Map<L, Set<?>> copyWorkSet() {
         final Map<L, Set<?>> copy = Maps.newHashMapWithExpectedSize(workUnits.size());
         for (Map.Entry<L, WorkUnit<?, ?>> e : workUnits.entrySet()) {
@@ -286,7 +711,11 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
     }
 
     private <N> Set<N> copyWorkSet(WorkUnit<N, ?> unit) {
-        return new HashSet<>(unit.workSet);
+        final Set<N> copy = new HashSet<>();
+        for (int idx = unit.workSet.nextSetBit(0); idx >= 0; idx = unit.workSet.nextSetBit(idx + 1)) {
+            copy.add(unit.nodes.get(idx));
+        }
+        return copy;
     }
 
     private <N> Mapping<N, List<FormulaNode<L, AP>>> computeSatisfiedSubformulas(WorkUnit<N, ?> unit) {
@@ -358,7 +787,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
 
     private <N> void initUpdate(WorkUnit<N, ?> unit, N node) {
         assert !Objects.equals(node, unit.pmpg.getFinalNode()) : "End node must not be updated!";
-        unit.workSet.remove(node);
+        unit.workSet.clear(unit.nodeIndices.get(node));
     }
 
     private <N> T getTransformer(WorkUnit<N, ?> unit, N node) {
@@ -386,12 +815,13 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
 
     private <N> void updateTransformerAndWorkSet(WorkUnit<N, ?> unit, N node, T nodeTransformer, T updatedTransformer) {
         if (!nodeTransformer.equals(updatedTransformer)) {
+            numberOfChangedTransformers++;
             unit.propTransformers.put(node, updatedTransformer);
             updateWorkSet(unit, node);
-        }
-        if (workSetIsEmpty() && currentBlockIndex > 0) {
-            currentBlockIndex--;
-            resetWorkSet();
+            if (forwardReferences) {
+                // the update may have been computed from outdated values of the node itself
+                addToWorkSet(unit, node);
+            }
         }
     }
 
@@ -443,6 +873,15 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return true;
     }
 
+    private boolean workSetIsEmpty(List<L> procedures) {
+        for (L label : procedures) {
+            if (!workUnits.get(label).workSet.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void resetWorkSet() {
         for (WorkUnit<?, ?> value : this.workUnits.values()) {
             resetWorkSet(value);
@@ -450,7 +889,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
     }
 
     private <N> void resetWorkSet(WorkUnit<N, ?> unit) {
-        unit.workSet = newWorkSet(unit.pmpg);
+        unit.workSet = newWorkSet(unit);
     }
 
     private <E> boolean isProcessEdge(ProceduralModalProcessGraph<?, L, E, AP, ?> pmpg, E edge) {
@@ -469,13 +908,11 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         }
     }
 
-    private <N, E> void updateWorkSetStartNode(WorkUnit<N, E> unit, L labelOfUpdatedProcess) {
-        final ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg = unit.pmpg;
-        for (N node : pmpg) {
-            for (E outgoingEdge : pmpg.getOutgoingEdges(node)) {
-                if (Objects.equals(pmpg.getEdgeLabel(outgoingEdge), labelOfUpdatedProcess)) {
-                    addToWorkSet(unit, node);
-                }
+    private <N> void updateWorkSetStartNode(WorkUnit<N, ?> unit, L labelOfUpdatedProcess) {
+        final List<N> callSites = unit.callSites.get(labelOfUpdatedProcess);
+        if (callSites != null) {
+            for (N node : callSites) {
+                addToWorkSet(unit, node);
             }
         }
     }
@@ -490,15 +927,19 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
     }
 
     private <N> void addToWorkSet(WorkUnit<N, ?> unit, N node) {
-        unit.workSet.add(node);
+        unit.workSet.set(unit.nodeIndices.get(node));
     }
 
-    private <N> Set<N> newWorkSet(ProceduralModalProcessGraph<N, L, ?, AP, ?> pmpg) {
+    private <N> BitSet newWorkSet(WorkUnit<N, ?> unit) {
+        @SuppressWarnings("nullness") // we have checked non-nullness of final nodes in the constructor
+        final @NonNull N finalNode = unit.pmpg.getFinalNode();
+
         // Add all nodes to work set except final node, which is never updated
-        final Set<N> workset = new HashSet<>(pmpg.getNodes());
-        workset.remove(pmpg.getFinalNode());
+        final BitSet workSet = new BitSet(unit.nodes.size());
+        workSet.set(0, unit.nodes.size());
+        workSet.clear(unit.nodeIndices.get(finalNode));
 
-        return workset;
+        return workSet;
     }
 
     private FormulaNode<L, AP> ctlToMuCalc(FormulaNode<L, AP> ctlFormula) {
@@ -516,22 +957,33 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
     }
 
     private void initialize(FormulaNode<L, AP> ast) {
-        this.dependencyGraph = new DependencyGraph<>(ast);
-        this.currentBlockIndex = dependencyGraph.getBlocks().size() - 1;
+        final DependencyGraph<L, AP> dependencyGraph = new DependencyGraph<>(ast);
+
+        initialize(dependencyGraph, dependencyGraph.getBlocks().size() - 1);
+
+        for (WorkUnit<?, ?> unit : workUnits.values()) {
+            initialize(unit);
+        }
+    }
+
+    private void initialize(DependencyGraph<L, AP> dependencyGraph, int currentBlockIndex) {
+        this.dependencyGraph = dependencyGraph;
+        setCurrentBlock(currentBlockIndex);
 
-        initDDManager(this.dependencyGraph);
+        initDDManager(dependencyGraph);
 
         this.serializer = getSerializer();
         this.mustTransformers = new HashMap<>();
         this.mayTransformers = new HashMap<>();
+    }
 
-        for (WorkUnit<?, ?> unit : workUnits.values()) {
-            initialize(unit);
-        }
+    private void setCurrentBlock(int blockIndex) {
+        this.currentBlockIndex = blockIndex;
+        this.forwardReferences = DependencyOrders.hasForwardReferences(dependencyGraph.getBlock(blockIndex));
     }
 
     private <N> void initialize(WorkUnit<N, ?> unit) {
-        unit.workSet = newWorkSet(unit.pmpg);
+        unit.workSet = newWorkSet(unit);
         unit.propTransformers = initTransformers(unit.pmpg);
     }
 
@@ -583,18 +1035,64 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
 
     protected abstract TransformerSerializer<T, L, AP> getSerializer();
 
+    /**
+     * Returns a copy of {@code this} solver (see {@link #AbstractDDSolver(AbstractDDSolver)}) that can be used
+     * concurrently to {@code this} solver.
+     *
+     * @return a copy of {@code this} solver
+     */
+    protected abstract AbstractDDSolver<T, L, AP> copy();
+
     class WorkUnit<N, E> {
 
         final L label;
         final ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg;
         private final Mapping<N, @Nullable Set<N>> predecessors;
+        private final List<N> nodes; // The nodes in the order of their updates, see DependencyOrders#nodeOrder
+        private final Mapping<N, Integer> nodeIndices; // The position of each node in nodes
+        private final Map<L, List<N>> callSites; // The nodes with an outgoing process edge, per called procedure
         MutableMapping<N, T> propTransformers;
-        private Set<N> workSet; // Keeps track of which node's property transformers have to be updated.
-
-        WorkUnit(L label, ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg, Mapping<N, @Nullable Set<N>> predecessors) {
+        // Keeps track of which node's property transformers have to be updated (via their position in nodes).
+        private BitSet workSet;
+
+        WorkUnit(L label,
+                 ProceduralModalProcessGraph<N, L, E, AP, ?> pmpg,
+                 Mapping<N, @Nullable Set<N>> predecessors,
+                 List<N> nodes,
+                 Mapping<N, Integer> nodeIndices,
+                 Map<L, List<N>> callSites) {
             this.label = label;
             this.pmpg = pmpg;
             this.predecessors = predecessors;
+            this.nodes = nodes;
+            this.nodeIndices = nodeIndices;
+            this.callSites = callSites;
+            this.workSet = new BitSet();
+        }
+    }
+
+    /**
+     * The (serialized) formula-dependent state of a set of procedures, which is exchanged between solvers that use
+     * different decision diagram managers.
+     *
+     * @param <L>
+     *         edge label type
+     */
+    private static final class ProcedureData<L> {
+
+        // The serialized property transformers of each procedure (in update order), null for irrelevant nodes
+        final Map<L, List<@Nullable List<String>>> transformers;
+        final Map<L, BitSet> workSets;
+        final int numberOfUpdates;
+        final int numberOfChangedTransformers;
+        final int numberOfCompositions;
+
+        ProcedureData(int numberOfUpdates, int numberOfChangedTransformers, int numberOfCompositions) {
+            this.transformers = new HashMap<>();
+            this.workSets = new HashMap<>();
+            this.numberOfUpdates = numberOfUpdates;
+            this.numberOfChangedTransformers = numberOfChangedTransformers;
+            this.numberOfCompositions = numberOfCompositions;
         }
     }
 
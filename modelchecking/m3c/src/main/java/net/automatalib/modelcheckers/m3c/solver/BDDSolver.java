@@ -41,6 +41,10 @@ public class BDDSolver<L, AP> extends AbstractDDSolver<BDDTransformer<L, AP>, L,
         super(cfmps);
     }
 
+    private BDDSolver(BDDSolver<L, AP> solver) {
+        super(solver);
+    }
+
     @Override
     protected void initDDManager(DependencyGraph<L, AP> dependencyGraph) {
         this.bddManager = new BDDManager();
@@ -72,4 +76,9 @@ public class BDDSolver<L, AP> extends AbstractDDSolver<BDDTransformer<L, AP>, L,
     protected TransformerSerializer<BDDTransformer<L, AP>, L, AP> getSerializer() {
         return new BDDTransformerSerializer<>(this.bddManager);
     }
+
+    @Override
+    protected BDDSolver<L, AP> copy() {
+        return new BDDSolver<>(this);
+    }
 }
@@ -0,0 +1,290 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.automatalib.graphs.ProceduralModalProcessGraph;
+import net.automatalib.modelcheckers.m3c.formula.AbstractBinaryFormulaNode;
+import net.automatalib.modelcheckers.m3c.formula.EquationalBlock;
+import net.automatalib.modelcheckers.m3c.formula.FormulaNode;
+import net.automatalib.modelcheckers.m3c.formula.NotNode;
+
+/**
+ * Utility methods for computing the order in which the {@link AbstractDDSolver} updates the property transformers of
+ * procedures and nodes.
+ * <p>
+ * The property transformer of a node depends on the property transformers of its successors and the property
+ * transformers of a procedure depend on the property transformer of the initial node of each procedure it calls.
+ * Updating the property transformers of dependencies before the ones of their dependents reduces the number of
+ * (redundant) updates that are necessary to reach a fixed point.
+ */
+final class DependencyOrders {
+
+    private DependencyOrders() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns the nodes of the given procedure in post-order of a depth-first search that starts at the initial node
+     * (nodes that are unreachable from the initial node are appended in the same fashion). As a result, each node is
+     * listed after all of its successors, except for successors that are reached via a back edge (i.e., a loop).
+     *
+     * @param pmpg
+     *         the procedure
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the nodes of the given procedure, successors first
+     */
+    static <N, E> List<N> nodeOrder(ProceduralModalProcessGraph<N, ?, E, ?, ?> pmpg) {
+        final List<N> order = new ArrayList<>(pmpg.size());
+        final Set<N> visited = new HashSet<>();
+        final N initialNode = pmpg.getInitialNode();
+
+        if (initialNode != null) {
+            postOrder(pmpg, initialNode, visited, order);
+        }
+
+        for (N node : pmpg.getNodes()) {
+            if (!visited.contains(node)) {
+                postOrder(pmpg, node, visited, order);
+            }
+        }
+
+        return order;
+    }
+
+    private static <N, E> void postOrder(ProceduralModalProcessGraph<N, ?, E, ?, ?> pmpg,
+                                         N root,
+                                         Set<N> visited,
+                                         List<N> order) {
+        final Deque<N> nodes = new ArrayDeque<>();
+        final Deque<Iterator<E>> edges = new ArrayDeque<>();
+
+        visited.add(root);
+        nodes.push(root);
+        edges.push(pmpg.getOutgoingEdges(root).iterator());
+
+        while (!nodes.isEmpty()) {
+            final Iterator<E> iter = edges.element();
+
+            if (iter.hasNext()) {
+                final N target = pmpg.getTarget(iter.next());
+                if (visited.add(target)) {
+                    nodes.push(target);
+                    edges.push(pmpg.getOutgoingEdges(target).iterator());
+                }
+            } else {
+                order.add(nodes.pop());
+                edges.pop();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the (non-modal) subformulas of the given block reference subformulas of the same block that are
+     * evaluated after them. The property transformers evaluate the subformulas of a block in the order of {@link
+     * EquationalBlock#getNodes()}, so such a reference (e.g., the fixed point variable in {@code nu X.[a](X && p)})
+     * reads the value of the <i>previous</i> update of the same node. For these blocks, the update of a node may
+     * therefore depend on its own property transformer.
+     *
+     * @param block
+     *         the equational block
+     *
+     * @return {@code true} if the block contains forward references, {@code false} otherwise
+     */
+    static boolean hasForwardReferences(EquationalBlock<?, ?> block) {
+        final List<? extends FormulaNode<?, ?>> nodes = block.getNodes();
+        final Map<Integer, Integer> positions = new HashMap<>(nodes.size() * 4 / 3 + 1);
+
+        for (int i = 0; i < nodes.size(); i++) {
+            positions.put(nodes.get(i).getVarNumber(), i);
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            final FormulaNode<?, ?> node = nodes.get(i);
+            if (node instanceof AbstractBinaryFormulaNode) {
+                final AbstractBinaryFormulaNode<?, ?> binaryNode = (AbstractBinaryFormulaNode<?, ?>) node;
+                if (isForwardReference(positions, i, binaryNode.getVarNumberLeft()) ||
+                    isForwardReference(positions, i, binaryNode.getVarNumberRight())) {
+                    return true;
+                }
+            } else if (node instanceof NotNode) {
+                if (isForwardReference(positions, i, ((NotNode<?, ?>) node).getVarNumberChild())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isForwardReference(Map<Integer, Integer> positions, int position, int varNumber) {
+        final Integer referencedPosition = positions.get(varNumber);
+        return referencedPosition != null && referencedPosition > position;
+    }
+
+    /**
+     * Groups the procedures of a system by the strongly connected components (SCCs) of its call graph. The SCCs are
+     * partitioned into levels: The first level contains all SCCs whose procedures only call procedures of the same
+     * SCC, and each subsequent level contains the SCCs whose procedures (additionally) call procedures of the previous
+     * levels. Hence, the property transformers of the SCCs can be computed level by level, and the SCCs within a
+     * single level are independent of each other.
+     *
+     * @param callees
+     *         a mapping from each procedure to the procedures it calls. All called procedures must be keys of the
+     *         mapping as well
+     * @param <L>
+     *         procedure label type
+     *
+     * @return the levels of the SCCs of the call graph, in the order in which they should be processed
+     */
+    static <L> List<List<List<L>>> procedureLevels(Map<L, ? extends Collection<L>> callees) {
+        final List<L> procedures = new ArrayList<>(callees.keySet());
+        final int numProcedures = procedures.size();
+        final Map<L, Integer> ids = new HashMap<>(numProcedures * 4 / 3 + 1);
+
+        for (int i = 0; i < numProcedures; i++) {
+            ids.put(procedures.get(i), i);
+        }
+
+        final int[][] successors = new int[numProcedures][];
+        for (int i = 0; i < numProcedures; i++) {
+            final Collection<L> calls = callees.get(procedures.get(i));
+            successors[i] = new int[calls.size()];
+            int j = 0;
+            for (L callee : calls) {
+                successors[i][j++] = ids.get(callee);
+            }
+        }
+
+        final List<int[]> sccs = stronglyConnectedComponents(successors);
+        final int[] sccOfProcedure = new int[numProcedures];
+        final int[] levelOfSCC = new int[sccs.size()];
+        final List<List<List<L>>> result = new ArrayList<>();
+
+        // Tarjan's algorithm emits each SCC after all the SCCs it depends on, so the levels can be computed on the fly
+        for (int s = 0; s < sccs.size(); s++) {
+            final int[] scc = sccs.get(s);
+            final List<L> component = new ArrayList<>(scc.length);
+            int level = 0;
+
+            for (int p : scc) {
+                sccOfProcedure[p] = s;
+            }
+
+            for (int p : scc) {
+                component.add(procedures.get(p));
+                for (int callee : successors[p]) {
+                    final int calleeSCC = sccOfProcedure[callee];
+                    if (calleeSCC != s) {
+                        level = Math.max(level, levelOfSCC[calleeSCC] + 1);
+                    }
+                }
+            }
+
+            levelOfSCC[s] = level;
+            while (result.size() <= level) {
+                result.add(new ArrayList<>());
+            }
+            result.get(level).add(component);
+        }
+
+        return result;
+    }
+
+    /**
+     * An iterative implementation of Tarjan's algorithm. Returns the SCCs in reverse topological order, i.e., an SCC
+     * is returned only after all SCCs that are reachable from it.
+     */
+    private static List<int[]> stronglyConnectedComponents(int[][] successors) {
+        final int size = successors.length;
+        final int[] indices = new int[size];
+        final int[] lowLinks = new int[size];
+        final boolean[] onStack = new boolean[size];
+        final int[] sccStack = new int[size];
+        final int[] callStack = new int[size];
+        final int[] edgeIndices = new int[size];
+        final List<int[]> result = new ArrayList<>();
+
+        Arrays.fill(indices, -1);
+
+        int index = 0;
+        int sccStackSize = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (indices[root] >= 0) {
+                continue;
+            }
+
+            int callStackSize = 0;
+            callStack[callStackSize++] = root;
+            indices[root] = index;
+            lowLinks[root] = index++;
+            sccStack[sccStackSize++] = root;
+            onStack[root] = true;
+
+            while (callStackSize > 0) {
+                final int v = callStack[callStackSize - 1];
+
+                if (edgeIndices[v] < successors[v].length) {
+                    final int w = successors[v][edgeIndices[v]++];
+                    if (indices[w] < 0) {
+                        callStack[callStackSize++] = w;
+                        indices[w] = index;
+                        lowLinks[w] = index++;
+                        sccStack[sccStackSize++] = w;
+                        onStack[w] = true;
+                    } else if (onStack[w]) {
+                        lowLinks[v] = Math.min(lowLinks[v], indices[w]);
+                    }
+                } else {
+                    callStackSize--;
+
+                    if (lowLinks[v] == indices[v]) {
+                        int start = sccStackSize;
+                        do {
+                            onStack[sccStack[--start]] = false;
+                        } while (sccStack[start] != v);
+
+                        result.add(Arrays.copyOfRange(sccStack, start, sccStackSize));
+                        sccStackSize = start;
+                    }
+
+                    if (callStackSize > 0) {
+                        final int u = callStack[callStackSize - 1];
+                        lowLinks[u] = Math.min(lowLinks[u], lowLinks[v]);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -43,17 +43,20 @@ public final class SolverHistory<T extends AbstractPropertyTransformer<T, L, AP>
     private final Map<L, List<String>> mustTransformers;
     private final Map<L, List<String>> mayTransformers;
     private final List<SolverState<?, T, L, AP>> solverStates;
+    private final List<SolverStatistics> statistics;
     private final boolean isSat;
 
     SolverHistory(Map<L, SolverData<?, T, L, AP>> data,
                   Map<L, List<String>> mustTransformers,
                   Map<L, List<String>> mayTransformers,
                   List<SolverState<?, T, L, AP>> solverStates,
+                  List<SolverStatistics> statistics,
                   boolean isSat) {
         this.data = data;
         this.mustTransformers = mustTransformers;
         this.mayTransformers = mayTransformers;
         this.solverStates = solverStates;
+        this.statistics = statistics;
         this.isSat = isSat;
     }
 
@@ -105,6 +108,16 @@ public final class SolverHistory<T extends AbstractPropertyTransformer<T, L, AP>
         return solverStates;
     }
 
+    /**
+     * Returns the list of {@link SolverStatistics}, one per iteration (i.e., per processed equational block) in the
+     * order of their execution.
+     *
+     * @return the list of {@link SolverStatistics}
+     */
+    public List<SolverStatistics> getStatistics() {
+        return statistics;
+    }
+
     /**
      * Returns whether the formula put into {@link AbstractDDSolver#solveAndRecordHistory(FormulaNode)} is satisfied.
      *
@@ -0,0 +1,91 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.solver;
+
+import net.automatalib.modelcheckers.m3c.formula.DependencyGraph;
+import net.automatalib.modelcheckers.m3c.formula.EquationalBlock;
+
+/**
+ * Stores statistics about a single iteration of {@link AbstractDDSolver}, i.e., the computation of the fixed point of
+ * a single {@link EquationalBlock} of the formula's {@link DependencyGraph}.
+ */
+public final class SolverStatistics {
+
+    private final int blockIndex;
+    private final int numberOfUpdates;
+    private final int numberOfChangedTransformers;
+    private final int numberOfCompositions;
+    private final long elapsedNanos;
+
+    SolverStatistics(int blockIndex,
+                     int numberOfUpdates,
+                     int numberOfChangedTransformers,
+                     int numberOfCompositions,
+                     long elapsedNanos) {
+        this.blockIndex = blockIndex;
+        this.numberOfUpdates = numberOfUpdates;
+        this.numberOfChangedTransformers = numberOfChangedTransformers;
+        this.numberOfCompositions = numberOfCompositions;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the index of the {@link EquationalBlock} whose fixed point has been computed in this iteration.
+     *
+     * @return the index of the {@link EquationalBlock} whose fixed point has been computed in this iteration
+     */
+    public int getBlockIndex() {
+        return blockIndex;
+    }
+
+    /**
+     * Returns the number of node updates performed in this iteration.
+     *
+     * @return the number of node updates performed in this iteration
+     */
+    public int getNumberOfUpdates() {
+        return numberOfUpdates;
+    }
+
+    /**
+     * Returns the number of node updates in this iteration that have changed the property transformer of the updated
+     * node. The remaining updates did not contribute to the fixed point.
+     *
+     * @return the number of node updates in this iteration that have changed the property transformer of the updated
+     * node
+     */
+    public int getNumberOfChangedTransformers() {
+        return numberOfChangedTransformers;
+    }
+
+    /**
+     * Returns the number of compositions of edge and node property transformers computed in this iteration.
+     *
+     * @return the number of compositions of edge and node property transformers computed in this iteration
+     */
+    public int getNumberOfCompositions() {
+        return numberOfCompositions;
+    }
+
+    /**
+     * Returns the wall-clock time (in nanoseconds) spent in this iteration.
+     *
+     * @return the wall-clock time (in nanoseconds) spent in this iteration
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -199,7 +199,7 @@ public class BDDTransformer<L, AP> extends AbstractPropertyTransformer<BDDTransf
             result = bddManager.readLogicZero();
         } else if (node instanceof NotNode) {
             final NotNode<L, AP> notNode = (NotNode<L, AP>) node;
-            result = bdds[notNode.getVarNumberChild()].not();
+            result = updatedBDDs[notNode.getVarNumberChild()].not();
         } else if (node instanceof AtomicNode) {
             final AP atomicProp = ((AtomicNode<L, AP>) node).getProposition();
             if (atomicPropositions.contains(atomicProp)) {
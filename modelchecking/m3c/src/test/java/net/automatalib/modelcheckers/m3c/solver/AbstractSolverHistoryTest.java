@@ -87,6 +87,7 @@ public abstract class AbstractSolverHistoryTest<T extends AbstractPropertyTransf
         testInitialSatisifedSubformulas(data, s1, s2);
         testMustTransformers(history);
         testSolverStates(history, pmpg, initialNode, s1, s2);
+        testStatistics(history);
 
         Assert.assertTrue(history.getMayTransformers(serializer).isEmpty());
         Assert.assertTrue(history.isSat());
@@ -97,8 +98,9 @@ public abstract class AbstractSolverHistoryTest<T extends AbstractPropertyTransf
                                       N initialNode,
                                       N s1,
                                       N s2) {
+        // successors are updated first
         final List<N> updatedOrder =
-                Arrays.asList(initialNode, s1, initialNode, s2, s1, initialNode, s1, initialNode, s1, initialNode, s1);
+                Arrays.asList(s2, s1, initialNode, s1, initialNode, s1, initialNode, s1, initialNode, s1);
         Assert.assertEquals(history.getSolverStates().size(), updatedOrder.size());
         List<Set<N>> workSets = getWorkSetHistory(initialNode, s1, s2);
         boolean[] allAPDeadlockedNode = new boolean[5];
@@ -117,6 +119,26 @@ public abstract class AbstractSolverHistoryTest<T extends AbstractPropertyTransf
         }
     }
 
+    private void testStatistics(SolverHistory<T, String, String> history) {
+        final List<SolverStatistics> statistics = history.getStatistics();
+
+        // the formula consists of a single (least) fixed point
+        Assert.assertEquals(statistics.size(), 1);
+
+        final SolverStatistics iteration = statistics.get(0);
+        int numberOfCompositions = 0;
+        for (SolverState<?, T, String, String> solverState : history.getSolverStates()) {
+            numberOfCompositions += solverState.getCompositions(serializer).size();
+        }
+
+        Assert.assertEquals(iteration.getBlockIndex(), 0);
+        Assert.assertEquals(iteration.getNumberOfUpdates(), history.getSolverStates().size());
+        Assert.assertEquals(iteration.getNumberOfCompositions(), numberOfCompositions);
+        // only the last update of s1 does not change its property transformer anymore
+        Assert.assertEquals(iteration.getNumberOfChangedTransformers(), iteration.getNumberOfUpdates() - 1);
+        Assert.assertTrue(iteration.getElapsedNanos() >= 0);
+    }
+
     protected <N> void testNodeIDs(SolverData<N, ?, String, String> data) {
 
         final ProceduralModalProcessGraph<N, String, ?, String, ?> pmpg = data.getPmpg();
@@ -159,9 +181,8 @@ public abstract class AbstractSolverHistoryTest<T extends AbstractPropertyTransf
         final Set<N> workSetOnlyS1 = Collections.singleton(s1);
         final Set<N> workSetOnlyInitialNode = Collections.singleton(initialNode);
 
-        return Arrays.asList(new HashSet<>(Arrays.asList(s1, s2)),
-                             new HashSet<>(Arrays.asList(initialNode, s2)),
-                             Collections.singleton(s2),
+        return Arrays.asList(new HashSet<>(Arrays.asList(initialNode, s1)),
+                             workSetOnlyInitialNode,
                              workSetOnlyS1,
                              workSetOnlyInitialNode,
                              workSetOnlyS1,
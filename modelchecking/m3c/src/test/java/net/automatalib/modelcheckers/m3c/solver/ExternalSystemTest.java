@@ -48,7 +48,17 @@ public class ExternalSystemTest {
     public static Object[] solvers() {
         Function<ContextFreeModalProcessSystem<String, String>, M3CSolver<String>> addSolver = M3CSolvers::addSolver;
         Function<ContextFreeModalProcessSystem<String, String>, M3CSolver<String>> bddSolver = M3CSolvers::bddSolver;
-        return new Function<?, ?>[] {addSolver, bddSolver};
+        Function<ContextFreeModalProcessSystem<String, String>, M3CSolver<String>> concurrentADDSolver = cfmps -> {
+            final StringADDSolver solver = new StringADDSolver(cfmps);
+            solver.setProcedureParallelism(4);
+            return solver;
+        };
+        Function<ContextFreeModalProcessSystem<String, String>, M3CSolver<String>> concurrentBDDSolver = cfmps -> {
+            final StringBDDSolver solver = new StringBDDSolver(cfmps);
+            solver.setProcedureParallelism(4);
+            return solver;
+        };
+        return new Function<?, ?>[] {addSolver, bddSolver, concurrentADDSolver, concurrentBDDSolver};
     }
 
     @Test
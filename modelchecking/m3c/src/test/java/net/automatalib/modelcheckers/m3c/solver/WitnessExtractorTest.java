@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -140,6 +143,33 @@ public class WitnessExtractorTest {
         Assert.assertNull(t4);
     }
 
+    @Test
+    public void checkLoopSystemBatch() throws ParseException, IOException, ParserConfigurationException, SAXException {
+
+        final ContextFreeModalProcessSystem<String, Void> cfmps = parseCFMPS("/cfmps/witness/loop.xml");
+        final BDDSolver<String, Void> m3c = new BDDSolver<>(cfmps);
+
+        final FormulaNode<String, Void> f1 = new NotNode<>(M3CParser.parse("<a><b><b><c>true", l -> l, ap -> null));
+        final FormulaNode<String, Void> f2 =
+                new NotNode<>(M3CParser.parse("<a><b><b><b><c><a><b><b><c>true", l -> l, ap -> null));
+        final FormulaNode<String, Void> f3 =
+                new NotNode<>(M3CParser.parse("<a><b><b><c><a><b><c>true", l -> l, ap -> null));
+        final FormulaNode<String, Void> f4 = new NotNode<>(M3CParser.parse("<a><b><c>true", l -> l, ap -> null));
+
+        final Map<FormulaNode<String, Void>, WitnessTree<String, Void>> all =
+                m3c.findCounterExamples(cfmps, Collections.emptyList(), Arrays.asList(f1, f2, f3, f4));
+
+        Assert.assertEquals(new ArrayList<>(all.keySet()), Arrays.asList(f1, f2));
+        Assert.assertEquals(all.get(f1).getWitness(), Word.fromSymbols("a", "b", "b", "c"));
+        Assert.assertEquals(all.get(f2).getWitness(), Word.fromSymbols("a", "b", "b", "b", "c", "a", "b", "b", "c"));
+
+        m3c.setParallelism(1);
+        final Map<FormulaNode<String, Void>, WitnessTree<String, Void>> first =
+                m3c.findCounterExamples(cfmps, Collections.emptyList(), Arrays.asList(f3, f2, f4, f1), true);
+
+        Assert.assertEquals(first.keySet(), Collections.singleton(f2));
+    }
+
     private ContextFreeModalProcessSystem<String, Void> parseCFMPS(String name)
             throws IOException, ParserConfigurationException, SAXException {
         try (InputStream is = WitnessExtractorTest.class.getResourceAsStream(name)) {
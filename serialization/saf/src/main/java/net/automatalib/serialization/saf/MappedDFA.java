@@ -0,0 +1,101 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.nio.IntBuffer;
+import java.util.Collection;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A read-only {@link DFA} view on the (memory-mapped) sections of an indexed SAF file. States and transitions are only
+ * read from the underlying buffers on access, i.e., no data is decoded upfront.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+final class MappedDFA<I> implements DFA<Integer, I>, InputAlphabetHolder<I>, StateIDs<Integer> {
+
+    private final Alphabet<I> alphabet;
+    private final int numStates;
+    private final int initial;
+    private final IntBuffer acceptance;
+    private final IntBuffer transitions;
+
+    MappedDFA(Alphabet<I> alphabet, int numStates, int initial, IntBuffer acceptance, IntBuffer transitions) {
+        this.alphabet = alphabet;
+        this.numStates = numStates;
+        this.initial = initial;
+        this.acceptance = acceptance;
+        this.transitions = transitions;
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public @Nullable Integer getInitialState() {
+        return initial < 0 ? null : initial;
+    }
+
+    @Override
+    public @Nullable Integer getTransition(Integer state, I input) {
+        final int succ = getSuccessor(state.intValue(), alphabet.getSymbolIndex(input));
+        return succ < 0 ? null : succ;
+    }
+
+    public int getSuccessor(int state, int input) {
+        return transitions.get(state * alphabet.size() + input);
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        final int id = state;
+        return (acceptance.get(id / Integer.SIZE) & (1 << (id % Integer.SIZE))) != 0;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+}
@@ -0,0 +1,130 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A read-only {@link NFA} view on the (memory-mapped) sections of an indexed SAF file. States and transitions are only
+ * read from the underlying buffers on access, i.e., no data (except for the initial states) is decoded upfront.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+final class MappedNFA<I> implements NFA<Integer, I>, InputAlphabetHolder<I>, StateIDs<Integer> {
+
+    private final Alphabet<I> alphabet;
+    private final int numStates;
+    private final Set<Integer> initials;
+    private final IntBuffer acceptance;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+
+    MappedNFA(Alphabet<I> alphabet,
+              int numStates,
+              Set<Integer> initials,
+              IntBuffer acceptance,
+              IntBuffer offsets,
+              IntBuffer targets) {
+        this.alphabet = alphabet;
+        this.numStates = numStates;
+        this.initials = Collections.unmodifiableSet(initials);
+        this.acceptance = acceptance;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public Set<Integer> getInitialStates() {
+        return initials;
+    }
+
+    @Override
+    public Collection<Integer> getTransitions(Integer state, I input) {
+        final int idx = state * alphabet.size() + alphabet.getSymbolIndex(input);
+        return new TargetList(offsets.get(idx), offsets.get(idx + 1));
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        final int id = state;
+        return (acceptance.get(id / Integer.SIZE) & (1 << (id % Integer.SIZE))) != 0;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    private final class TargetList extends AbstractList<Integer> {
+
+        private final int start;
+        private final int end;
+
+        TargetList(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            return targets.get(start + index);
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Deserializer for the indexed revision of the SAF (simple automaton format), see {@link SAFIndex}.
+ * <p>
+ * The sections of the file are memory-mapped and either bulk-read into the storage of a {@link CompactDFA} / {@link
+ * CompactNFA}, or directly exposed as a lazy, read-only view that does not decode any data upfront.
+ */
+class MappedSAFInput {
+
+    private final Path path;
+
+    MappedSAFInput(Path path) {
+        this.path = path;
+    }
+
+    public <I> CompactDFA<I> readDFA(Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.DFA);
+            checkAlphabet(index, alphabet);
+            return readDFA(channel, index, alphabet);
+        }
+    }
+
+    public CompactDFA<Integer> readNativeDFA() throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.DFA);
+            return readDFA(channel, index, Alphabets.integers(0, index.alphabetSize - 1));
+        }
+    }
+
+    public <I> MappedDFA<I> mapDFA(Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.DFA);
+            checkAlphabet(index, alphabet);
+            return mapDFA(channel, index, alphabet);
+        }
+    }
+
+    public MappedDFA<Integer> mapNativeDFA() throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.DFA);
+            return mapDFA(channel, index, Alphabets.integers(0, index.alphabetSize - 1));
+        }
+    }
+
+    public <I> CompactNFA<I> readNFA(Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.NFA);
+            checkAlphabet(index, alphabet);
+            return readNFA(channel, index, alphabet);
+        }
+    }
+
+    public CompactNFA<Integer> readNativeNFA() throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.NFA);
+            return readNFA(channel, index, Alphabets.integers(0, index.alphabetSize - 1));
+        }
+    }
+
+    public <I> MappedNFA<I> mapNFA(Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.NFA);
+            checkAlphabet(index, alphabet);
+            return mapNFA(channel, index, alphabet);
+        }
+    }
+
+    public MappedNFA<Integer> mapNativeNFA() throws IOException {
+        try (FileChannel channel = open()) {
+            final SAFIndex index = SAFIndex.read(channel, AutomatonType.NFA);
+            return mapNFA(channel, index, Alphabets.integers(0, index.alphabetSize - 1));
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    private static <I> CompactDFA<I> readDFA(FileChannel channel, SAFIndex index, Alphabet<I> alphabet)
+            throws IOException {
+        final int initial = readInitialDet(channel, index);
+        final int[] acceptance =
+                readSection(channel, index.acceptanceOffset, SAFIndex.acceptanceLength(index.numStates));
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, index.numStates);
+
+        for (int s = 0; s < index.numStates; s++) {
+            result.addIntState((acceptance[s / Integer.SIZE] & (1 << (s % Integer.SIZE))) != 0);
+        }
+
+        if (initial >= 0) {
+            result.setInitial(initial, true);
+        }
+
+        result.readTransitions(map(channel,
+                                   index.transitionsOffset,
+                                   SAFIndex.numTransitionEntries(index.type, index.numStates, index.alphabetSize)));
+
+        return result;
+    }
+
+    private static <I> MappedDFA<I> mapDFA(FileChannel channel, SAFIndex index, Alphabet<I> alphabet)
+            throws IOException {
+        final int initial = readInitialDet(channel, index);
+        final IntBuffer acceptance =
+                map(channel, index.acceptanceOffset, SAFIndex.acceptanceLength(index.numStates));
+        final IntBuffer transitions = map(channel,
+                                          index.transitionsOffset,
+                                          SAFIndex.numTransitionEntries(index.type,
+                                                                        index.numStates,
+                                                                        index.alphabetSize));
+
+        return new MappedDFA<>(alphabet, index.numStates, initial, acceptance, transitions);
+    }
+
+    private static <I> CompactNFA<I> readNFA(FileChannel channel, SAFIndex index, Alphabet<I> alphabet)
+            throws IOException {
+        final int numStates = index.numStates;
+        final int numInputs = index.alphabetSize;
+
+        final int[] initials = readSection(channel, index.initialsOffset, index.numInitials);
+        final int[] acceptance = readSection(channel, index.acceptanceOffset, SAFIndex.acceptanceLength(numStates));
+        final int[] offsets = readSection(channel,
+                                          index.transitionsOffset,
+                                          SAFIndex.numTransitionEntries(index.type, numStates, numInputs));
+        final int[] targets = readSection(channel, index.targetsOffset, index.numTargets);
+
+        final CompactNFA<I> result = new CompactNFA<>(alphabet, numStates);
+
+        for (int s = 0; s < numStates; s++) {
+            result.addIntState((acceptance[s / Integer.SIZE] & (1 << (s % Integer.SIZE))) != 0);
+        }
+
+        for (int init : initials) {
+            result.setInitial(init, true);
+        }
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int idx = s * numInputs + i;
+                for (int t = offsets[idx]; t < offsets[idx + 1]; t++) {
+                    result.addTransition(s, i, targets[t]);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static <I> MappedNFA<I> mapNFA(FileChannel channel, SAFIndex index, Alphabet<I> alphabet)
+            throws IOException {
+        final int[] initials = readSection(channel, index.initialsOffset, index.numInitials);
+        final Set<Integer> initialSet = new HashSet<>();
+        for (int init : initials) {
+            initialSet.add(init);
+        }
+
+        final IntBuffer acceptance = map(channel, index.acceptanceOffset, SAFIndex.acceptanceLength(index.numStates));
+        final IntBuffer offsets = map(channel,
+                                      index.transitionsOffset,
+                                      SAFIndex.numTransitionEntries(index.type, index.numStates, index.alphabetSize));
+        final IntBuffer targets = map(channel, index.targetsOffset, index.numTargets);
+
+        return new MappedNFA<>(alphabet, index.numStates, initialSet, acceptance, offsets, targets);
+    }
+
+    private static int readInitialDet(FileChannel channel, SAFIndex index) throws IOException {
+        if (index.numInitials > 1) {
+            throw new FormatException("Deterministic automata must not have more than one initial state");
+        }
+
+        final int[] initials = readSection(channel, index.initialsOffset, index.numInitials);
+        return initials.length == 0 ? -1 : initials[0];
+    }
+
+    private static void checkAlphabet(SAFIndex index, Alphabet<?> alphabet) throws FormatException {
+        if (index.alphabetSize != alphabet.size()) {
+            throw new FormatException(
+                    "Alphabet sizes must match, but they do not (file/given): " + index.alphabetSize + " vs. " +
+                    alphabet.size());
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        return SAFIndex.map(channel, MapMode.READ_ONLY, offset, length);
+    }
+
+    private static int[] readSection(FileChannel channel, long offset, long length) throws IOException {
+        final int[] result = new int[(int) length];
+        if (length > 0) {
+            map(channel, offset, length).get(result);
+        }
+        return result;
+    }
+}
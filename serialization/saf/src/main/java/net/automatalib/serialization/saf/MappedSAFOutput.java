@@ -0,0 +1,176 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Set;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Serializer for the indexed revision of the SAF (simple automaton format), see {@link SAFIndex}. Each section of the
+ * automaton is written to a memory-mapped region of the target file with a single bulk operation.
+ */
+class MappedSAFOutput {
+
+    private final Path path;
+
+    MappedSAFOutput(Path path) {
+        this.path = path;
+    }
+
+    public <S, I> void writeDFA(DFA<S, I> automaton, Alphabet<I> alphabet) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> stateIDs = automaton.stateIDs();
+        final S init = automaton.getInitialState();
+
+        final int[] initials = init == null ? new int[0] : new int[] {stateIDs.getStateId(init)};
+        final SAFIndex index = new SAFIndex(AutomatonType.DFA, numInputs, numStates, initials.length, 0);
+
+        try (FileChannel channel = open()) {
+            index.write(channel);
+            writeSection(channel, index.initialsOffset, initials);
+            writeSection(channel, index.acceptanceOffset, encodeAcceptance(automaton, stateIDs, numStates));
+
+            final IntBuffer transitions =
+                    SAFIndex.map(channel, MapMode.READ_WRITE, index.transitionsOffset, (long) numStates * numInputs);
+
+            if (automaton instanceof CompactDFA && hasMatchingLayout((CompactDFA<?>) automaton, alphabet)) {
+                ((CompactDFA<?>) automaton).writeTransitions(transitions);
+            } else {
+                final int[] successors = new int[numStates * numInputs];
+
+                for (int s = 0; s < numStates; s++) {
+                    final S state = stateIDs.getState(s);
+                    for (int i = 0; i < numInputs; i++) {
+                        final S succ = automaton.getSuccessor(state, alphabet.getSymbol(i));
+                        successors[s * numInputs + i] = succ == null ? -1 : stateIDs.getStateId(succ);
+                    }
+                }
+
+                transitions.put(successors);
+            }
+        }
+    }
+
+    public <S, I> void writeNFA(NFA<S, I> automaton, Alphabet<I> alphabet) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> stateIDs = automaton.stateIDs();
+
+        final Set<S> initialStates = automaton.getInitialStates();
+        final int[] initials = new int[initialStates.size()];
+        int idx = 0;
+        for (S s : initialStates) {
+            initials[idx++] = stateIDs.getStateId(s);
+        }
+
+        final int[] offsets = new int[numStates * numInputs + 1];
+        long numTargets = 0;
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = stateIDs.getState(s);
+            for (int i = 0; i < numInputs; i++) {
+                offsets[s * numInputs + i] = (int) numTargets;
+                numTargets += automaton.getTransitions(state, alphabet.getSymbol(i)).size();
+
+                if (numTargets > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many transitions for the indexed SAF format");
+                }
+            }
+        }
+        offsets[numStates * numInputs] = (int) numTargets;
+
+        final int[] targets = new int[(int) numTargets];
+        idx = 0;
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = stateIDs.getState(s);
+            for (int i = 0; i < numInputs; i++) {
+                final Collection<S> succs = automaton.getTransitions(state, alphabet.getSymbol(i));
+                for (S succ : succs) {
+                    targets[idx++] = stateIDs.getStateId(succ);
+                }
+            }
+        }
+
+        final SAFIndex index = new SAFIndex(AutomatonType.NFA, numInputs, numStates, initials.length, targets.length);
+
+        try (FileChannel channel = open()) {
+            index.write(channel);
+            writeSection(channel, index.initialsOffset, initials);
+            writeSection(channel, index.acceptanceOffset, encodeAcceptance(automaton, stateIDs, numStates));
+            writeSection(channel, index.transitionsOffset, offsets);
+            writeSection(channel, index.targetsOffset, targets);
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(path,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void writeSection(FileChannel channel, long offset, int[] data) throws IOException {
+        if (data.length > 0) {
+            SAFIndex.map(channel, MapMode.READ_WRITE, offset, data.length).put(data);
+        }
+    }
+
+    private static <S> int[] encodeAcceptance(NFA<S, ?> automaton, StateIDs<S> stateIDs, int numStates) {
+        final int[] result = new int[(int) SAFIndex.acceptanceLength(numStates)];
+
+        for (int s = 0; s < numStates; s++) {
+            if (automaton.isAccepting(stateIDs.getState(s))) {
+                result[s / Integer.SIZE] |= 1 << (s % Integer.SIZE);
+            }
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> boolean hasMatchingLayout(CompactDFA<?> automaton, Alphabet<I> alphabet) {
+        // safe, because the compact DFA has been passed as a DFA<?, I>
+        final Alphabet<I> compactAlphabet = (Alphabet<I>) automaton.getInputAlphabet();
+
+        if (compactAlphabet.size() != alphabet.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < alphabet.size(); i++) {
+            final I sym = alphabet.getSymbol(i);
+            if (!compactAlphabet.containsSymbol(sym) || compactAlphabet.getSymbolIndex(sym) != i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * The index header of the indexed revision of the SAF (simple automaton format).
+ * <p>
+ * Indexed SAF files start with the regular {@code 'S', 'A', 'F'} magic bytes, followed by the type byte of the
+ * automaton with the {@link #INDEXED_FLAG} set (so that readers of the sequential format reject them). The remaining
+ * header of {@link #SIZE} bytes stores the revision, the dimensions of the automaton and the (absolute) offsets of
+ * each section, so that readers can map the sections directly without decoding preceding data:
+ * <ul>
+ * <li>the IDs of the initial states,</li>
+ * <li>the acceptance bits (32 states per {@code int}, in the same layout as the sequential format),</li>
+ * <li>the transition table, which for deterministic automata stores the successor ID ({@code -1} for undefined
+ * transitions) for each state/input pair and for non-deterministic automata stores the start offsets of the
+ * successors of each state/input pair in the targets section (plus a final end offset),</li>
+ * <li>the targets section (non-deterministic automata only), which stores the successor IDs of all transitions.</li>
+ * </ul>
+ * Like the sequential format, all values are stored in big-endian byte order.
+ */
+final class SAFIndex {
+
+    static final int INDEXED_FLAG = 0x40;
+    static final int SIZE = 64;
+    static final int REVISION = 1;
+
+    private static final long NO_SECTION = -1;
+
+    final AutomatonType type;
+    final int alphabetSize;
+    final int numStates;
+    final int numInitials;
+    final int numTargets;
+    final long initialsOffset;
+    final long acceptanceOffset;
+    final long transitionsOffset;
+    final long targetsOffset;
+    final long fileSize;
+
+    SAFIndex(AutomatonType type, int alphabetSize, int numStates, int numInitials, int numTargets) {
+        this.type = type;
+        this.alphabetSize = alphabetSize;
+        this.numStates = numStates;
+        this.numInitials = numInitials;
+        this.numTargets = numTargets;
+        this.initialsOffset = SIZE;
+        this.acceptanceOffset = initialsOffset + (long) numInitials * Integer.BYTES;
+        this.transitionsOffset = acceptanceOffset + acceptanceLength(numStates) * Integer.BYTES;
+
+        final long numTransitionEntries = numTransitionEntries(type, numStates, alphabetSize);
+        final long transitionsEnd = transitionsOffset + numTransitionEntries * Integer.BYTES;
+
+        if (type.isDeterministic()) {
+            this.targetsOffset = NO_SECTION;
+            this.fileSize = transitionsEnd;
+        } else {
+            this.targetsOffset = transitionsEnd;
+            this.fileSize = targetsOffset + (long) numTargets * Integer.BYTES;
+        }
+    }
+
+    private SAFIndex(ByteBuffer header, AutomatonType type) {
+        this.type = type;
+        this.alphabetSize = header.getInt(8);
+        this.numStates = header.getInt(12);
+        this.numInitials = header.getInt(16);
+        this.numTargets = header.getInt(20);
+        this.initialsOffset = header.getLong(24);
+        this.acceptanceOffset = header.getLong(32);
+        this.transitionsOffset = header.getLong(40);
+        this.targetsOffset = header.getLong(48);
+        this.fileSize = header.getLong(56);
+    }
+
+    static long acceptanceLength(int numStates) {
+        return (numStates + (long) Integer.SIZE - 1) / Integer.SIZE;
+    }
+
+    static long numTransitionEntries(AutomatonType type, int numStates, int alphabetSize) {
+        final long numPairs = (long) numStates * alphabetSize;
+        return type.isDeterministic() ? numPairs : numPairs + 1;
+    }
+
+    void write(FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(SIZE);
+
+        header.put(0, (byte) 'S')
+              .put(1, (byte) 'A')
+              .put(2, (byte) 'F')
+              .put(3, (byte) (type.ordinal() | INDEXED_FLAG))
+              .putInt(4, REVISION)
+              .putInt(8, alphabetSize)
+              .putInt(12, numStates)
+              .putInt(16, numInitials)
+              .putInt(20, numTargets)
+              .putLong(24, initialsOffset)
+              .putLong(32, acceptanceOffset)
+              .putLong(40, transitionsOffset)
+              .putLong(48, targetsOffset)
+              .putLong(56, fileSize);
+
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    static SAFIndex read(FileChannel channel, AutomatonType expectedType) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(SIZE);
+
+        long position = 0;
+        while (header.hasRemaining()) {
+            final int read = channel.read(header, position);
+            if (read < 0) {
+                throw new FormatException("Unexpected end of file while reading the index header");
+            }
+            position += read;
+        }
+
+        if (header.get(0) != 'S' || header.get(1) != 'A' || header.get(2) != 'F') {
+            throw new FormatException("Not a SAF file");
+        }
+
+        final int typeByte = header.get(3);
+        if ((typeByte & INDEXED_FLAG) == 0) {
+            throw new FormatException("Not an indexed SAF file");
+        }
+
+        final int typeIdx = typeByte & ~INDEXED_FLAG;
+        if (typeIdx != expectedType.ordinal()) {
+            throw new FormatException("Unexpected automaton type: " + typeIdx + " (expected " + expectedType + ')');
+        }
+
+        final int revision = header.getInt(4);
+        if (revision != REVISION) {
+            throw new FormatException("Unsupported revision: " + revision);
+        }
+
+        final SAFIndex result = new SAFIndex(header, expectedType);
+
+        if (result.alphabetSize <= 0 || result.numStates < 0 || result.numInitials < 0 || result.numTargets < 0) {
+            throw new FormatException("Invalid index header");
+        }
+        if (channel.size() < result.fileSize) {
+            throw new FormatException("File is truncated: expected " + result.fileSize + " bytes, found " +
+                                      channel.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Maps the given section of the channel as a (big-endian) {@link IntBuffer}.
+     *
+     * @param channel
+     *         the channel to map
+     * @param mode
+     *         the mapping mode
+     * @param offset
+     *         the offset (in bytes) of the section
+     * @param length
+     *         the number of {@code int}s of the section
+     *
+     * @return the mapped section
+     *
+     * @throws IOException
+     *         if the mapping fails or the section is too large to be mapped
+     */
+    static IntBuffer map(FileChannel channel, MapMode mode, long offset, long length) throws IOException {
+        final long bytes = length * Integer.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + bytes + " bytes is too large to be mapped");
+        }
+        return channel.map(mode, offset, bytes).asIntBuffer();
+    }
+}
@@ -18,6 +18,7 @@ package net.automatalib.serialization.saf;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
@@ -51,4 +52,63 @@ public final class SAFSerializationNFA
         SAFOutput out = new SAFOutput(os);
         out.writeNFA(model, alphabet);
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the given model to the given file in the indexed revision of the SAF format. Indexed files store the
+     * offsets of each section of the automaton in their header, so that they can be {@link #mapIndexedModel(Path)
+     * lazily mapped} or {@link #readIndexedModel(Path) bulk-read} without decoding the automaton one value at a time.
+     * Note that indexed files cannot be read by {@link #readModel(InputStream)}.
+     *
+     * @param path
+     *         the path of the file to write
+     * @param model
+     *         the model to write
+     * @param alphabet
+     *         the input alphabet of the model
+     *
+     * @throws IOException
+     *         if writing the file fails
+     */
+    public void writeIndexedModel(Path path, NFA<?, Integer> model, Alphabet<Integer> alphabet) throws IOException {
+        MappedSAFOutput out = new MappedSAFOutput(path);
+        out.writeNFA(model, alphabet);
+    }
+
+    /**
+     * Reads an NFA from a file written by {@link #writeIndexedModel(Path, NFA, Alphabet)}. The sections of the file
+     * are memory-mapped and bulk-read into the storage of a {@link CompactNFA}.
+     *
+     * @param path
+     *         the path of the file to read
+     *
+     * @return the model data of the read automaton
+     *
+     * @throws IOException
+     *         if reading the file fails or the file does not contain an indexed SAF NFA
+     */
+    public InputModelData<Integer, NFA<Integer, Integer>> readIndexedModel(Path path) throws IOException {
+        MappedSAFInput in = new MappedSAFInput(path);
+        final CompactNFA<Integer> automaton = in.readNativeNFA();
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+
+    /**
+     * Maps an NFA from a file written by {@link #writeIndexedModel(Path, NFA, Alphabet)}. The returned (read-only)
+     * automaton is backed by the memory-mapped sections of the file and reads its states and transitions only on
+     * access. As a result, mapping is (nearly) independent of the size of the automaton.
+     * Note that the file must not be modified while the returned automaton is in use.
+     *
+     * @param path
+     *         the path of the file to map
+     *
+     * @return the model data of the mapped automaton
+     *
+     * @throws IOException
+     *         if mapping the file fails or the file does not contain an indexed SAF NFA
+     */
+    public InputModelData<Integer, NFA<Integer, Integer>> mapIndexedModel(Path path) throws IOException {
+        MappedSAFInput in = new MappedSAFInput(path);
+        final MappedNFA<Integer> automaton = in.mapNativeNFA();
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+}
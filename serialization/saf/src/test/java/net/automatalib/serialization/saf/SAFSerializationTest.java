@@ -19,6 +19,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Random;
 
 import net.automatalib.automata.UniversalAutomaton;
@@ -28,6 +30,7 @@ import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.commons.util.io.UnclosableInputStream;
 import net.automatalib.commons.util.io.UnclosableOutputStream;
+import net.automatalib.serialization.FormatException;
 import net.automatalib.serialization.InputModelDeserializer;
 import net.automatalib.serialization.InputModelSerializer;
 import net.automatalib.util.automata.Automata;
@@ -120,6 +123,66 @@ public class SAFSerializationTest {
         serializer.readModel(new UnclosableInputStream(is));
     }
 
+    @Test
+    public void testIndexedDFASerialization() throws IOException {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final Path file = Files.createTempFile("automatalib", ".saf");
+        final Path copy = Files.createTempFile("automatalib", ".saf");
+
+        try {
+            serializer.writeIndexedModel(file, this.dfa, ALPHABET);
+
+            final DFA<Integer, Integer> read = serializer.readIndexedModel(file).model;
+            final DFA<Integer, Integer> mapped = serializer.mapIndexedModel(file).model;
+
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, read, ALPHABET));
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, mapped, ALPHABET));
+
+            // re-serialize a non-compact automaton
+            serializer.writeIndexedModel(copy, mapped, ALPHABET);
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, serializer.readIndexedModel(copy).model, ALPHABET));
+
+            // indexed files are not supported by the sequential format (and vice versa)
+            final byte[] data = Files.readAllBytes(file);
+            Assert.assertThrows(FormatException.class, () -> serializer.readModel(new ByteArrayInputStream(data)));
+            Assert.assertThrows(FormatException.class,
+                                () -> SAFSerializationNFA.getInstance().readIndexedModel(file));
+
+            serializer.writeModel(copy.toFile(), this.dfa, ALPHABET);
+            Assert.assertThrows(FormatException.class, () -> serializer.mapIndexedModel(copy));
+        } finally {
+            Files.delete(file);
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    public void testIndexedNFASerialization() throws IOException {
+        final SAFSerializationNFA serializer = SAFSerializationNFA.getInstance();
+        final Path file = Files.createTempFile("automatalib", ".saf");
+
+        try {
+            serializer.writeIndexedModel(file, this.nfa, ALPHABET);
+
+            final NFA<Integer, Integer> read = serializer.readIndexedModel(file).model;
+            final NFA<Integer, Integer> mapped = serializer.mapIndexedModel(file).model;
+
+            Assert.assertEquals(read.getInitialStates(), this.nfa.getInitialStates());
+            Assert.assertEquals(mapped.getInitialStates(), this.nfa.getInitialStates());
+
+            for (int s = 0; s < AUTOMATON_SIZE; s++) {
+                Assert.assertEquals(read.isAccepting(s), this.nfa.isAccepting(s));
+                Assert.assertEquals(mapped.isAccepting(s), this.nfa.isAccepting(s));
+                for (Integer i : ALPHABET) {
+                    Assert.assertEquals(read.getSuccessors(s, i), this.nfa.getSuccessors(s, i));
+                    Assert.assertEquals(mapped.getSuccessors(s, i), this.nfa.getSuccessors(s, i));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     private <I, IN extends UniversalAutomaton<?, I, ?, ?, ?>, OUT extends UniversalAutomaton<?, I, ?, ?, ?>> OUT writeAndReadModel(
             IN source,
             Alphabet<I> alphabet,
@@ -0,0 +1,371 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Sets;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Spliterator} that returns the same test words as the {@link WMethodTestsIterator} or the {@link
+ * WpMethodTestsIterator}, but allows to generate them in parallel.
+ * <p>
+ * Both methods construct test words of the form {@code prefix · middle · suffix}. This spliterator enumerates the
+ * (phase, middle part, prefix) combinations, each of which yields a <i>block</i> of test words (one per suffix), by an
+ * index. Splitting (see {@link #trySplit()}) and {@link #shard(int, int) sharding} partition the range of block
+ * indices, so that each resulting spliterator produces an independent, contiguous part of the test suite. This makes
+ * it possible to generate the test suite with multiple threads (e.g., via {@link
+ * java.util.stream.StreamSupport#stream(Spliterator, boolean) parallel streams}) or to distribute it across multiple
+ * executors.
+ * <p>
+ * The union of all parts always equals the test suite of the respective iterator. The spliterator is {@link
+ * Spliterator#ORDERED ordered}, and the order within each part, as well as the order of the parts, follows the
+ * iteration order of the respective iterator. Hence, collecting a parallel stream (or using {@link
+ * java.util.stream.Stream#forEachOrdered(Consumer)}) yields the test words in the same deterministic order as the
+ * sequential iterator.
+ * <p>
+ * The prefixes, middle parts and (global) characterizing suffixes are computed eagerly upon construction. Local
+ * characterizing suffixes (for the partial W method) are computed on demand and shared between all parts that
+ * originate from the same spliterator.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public final class ConformanceTestsSpliterator<I> implements Spliterator<Word<I>> {
+
+    private final Suite<I> suite;
+    private int index;
+    private final int fence;
+
+    // the suffixes of the current block, if it has been started
+    private @Nullable List<Word<I>> suffixes;
+    private int suffixIndex;
+
+    private ConformanceTestsSpliterator(Suite<I> suite, int index, int fence) {
+        this.suite = suite;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Creates a spliterator that returns the test words of the {@link WMethodTestsIterator W method}.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the spliterator over all test words
+     */
+    public static <I> ConformanceTestsSpliterator<I> wMethod(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                            Collection<? extends I> inputs,
+                                                            int maxDepth) {
+        final List<Word<I>> prefixes = new ArrayList<>(automaton.size() * inputs.size());
+        Covers.transitionCoverIterator(automaton, inputs).forEachRemaining(prefixes::add);
+
+        final Suite<I> suite = new Suite<>(middleParts(inputs, maxDepth));
+        suite.addPhase(prefixes, new GlobalSuffixes<>(globalSuffixes(automaton, inputs)));
+
+        return new ConformanceTestsSpliterator<>(suite, 0, suite.numBlocks);
+    }
+
+    /**
+     * Creates a spliterator that returns the test words of the {@link WpMethodTestsIterator partial W method}.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the spliterator over all test words
+     */
+    public static <I> ConformanceTestsSpliterator<I> wpMethod(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                             Collection<? extends I> inputs,
+                                                             int maxDepth) {
+        // use the same (hash-based) collections as the iterator, so that the iteration order coincides
+        final Set<Word<I>> stateCover = Sets.newHashSetWithExpectedSize(automaton.size());
+        final Set<Word<I>> transitionCover = Sets.newHashSetWithExpectedSize(automaton.size() * inputs.size());
+
+        Covers.cover(automaton, inputs, stateCover, transitionCover);
+        transitionCover.removeAll(stateCover);
+
+        final Suite<I> suite = new Suite<>(middleParts(inputs, maxDepth));
+        suite.addPhase(new ArrayList<>(stateCover), new GlobalSuffixes<>(globalSuffixes(automaton, inputs)));
+        suite.addPhase(new ArrayList<>(transitionCover), new LocalSuffixes<>(automaton, inputs));
+
+        return new ConformanceTestsSpliterator<>(suite, 0, suite.numBlocks);
+    }
+
+    /**
+     * Returns the {@code shardIndex}-th of {@code numShards} disjoint, contiguous parts of the (remaining) test words
+     * of this spliterator. For a fixed number of shards, the result only depends on the given shard index, so that
+     * independent executors may compute their share of the test suite without any coordination. The concatenation of
+     * all shards (in order of their indices) yields the test words of this spliterator.
+     * <p>
+     * This spliterator is not modified by this operation.
+     *
+     * @param shardIndex
+     *         the index of the shard, {@code 0 <= shardIndex < numShards}
+     * @param numShards
+     *         the total number of shards
+     *
+     * @return the spliterator over the test words of the requested shard
+     *
+     * @throws IllegalArgumentException
+     *         if the shard index is not within the valid range
+     * @throws IllegalStateException
+     *         if the traversal of this spliterator has already been started
+     */
+    public ConformanceTestsSpliterator<I> shard(int shardIndex, int numShards) {
+        if (numShards <= 0 || shardIndex < 0 || shardIndex >= numShards) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + numShards);
+        }
+        if (suffixes != null) {
+            throw new IllegalStateException("Cannot shard a partially traversed spliterator");
+        }
+
+        final long range = fence - index;
+        final int from = index + (int) (range * shardIndex / numShards);
+        final int to = index + (int) (range * (shardIndex + 1) / numShards);
+
+        return new ConformanceTestsSpliterator<>(suite, from, to);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Word<I>> action) {
+        while (index < fence) {
+            List<Word<I>> currentSuffixes = suffixes;
+
+            if (currentSuffixes == null) {
+                currentSuffixes = suite.suffixes(index);
+                suffixes = currentSuffixes;
+                suffixIndex = 0;
+            }
+
+            if (suffixIndex < currentSuffixes.size()) {
+                action.accept(suite.testWord(index, currentSuffixes.get(suffixIndex++)));
+                return true;
+            }
+
+            suffixes = null;
+            index++;
+        }
+
+        return false;
+    }
+
+    @Override
+    public @Nullable Spliterator<Word<I>> trySplit() {
+        // do not split a partially processed block
+        final int lo = suffixes == null ? index : index + 1;
+        final int mid = (lo + fence) >>> 1;
+
+        if (suffixes != null || mid <= lo) {
+            return null;
+        }
+
+        final ConformanceTestsSpliterator<I> prefix = new ConformanceTestsSpliterator<>(suite, lo, mid);
+        this.index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (long) (fence - index) * suite.estimatedSuffixes;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+    }
+
+    private static <I> List<Word<I>> middleParts(Collection<? extends I> inputs, int maxDepth) {
+        final List<Word<I>> result = new ArrayList<>();
+        for (List<I> middle : CollectionsUtil.<I>allTuples(inputs, 0, maxDepth)) {
+            result.add(Word.fromList(middle));
+        }
+        return result;
+    }
+
+    private static <I> List<Word<I>> globalSuffixes(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                    Collection<? extends I> inputs) {
+        final List<Word<I>> result = new ArrayList<>();
+        final Iterator<Word<I>> iter = CharacterizingSets.characterizingSetIterator(automaton, inputs);
+
+        // Special case: List of characterizing suffixes may be empty,
+        // but in this case we still need to iterate over the prefixes!
+        if (!iter.hasNext()) {
+            result.add(Word.epsilon());
+        } else {
+            iter.forEachRemaining(result::add);
+        }
+
+        return result;
+    }
+
+    /**
+     * The (shared, immutable) data of a test suite. Blocks are enumerated phase by phase, and within each phase in
+     * the order of the iterators, i.e., middle part by middle part and, for each middle part, prefix by prefix.
+     */
+    private static final class Suite<I> {
+
+        private final List<Word<I>> middleParts;
+        private final List<Phase<I>> phases;
+        private int numBlocks;
+        private int estimatedSuffixes;
+
+        Suite(List<Word<I>> middleParts) {
+            this.middleParts = middleParts;
+            this.phases = new ArrayList<>(2);
+            this.estimatedSuffixes = 1;
+        }
+
+        void addPhase(List<Word<I>> prefixes, SuffixProvider<I> suffixes) {
+            final long blocks = (long) prefixes.size() * middleParts.size();
+            if (numBlocks + blocks > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Test suite is too large");
+            }
+
+            phases.add(new Phase<>(numBlocks, prefixes, suffixes));
+            numBlocks += (int) blocks;
+            estimatedSuffixes = Math.max(estimatedSuffixes, suffixes.estimatedSize());
+        }
+
+        List<Word<I>> suffixes(int block) {
+            final Phase<I> phase = phaseOf(block);
+            final int local = block - phase.offset;
+            final int numPrefixes = phase.prefixes.size();
+            return phase.suffixes.get(phase.prefixes.get(local % numPrefixes), middleParts.get(local / numPrefixes));
+        }
+
+        Word<I> testWord(int block, Word<I> suffix) {
+            final Phase<I> phase = phaseOf(block);
+            final int local = block - phase.offset;
+            final int numPrefixes = phase.prefixes.size();
+            final Word<I> prefix = phase.prefixes.get(local % numPrefixes);
+            final Word<I> middle = middleParts.get(local / numPrefixes);
+
+            final WordBuilder<I> wb = new WordBuilder<>(prefix.size() + middle.size() + suffix.size());
+            return wb.append(prefix).append(middle).append(suffix).toWord();
+        }
+
+        private Phase<I> phaseOf(int block) {
+            for (int i = phases.size() - 1; i > 0; i--) {
+                final Phase<I> phase = phases.get(i);
+                if (block >= phase.offset) {
+                    return phase;
+                }
+            }
+            return phases.get(0);
+        }
+    }
+
+    private static final class Phase<I> {
+
+        private final int offset;
+        private final List<Word<I>> prefixes;
+        private final SuffixProvider<I> suffixes;
+
+        Phase(int offset, List<Word<I>> prefixes, SuffixProvider<I> suffixes) {
+            this.offset = offset;
+            this.prefixes = prefixes;
+            this.suffixes = suffixes;
+        }
+    }
+
+    private interface SuffixProvider<I> {
+
+        List<Word<I>> get(Word<I> prefix, Word<I> middle);
+
+        int estimatedSize();
+    }
+
+    private static final class GlobalSuffixes<I> implements SuffixProvider<I> {
+
+        private final List<Word<I>> suffixes;
+
+        GlobalSuffixes(List<Word<I>> suffixes) {
+            this.suffixes = suffixes;
+        }
+
+        @Override
+        public List<Word<I>> get(Word<I> prefix, Word<I> middle) {
+            return suffixes;
+        }
+
+        @Override
+        public int estimatedSize() {
+            return suffixes.size();
+        }
+    }
+
+    private static final class LocalSuffixes<S, I> implements SuffixProvider<I> {
+
+        private final UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton;
+        private final Collection<? extends I> inputs;
+        private final Map<S, List<Word<I>>> cache;
+
+        LocalSuffixes(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, Collection<? extends I> inputs) {
+            this.automaton = automaton;
+            this.inputs = inputs;
+            this.cache = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public List<Word<I>> get(Word<I> prefix, Word<I> middle) {
+            @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+            final @NonNull S tmp = automaton.getState(prefix);
+            @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+            final @NonNull S state = automaton.getSuccessor(tmp, middle);
+
+            return cache.computeIfAbsent(state, s -> {
+                final List<Word<I>> localSuffixes = Automata.stateCharacterizingSet(automaton, inputs, s);
+                return localSuffixes.isEmpty() ? Collections.singletonList(Word.epsilon()) : localSuffixes;
+            });
+        }
+
+        @Override
+        public int estimatedSize() {
+            return 1;
+        }
+    }
+}
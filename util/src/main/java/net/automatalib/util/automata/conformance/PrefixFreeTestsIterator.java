@@ -0,0 +1,230 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordTrie;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An iterator that removes redundant test words from a stream of test words (e.g., as generated by the {@link
+ * WMethodTestsIterator} or {@link WpMethodTestsIterator}). A test word is redundant if it is a prefix of another test
+ * word, because executing the longer test word (after a single system reset) also executes the shorter one.
+ * <p>
+ * Test words are filtered on the fly: incoming words are buffered in a window of bounded size, which is backed by a
+ * {@link WordTrie}. An incoming word is discarded if it is a prefix of a buffered word or a recently returned word.
+ * Conversely, buffered words that are prefixes of an incoming word are discarded. Hence, all redundancies among test
+ * words that are at most {@code windowSize} positions apart are detected (and, if the window is at least as large as
+ * the test suite, the returned test suite is prefix-free).
+ * <p>
+ * Optionally, a symbol order can be specified. In this case, the buffered words are returned in batches (whenever the
+ * window is full) sorted lexicographically, so that subsequent test words share longer common prefixes. Otherwise,
+ * test words are returned in the order of the underlying iterator.
+ * <p>
+ * The iterator keeps track of the number of removed test words (i.e., saved system resets), the number of their
+ * symbols, and the number of symbols that returned test words share with their respective predecessor.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public class PrefixFreeTestsIterator<I> implements Iterator<Word<I>> {
+
+    private final Iterator<? extends Word<I>> delegate;
+    private final int windowSize;
+    private final @Nullable Comparator<? super Word<I>> order;
+
+    private final WordTrie<I> trie;
+    private final Set<Word<I>> pending;
+    private final Deque<Word<I>> returned;
+    private final Deque<Word<I>> ready;
+
+    private @Nullable Word<I> previous;
+    private long removedTests;
+    private long removedSymbols;
+    private long sharedPrefixSymbols;
+
+    /**
+     * Constructor. Returns the test words in the order of the given iterator.
+     *
+     * @param delegate
+     *         the iterator whose test words should be filtered
+     * @param windowSize
+     *         the (positive) number of words that are buffered for detecting redundancies
+     */
+    public PrefixFreeTestsIterator(Iterator<? extends Word<I>> delegate, int windowSize) {
+        this(delegate, windowSize, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *         the iterator whose test words should be filtered
+     * @param windowSize
+     *         the (positive) number of words that are buffered for detecting redundancies
+     * @param symbolOrder
+     *         the symbol order for sorting the buffered words, or {@code null} if the order of the given iterator
+     *         should be preserved
+     */
+    public PrefixFreeTestsIterator(Iterator<? extends Word<I>> delegate,
+                                   int windowSize,
+                                   @Nullable Comparator<? super I> symbolOrder) {
+        Preconditions.checkArgument(windowSize > 0, "The window size must be positive");
+
+        this.delegate = delegate;
+        this.windowSize = windowSize;
+        this.order = symbolOrder == null ? null : lexicographicOrder(symbolOrder);
+        this.trie = new WordTrie<>();
+        this.pending = new LinkedHashSet<>();
+        this.returned = new ArrayDeque<>();
+        this.ready = new ArrayDeque<>();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (ready.isEmpty()) {
+            if (delegate.hasNext()) {
+                offer(delegate.next());
+                if (pending.size() > windowSize) {
+                    release();
+                }
+            } else if (!pending.isEmpty()) {
+                release();
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Word<I> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Word<I> result = ready.poll();
+
+        if (previous != null) {
+            sharedPrefixSymbols += previous.longestCommonPrefix(result).length();
+        }
+        previous = result;
+
+        return result;
+    }
+
+    /**
+     * Returns the number of test words that have been removed so far, i.e., the number of saved system resets.
+     *
+     * @return the number of removed test words
+     */
+    public long getRemovedTests() {
+        return removedTests;
+    }
+
+    /**
+     * Returns the total length of the test words that have been removed so far, i.e., the number of saved symbols.
+     *
+     * @return the total length of the removed test words
+     */
+    public long getRemovedSymbols() {
+        return removedSymbols;
+    }
+
+    /**
+     * Returns the total number of symbols that the returned test words share with their respective predecessors, i.e.,
+     * the number of symbols that an executor that caches the previous test word may skip.
+     *
+     * @return the total length of the common prefixes of subsequent test words
+     */
+    public long getSharedPrefixSymbols() {
+        return sharedPrefixSymbols;
+    }
+
+    private void offer(Word<I> word) {
+        if (trie.containsExtensionOf(word)) {
+            remove(word);
+            return;
+        }
+
+        // buffered words that are prefixes of the new word become redundant
+        final List<Word<I>> redundant = new ArrayList<>();
+        for (Word<I> prefix : trie.prefixesOf(word)) {
+            if (pending.contains(prefix)) {
+                redundant.add(prefix);
+            }
+        }
+
+        for (Word<I> prefix : redundant) {
+            pending.remove(prefix);
+            trie.remove(prefix);
+            remove(prefix);
+        }
+
+        pending.add(word);
+        trie.add(word);
+    }
+
+    private void release() {
+        final List<Word<I>> batch = new ArrayList<>(pending);
+
+        if (order == null) {
+            // only release the oldest word to keep the window as large as possible
+            batch.subList(1, batch.size()).clear();
+        } else {
+            batch.sort(order);
+        }
+
+        for (Word<I> word : batch) {
+            pending.remove(word);
+            ready.add(word);
+            returned.add(word);
+
+            if (returned.size() > windowSize) {
+                trie.remove(returned.poll());
+            }
+        }
+    }
+
+    private void remove(Word<I> word) {
+        removedTests++;
+        removedSymbols += word.length();
+    }
+
+    private static <I> Comparator<Word<I>> lexicographicOrder(Comparator<? super I> symbolOrder) {
+        return (w1, w2) -> {
+            final int len = Math.min(w1.length(), w2.length());
+            for (int i = 0; i < len; i++) {
+                final int cmp = symbolOrder.compare(w1.getSymbol(i), w2.getSymbol(i));
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return Integer.compare(w1.length(), w2.length());
+        };
+    }
+}
@@ -15,16 +15,38 @@
  */
 package net.automatalib.util.automata.equivalence;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
-import com.google.common.collect.Sets;
 import net.automatalib.automata.Automaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.commons.smartcollections.ArrayUtil;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.ts.modal.CompactMTS;
+import net.automatalib.ts.modal.ModalTransitionSystem;
+import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
+import net.automatalib.util.partitionrefinement.RelationalPaigeTarjan;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
+ * Utility methods for computing (strong) bisimulations of (nondeterministic) automata. All computations are based on
+ * the relational coarsest partition algorithm by Paige and Tarjan (see {@link RelationalPaigeTarjan}) and run in {@code
+ * O(m log n)} for {@code m} transitions and {@code n} states.
+ *
  * @author msc
+ * @author frohme
  */
 public final class Bisimulation {
 
@@ -32,102 +54,327 @@ public final class Bisimulation {
         // prevent instantiation
     }
 
+    /**
+     * Computes the (largest) bisimulation relation between the states of two automata. Only the transition structure
+     * of the automata is considered, i.e., neither state nor transition properties are taken into account.
+     *
+     * @param a
+     *         the first automaton
+     * @param b
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return the set of all pairs of bisimilar states
+     */
     public static <AS, I, AT, A extends Automaton<AS, I, AT>, BS, BT, B extends Automaton<BS, I, BT>> Set<Pair<AS, BS>> bisimulationEquivalenceRelation(
             A a,
             B b,
             Collection<I> inputs) {
 
-        Set<Pair<AS, BS>> bisim = Sets.newHashSetWithExpectedSize(a.size() * b.size());
-        Set<Pair<AS, BS>> change = Sets.newHashSetWithExpectedSize(a.size() * b.size());
+        final List<? extends I> inputList = CollectionsUtil.randomAccessList(inputs);
+        final int sizeA = a.size();
+        final int sizeB = b.size();
 
-        boolean empty;
+        final TransitionRelation relation = new TransitionRelation(inputList.size(), false);
+        relation.addTransitions(a, inputList, 0, null);
+        relation.addTransitions(b, inputList, sizeA, null);
 
-        for (AS p : a.getStates()) {
-            for (BS q : b.getStates()) {
+        final RelationalPaigeTarjan pt = relation.createPartition(sizeA + sizeB, new int[sizeA + sizeB], 1);
+        pt.computeCoarsestStablePartition();
 
-                empty = true;
-                for (I sym : inputs) {
-                    empty &= a.getTransitions(p, sym).isEmpty() && b.getTransitions(q, sym).isEmpty();
-                    if (!a.getTransitions(p, sym).isEmpty() && !b.getTransitions(q, sym).isEmpty()) {
-                        change.add(Pair.of(p, q));
-                        break;
-                    }
+        final int numBlocks = pt.getNumBlocks();
+        final List<List<AS>> statesA = new ArrayList<>(numBlocks);
+        final List<List<BS>> statesB = new ArrayList<>(numBlocks);
+
+        for (int i = 0; i < numBlocks; i++) {
+            statesA.add(new ArrayList<>());
+            statesB.add(new ArrayList<>());
+        }
+
+        final StateIDs<AS> idsA = a.stateIDs();
+        final StateIDs<BS> idsB = b.stateIDs();
+
+        for (int i = 0; i < sizeA; i++) {
+            statesA.get(pt.getBlockForState(i).id).add(idsA.getState(i));
+        }
+        for (int i = 0; i < sizeB; i++) {
+            statesB.get(pt.getBlockForState(sizeA + i).id).add(idsB.getState(i));
+        }
+
+        final Set<Pair<AS, BS>> result = new HashSet<>();
+
+        for (int i = 0; i < numBlocks; i++) {
+            for (AS p : statesA.get(i)) {
+                for (BS q : statesB.get(i)) {
+                    result.add(Pair.of(p, q));
                 }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the coarsest bisimulation of the given automaton. Only the transition structure of the automaton is
+     * considered, i.e., neither state nor transition properties are taken into account.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return the block mapping of the bisimulation, i.e., an array that maps each state (identified by its id with
+     * respect to {@link Automaton#stateIDs()}) to the id of its equivalence class. Class ids are contiguous and start
+     * at 0.
+     *
+     * @see #bisimulationClasses(Automaton, Collection, Function, Function)
+     */
+    public static <S, I, T> int[] bisimulationClasses(Automaton<S, I, T> automaton, Collection<? extends I> inputs) {
+        return bisimulationClasses(automaton, inputs, null, null);
+    }
+
+    /**
+     * Computes the coarsest bisimulation of the given automaton that respects the given classifications, i.e., two
+     * states can only be bisimilar if they are classified equally by the {@code stateClassifier} and two transitions
+     * can only match each other if they have the same input symbol and are classified equally by the {@code
+     * transitionClassifier}.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param stateClassifier
+     *         the classification of states, or {@code null} if states should not be classified
+     * @param transitionClassifier
+     *         the classification of transitions, or {@code null} if transitions should only be distinguished by their
+     *         input symbol
+     *
+     * @return the block mapping of the bisimulation, i.e., an array that maps each state (identified by its id with
+     * respect to {@link Automaton#stateIDs()}) to the id of its equivalence class. Class ids are contiguous and start
+     * at 0.
+     */
+    public static <S, I, T> int[] bisimulationClasses(Automaton<S, I, T> automaton,
+                                                      Collection<? extends I> inputs,
+                                                      @Nullable Function<? super S, ?> stateClassifier,
+                                                      @Nullable Function<? super T, ?> transitionClassifier) {
+
+        final List<? extends I> inputList = CollectionsUtil.randomAccessList(inputs);
+        final int size = automaton.size();
+        final StateIDs<S> stateIDs = automaton.stateIDs();
 
-                if (empty) {
-                    change.add(Pair.of(p, q));
+        final int[] initialClasses = new int[size];
+        int numClasses = 1;
+
+        if (stateClassifier != null) {
+            final Map<@Nullable Object, Integer> classes = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                final Object clazz = stateClassifier.apply(stateIDs.getState(i));
+                initialClasses[i] = classes.computeIfAbsent(clazz, c -> classes.size());
+            }
+            numClasses = Math.max(classes.size(), 1);
+        }
+
+        final TransitionRelation relation = new TransitionRelation(inputList.size(), transitionClassifier != null);
+        relation.addTransitions(automaton, inputList, 0, transitionClassifier);
+
+        final RelationalPaigeTarjan pt = relation.createPartition(size, initialClasses, numClasses);
+        pt.computeCoarsestStablePartition();
+
+        final int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = pt.getBlockForState(i).id;
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the bisimulation quotient of the given NFA, i.e., an automaton in which all bisimilar states (with
+     * respect to the transition structure and the acceptance of states) have been merged. The resulting automaton
+     * accepts the same language as the given NFA. Note that unreachable states are not pruned.
+     *
+     * @param nfa
+     *         the NFA to minimize
+     * @param alphabet
+     *         the input symbols to consider
+     *
+     * @return the bisimulation-minimized automaton
+     */
+    public static <S, I> CompactNFA<I> minimizeNFA(NFA<S, I> nfa, Alphabet<I> alphabet) {
+        final int[] classes = bisimulationClasses(nfa, alphabet, nfa::isAccepting, null);
+        final int numClasses = numClasses(classes);
+        final StateIDs<S> stateIDs = nfa.stateIDs();
+        final int[] reps = representatives(classes, numClasses);
+
+        final CompactNFA<I> result = new CompactNFA<>(alphabet, numClasses);
+
+        for (int rep : reps) {
+            result.addIntState(nfa.isAccepting(stateIDs.getState(rep)));
+        }
+
+        for (S init : nfa.getInitialStates()) {
+            result.setInitial(classes[stateIDs.getStateId(init)], true);
+        }
+
+        for (int c = 0; c < numClasses; c++) {
+            final S rep = stateIDs.getState(reps[c]);
+            for (int i = 0; i < alphabet.size(); i++) {
+                for (S succ : nfa.getSuccessors(rep, alphabet.getSymbol(i))) {
+                    result.addTransition(c, i, classes[stateIDs.getStateId(succ)]);
                 }
             }
         }
 
-        Set<Pair<AS, BS>> swap;
-        boolean forall, exists;
-        while (!bisim.equals(change)) {
-            swap = change;
-            change = bisim;
-            bisim = swap;
-            change.clear();
-
-            for (Pair<AS, BS> p : bisim) {
-
-                forall = true;
-                for (I sym : inputs) {
-                    for (AT t : a.getTransitions(p.getFirst(), sym)) {
-
-                        exists = false;
-                        for (BT f : b.getTransitions(p.getSecond(), sym)) {
-                            for (Pair<AS, BS> s : bisim) {
-                                if (Objects.equals(a.getSuccessor(t), s.getFirst()) &&
-                                    Objects.equals(b.getSuccessor(f), s.getSecond())) {
-                                    exists = true;
-                                    break;
-                                }
-                            }
-                            if (exists) {
-                                break;
-                            }
-                        }
-                        if (!exists) {
-                            forall = false;
-                            break;
-                        }
+        return result;
+    }
+
+    /**
+     * Computes the bisimulation quotient of the given modal transition system, i.e., a system in which all bisimilar
+     * states (with respect to the transition structure and the {@link ModalType modal types} of transitions) have been
+     * merged. Note that unreachable states are not pruned.
+     *
+     * @param mts
+     *         the modal transition system to minimize
+     *
+     * @return the bisimulation-minimized modal transition system
+     */
+    public static <S, I, T> CompactMTS<I> minimizeMTS(ModalTransitionSystem<S, I, T, ?> mts) {
+        final Alphabet<I> alphabet = mts.getInputAlphabet();
+        final int[] classes =
+                bisimulationClasses(mts, alphabet, null, t -> mts.getTransitionProperty(t).getModalType());
+        final int numClasses = numClasses(classes);
+        final StateIDs<S> stateIDs = mts.stateIDs();
+        final int[] reps = representatives(classes, numClasses);
+        final ModalType[] modalTypes = ModalType.values();
+
+        final CompactMTS<I> result = new CompactMTS<>(alphabet);
+
+        for (int i = 0; i < numClasses; i++) {
+            result.addState();
+        }
+
+        for (S init : mts.getInitialStates()) {
+            result.setInitial(classes[stateIDs.getStateId(init)], true);
+        }
+
+        // there may be multiple transitions into the same class, so de-duplicate them
+        final BitSet seen = new BitSet();
+        for (int c = 0; c < numClasses; c++) {
+            final S rep = stateIDs.getState(reps[c]);
+            for (I sym : alphabet) {
+                seen.clear();
+                for (T trans : mts.getTransitions(rep, sym)) {
+                    final int succ = classes[stateIDs.getStateId(mts.getSuccessor(trans))];
+                    final ModalType type = mts.getTransitionProperty(trans).getModalType();
+                    final int key = succ * modalTypes.length + type.ordinal();
+                    if (!seen.get(key)) {
+                        seen.set(key);
+                        result.addModalTransition(c, sym, succ, type);
                     }
                 }
+            }
+        }
 
-                if (!forall) {
-                    continue;
-                }
+        return result;
+    }
 
-                forall = true;
-                for (I sym : inputs) {
-                    for (BT f : b.getTransitions(p.getSecond(), sym)) {
-
-                        exists = false;
-                        for (AT t : a.getTransitions(p.getFirst(), sym)) {
-                            for (Pair<AS, BS> s : bisim) {
-                                if (Objects.equals(b.getSuccessor(f), s.getSecond()) &&
-                                    Objects.equals(a.getSuccessor(t), s.getFirst())) {
-                                    exists = true;
-                                    break;
-                                }
-                            }
-                            if (exists) {
-                                break;
-                            }
-                        }
-                        if (!exists) {
-                            forall = false;
-                            break;
+    private static int numClasses(int[] classes) {
+        int max = -1;
+        for (int c : classes) {
+            max = Math.max(max, c);
+        }
+        return max + 1;
+    }
+
+    private static int[] representatives(int[] classes, int numClasses) {
+        final int[] result = new int[numClasses];
+        final BitSet found = new BitSet(numClasses);
+
+        for (int i = 0; i < classes.length; i++) {
+            final int c = classes[i];
+            if (!found.get(c)) {
+                found.set(c);
+                result[c] = i;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * A growable list of (integer-encoded) labeled transitions.
+     */
+    private static final class TransitionRelation {
+
+        private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+        private final Map<Pair<Integer, @Nullable Object>, Integer> labelIds;
+        private final boolean classified;
+        private int numLabels;
+
+        private int[] sources;
+        private int[] labels;
+        private int[] targets;
+        private int size;
+
+        TransitionRelation(int numInputs, boolean classified) {
+            this.labelIds = new HashMap<>();
+            this.classified = classified;
+            this.numLabels = classified ? 0 : numInputs;
+            this.sources = new int[DEFAULT_INITIAL_CAPACITY];
+            this.labels = new int[DEFAULT_INITIAL_CAPACITY];
+            this.targets = new int[DEFAULT_INITIAL_CAPACITY];
+        }
+
+        <S, I, T> void addTransitions(Automaton<S, I, T> automaton,
+                                      List<? extends I> inputList,
+                                      int offset,
+                                      @Nullable Function<? super T, ?> transitionClassifier) {
+            final StateIDs<S> stateIDs = automaton.stateIDs();
+            final int numInputs = inputList.size();
+
+            for (int s = 0; s < automaton.size(); s++) {
+                final S state = stateIDs.getState(s);
+                for (int i = 0; i < numInputs; i++) {
+                    for (T trans : automaton.getTransitions(state, inputList.get(i))) {
+                        final int target = stateIDs.getStateId(automaton.getSuccessor(trans));
+                        final int label;
+                        if (classified && transitionClassifier != null) {
+                            label = labelIds.computeIfAbsent(Pair.of(i, transitionClassifier.apply(trans)),
+                                                             k -> numLabels++);
+                        } else {
+                            label = i;
                         }
+                        add(offset + s, label, offset + target);
                     }
                 }
+            }
+        }
 
-                if (forall) {
-                    change.add(p);
-                }
+        private void add(int source, int label, int target) {
+            if (size == sources.length) {
+                final int newCapacity = ArrayUtil.computeNewCapacity(size, size + 1);
+                sources = Arrays.copyOf(sources, newCapacity);
+                labels = Arrays.copyOf(labels, newCapacity);
+                targets = Arrays.copyOf(targets, newCapacity);
             }
+
+            sources[size] = source;
+            labels[size] = label;
+            targets[size] = target;
+            size++;
         }
 
-        return change;
+        RelationalPaigeTarjan createPartition(int numStates, int[] initialClasses, int numClasses) {
+            return new RelationalPaigeTarjan(numStates,
+                                             numLabels,
+                                             sources,
+                                             labels,
+                                             targets,
+                                             size,
+                                             initialClasses,
+                                             numClasses);
+        }
     }
 }
@@ -16,14 +16,17 @@
 package net.automatalib.util.automata.equivalence;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.smartcollections.ArrayUtil;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.commons.util.collections.LongIntHashMap;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -47,12 +50,14 @@ public class DeterministicEquivalenceTest<I> {
             UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
             Collection<? extends I> inputs) {
         int refSize = reference.size();
-        int totalStates = refSize * other.size();
+        long potentialStates = (long) refSize * other.size();
 
-        if (totalStates < 0 || totalStates > MAP_THRESHOLD) {
+        if (potentialStates > MAP_THRESHOLD) {
             return findSeparatingWordLarge(reference, other, inputs);
         }
 
+        int totalStates = (int) potentialStates;
+
         S refInit = reference.getInitialState();
         S2 otherInit = other.getInitialState();
 
@@ -160,6 +165,25 @@ public class DeterministicEquivalenceTest<I> {
         return sep.toWord();
     }
 
+    /**
+     * Variant of {@link #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton,
+     * Collection)} for large automata. Instead of pre-allocating storage for all potential state pairs, only the
+     * reachable pairs of the product are stored: pairs are encoded as {@code long}s (and therefore do not overflow for
+     * products of more than 2<sup>31</sup> potential pairs) and indexed by a primitive, open-addressing hash table.
+     * The BFS queue and the predecessor information (predecessor index, symbol index) are stored in primitive arrays
+     * in discovery order, so no objects are allocated per state pair.
+     *
+     * @param reference
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest separating word, or {@code null} if no such word could be found.
+     */
     public static <I, S, T, SP, TP, S2, T2, SP2, TP2> @Nullable Word<I> findSeparatingWordLarge(
             UniversalDeterministicAutomaton<S, I, T, SP, TP> reference,
             UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
@@ -178,37 +202,25 @@ public class DeterministicEquivalenceTest<I> {
             return Word.epsilon();
         }
 
-        Queue<StatePair<S, S2>> bfsQueue = new ArrayDeque<>();
-        bfsQueue.add(new StatePair<>(refInit, otherInit));
-
-        int refSize = reference.size();
+        final List<? extends I> inputList = CollectionsUtil.randomAccessList(inputs);
+        final int numInputs = inputList.size();
+        final long refSize = reference.size();
 
         StateIDs<S> refStateIds = reference.stateIDs();
         StateIDs<S2> otherStateIds = other.stateIDs();
 
-        StatePair<S, S2> currPair;
-        int lastId = otherStateIds.getStateId(otherInit) * refSize + refStateIds.getStateId(refInit);
-
-        //TIntObjectMap<Pred<I>> preds = new TIntObjectHashMap<>();
-        Map<Integer, Pred<I>> preds = new HashMap<>(); // TODO: replace by primitive specialization
-        preds.put(lastId, new Pred<>());
-
-        int currDepth = 0;
-        int inCurrDepth = 1;
-        int inNextDepth = 0;
-
-        I lastSym = null;
+        final PredecessorTable preds = new PredecessorTable();
+        final int initRefId = refStateIds.getStateId(refInit);
+        final int initOtherId = otherStateIds.getStateId(otherInit);
+        preds.add(initOtherId * refSize + initRefId, initRefId, initOtherId, -1, -1);
 
-        bfs:
-        while ((currPair = bfsQueue.poll()) != null) {
-            S refState = currPair.ref;
-            S2 otherState = currPair.other;
+        // the table stores pairs in BFS order, so we can simply use it as our BFS queue
+        for (int curr = 0; curr < preds.size(); curr++) {
+            S refState = refStateIds.getState(preds.refIds[curr]);
+            S2 otherState = otherStateIds.getState(preds.otherIds[curr]);
 
-            int currId = otherStateIds.getStateId(otherState) * refSize + refStateIds.getStateId(refState);
-            lastId = currId;
-
-            for (I in : inputs) {
-                lastSym = in;
+            for (int i = 0; i < numInputs; i++) {
+                I in = inputList.get(i);
                 T refTrans = reference.getTransition(refState, in);
                 T2 otherTrans = other.getTransition(otherState, in);
 
@@ -216,63 +228,34 @@ public class DeterministicEquivalenceTest<I> {
                     if (refTrans == null && otherTrans == null) {
                         continue;
                     } else {
-                        break bfs;
+                        return preds.buildWord(curr, in, inputList);
                     }
                 }
 
                 TP refProp = reference.getTransitionProperty(refTrans);
                 TP2 otherProp = other.getTransitionProperty(otherTrans);
                 if (!Objects.equals(refProp, otherProp)) {
-                    break bfs;
+                    return preds.buildWord(curr, in, inputList);
                 }
 
                 S refSucc = reference.getSuccessor(refTrans);
                 S2 otherSucc = other.getSuccessor(otherTrans);
 
-                int succId = otherStateIds.getStateId(otherSucc) * refSize + refStateIds.getStateId(refSucc);
+                int refSuccId = refStateIds.getStateId(refSucc);
+                int otherSuccId = otherStateIds.getStateId(otherSucc);
 
-                if (preds.get(succId) == null) {
+                if (preds.add(otherSuccId * refSize + refSuccId, refSuccId, otherSuccId, curr, i)) {
                     refStateProp = reference.getStateProperty(refSucc);
                     otherStateProp = other.getStateProperty(otherSucc);
 
                     if (!Objects.equals(refStateProp, otherStateProp)) {
-                        break bfs;
+                        return preds.buildWord(curr, in, inputList);
                     }
-
-                    preds.put(succId, new Pred<>(currId, in));
-                    bfsQueue.add(new StatePair<>(refSucc, otherSucc));
-                    inNextDepth++;
                 }
             }
-
-            lastSym = null;
-
-            // Next level in BFS reached
-            if (--inCurrDepth == 0) {
-                inCurrDepth = inNextDepth;
-                inNextDepth = 0;
-                currDepth++;
-            }
-        }
-
-        if (lastSym == null) {
-            return null;
-        }
-
-        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
-        WordBuilder<I> sep = new WordBuilder<>(null, currDepth + 1);
-        int index = currDepth;
-        sep.setSymbol(index--, lastSym);
-
-        Pred<I> pred = preds.get(lastId);
-        assert pred != null;
-        while (pred.id >= 0) {
-            sep.setSymbol(index--, pred.symbol);
-            pred = preds.get(pred.id);
-            assert pred != null;
         }
 
-        return sep.toWord();
+        return null;
     }
 
     private static final class StatePair<S, S2> {
@@ -286,6 +269,75 @@ public class DeterministicEquivalenceTest<I> {
         }
     }
 
+    /**
+     * The reachable part of a product automaton, stored in struct-of-arrays form. Each state pair is identified by its
+     * discovery index and stores its component state ids as well as the index of its predecessor and the index of the
+     * input symbol via which it has been discovered.
+     */
+    private static final class PredecessorTable {
+
+        private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+        private final LongIntHashMap index;
+        int[] refIds;
+        int[] otherIds;
+        int[] preds;
+        int[] symbols;
+        private int size;
+
+        PredecessorTable() {
+            this.index = new LongIntHashMap(DEFAULT_INITIAL_CAPACITY);
+            this.refIds = new int[DEFAULT_INITIAL_CAPACITY];
+            this.otherIds = new int[DEFAULT_INITIAL_CAPACITY];
+            this.preds = new int[DEFAULT_INITIAL_CAPACITY];
+            this.symbols = new int[DEFAULT_INITIAL_CAPACITY];
+        }
+
+        /**
+         * Adds the given state pair to the table, if it has not been discovered yet.
+         *
+         * @return {@code true} if the pair has been newly added, {@code false} otherwise
+         */
+        boolean add(long key, int refId, int otherId, int pred, int symbol) {
+            if (index.putIfAbsent(key, size) != LongIntHashMap.MISSING) {
+                return false;
+            }
+
+            if (size == preds.length) {
+                final int newCapacity = ArrayUtil.computeNewCapacity(size, size + 1);
+                refIds = Arrays.copyOf(refIds, newCapacity);
+                otherIds = Arrays.copyOf(otherIds, newCapacity);
+                preds = Arrays.copyOf(preds, newCapacity);
+                symbols = Arrays.copyOf(symbols, newCapacity);
+            }
+
+            refIds[size] = refId;
+            otherIds[size] = otherId;
+            preds[size] = pred;
+            symbols[size] = symbol;
+            size++;
+
+            return true;
+        }
+
+        int size() {
+            return size;
+        }
+
+        <I> Word<I> buildWord(int lastId, I lastSym, List<? extends I> inputs) {
+            final WordBuilder<I> wb = new WordBuilder<>();
+            wb.append(lastSym);
+
+            int curr = lastId;
+            while (preds[curr] >= 0) {
+                wb.append(inputs.get(symbols[curr]));
+                curr = preds[curr];
+            }
+
+            return wb.reverse().toWord();
+        }
+    }
+
     private static final class Pred<I> {
 
         public final int id;
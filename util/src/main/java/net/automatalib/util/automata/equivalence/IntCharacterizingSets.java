@@ -0,0 +1,436 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.FiniteStateAcceptor;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.util.partitionrefinement.Block;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import net.automatalib.util.partitionrefinement.SplitHistory;
+import net.automatalib.util.partitionrefinement.StateSignature;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@code int}-based computation of characterizing sets (see {@link CharacterizingSets}) for deterministic automata.
+ * <p>
+ * Instead of searching for separating words pairwise, this class performs a single {@link PaigeTarjan} refinement of
+ * the given automaton and records its {@link SplitHistory}. Separating words for arbitrary pairs of states are then
+ * reconstructed from the history in time linear in their length and the depth of the history. Based on this, {@link
+ * #getCharacterizingSet() a characterizing set} for the whole automaton and {@link #getStateCharacterizingSet(int)
+ * characterizing sets} for individual states are computed on the equivalence classes of the automaton, only operating
+ * on state IDs and symbol indices.
+ * <p>
+ * States are referenced by the IDs of the {@link UniversalDeterministicAutomaton#fullIntAbstraction(Alphabet) full
+ * integer abstraction} of the automaton (i.e., the state IDs for compact automata). Partially defined transition
+ * functions are supported: words whose transitions are undefined in only one of two states separate these states.
+ * <p>
+ * The computed sets are cached, hence this class is not thread-safe.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public final class IntCharacterizingSets<I> {
+
+    private static final Object SINK_CLASS = new Object();
+    private static final Object UNDEFINED = new Object();
+
+    private final UniversalDeterministicAutomaton.FullIntAbstraction<?, ?, ?> automaton;
+    private final Alphabet<I> alphabet;
+    private final boolean acceptor;
+    private final int numInputs;
+    private final int sink;
+    private final int[] successors;
+    private final SplitHistory history;
+    private final int[] leafForState;
+    private final int[] classForState;
+    private final int[] representatives;
+    private final List<@Nullable List<Word<I>>> stateCharacterizingSets;
+    private @Nullable List<Word<I>> characterizingSet;
+
+    private IntCharacterizingSets(UniversalDeterministicAutomaton.FullIntAbstraction<?, ?, ?> automaton,
+                                  Alphabet<I> alphabet,
+                                  boolean acceptor) {
+        this.automaton = automaton;
+        this.alphabet = alphabet;
+        this.acceptor = acceptor;
+
+        final int numStates = automaton.size();
+        this.numInputs = alphabet.size();
+        this.sink = numStates;
+
+        // complete the transition function with an artificial sink that is only added if required
+        final int[] succs = new int[(numStates + 1) * numInputs];
+        boolean partial = false;
+
+        for (int s = 0; s < numStates; s++) {
+            final int base = s * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = automaton.getSuccessor(s, i);
+                if (succ < 0) {
+                    succs[base + i] = sink;
+                    partial = true;
+                } else {
+                    succs[base + i] = succ;
+                }
+            }
+        }
+
+        if (partial) {
+            Arrays.fill(succs, sink * numInputs, succs.length, sink);
+        }
+
+        this.successors = succs;
+
+        final PaigeTarjan pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initCompleteDeterministic(pt,
+                                                          new CompletedAbstraction(partial ? numStates + 1 : numStates),
+                                                          s -> s == sink ?
+                                                                  SINK_CLASS :
+                                                                  StateSignature.byFullSignature(automaton, s),
+                                                          false);
+
+        this.history = new SplitHistory(pt);
+        pt.initWorklist(false);
+        pt.computeCoarsestStablePartition();
+
+        this.leafForState = new int[numStates + 1];
+        this.classForState = new int[numStates];
+
+        final int[] reps = new int[pt.getNumBlocks()];
+        int numClasses = 0;
+
+        for (Block b : pt.blockList()) {
+            final int rep = pt.getRepresentative(b);
+            final int leaf = history.getNode(b);
+            for (int i = b.low; i < b.high; i++) {
+                final int state = pt.blockData[i];
+                leafForState[state] = leaf;
+                if (state != sink) {
+                    classForState[state] = numClasses;
+                }
+            }
+            if (rep != sink) {
+                reps[numClasses++] = rep;
+            }
+        }
+
+        this.representatives = Arrays.copyOf(reps, numClasses);
+        this.stateCharacterizingSets = new ArrayList<>(Collections.nCopies(numClasses, null));
+    }
+
+    /**
+     * Computes the partition refinement and its split history for the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the data structure for querying characterizing sets and separating words of the automaton
+     */
+    public static <I> IntCharacterizingSets<I> compute(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                       Alphabet<I> inputs) {
+        return new IntCharacterizingSets<>(automaton.fullIntAbstraction(inputs),
+                                           inputs,
+                                           automaton instanceof FiniteStateAcceptor);
+    }
+
+    /**
+     * Returns the number of equivalence classes of the automaton, i.e., the size of its minimal representation.
+     *
+     * @return the number of equivalence classes
+     */
+    public int getNumClasses() {
+        return representatives.length;
+    }
+
+    /**
+     * Checks whether the two given states are equivalent, i.e., cannot be separated by any word.
+     *
+     * @param s1
+     *         the first state (ID)
+     * @param s2
+     *         the second state (ID)
+     *
+     * @return {@code true} if the states are equivalent, {@code false} otherwise
+     */
+    public boolean isEquivalent(int s1, int s2) {
+        return classForState[s1] == classForState[s2];
+    }
+
+    /**
+     * Reconstructs a word that separates the two given states from the split history. The returned word is not
+     * necessarily the shortest separating word.
+     *
+     * @param s1
+     *         the first state (ID)
+     * @param s2
+     *         the second state (ID)
+     *
+     * @return a word separating the two states, or {@code null} if the states are equivalent
+     */
+    public @Nullable Word<I> findSeparatingWord(int s1, int s2) {
+        final int[] word = separatingSymbols(s1, s2);
+        return word == null ? null : Word.fromIndices(alphabet, word);
+    }
+
+    /**
+     * Returns a characterizing set for the whole automaton, i.e., a set of words that separates every two
+     * non-equivalent states.
+     *
+     * @return an (unmodifiable) characterizing set for the automaton
+     */
+    public List<Word<I>> getCharacterizingSet() {
+        if (characterizingSet == null) {
+            characterizingSet = Collections.unmodifiableList(computeCharacterizingSet());
+        }
+        return characterizingSet;
+    }
+
+    /**
+     * Returns a characterizing set for the given state, i.e., a set of words that separates the state from every
+     * non-equivalent state. Equivalent states share the same characterizing set.
+     *
+     * @param state
+     *         the state (ID)
+     *
+     * @return an (unmodifiable) characterizing set for the state
+     */
+    public List<Word<I>> getStateCharacterizingSet(int state) {
+        final int cls = classForState[state];
+        List<Word<I>> result = stateCharacterizingSets.get(cls);
+        if (result == null) {
+            result = Collections.unmodifiableList(computeStateCharacterizingSet(representatives[cls]));
+            stateCharacterizingSets.set(cls, result);
+        }
+        return result;
+    }
+
+    private List<Word<I>> computeCharacterizingSet() {
+        final List<Word<I>> result = new ArrayList<>();
+        final Queue<int[]> blocks = new ArrayDeque<>();
+        blocks.add(representatives);
+
+        int[] block;
+        while ((block = blocks.poll()) != null) {
+            if (block.length <= 1) {
+                continue;
+            }
+
+            final int[] suffix = separatingSymbols(block[0], block[1]);
+            assert suffix != null;
+            result.add(Word.fromIndices(alphabet, suffix));
+
+            final int otherBlocks = blocks.size();
+            cluster(block, suffix, blocks);
+
+            for (int i = 0; i < otherBlocks; i++) {
+                cluster(blocks.remove(), suffix, blocks);
+            }
+        }
+
+        return result;
+    }
+
+    private List<Word<I>> computeStateCharacterizingSet(int state) {
+        final List<Word<I>> result = new ArrayList<>();
+        final int cls = classForState[state];
+
+        int[] remaining = new int[representatives.length - 1];
+        int numRemaining = 0;
+        for (int rep : representatives) {
+            if (classForState[rep] != cls) {
+                remaining[numRemaining++] = rep;
+            }
+        }
+
+        while (numRemaining > 0) {
+            final int[] suffix = separatingSymbols(state, remaining[0]);
+            assert suffix != null;
+            result.add(Word.fromIndices(alphabet, suffix));
+
+            final List<?> trace = buildTrace(state, suffix);
+            int next = 0;
+            for (int i = 1; i < numRemaining; i++) {
+                if (trace.equals(buildTrace(remaining[i], suffix))) {
+                    remaining[next++] = remaining[i];
+                }
+            }
+            numRemaining = next;
+        }
+
+        return result;
+    }
+
+    private void cluster(int[] block, int[] suffix, Queue<int[]> blocks) {
+        if (block.length <= 1) {
+            return;
+        }
+
+        final Map<List<?>, int[]> buckets = new LinkedHashMap<>();
+        final List<?>[] traces = new List<?>[block.length];
+
+        for (int i = 0; i < block.length; i++) {
+            final List<?> trace = buildTrace(block[i], suffix);
+            traces[i] = trace;
+            buckets.computeIfAbsent(trace, k -> new int[1])[0]++;
+        }
+
+        if (buckets.size() == 1) {
+            blocks.add(block);
+            return;
+        }
+
+        for (Map.Entry<List<?>, int[]> e : buckets.entrySet()) {
+            final int[] bucket = e.getValue();
+            e.setValue(new int[bucket[0] + 1]); // last cell is the fill pointer
+        }
+
+        for (int i = 0; i < block.length; i++) {
+            final int[] bucket = buckets.get(traces[i]);
+            final int ptr = bucket.length - 1;
+            bucket[bucket[ptr]++] = block[i];
+        }
+
+        for (int[] bucket : buckets.values()) {
+            blocks.add(Arrays.copyOf(bucket, bucket.length - 1));
+        }
+    }
+
+    private int @Nullable [] separatingSymbols(int s1, int s2) {
+        if (classForState[s1] == classForState[s2]) {
+            return null;
+        }
+
+        int[] buffer = new int[Math.min(history.getDepth(leafForState[s1]), history.getDepth(leafForState[s2])) + 1];
+        int length = 0;
+        int curr1 = s1, curr2 = s2;
+
+        while (curr1 != sink && curr2 != sink) {
+            final int lca = history.getLowestCommonAncestor(leafForState[curr1], leafForState[curr2]);
+
+            final int symbol;
+            if (lca == SplitHistory.ROOT) {
+                // separated by the initial partition
+                symbol = separatingSymbol(curr1, curr2);
+            } else {
+                symbol = history.getSplitSymbol(lca);
+            }
+
+            if (symbol < 0) {
+                break;
+            }
+
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * length);
+            }
+            buffer[length++] = symbol;
+
+            if (lca == SplitHistory.ROOT) {
+                break;
+            }
+
+            curr1 = successors[curr1 * numInputs + symbol];
+            curr2 = successors[curr2 * numInputs + symbol];
+        }
+
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private int separatingSymbol(int s1, int s2) {
+        if (!Objects.equals(automaton.getStateProperty(s1), automaton.getStateProperty(s2))) {
+            return -1;
+        }
+
+        for (int i = 0; i < numInputs; i++) {
+            if (!Objects.equals(automaton.getTransitionProperty(s1, i), automaton.getTransitionProperty(s2, i))) {
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("States of different initial blocks must have different signatures");
+    }
+
+    private List<?> buildTrace(int state, int[] suffix) {
+        if (suffix.length == 0) {
+            return Collections.singletonList(automaton.getStateProperty(state));
+        }
+
+        final List<@Nullable Object> trace = new ArrayList<>(2 * suffix.length);
+        int curr = state;
+
+        for (int sym : suffix) {
+            final int succ = successors[curr * numInputs + sym];
+
+            if (succ == sink) {
+                trace.add(UNDEFINED);
+                return acceptor ? trace.subList(trace.size() - 1, trace.size()) : trace;
+            }
+
+            trace.add(automaton.getTransitionProperty(curr, sym));
+            curr = succ;
+            trace.add(automaton.getStateProperty(curr));
+        }
+
+        // acceptors are evaluated on the reached state, therefore no prefixes discriminate
+        return acceptor ? trace.subList(trace.size() - 2, trace.size()) : trace;
+    }
+
+    private final class CompletedAbstraction implements SimpleDeterministicAutomaton.FullIntAbstraction {
+
+        private final int size;
+
+        CompletedAbstraction(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getSuccessor(int state, int input) {
+            return successors[state * numInputs + input];
+        }
+
+        @Override
+        public int numInputs() {
+            return numInputs;
+        }
+
+        @Override
+        public int getIntInitialState() {
+            return automaton.getIntInitialState();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,554 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A precomputed structure for retrieving minimal (i.e., shortest) separating words for all pairs of states of a
+ * deterministic automaton.
+ * <p>
+ * The structure is a splitting tree in the style of Smetsers, Moerman and Jansen ("Minimal Separating Sequences for
+ * All Pairs of States", LATA 2016): its leaves correspond to the equivalence classes of the automaton, and each inner
+ * node is labeled with a word that separates all pairs of states located in different children. The tree is
+ * constructed layer by layer, such that after processing layer {@code k} no two states of the same leaf can be
+ * separated by a word of length at most {@code k}. Consequently, the label of the lowest common ancestor of two states
+ * is a shortest separating word for these states.
+ * <p>
+ * Labels are not stored as {@link Word}s. Instead, every inner node stores the index of the first symbol of its label
+ * and a reference to the node whose label forms the remaining suffix. Hence, the tree requires {@code O(n)} space and a
+ * separating word for a pair of states is retrieved in time linear in the depth of the tree and the length of the
+ * word.
+ * <p>
+ * States are referenced by the IDs of the {@link UniversalDeterministicAutomaton#fullIntAbstraction(Alphabet) full
+ * integer abstraction} of the automaton (i.e., the state IDs for compact automata). As in {@link
+ * CharacterizingSets}, a word separates two states if it exposes differing state or transition properties, or a
+ * transition that is undefined in only one of the two paths.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public final class SeparatingWordTree<I> {
+
+    private final Alphabet<I> alphabet;
+
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] symbol;
+    private final int[] suffix;
+    private final int[] wordLength;
+    private final int[] leafForState;
+    private final int numClasses;
+
+    private SeparatingWordTree(Alphabet<I> alphabet, Builder builder) {
+        this.alphabet = alphabet;
+
+        final int numNodes = builder.numNodes;
+        this.parent = Arrays.copyOf(builder.parent, numNodes);
+        this.depth = Arrays.copyOf(builder.depth, numNodes);
+        this.symbol = Arrays.copyOf(builder.symbol, numNodes);
+        this.suffix = Arrays.copyOf(builder.suffix, numNodes);
+        this.wordLength = Arrays.copyOf(builder.wordLength, numNodes);
+        this.leafForState = Arrays.copyOf(builder.leafForState, builder.sink);
+        this.numClasses = builder.numClasses();
+    }
+
+    /**
+     * Constructs the splitting tree for the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the splitting tree of the automaton
+     */
+    public static <I> SeparatingWordTree<I> compute(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                    Alphabet<I> inputs) {
+        final Builder builder = new Builder(automaton.fullIntAbstraction(inputs), inputs.size());
+        builder.build();
+        return new SeparatingWordTree<>(inputs, builder);
+    }
+
+    /**
+     * Checks whether the two given states are equivalent, i.e., cannot be separated by any word.
+     *
+     * @param s1
+     *         the first state (ID)
+     * @param s2
+     *         the second state (ID)
+     *
+     * @return {@code true} if the states are equivalent, {@code false} otherwise
+     */
+    public boolean isEquivalent(int s1, int s2) {
+        return leafForState[s1] == leafForState[s2];
+    }
+
+    /**
+     * Returns the length of a shortest word separating the two given states.
+     *
+     * @param s1
+     *         the first state (ID)
+     * @param s2
+     *         the second state (ID)
+     *
+     * @return the length of a shortest separating word, or {@code -1} if the states are equivalent
+     */
+    public int getSeparatingWordLength(int s1, int s2) {
+        if (isEquivalent(s1, s2)) {
+            return -1;
+        }
+        return wordLength[lowestCommonAncestor(leafForState[s1], leafForState[s2])];
+    }
+
+    /**
+     * Returns a shortest word separating the two given states.
+     *
+     * @param s1
+     *         the first state (ID)
+     * @param s2
+     *         the second state (ID)
+     *
+     * @return a shortest separating word, or {@code null} if the states are equivalent
+     */
+    public @Nullable Word<I> findSeparatingWord(int s1, int s2) {
+        if (isEquivalent(s1, s2)) {
+            return null;
+        }
+
+        int node = lowestCommonAncestor(leafForState[s1], leafForState[s2]);
+        final int[] word = new int[wordLength[node]];
+
+        for (int i = 0; i < word.length; i++) {
+            word[i] = symbol[node];
+            node = suffix[node];
+        }
+
+        return Word.fromIndices(alphabet, word);
+    }
+
+    /**
+     * Returns the number of equivalence classes of the automaton, i.e., the number of leaves of the tree.
+     *
+     * @return the number of equivalence classes
+     */
+    public int getNumClasses() {
+        return numClasses;
+    }
+
+    private int lowestCommonAncestor(int n1, int n2) {
+        return lowestCommonAncestor(n1, n2, parent, depth);
+    }
+
+    private static int lowestCommonAncestor(int n1, int n2, int[] parent, int[] depth) {
+        int a = n1, b = n2;
+
+        while (depth[a] > depth[b]) {
+            a = parent[a];
+        }
+        while (depth[b] > depth[a]) {
+            b = parent[b];
+        }
+        while (a != b) {
+            a = parent[a];
+            b = parent[b];
+        }
+
+        return a;
+    }
+
+    /**
+     * The (mutable) state of the tree construction. The states of every node occupy a contiguous range of {@link
+     * #elems}, and the children of a node are allocated consecutively with ascending ranges.
+     */
+    private static final class Builder {
+
+        private static final Object SINK_PROPERTY = new Object();
+        private static final int ROOT = 0;
+
+        private final UniversalDeterministicAutomaton.FullIntAbstraction<?, ?, ?> automaton;
+        private final int numInputs;
+        private final int numStates;
+        private final int sink;
+        private final int[] successors;
+
+        private final int[] elems;
+        private final int[] pos;
+        private final int[] leafForState;
+        private final int[] propertyClass;
+
+        private int[] parent;
+        private int[] depth;
+        private int[] low;
+        private int[] high;
+        private int[] firstChild;
+        private int[] numChildren;
+        private int[] symbol;
+        private int[] suffix;
+        private int[] wordLength;
+        private int numNodes;
+
+        // scratch buffers
+        private final int[] keys;
+        private final int[] buffer;
+        private int[] remap;
+
+        Builder(UniversalDeterministicAutomaton.FullIntAbstraction<?, ?, ?> automaton, int numInputs) {
+            this.automaton = automaton;
+            this.numInputs = numInputs;
+
+            final int size = automaton.size();
+            this.sink = size;
+
+            final int[] succs = new int[(size + 1) * numInputs];
+            boolean partial = false;
+
+            for (int s = 0; s < size; s++) {
+                final int base = s * numInputs;
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = automaton.getSuccessor(s, i);
+                    if (succ < 0) {
+                        succs[base + i] = sink;
+                        partial = true;
+                    } else {
+                        succs[base + i] = succ;
+                    }
+                }
+            }
+
+            if (partial) {
+                Arrays.fill(succs, sink * numInputs, succs.length, sink);
+            }
+
+            this.successors = succs;
+            this.numStates = partial ? size + 1 : size;
+
+            this.elems = new int[numStates];
+            this.pos = new int[numStates];
+            this.leafForState = new int[numStates];
+            this.propertyClass = new int[numStates];
+            for (int i = 0; i < numStates; i++) {
+                elems[i] = i;
+                pos[i] = i;
+            }
+
+            final int capacity = 2 * numStates + 1;
+            this.parent = new int[capacity];
+            this.depth = new int[capacity];
+            this.low = new int[capacity];
+            this.high = new int[capacity];
+            this.firstChild = new int[capacity];
+            this.numChildren = new int[capacity];
+            this.symbol = new int[capacity];
+            this.suffix = new int[capacity];
+            this.wordLength = new int[capacity];
+
+            this.keys = new int[numStates];
+            this.buffer = new int[numStates];
+            this.remap = new int[0];
+
+            createNode(-1, 0, numStates);
+        }
+
+        void build() {
+            if (numStates == 0) {
+                return;
+            }
+
+            // layer 0: separate states by their state properties
+            final Map<@Nullable Object, Integer> ids = new HashMap<>();
+            for (int i = 0; i < numStates; i++) {
+                final int state = elems[i];
+                final Object prop = state == sink ? SINK_PROPERTY : automaton.getStateProperty(state);
+                final int cls = ids.computeIfAbsent(prop, k -> ids.size());
+                keys[i] = cls;
+                propertyClass[state] = cls;
+            }
+            split(ROOT, ids.size(), -1, -1, 0);
+
+            // layer 1: separate states by single symbols
+            final IntStack worklist = new IntStack();
+            IntStack splitNodes = new IntStack();
+
+            for (int n = 0; n < numNodes; n++) {
+                if (isLeaf(n) && high[n] - low[n] > 1) {
+                    worklist.push(n);
+                }
+            }
+
+            process(worklist, splitNodes, 1);
+
+            // layer k: separate states via the nodes split in layer k - 1
+            final int[] predOfs = new int[numStates + 1];
+            final int[] preds = computePredecessors(predOfs);
+            final int[] stamp = new int[numStates];
+
+            int layer = 1;
+            while (!splitNodes.isEmpty()) {
+                layer++;
+
+                while (!splitNodes.isEmpty()) {
+                    final int node = splitNodes.pop();
+                    for (int i = low[node]; i < high[node]; i++) {
+                        final int state = elems[i];
+                        for (int j = predOfs[state]; j < predOfs[state + 1]; j++) {
+                            final int pred = preds[j];
+                            final int leaf = leafForState[pred];
+                            if (stamp[pred] != layer && high[leaf] - low[leaf] > 1) {
+                                // mark all states of the leaf at once to avoid duplicate entries
+                                for (int k = low[leaf]; k < high[leaf]; k++) {
+                                    stamp[elems[k]] = layer;
+                                }
+                                worklist.push(leaf);
+                            }
+                        }
+                    }
+                }
+
+                splitNodes = new IntStack();
+                process(worklist, splitNodes, layer);
+            }
+        }
+
+        private void process(IntStack worklist, IntStack splitNodes, int layer) {
+            while (!worklist.isEmpty()) {
+                final int node = worklist.pop();
+
+                if (!isLeaf(node) || high[node] - low[node] <= 1) {
+                    continue;
+                }
+
+                for (int i = 0; i < numInputs; i++) {
+                    final boolean split = layer == 1 ? splitBySymbol(node, i) : splitBySuccessors(node, i, layer);
+
+                    if (split) {
+                        splitNodes.push(node);
+                        final int first = firstChild[node];
+                        for (int c = first; c < first + numChildren[node]; c++) {
+                            if (high[c] - low[c] > 1) {
+                                worklist.push(c);
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        private boolean splitBySymbol(int node, int input) {
+            final Map<List<@Nullable Object>, Integer> ids = new HashMap<>();
+
+            for (int i = low[node]; i < high[node]; i++) {
+                final int state = elems[i];
+                final int succ = successors[state * numInputs + input];
+                final Object prop = state == sink ? null : automaton.getTransitionProperty(state, input);
+                final List<@Nullable Object> key = Arrays.asList(prop, propertyClass[succ]);
+
+                keys[i - low[node]] = ids.computeIfAbsent(key, k -> ids.size());
+            }
+
+            return split(node, ids.size(), input, -1, 1);
+        }
+
+        private boolean splitBySuccessors(int node, int input, int layer) {
+            int minPos = Integer.MAX_VALUE, maxPos = -1;
+
+            for (int i = low[node]; i < high[node]; i++) {
+                final int p = pos[successors[elems[i] * numInputs + input]];
+                minPos = Math.min(minPos, p);
+                maxPos = Math.max(maxPos, p);
+            }
+
+            final int lca = lowestCommonAncestor(leafForState[elems[minPos]],
+                                                 leafForState[elems[maxPos]],
+                                                 parent,
+                                                 depth);
+
+            if (isLeaf(lca) || wordLength[lca] != layer - 1) {
+                return false;
+            }
+
+            if (remap.length < numChildren[lca]) {
+                remap = new int[numChildren[lca]];
+            }
+            Arrays.fill(remap, 0, numChildren[lca], -1);
+
+            int numKeys = 0;
+            for (int i = low[node]; i < high[node]; i++) {
+                final int c = childIndex(lca, successors[elems[i] * numInputs + input]);
+                if (remap[c] < 0) {
+                    remap[c] = numKeys++;
+                }
+                keys[i - low[node]] = remap[c];
+            }
+
+            return split(node, numKeys, input, lca, layer);
+        }
+
+        private int childIndex(int node, int state) {
+            final int p = pos[state];
+            int lo = firstChild[node], hi = lo + numChildren[node] - 1;
+
+            while (lo < hi) {
+                final int mid = (lo + hi + 1) >>> 1;
+                if (low[mid] <= p) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+
+            return lo - firstChild[node];
+        }
+
+        /*
+         * Splits the given leaf according to the keys (stored relative to the leaf's range) of its states.
+         */
+        private boolean split(int node, int numKeys, int sym, int suffixNode, int length) {
+            if (numKeys <= 1) {
+                return false;
+            }
+
+            final int lo = low[node], hi = high[node], size = hi - lo;
+            final int[] offsets = new int[numKeys + 1];
+
+            for (int i = 0; i < size; i++) {
+                offsets[keys[i] + 1]++;
+            }
+            for (int k = 0; k < numKeys; k++) {
+                offsets[k + 1] += offsets[k];
+            }
+
+            final int first = numNodes;
+            for (int k = 0; k < numKeys; k++) {
+                createNode(node, lo + offsets[k], lo + offsets[k + 1]);
+            }
+
+            System.arraycopy(elems, lo, buffer, 0, size);
+            for (int i = 0; i < size; i++) {
+                final int state = buffer[i];
+                final int key = keys[i];
+                final int p = lo + offsets[key]++;
+                elems[p] = state;
+                pos[state] = p;
+                leafForState[state] = first + key;
+            }
+
+            firstChild[node] = first;
+            numChildren[node] = numKeys;
+            symbol[node] = sym;
+            suffix[node] = suffixNode;
+            wordLength[node] = length;
+
+            return true;
+        }
+
+        private void createNode(int parentNode, int lo, int hi) {
+            if (numNodes == parent.length) {
+                final int newCapacity = 2 * numNodes;
+                parent = Arrays.copyOf(parent, newCapacity);
+                depth = Arrays.copyOf(depth, newCapacity);
+                low = Arrays.copyOf(low, newCapacity);
+                high = Arrays.copyOf(high, newCapacity);
+                firstChild = Arrays.copyOf(firstChild, newCapacity);
+                numChildren = Arrays.copyOf(numChildren, newCapacity);
+                symbol = Arrays.copyOf(symbol, newCapacity);
+                suffix = Arrays.copyOf(suffix, newCapacity);
+                wordLength = Arrays.copyOf(wordLength, newCapacity);
+            }
+
+            final int node = numNodes++;
+            parent[node] = parentNode;
+            depth[node] = parentNode < 0 ? 0 : depth[parentNode] + 1;
+            low[node] = lo;
+            high[node] = hi;
+            symbol[node] = -1;
+            suffix[node] = -1;
+            wordLength[node] = -1;
+        }
+
+        int numClasses() {
+            if (numStates == 0) {
+                return 0;
+            }
+
+            int leaves = 0;
+            for (int n = 0; n < numNodes; n++) {
+                if (isLeaf(n)) {
+                    leaves++;
+                }
+            }
+
+            // the artificial sink (if any) is always located in a leaf of its own
+            return numStates > sink ? leaves - 1 : leaves;
+        }
+
+        private boolean isLeaf(int node) {
+            return wordLength[node] < 0;
+        }
+
+        private int[] computePredecessors(int[] predOfs) {
+            final int numTransitions = numStates * numInputs;
+
+            for (int i = 0; i < numTransitions; i++) {
+                predOfs[successors[i] + 1]++;
+            }
+            for (int s = 0; s < numStates; s++) {
+                predOfs[s + 1] += predOfs[s];
+            }
+
+            final int[] preds = new int[numTransitions];
+            final int[] fill = Arrays.copyOf(predOfs, numStates);
+
+            for (int i = 0; i < numTransitions; i++) {
+                preds[fill[successors[i]]++] = i / numInputs;
+            }
+
+            return preds;
+        }
+    }
+
+    private static final class IntStack {
+
+        private int[] data = new int[16];
+        private int size;
+
+        void push(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
+        }
+
+        int pop() {
+            return data[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
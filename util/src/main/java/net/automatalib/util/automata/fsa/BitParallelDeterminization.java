@@ -0,0 +1,391 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CSRNFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A subset construction for {@link NFA}s that represents subsets of NFA states as packed {@code long[]} bit vectors.
+ * <p>
+ * The successors of each (NFA state, input symbol) pair are pre-computed once. For small NFAs they are stored as dense
+ * bit vectors, so that the successor subset of a DFA state can be computed by word-wise ORing the respective rows. For
+ * larger NFAs (where the dense representation would be too memory consuming) they are stored as sparse adjacency lists
+ * whose entries are set in the scratch bit vector. Discovered subsets are stored consecutively in a single {@code
+ * long[]} pool and interned via a hash table that is keyed by a 64-bit fingerprint of the subset. The scratch buffers
+ * are re-used across all iterations, so that no objects are allocated for already discovered subsets.
+ * <p>
+ * If the given NFA is a {@link CSRNFA} (over the same alphabet), the successor relation is directly copied from its
+ * {@code int}-based API, i.e., without boxing any states.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+final class BitParallelDeterminization<I> {
+
+    /**
+     * The maximum number of {@code long}s used for the dense representation of the successor relation.
+     */
+    private static final long DENSE_LIMIT = 1L << 22;
+
+    /**
+     * The maximum length of (Java) arrays that is supported by common JVMs.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * The maximum length of the (power of two sized) intern table.
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private static final int EMPTY_SLOT = -1;
+
+    private final int numInputs;
+    private final int words;
+    private final int maxSubsets;
+    private final boolean partial;
+
+    // successor relation, either dense or sparse
+    private final boolean dense;
+    private final long[] denseSuccessors;
+    private final int[] sparseOffsets;
+    private final int[] sparseTargets;
+
+    private final long[] acceptingMask;
+
+    // subset pool
+    private long[] subsets;
+    private long[] fingerprints;
+    private int numSubsets;
+
+    // intern table
+    private int[] table;
+    private int tableShift;
+
+    // scratch buffers
+    private final long[] scratch;
+    private final int[] members;
+
+    private final CompactDFA<I> result;
+
+    private <S> BitParallelDeterminization(NFA<S, I> nfa, Alphabet<I> alphabet, boolean partial) {
+        final int numStates = nfa.size();
+        final StateIDs<S> stateIds = nfa.stateIDs();
+        final CSRNFA<?> csr =
+                nfa instanceof CSRNFA && hasMatchingLayout((CSRNFA<?>) nfa, alphabet) ? (CSRNFA<?>) nfa : null;
+
+        this.numInputs = alphabet.size();
+        this.words = Math.max(1, (numStates + Long.SIZE - 1) / Long.SIZE);
+        // the subsets need to fit into a single array and the intern table must not exceed a load factor of 1/2
+        this.maxSubsets = Math.min(MAX_ARRAY_SIZE / words, MAX_TABLE_SIZE / 2);
+        this.partial = partial;
+
+        this.acceptingMask = new long[words];
+        for (S s : nfa) {
+            if (nfa.isAccepting(s)) {
+                final int id = stateIds.getStateId(s);
+                acceptingMask[id >>> 6] |= 1L << id;
+            }
+        }
+
+        if ((long) numStates * numInputs >= MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("The NFA has too many states (" + numStates + ") and inputs (" +
+                                               numInputs + ") for the subset construction");
+        }
+
+        // since the dense representation is bounded by DENSE_LIMIT, its (int-based) indices cannot overflow
+        this.dense = (long) numStates * numInputs * words <= DENSE_LIMIT;
+
+        if (dense) {
+            this.denseSuccessors = new long[numStates * numInputs * words];
+            this.sparseOffsets = new int[0];
+            this.sparseTargets = new int[0];
+
+            if (csr != null) {
+                for (int id = 0; id < numStates; id++) {
+                    for (int i = 0; i < numInputs; i++) {
+                        final int base = (id * numInputs + i) * words;
+                        final int high = csr.getSuccessorsHigh(id, i);
+                        for (int t = csr.getSuccessorsLow(id, i); t < high; t++) {
+                            final int succId = csr.getTarget(t);
+                            denseSuccessors[base + (succId >>> 6)] |= 1L << succId;
+                        }
+                    }
+                }
+            } else {
+                for (S s : nfa) {
+                    final int id = stateIds.getStateId(s);
+                    for (int i = 0; i < numInputs; i++) {
+                        final int base = (id * numInputs + i) * words;
+                        for (S succ : nfa.getSuccessors(s, alphabet.getSymbol(i))) {
+                            final int succId = stateIds.getStateId(succ);
+                            denseSuccessors[base + (succId >>> 6)] |= 1L << succId;
+                        }
+                    }
+                }
+            }
+        } else if (csr != null) {
+            // the CSR layout coincides with the sparse representation
+            this.denseSuccessors = new long[0];
+            this.sparseOffsets = new int[numStates * numInputs + 1];
+            this.sparseTargets = new int[csr.getNumTransitions()];
+
+            for (int id = 0; id < numStates; id++) {
+                for (int i = 0; i < numInputs; i++) {
+                    sparseOffsets[id * numInputs + i + 1] = csr.getSuccessorsHigh(id, i);
+                }
+            }
+            for (int t = 0; t < sparseTargets.length; t++) {
+                sparseTargets[t] = csr.getTarget(t);
+            }
+        } else {
+            this.denseSuccessors = new long[0];
+            this.sparseOffsets = new int[numStates * numInputs + 1];
+
+            int[] targets = new int[numStates * numInputs];
+            int numTargets = 0;
+
+            // collect the targets in state-id order, so that offsets can be computed in a single pass
+            for (int id = 0; id < numStates; id++) {
+                final S s = stateIds.getState(id);
+                for (int i = 0; i < numInputs; i++) {
+                    for (S succ : nfa.getSuccessors(s, alphabet.getSymbol(i))) {
+                        if (numTargets == targets.length) {
+                            if (numTargets == MAX_ARRAY_SIZE) {
+                                throw new IllegalArgumentException("The NFA has too many transitions for the " +
+                                                                   "subset construction");
+                            }
+                            targets = Arrays.copyOf(targets, grow(numTargets, MAX_ARRAY_SIZE));
+                        }
+                        targets[numTargets++] = stateIds.getStateId(succ);
+                    }
+                    sparseOffsets[id * numInputs + i + 1] = numTargets;
+                }
+            }
+
+            this.sparseTargets = targets;
+        }
+
+        this.subsets = new long[words * 16];
+        this.fingerprints = new long[16];
+        this.table = new int[32];
+        this.tableShift = Long.SIZE - 5;
+        Arrays.fill(this.table, EMPTY_SLOT);
+
+        this.scratch = new long[words];
+        this.members = new int[numStates];
+
+        this.result = new CompactDFA<>(alphabet, Math.max(numStates, 1));
+
+        // initial subset
+        for (S init : nfa.getInitialStates()) {
+            final int id = stateIds.getStateId(init);
+            scratch[id >>> 6] |= 1L << id;
+        }
+    }
+
+    static <I> CompactDFA<I> determinize(NFA<?, I> nfa, Alphabet<I> alphabet, boolean partial) {
+        final BitParallelDeterminization<I> determinization = new BitParallelDeterminization<>(nfa, alphabet, partial);
+        determinization.run();
+        return determinization.result;
+    }
+
+    private static boolean hasMatchingLayout(CSRNFA<?> nfa, Alphabet<?> alphabet) {
+        final Alphabet<?> csrAlphabet = nfa.getInputAlphabet();
+
+        if (csrAlphabet == alphabet) {
+            return true;
+        } else if (csrAlphabet.size() != alphabet.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < alphabet.size(); i++) {
+            if (!Objects.equals(csrAlphabet.getSymbol(i), alphabet.getSymbol(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void run() {
+        final int init = intern();
+        result.setInitial(init, true);
+
+        for (int current = 0; current < numSubsets; current++) {
+            final int numMembers = collectMembers(current);
+
+            for (int i = 0; i < numInputs; i++) {
+                Arrays.fill(scratch, 0L);
+
+                if (dense) {
+                    for (int m = 0; m < numMembers; m++) {
+                        final int base = (members[m] * numInputs + i) * words;
+                        for (int w = 0; w < words; w++) {
+                            scratch[w] |= denseSuccessors[base + w];
+                        }
+                    }
+                } else {
+                    for (int m = 0; m < numMembers; m++) {
+                        final int row = members[m] * numInputs + i;
+                        for (int t = sparseOffsets[row]; t < sparseOffsets[row + 1]; t++) {
+                            final int target = sparseTargets[t];
+                            scratch[target >>> 6] |= 1L << target;
+                        }
+                    }
+                }
+
+                if (partial && isScratchEmpty()) {
+                    continue;
+                }
+
+                result.setTransition(current, i, intern());
+            }
+        }
+    }
+
+    private int collectMembers(int subset) {
+        final int base = subset * words;
+        int numMembers = 0;
+
+        for (int w = 0; w < words; w++) {
+            long bits = subsets[base + w];
+            while (bits != 0) {
+                members[numMembers++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+
+        return numMembers;
+    }
+
+    private boolean isScratchEmpty() {
+        for (long w : scratch) {
+            if (w != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the id of the subset currently stored in the scratch buffer, creating a new DFA state if the subset has
+     * not been discovered before.
+     */
+    private int intern() {
+        final long fingerprint = fingerprint(scratch);
+        final int mask = table.length - 1;
+
+        int idx = (int) (fingerprint >>> tableShift);
+        int candidate;
+
+        while ((candidate = table[idx]) != EMPTY_SLOT) {
+            if (fingerprints[candidate] == fingerprint && equalsScratch(candidate)) {
+                return candidate;
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        final int id = numSubsets++;
+
+        if (id == fingerprints.length) {
+            if (id == maxSubsets) {
+                throw new IllegalStateException("The subset construction exceeds the maximum number of " + maxSubsets +
+                                                " states for NFAs with " + words * Long.SIZE + " states or less");
+            }
+            final int capacity = grow(id, maxSubsets);
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            subsets = Arrays.copyOf(subsets, capacity * words);
+        }
+
+        System.arraycopy(scratch, 0, subsets, id * words, words);
+        fingerprints[id] = fingerprint;
+        table[idx] = id;
+
+        result.addIntState(isScratchAccepting());
+
+        if (numSubsets * 2 > table.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    /**
+     * Returns the doubled (but at most {@code limit}) capacity of a buffer. The computation is done on {@code long}s in
+     * order to prevent overflows.
+     */
+    private static int grow(int capacity, int limit) {
+        return (int) Math.min(2L * capacity + 1, limit);
+    }
+
+    private boolean equalsScratch(int subset) {
+        final int base = subset * words;
+        for (int w = 0; w < words; w++) {
+            if (subsets[base + w] != scratch[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isScratchAccepting() {
+        for (int w = 0; w < words; w++) {
+            if ((scratch[w] & acceptingMask[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rehash() {
+        final int newLength = table.length * 2;
+        final int mask = newLength - 1;
+
+        table = new int[newLength];
+        tableShift--;
+        Arrays.fill(table, EMPTY_SLOT);
+
+        for (int id = 0; id < numSubsets; id++) {
+            int idx = (int) (fingerprints[id] >>> tableShift);
+            while (table[idx] != EMPTY_SLOT) {
+                idx = (idx + 1) & mask;
+            }
+            table[idx] = id;
+        }
+    }
+
+    private static long fingerprint(long[] bits) {
+        long h = 0;
+        for (long w : bits) {
+            h = (h ^ w) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 32;
+        }
+        // final avalanche step (from MurmurHash3's fmix64)
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -51,6 +51,11 @@ public final class DFAs {
      * Most general way of combining two DFAs. The behavior is the same as of the above {@link #combine(DFA, DFA,
      * Collection, MutableDFA, AcceptanceCombiner)}, but the result automaton is automatically created as a {@link
      * CompactDFA}.
+     * <p>
+     * Since the result type is known, this method uses an integer-based product construction that operates on the
+     * {@link net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction integer abstractions} of the
+     * given DFAs and does not allocate intermediate product state objects. This is especially efficient if both DFAs
+     * are {@link CompactDFA}s.
      *
      * @param dfa1
      *         the first DFA
@@ -67,7 +72,7 @@ public final class DFAs {
                                             DFA<?, I> dfa2,
                                             Alphabet<I> inputAlphabet,
                                             AcceptanceCombiner combiner) {
-        return combine(dfa1, dfa2, inputAlphabet, new CompactDFA<>(inputAlphabet), combiner);
+        return IntProductConstruction.combine(dfa1, dfa2, inputAlphabet, combiner);
     }
 
     /**
@@ -111,7 +116,7 @@ public final class DFAs {
      * @return a new DFA representing the conjunction of the specified DFA
      */
     public static <I> CompactDFA<I> and(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> inputAlphabet) {
-        return and(dfa1, dfa2, inputAlphabet, new CompactDFA<>(inputAlphabet));
+        return combine(dfa1, dfa2, inputAlphabet, AcceptanceCombiner.AND);
     }
 
     /**
@@ -148,7 +153,7 @@ public final class DFAs {
      * @return a new DFA representing the conjunction of the specified DFA
      */
     public static <I> CompactDFA<I> or(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> inputAlphabet) {
-        return or(dfa1, dfa2, inputAlphabet, new CompactDFA<>(inputAlphabet));
+        return combine(dfa1, dfa2, inputAlphabet, AcceptanceCombiner.OR);
     }
 
     /**
@@ -185,7 +190,7 @@ public final class DFAs {
      * @return a new DFA representing the conjunction of the specified DFA
      */
     public static <I> CompactDFA<I> xor(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> inputAlphabet) {
-        return xor(dfa1, dfa2, inputAlphabet, new CompactDFA<>(inputAlphabet));
+        return combine(dfa1, dfa2, inputAlphabet, AcceptanceCombiner.XOR);
     }
 
     /**
@@ -222,7 +227,7 @@ public final class DFAs {
      * @return a new DFA representing the conjunction of the specified DFA
      */
     public static <I> CompactDFA<I> equiv(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> inputAlphabet) {
-        return equiv(dfa1, dfa2, inputAlphabet, new CompactDFA<>(inputAlphabet));
+        return combine(dfa1, dfa2, inputAlphabet, AcceptanceCombiner.EQUIV);
     }
 
     /**
@@ -259,7 +264,7 @@ public final class DFAs {
      * @return a new DFA representing the conjunction of the specified DFA
      */
     public static <I> CompactDFA<I> impl(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> inputAlphabet) {
-        return impl(dfa1, dfa2, inputAlphabet, new CompactDFA<>(inputAlphabet));
+        return combine(dfa1, dfa2, inputAlphabet, AcceptanceCombiner.IMPL);
     }
 
     /**
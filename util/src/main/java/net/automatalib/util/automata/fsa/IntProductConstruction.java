@@ -0,0 +1,130 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.WrapperUtil;
+import net.automatalib.commons.util.collections.LongIntHashMap;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.words.Alphabet;
+
+/**
+ * An integer-based implementation of the product construction of two DFAs. Instead of representing product states as
+ * {@link net.automatalib.commons.util.Pair pairs} of states, product states are encoded as {@code s1 * n2 + s2} in a
+ * {@code long} (where {@code n2} is the size of the second DFA) and mapped to the states of the resulting {@link
+ * CompactDFA} via a primitive hash table. The states of the two DFAs are accessed via their {@link FullIntAbstraction}s,
+ * so no objects are allocated per explored transition.
+ * <p>
+ * The semantics are identical to copying the composed view of {@link net.automatalib.util.ts.acceptors.Acceptors}, i.e.
+ * a product transition is only defined if it is defined in both DFAs. The states of the result are numbered in
+ * breadth-first order.
+ */
+final class IntProductConstruction {
+
+    private IntProductConstruction() {
+        // prevent instantiation
+    }
+
+    static <I> CompactDFA<I> combine(DFA<?, I> dfa1,
+                                     DFA<?, I> dfa2,
+                                     Alphabet<I> inputAlphabet,
+                                     AcceptanceCombiner combiner) {
+        return combine(dfa1.fullIntAbstraction(inputAlphabet),
+                       dfa2.fullIntAbstraction(inputAlphabet),
+                       inputAlphabet,
+                       combiner);
+    }
+
+    private static <I> CompactDFA<I> combine(FullIntAbstraction<?, Boolean, ?> abs1,
+                                             FullIntAbstraction<?, Boolean, ?> abs2,
+                                             Alphabet<I> inputAlphabet,
+                                             AcceptanceCombiner combiner) {
+
+        final int numInputs = inputAlphabet.size();
+        final long n2 = abs2.size();
+        final int init1 = abs1.getIntInitialState();
+        final int init2 = abs2.getIntInitialState();
+
+        final CompactDFA<I> result = new CompactDFA<>(inputAlphabet, Math.max(abs1.size(), abs2.size()));
+
+        if (init1 == FullIntAbstraction.INVALID_STATE || init2 == FullIntAbstraction.INVALID_STATE) {
+            // the product has no transitions, only the (partially undefined) initial state
+            final boolean acc1 = init1 != FullIntAbstraction.INVALID_STATE && isAccepting(abs1, init1);
+            final boolean acc2 = init2 != FullIntAbstraction.INVALID_STATE && isAccepting(abs2, init2);
+            result.addIntInitialState(combiner.combine(acc1, acc2));
+            return result;
+        }
+
+        final LongIntHashMap stateMap = new LongIntHashMap(Math.max(abs1.size(), abs2.size()));
+
+        // the components of the product states, indexed by the id of the result state. Since result states are created
+        // in the order of their discovery, iterating over these arrays yields a breadth-first traversal.
+        int[] components1 = new int[Math.max(abs1.size(), 1)];
+        int[] components2 = new int[components1.length];
+
+        stateMap.put(init1 * n2 + init2, 0);
+        components1[0] = init1;
+        components2[0] = init2;
+        result.addIntInitialState(combiner.combine(isAccepting(abs1, init1), isAccepting(abs2, init2)));
+
+        int numStates = 1;
+
+        for (int current = 0; current < numStates; current++) {
+            final int s1 = components1[current];
+            final int s2 = components2[current];
+
+            for (int i = 0; i < numInputs; i++) {
+                final int succ1 = abs1.getSuccessor(s1, i);
+                if (succ1 == FullIntAbstraction.INVALID_STATE) {
+                    continue;
+                }
+                final int succ2 = abs2.getSuccessor(s2, i);
+                if (succ2 == FullIntAbstraction.INVALID_STATE) {
+                    continue;
+                }
+
+                final long key = succ1 * n2 + succ2;
+                int succ = stateMap.putIfAbsent(key, numStates);
+
+                if (succ == LongIntHashMap.MISSING) {
+                    succ = numStates++;
+
+                    if (succ == components1.length) {
+                        final int newLength = components1.length + (components1.length >> 1) + 1;
+                        components1 = Arrays.copyOf(components1, newLength);
+                        components2 = Arrays.copyOf(components2, newLength);
+                    }
+
+                    components1[succ] = succ1;
+                    components2[succ] = succ2;
+                    result.addIntState(combiner.combine(isAccepting(abs1, succ1), isAccepting(abs2, succ2)));
+                }
+
+                result.setTransition(current, i, succ);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isAccepting(FullIntAbstraction<?, Boolean, ?> abs, int state) {
+        return WrapperUtil.booleanValue(abs.getStateProperty(state));
+    }
+}
@@ -295,12 +295,32 @@ public final class NFAs {
         return determinize(nfa, inputAlphabet, false, true);
     }
 
+    /**
+     * Determinizes the given NFA, and returns the result as a new complete DFA.
+     * <p>
+     * Since the result type is known, this method uses a subset construction that represents subsets of NFA states as
+     * packed bit vectors and re-uses its intermediate buffers, which is significantly faster than the generic {@link
+     * #determinize(NFA, Collection, MutableDFA, boolean, boolean)} method.
+     *
+     * @param nfa
+     *         the original NFA
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param partial
+     *         allows the new DFA to be partial
+     * @param minimize
+     *         whether to minimize the DFA
+     *
+     * @return the determinized NFA
+     */
     public static <I> CompactDFA<I> determinize(NFA<?, I> nfa,
                                                 Alphabet<I> inputAlphabet,
                                                 boolean partial,
                                                 boolean minimize) {
-        CompactDFA<I> result = new CompactDFA<>(inputAlphabet);
-        determinize(nfa, inputAlphabet, result, partial, minimize);
+        final CompactDFA<I> result = BitParallelDeterminization.determinize(nfa, inputAlphabet, partial);
+        if (minimize) {
+            Automata.invasiveMinimize(result, inputAlphabet);
+        }
         return result;
     }
 
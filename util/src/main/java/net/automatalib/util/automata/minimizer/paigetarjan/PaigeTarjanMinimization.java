@@ -15,6 +15,8 @@
  */
 package net.automatalib.util.automata.minimizer.paigetarjan;
 
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableDeterministic;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
@@ -33,6 +35,7 @@ import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
 import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 import net.automatalib.util.partitionrefinement.StateSignature;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A utility class that offers short-hand methods for minimizing automata using the partition refinement approach of
@@ -46,6 +49,9 @@ import net.automatalib.words.Alphabet;
  * Consequently, this class will always prune unreachable states, because otherwise we might not return a minimal
  * automaton.
  * <p>
+ * For large automata, the methods accepting a {@link ForkJoinPool} compute the state equivalences in parallel (see
+ * {@link PaigeTarjan#computeCoarsestStablePartition(ForkJoinPool)}).
+ * <p>
  * For minimizing complete automata, use {@link HopcroftMinimization}.
  *
  * @author frohme
@@ -102,6 +108,28 @@ public final class PaigeTarjanMinimization {
         return minimizeUniversal(dfa, alphabet, creator, AutomatonInitialPartitioning.BY_STATE_PROPERTY, Boolean.FALSE);
     }
 
+    /**
+     * Minimizes the given DFA, computing the state equivalences in parallel. The result is returned in the form of a
+     * {@link CompactDFA}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa, Alphabet<I> alphabet, ForkJoinPool pool) {
+        return minimizeUniversal(dfa,
+                                 alphabet,
+                                 new CompactDFA.Creator<>(),
+                                 AutomatonInitialPartitioning.BY_STATE_PROPERTY,
+                                 Boolean.FALSE,
+                                 pool);
+    }
+
     /**
      * Minimizes the given Mealy machine. The result is returned in the form of a {@link CompactMealy}, using the
      * alphabet obtained via <code>mealy.{@link InputAlphabetHolder#getInputAlphabet() getInputAlphabet()}</code>.
@@ -153,6 +181,30 @@ public final class PaigeTarjanMinimization {
                                  StateSignature.byTransitionProperties(new Object[alphabet.size()]));
     }
 
+    /**
+     * Minimizes the given Mealy machine, computing the state equivalences in parallel. The result is returned in the
+     * form of a {@link CompactMealy}.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                          Alphabet<I> alphabet,
+                                                          ForkJoinPool pool) {
+        return minimizeUniversal(mealy,
+                                 alphabet,
+                                 new CompactMealy.Creator<>(),
+                                 AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                 StateSignature.byTransitionProperties(new Object[alphabet.size()]),
+                                 pool);
+    }
+
     /**
      * Minimizes the given automaton depending on the given partitioning function. The {@code sinkClassification} is
      * used to describe the signature of the sink state ("successor" of undefined transitions) and may introduce a new,
@@ -181,14 +233,61 @@ public final class PaigeTarjanMinimization {
             AutomatonCreator<A, I> creator,
             AutomatonInitialPartitioning ap,
             Object sinkClassification) {
+        return minimizeUniversalInternal(automaton, alphabet, creator, ap, sinkClassification, null);
+    }
+
+    /**
+     * Minimizes the given automaton depending on the given partitioning function, computing the state equivalences in
+     * parallel. See {@link #minimizeUniversal(UniversalDeterministicAutomaton, Alphabet, AutomatonCreator,
+     * AutomatonInitialPartitioning, Object)} for the semantics of the {@code sinkClassification}.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param ap
+     *         the initial partitioning function, determining how states will be distinguished
+     * @param sinkClassification
+     *         the classification used when an undefined transition is encountered
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return the minimized automaton, initially constructed from the given {@code creator}.
+     *
+     * @see AutomatonInitialPartitioning
+     * @see StateSignature
+     */
+    public static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            Object sinkClassification,
+            ForkJoinPool pool) {
+        return minimizeUniversalInternal(automaton, alphabet, creator, ap, sinkClassification, pool);
+    }
+
+    private static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversalInternal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            Object sinkClassification,
+            @Nullable ForkJoinPool pool) {
 
         final PaigeTarjan pt = new PaigeTarjan();
         final FullIntAbstraction<T, SP, TP> abs = automaton.fullIntAbstraction(alphabet);
 
         PaigeTarjanInitializers.initDeterministic(pt, abs, ap.initialClassifier(abs), sinkClassification);
 
-        pt.initWorklist(false);
-        pt.computeCoarsestStablePartition();
+        if (pool == null) {
+            pt.initWorklist(false);
+            pt.computeCoarsestStablePartition();
+        } else {
+            pt.computeCoarsestStablePartition(pool);
+        }
 
         return PaigeTarjanExtractors.toDeterministic(pt,
                                                      creator,
@@ -0,0 +1,363 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import net.automatalib.graphs.base.compact.CSRGraph;
+import net.automatalib.util.graphs.sssp.IntSSSPResult;
+
+/**
+ * Graph algorithms that operate directly on the {@code int}-based API of {@link CSRGraph}s. In contrast to their
+ * generic counterparts (e.g. {@link Graphs#collectSCCs(net.automatalib.graphs.Graph)} or {@link
+ * net.automatalib.util.graphs.sssp.DijkstraSSSP}), these algorithms neither box node or edge identifiers nor allocate
+ * per-node mapping objects, but store all intermediate data in primitive arrays indexed by node ids.
+ */
+public final class CSRGraphs {
+
+    private CSRGraphs() {}
+
+    /**
+     * Computes the nodes reachable from the given source nodes in breadth-first order.
+     *
+     * @param graph
+     *         the graph to traverse
+     * @param sources
+     *         the (ids of the) nodes to start the traversal from
+     *
+     * @return the (ids of the) reachable nodes in the order in which they are discovered
+     */
+    public static int[] breadthFirstOrder(CSRGraph<?, ?> graph, int... sources) {
+        final int[] queue = new int[graph.size()];
+        final BitSet visited = new BitSet(graph.size());
+        int tail = 0;
+
+        for (int src : sources) {
+            if (!visited.get(src)) {
+                visited.set(src);
+                queue[tail++] = src;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+            final int high = graph.getEdgesHigh(node);
+            for (int e = graph.getEdgesLow(node); e < high; e++) {
+                final int tgt = graph.getEdgeTarget(e);
+                if (!visited.get(tgt)) {
+                    visited.set(tgt);
+                    queue[tail++] = tgt;
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Computes the nodes reachable from the given source nodes in depth-first pre-order, i.e., the order in which a
+     * recursive depth-first search would first visit them.
+     *
+     * @param graph
+     *         the graph to traverse
+     * @param sources
+     *         the (ids of the) nodes to start the traversal from
+     *
+     * @return the (ids of the) reachable nodes in the order in which they are discovered
+     */
+    public static int[] depthFirstOrder(CSRGraph<?, ?> graph, int... sources) {
+        final int size = graph.size();
+        final int[] result = new int[size];
+        final int[] nodeStack = new int[size];
+        final int[] edgeStack = new int[size];
+        final BitSet visited = new BitSet(size);
+        int count = 0;
+
+        for (int src : sources) {
+            if (visited.get(src)) {
+                continue;
+            }
+
+            visited.set(src);
+            result[count++] = src;
+            nodeStack[0] = src;
+            edgeStack[0] = graph.getEdgesLow(src);
+            int sp = 1;
+
+            while (sp > 0) {
+                final int node = nodeStack[sp - 1];
+                final int e = edgeStack[sp - 1];
+
+                if (e == graph.getEdgesHigh(node)) {
+                    sp--;
+                    continue;
+                }
+
+                edgeStack[sp - 1] = e + 1;
+                final int tgt = graph.getEdgeTarget(e);
+
+                if (!visited.get(tgt)) {
+                    visited.set(tgt);
+                    result[count++] = tgt;
+                    nodeStack[sp] = tgt;
+                    edgeStack[sp] = graph.getEdgesLow(tgt);
+                    sp++;
+                }
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Computes the strongly-connected components of the given graph using (an iterative version of) Tarjan's
+     * algorithm. The components are numbered in reverse topological order, i.e., a component may only have edges to
+     * components with a smaller or equal number.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return an array that maps each node id to the number of its strongly-connected component
+     */
+    public static int[] stronglyConnectedComponents(CSRGraph<?, ?> graph) {
+        final int size = graph.size();
+        final int[] index = new int[size];
+        final int[] lowLink = new int[size];
+        final int[] component = new int[size];
+        final int[] sccStack = new int[size];
+        final int[] nodeStack = new int[size];
+        final int[] edgeStack = new int[size];
+
+        Arrays.fill(index, -1);
+
+        int nextIndex = 0;
+        int nextComponent = 0;
+        int sccTop = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+
+            index[root] = nextIndex;
+            lowLink[root] = nextIndex++;
+            sccStack[sccTop++] = root;
+            component[root] = -1;
+            nodeStack[0] = root;
+            edgeStack[0] = graph.getEdgesLow(root);
+            int sp = 1;
+
+            while (sp > 0) {
+                final int node = nodeStack[sp - 1];
+                final int e = edgeStack[sp - 1];
+
+                if (e < graph.getEdgesHigh(node)) {
+                    edgeStack[sp - 1] = e + 1;
+                    final int tgt = graph.getEdgeTarget(e);
+
+                    if (index[tgt] < 0) {
+                        index[tgt] = nextIndex;
+                        lowLink[tgt] = nextIndex++;
+                        sccStack[sccTop++] = tgt;
+                        component[tgt] = -1;
+                        nodeStack[sp] = tgt;
+                        edgeStack[sp] = graph.getEdgesLow(tgt);
+                        sp++;
+                    } else if (component[tgt] < 0 && index[tgt] < lowLink[node]) {
+                        // tgt is still on the SCC stack
+                        lowLink[node] = index[tgt];
+                    }
+                    continue;
+                }
+
+                // all successors processed
+                sp--;
+
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = sccStack[--sccTop];
+                        component[member] = nextComponent;
+                    } while (member != node);
+                    nextComponent++;
+                }
+
+                if (sp > 0) {
+                    final int parent = nodeStack[sp - 1];
+                    if (lowLink[node] < lowLink[parent]) {
+                        lowLink[parent] = lowLink[node];
+                    }
+                }
+            }
+        }
+
+        return component;
+    }
+
+    /**
+     * Computes the shortest paths from the given source node to all other nodes using Dijkstra's algorithm. The edge
+     * weights are taken from the weight column of the given graph (see {@link CSRGraph#getEdgeWeight(int)}) and must
+     * be non-negative.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the (id of the) source node
+     *
+     * @return the single-source shortest path results
+     */
+    public static IntSSSPResult dijkstraSSSP(CSRGraph<?, ?> graph, int source) {
+        final int size = graph.size();
+        final float[] dist = new float[size];
+        final int[] reachingEdges = new int[size];
+        final int[] reachingNodes = new int[size];
+
+        Arrays.fill(dist, Graphs.INVALID_DISTANCE);
+        Arrays.fill(reachingEdges, -1);
+        Arrays.fill(reachingNodes, -1);
+
+        final IndexedHeap heap = new IndexedHeap(size, dist);
+        dist[source] = 0;
+        heap.insert(source);
+
+        while (!heap.isEmpty()) {
+            final int node = heap.extractMin();
+            final float d = dist[node];
+            final int high = graph.getEdgesHigh(node);
+
+            for (int e = graph.getEdgesLow(node); e < high; e++) {
+                final int tgt = graph.getEdgeTarget(e);
+                final float newDist = d + graph.getEdgeWeight(e);
+                final float oldDist = dist[tgt];
+
+                if (oldDist == Graphs.INVALID_DISTANCE) {
+                    if (tgt == source) {
+                        continue;
+                    }
+                    dist[tgt] = newDist;
+                    reachingEdges[tgt] = e;
+                    reachingNodes[tgt] = node;
+                    heap.insert(tgt);
+                } else if (newDist < oldDist && heap.contains(tgt)) {
+                    dist[tgt] = newDist;
+                    reachingEdges[tgt] = e;
+                    reachingNodes[tgt] = node;
+                    heap.decreaseKey(tgt);
+                }
+            }
+        }
+
+        return new IntSSSPResult(source, dist, reachingEdges, reachingNodes);
+    }
+
+    /**
+     * A binary min-heap of node ids, ordered by an external array of keys. The position of each node in the heap is
+     * tracked so that keys can be decreased in logarithmic time.
+     */
+    private static final class IndexedHeap {
+
+        private final int[] heap;
+        private final int[] positions;
+        private final float[] keys;
+        private int size;
+
+        IndexedHeap(int capacity, float[] keys) {
+            this.heap = new int[capacity];
+            this.positions = new int[capacity];
+            this.keys = keys;
+            Arrays.fill(positions, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean contains(int node) {
+            return positions[node] >= 0;
+        }
+
+        void insert(int node) {
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+        }
+
+        void decreaseKey(int node) {
+            siftUp(positions[node]);
+        }
+
+        int extractMin() {
+            final int min = heap[0];
+            positions[min] = -1;
+
+            if (--size > 0) {
+                final int last = heap[size];
+                heap[0] = last;
+                positions[last] = 0;
+                siftDown(0);
+            }
+
+            return min;
+        }
+
+        private void siftUp(int pos) {
+            final int node = heap[pos];
+            final float key = keys[node];
+            int p = pos;
+
+            while (p > 0) {
+                final int parentPos = (p - 1) >>> 1;
+                final int parent = heap[parentPos];
+                if (keys[parent] <= key) {
+                    break;
+                }
+                heap[p] = parent;
+                positions[parent] = p;
+                p = parentPos;
+            }
+
+            heap[p] = node;
+            positions[node] = p;
+        }
+
+        private void siftDown(int pos) {
+            final int node = heap[pos];
+            final float key = keys[node];
+            int p = pos;
+
+            while (true) {
+                int child = 2 * p + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                    child++;
+                }
+                final int c = heap[child];
+                if (key <= keys[c]) {
+                    break;
+                }
+                heap[p] = c;
+                positions[c] = p;
+                p = child;
+            }
+
+            heap[p] = node;
+            positions[node] = p;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The {@code int}-based counterpart of {@link SSSPResult}, as computed for graphs whose nodes and edges are identified
+ * by integers (see {@link net.automatalib.util.graphs.CSRGraphs}). All results are stored in primitive arrays indexed
+ * by node ids.
+ */
+public final class IntSSSPResult {
+
+    private final int init;
+    private final float[] distances;
+    private final int[] reachingEdges;
+    private final int[] reachingNodes;
+
+    public IntSSSPResult(int init, float[] distances, int[] reachingEdges, int[] reachingNodes) {
+        this.init = init;
+        this.distances = distances;
+        this.reachingEdges = reachingEdges;
+        this.reachingNodes = reachingNodes;
+    }
+
+    /**
+     * Retrieves the node the search was started from.
+     *
+     * @return the source node
+     */
+    public int getInitialNode() {
+        return init;
+    }
+
+    /**
+     * Retrieves the length of the shortest path from the initial node to the given one.
+     *
+     * @param target
+     *         the target node
+     *
+     * @return the length of the shortest path from the initial node to the given target node, or {@link
+     * Graphs#INVALID_DISTANCE} if there exists no such path.
+     */
+    public float getShortestPathDistance(int target) {
+        return distances[target];
+    }
+
+    /**
+     * Retrieves the incoming edge via which the given node is reached on the shortest path. If the node is not
+     * reachable or it is the initial node, {@code -1} is returned.
+     *
+     * @param target
+     *         the target node
+     *
+     * @return the reaching edge on the shortest path, or {@code -1}.
+     */
+    public int getShortestPathEdge(int target) {
+        return reachingEdges[target];
+    }
+
+    /**
+     * Retrieves the shortest path from the initial node to the given one (as a sequence of edges), or {@code null} if
+     * there exists no such path.
+     *
+     * @param target
+     *         the target node
+     *
+     * @return the path from the initial node to the given target node, or {@code null} if there exists no such path.
+     */
+    public int @Nullable [] getShortestPath(int target) {
+        if (distances[target] == Graphs.INVALID_DISTANCE) {
+            return null;
+        }
+
+        int length = 0;
+        for (int n = target; n != init; n = reachingNodes[n]) {
+            length++;
+        }
+
+        final int[] result = new int[length];
+        for (int n = target; n != init; n = reachingNodes[n]) {
+            result[--length] = reachingEdges[n];
+        }
+
+        return result;
+    }
+}
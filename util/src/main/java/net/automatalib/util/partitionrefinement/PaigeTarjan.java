@@ -20,6 +20,7 @@ import java.util.Iterator;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -109,6 +110,8 @@ public class PaigeTarjan {
     private @Nullable Block worklistTail;
     // the head of the 'touched' list
     private @Nullable Block touchedHead;
+    // the (optional) history of all block splits
+    private @Nullable SplitHistory splitHistory;
 
     public void setSize(int numStates, int numInputs) {
         this.numStates = numStates;
@@ -137,6 +140,19 @@ public class PaigeTarjan {
         this.predData = predData;
     }
 
+    /**
+     * Sets the split history in which the (sequential) refinement records every block split. The history has to be
+     * created after the initial partition has been set up. Passing {@code null} disables the recording.
+     *
+     * @param splitHistory
+     *         the split history, may be {@code null}
+     *
+     * @see SplitHistory
+     */
+    public void setSplitHistory(@Nullable SplitHistory splitHistory) {
+        this.splitHistory = splitHistory;
+    }
+
     /**
      * Removes all blocks which are empty from the block list. The {@link Block#id IDs} of the blocks are adjusted to
      * remain contiguous.
@@ -265,11 +281,43 @@ public class PaigeTarjan {
                     }
                 }
                 predOfsBase += numStates;
-                processTouched();
+                processTouched(i);
             }
         }
     }
 
+    /**
+     * Refines the partition until it stabilizes, distributing the refinement across the threads of the given pool.
+     * <p>
+     * Contrary to {@link #computeCoarsestStablePartition()}, this method does not use the worklist (it does not need
+     * to be initialized, and will be empty afterwards), but repeatedly splits all blocks according to the blocks of
+     * the successors of their states, until no more block can be split. The resulting partition is the same as the one
+     * computed by {@link #computeCoarsestStablePartition()}, although the {@link Block#id IDs} of the blocks (which
+     * remain contiguous) may differ.
+     * <p>
+     * Note that this method requires that every state contained in a block has exactly one successor for every input
+     * symbol, as is the case after initializing this data structure via {@link
+     * PaigeTarjanInitializers#initCompleteDeterministic} or {@link PaigeTarjanInitializers#initDeterministic}. Block
+     * splits performed by this method are not recorded in a {@link #setSplitHistory(SplitHistory) split history}.
+     *
+     * @param pool
+     *         the pool whose threads are used for refining the partition
+     *
+     * @throws IllegalStateException
+     *         if the predecessor data does not describe a complete, deterministic transition structure
+     */
+    public void computeCoarsestStablePartition(ForkJoinPool pool) {
+        ParallelRefinement.computeCoarsestStablePartition(this, pool);
+    }
+
+    void setBlockList(@Nullable Block blocklistHead, int numBlocks) {
+        this.blocklistHead = blocklistHead;
+        this.numBlocks = numBlocks;
+        this.worklistHead = null;
+        this.worklistTail = null;
+        this.touchedHead = null;
+    }
+
     private @Nullable Block poll() {
         if (worklistHead == null) {
             return null;
@@ -311,12 +359,12 @@ public class PaigeTarjan {
         }
     }
 
-    private void processTouched() {
+    private void processTouched(int symbol) {
         Block b = touchedHead;
         while (b != null) {
             Block next = b.nextTouched;
             b.nextTouched = null;
-            Block splt = split(b);
+            Block splt = split(b, symbol);
             if (splt != null) {
                 addToWorklist(splt);
             }
@@ -327,12 +375,15 @@ public class PaigeTarjan {
         touchedHead = null;
     }
 
-    private @Nullable Block split(Block b) {
+    private @Nullable Block split(Block b, int symbol) {
         Block splt = b.split(numBlocks);
         if (splt == null) {
             return null;
         }
         numBlocks++;
+        if (splitHistory != null) {
+            splitHistory.recordSplit(b, splt, symbol);
+        }
         int spltLow = splt.low, spltHigh = splt.high;
         for (int i = spltLow; i < spltHigh; i++) {
             int state = blockData[i];
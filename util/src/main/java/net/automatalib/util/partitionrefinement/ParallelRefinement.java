@@ -0,0 +1,395 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A round-based, signature-driven refinement of a {@link PaigeTarjan} partition whose rounds are executed in parallel.
+ * <p>
+ * In each round, every state is assigned the signature consisting of the IDs of the blocks of its successors. Every
+ * block is then split into the classes of states with equal signatures. The refinement stops once a round does not
+ * split any block, at which point the partition is the coarsest stable one, i.e., the same partition that is computed
+ * by {@link PaigeTarjan#computeCoarsestStablePartition()} (up to the numbering of the blocks).
+ * <p>
+ * Computing the signatures and splitting the blocks is independent for every state or block, respectively, and is
+ * therefore distributed across the threads of a {@link ForkJoinPool}. The result is deterministic, i.e., independent of
+ * the number of threads and their scheduling. Contrary to the sequential algorithm, each round requires time linear in
+ * the number of transitions, and the number of rounds is bounded by the length of the longest shortest separating word
+ * of two states. This is usually small, but may be linear in the number of states in degenerate cases (e.g., long
+ * chains of states).
+ * <p>
+ * This refinement requires the partition data to describe a complete, deterministic transition structure, i.e., every
+ * state that is contained in a block must occur exactly once as an {@code i}-predecessor for every input {@code i}.
+ * This is the case for the structures initialized via {@link PaigeTarjanInitializers#initCompleteDeterministic} and
+ * {@link PaigeTarjanInitializers#initDeterministic}.
+ */
+final class ParallelRefinement {
+
+    private static final int STATE_GRAIN = 1 << 13;
+
+    private final PaigeTarjan pt;
+    private final ForkJoinPool pool;
+    private final int numStates;
+    private final int numInputs;
+    private final int[] blockData;
+
+    // the block of each state, or -1 if the state is not contained in any block
+    private final int[] blockOfState;
+    // the successor of state s for input i at index i * numStates + s
+    private final int[] successors;
+    private final int[] signatureHashes;
+    private final long[] sortBuffer;
+    private final boolean[] groupStarts;
+    private final int[] groupCounts;
+
+    private int[] blockLows;
+    private int[] blockHighs;
+    private int[] nextBlockLows;
+    private int[] nextBlockHighs;
+    private int numBlocks;
+
+    private ParallelRefinement(PaigeTarjan pt, ForkJoinPool pool) {
+        this.pt = pt;
+        this.pool = pool;
+        this.numStates = pt.numStates;
+        this.numInputs = pt.numInputs;
+        this.blockData = pt.blockData;
+
+        this.blockOfState = new int[numStates];
+        this.successors = new int[numStates * numInputs];
+        this.signatureHashes = new int[numStates];
+        this.blockLows = new int[numStates];
+        this.blockHighs = new int[numStates];
+        this.nextBlockLows = new int[numStates];
+        this.nextBlockHighs = new int[numStates];
+        this.groupCounts = new int[numStates];
+
+        Arrays.fill(blockOfState, -1);
+
+        int maxHigh = 0;
+        final Iterator<Block> iter = pt.blockListIterator();
+        while (iter.hasNext()) {
+            final Block b = iter.next();
+            if (b.isEmpty()) {
+                continue;
+            }
+            final int id = numBlocks++;
+            blockLows[id] = b.low;
+            blockHighs[id] = b.high;
+            maxHigh = Math.max(maxHigh, b.high);
+            for (int i = b.low; i < b.high; i++) {
+                blockOfState[blockData[i]] = id;
+            }
+        }
+
+        this.sortBuffer = new long[maxHigh];
+        this.groupStarts = new boolean[maxHigh];
+    }
+
+    /**
+     * Refines the partition of the given {@link PaigeTarjan} instance until it stabilizes. See the class documentation
+     * for details.
+     *
+     * @param pt
+     *         the partition refinement data structure
+     * @param pool
+     *         the pool to execute the refinement rounds in
+     *
+     * @throws IllegalStateException
+     *         if the partition data does not describe a complete, deterministic transition structure
+     */
+    static void computeCoarsestStablePartition(PaigeTarjan pt, ForkJoinPool pool) {
+        new ParallelRefinement(pt, pool).run();
+    }
+
+    private void run() {
+        invoke(numInputs, 1, this::initSuccessors);
+        invoke(numStates, STATE_GRAIN, this::checkSuccessors);
+
+        while (true) {
+            invoke(numStates, STATE_GRAIN, this::computeSignatureHashes);
+            invoke(numBlocks, blockGrain(), this::groupBlocks);
+
+            final int oldNumBlocks = numBlocks;
+            int newNumBlocks = 0;
+            for (int b = 0; b < oldNumBlocks; b++) {
+                final int count = groupCounts[b];
+                groupCounts[b] = newNumBlocks;
+                newNumBlocks += count;
+            }
+
+            if (newNumBlocks == oldNumBlocks) {
+                break;
+            }
+
+            invoke(oldNumBlocks, blockGrain(), this::assignBlocks);
+
+            final int[] tmpLows = blockLows, tmpHighs = blockHighs;
+            blockLows = nextBlockLows;
+            blockHighs = nextBlockHighs;
+            nextBlockLows = tmpLows;
+            nextBlockHighs = tmpHighs;
+            numBlocks = newNumBlocks;
+        }
+
+        writeBack();
+    }
+
+    private void initSuccessors(int from, int to) {
+        final int[] predOfsData = pt.predOfsData, predData = pt.predData;
+
+        for (int i = from; i < to; i++) {
+            final int base = i * numStates;
+            Arrays.fill(successors, base, base + numStates, -1);
+            int predOfsIdx = pt.predOfsDataLow + base;
+            for (int state = 0; state < numStates; state++, predOfsIdx++) {
+                final int predLow = predOfsData[predOfsIdx], predHigh = predOfsData[predOfsIdx + 1];
+                for (int k = predLow; k < predHigh; k++) {
+                    final int idx = base + predData[k];
+                    if (successors[idx] >= 0) {
+                        throw new IllegalStateException("State " + predData[k] + " has multiple successors for input " +
+                                                        i + ", parallel refinement requires deterministic structures");
+                    }
+                    successors[idx] = state;
+                }
+            }
+        }
+    }
+
+    private void checkSuccessors(int from, int to) {
+        for (int state = from; state < to; state++) {
+            if (blockOfState[state] < 0) {
+                continue;
+            }
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = successors[i * numStates + state];
+                if (succ < 0 || blockOfState[succ] < 0) {
+                    throw new IllegalStateException("State " + state + " has no successor for input " + i +
+                                                    ", parallel refinement requires complete structures");
+                }
+            }
+        }
+    }
+
+    private void computeSignatureHashes(int from, int to) {
+        for (int state = from; state < to; state++) {
+            if (blockOfState[state] < 0) {
+                continue;
+            }
+            int hash = 1;
+            for (int i = 0, idx = state; i < numInputs; i++, idx += numStates) {
+                hash = 31 * hash + blockOfState[successors[idx]];
+            }
+            // spread the bits (MurmurHash3 finalizer), because the hashes determine the sort order of the states
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            signatureHashes[state] = hash;
+        }
+    }
+
+    /**
+     * Sorts the states of the given blocks by their signatures and marks the boundaries of the signature classes in
+     * {@link #groupStarts}. The number of classes of each block is stored in {@link #groupCounts}.
+     */
+    private void groupBlocks(int from, int to) {
+        for (int b = from; b < to; b++) {
+            final int low = blockLows[b], high = blockHighs[b];
+            groupStarts[low] = true;
+
+            if (hasUniformSignature(low, high)) {
+                Arrays.fill(groupStarts, low + 1, high, false);
+                groupCounts[b] = 1;
+                continue;
+            }
+
+            for (int i = low; i < high; i++) {
+                final int state = blockData[i];
+                sortBuffer[i] = ((long) signatureHashes[state] << Integer.SIZE) | state;
+            }
+            Arrays.sort(sortBuffer, low, high);
+            for (int i = low; i < high; i++) {
+                blockData[i] = (int) sortBuffer[i];
+            }
+
+            int count = 1;
+            int groupLow = low;
+            for (int i = low + 1; i <= high; i++) {
+                if (i == high || signatureHashes[blockData[i]] != signatureHashes[blockData[groupLow]]) {
+                    count += splitCollisions(groupLow, i);
+                    if (i < high) {
+                        groupStarts[i] = true;
+                        count++;
+                    }
+                    groupLow = i;
+                } else {
+                    groupStarts[i] = false;
+                }
+            }
+            groupCounts[b] = count;
+        }
+    }
+
+    private boolean hasUniformSignature(int low, int high) {
+        final int first = blockData[low];
+        final int hash = signatureHashes[first];
+        for (int i = low + 1; i < high; i++) {
+            if (signatureHashes[blockData[i]] != hash) {
+                return false;
+            }
+        }
+        for (int i = low + 1; i < high; i++) {
+            if (compareSignatures(first, blockData[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Handles the (rare) case that states with different signatures share the same signature hash, by sorting the
+     * given range of states by their full signatures.
+     *
+     * @return the number of additional groups introduced within the given range
+     */
+    private int splitCollisions(int low, int high) {
+        if (hasUniformSignature(low, high)) {
+            return 0;
+        }
+
+        final Integer[] states = new Integer[high - low];
+        for (int i = low; i < high; i++) {
+            states[i - low] = blockData[i];
+        }
+        Arrays.sort(states, (s1, s2) -> {
+            final int cmp = compareSignatures(s1, s2);
+            return cmp != 0 ? cmp : Integer.compare(s1, s2);
+        });
+
+        int count = 0;
+        for (int i = low; i < high; i++) {
+            blockData[i] = states[i - low];
+            if (i > low && compareSignatures(blockData[i - 1], blockData[i]) != 0) {
+                groupStarts[i] = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int compareSignatures(int s1, int s2) {
+        for (int i = 0, ofs = 0; i < numInputs; i++, ofs += numStates) {
+            final int cmp = Integer.compare(blockOfState[successors[ofs + s1]], blockOfState[successors[ofs + s2]]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Assigns the new block IDs to the states of the given (old) blocks. The ID of the first new block of each old
+     * block is stored in {@link #groupCounts}.
+     */
+    private void assignBlocks(int from, int to) {
+        for (int b = from; b < to; b++) {
+            final int low = blockLows[b], high = blockHighs[b];
+            int id = groupCounts[b] - 1;
+            for (int i = low; i < high; i++) {
+                if (groupStarts[i]) {
+                    id++;
+                    nextBlockLows[id] = i;
+                    if (i > low) {
+                        nextBlockHighs[id - 1] = i;
+                    }
+                }
+                blockOfState[blockData[i]] = id;
+            }
+            nextBlockHighs[id] = high;
+        }
+    }
+
+    private void writeBack() {
+        final Block[] blocks = new Block[numBlocks];
+        @Nullable Block head = null;
+        for (int b = numBlocks - 1; b >= 0; b--) {
+            head = new Block(blockLows[b], blockHighs[b], b, head);
+            blocks[b] = head;
+        }
+
+        invoke(numBlocks, blockGrain(), (from, to) -> {
+            for (int b = from; b < to; b++) {
+                final Block block = blocks[b];
+                for (int i = block.low; i < block.high; i++) {
+                    final int state = blockData[i];
+                    pt.blockForState[state] = block;
+                    pt.posData[pt.posDataLow + state] = i;
+                }
+            }
+        });
+
+        pt.setBlockList(head, numBlocks);
+    }
+
+    private int blockGrain() {
+        return Math.max(1, numBlocks / (pool.getParallelism() << 3));
+    }
+
+    private void invoke(int size, int grain, RangeAction action) {
+        pool.invoke(new RangeTask(0, size, grain, action));
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+
+        void apply(int from, int to);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeAction action;
+
+        RangeTask(int from, int to, int grain, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                action.apply(from, to);
+            } else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, grain, action), new RangeTask(mid, to, grain, action));
+            }
+        }
+    }
+}
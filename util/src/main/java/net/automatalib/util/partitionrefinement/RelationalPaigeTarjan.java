@@ -0,0 +1,502 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An implementation of the Paige/Tarjan relational coarsest partition algorithm, i.e., the computation of the coarsest
+ * (strong) bisimulation of a labeled transition relation.
+ * <p>
+ * Contrary to {@link PaigeTarjan}, which requires every state to have exactly one successor per input symbol, this
+ * class supports arbitrary (nondeterministic, partial) transition relations. In order to still only process the smaller
+ * half of every split block, this class maintains, for every state {@code x}, label {@code a} and compound block {@code
+ * S} (a union of blocks of the current partition), the number of {@code a}-transitions from {@code x} into {@code S}.
+ * This allows to perform the three-way split of the original algorithm, resulting in an overall complexity of {@code
+ * O(m log n)} for {@code m} transitions and {@code n} states.
+ * <p>
+ * Like {@link PaigeTarjan}, this class stores its data in {@code int} arrays (using the same {@link #blockData} / {@link
+ * #posData} layout and the same {@link Block} representation) and should only be used behind a facade.
+ */
+public class RelationalPaigeTarjan {
+
+    /**
+     * The number of states.
+     */
+    public final int numStates;
+    /**
+     * The number of transition labels.
+     */
+    public final int numLabels;
+    /**
+     * The array storing the raw block data, i.e., the states contained in a certain block. The positions {@link
+     * Block#low} and {@link Block#high} refer to this array.
+     */
+    public final int[] blockData;
+    /**
+     * The array storing the position data, i.e., for each state, its index in the {@link #blockData} array.
+     */
+    public final int[] posData;
+    /**
+     * The array mapping states to their containing block.
+     */
+    public final Block[] blockForState;
+
+    // predecessor data: the incoming transitions of state y are stored in [predOfsData[y], predOfsData[y + 1])
+    private final int[] predOfsData;
+    private final int[] predData;
+    private final int[] predLabels;
+    // for each transition, the index of the counter for (source, label, compound block of target)
+    private final int[] predCounters;
+
+    private int[] counters;
+    private int numCounters;
+    private int[] freeCounters;
+    private int numFreeCounters;
+
+    // block data, indexed by block id
+    private final Block[] blocks;
+    private final int[] compoundOfBlock;
+    private final int[] nextInCompound;
+    private final int[] prevInCompound;
+    private int numBlocks;
+    private @Nullable Block blocklistHead;
+    private @Nullable Block touchedHead;
+
+    // compound block data, indexed by compound block id
+    private final int[] compoundHead;
+    private final int[] compoundSize;
+    private final boolean[] inWorklist;
+    private final int[] worklist;
+    private int worklistSize;
+    private int numCompounds;
+
+    // scratch space
+    private final int[] splitterStates;
+    private final int[] splitterTransitions;
+    private final int[] sortedTransitions;
+    private final int[] labelOffsets;
+    private final int[] touchedLabels;
+    private final int[] touchedStates;
+    private final int[] counterOfState;
+    private final int[] compoundCounterOfState;
+
+    /**
+     * Constructor. Initializes the data structure from the given transition relation and initial partition.
+     *
+     * @param numStates
+     *         the number of states, which are identified by the integers {@code 0} to {@code numStates - 1}
+     * @param numLabels
+     *         the number of labels, which are identified by the integers {@code 0} to {@code numLabels - 1}
+     * @param sources
+     *         the source states of the transitions
+     * @param labels
+     *         the labels of the transitions
+     * @param targets
+     *         the target states of the transitions
+     * @param numTransitions
+     *         the number of transitions, i.e., the number of relevant entries of the {@code sources}, {@code labels}
+     *         and {@code targets} arrays
+     * @param initialClasses
+     *         the initial partition, mapping each state to its (initial) class
+     * @param numClasses
+     *         the number of initial classes, which are identified by the integers {@code 0} to {@code numClasses - 1}
+     */
+    public RelationalPaigeTarjan(int numStates,
+                                 int numLabels,
+                                 int[] sources,
+                                 int[] labels,
+                                 int[] targets,
+                                 int numTransitions,
+                                 int[] initialClasses,
+                                 int numClasses) {
+        this.numStates = numStates;
+        this.numLabels = numLabels;
+
+        this.predOfsData = new int[numStates + 1];
+        this.predData = new int[numTransitions];
+        this.predLabels = new int[numTransitions];
+        this.predCounters = new int[numTransitions];
+
+        for (int t = 0; t < numTransitions; t++) {
+            predOfsData[targets[t]]++;
+        }
+        PaigeTarjanInitializers.prefixSum(predOfsData, 0, predOfsData.length);
+        for (int t = numTransitions - 1; t >= 0; t--) {
+            final int idx = --predOfsData[targets[t]];
+            predData[idx] = sources[t];
+            predLabels[idx] = labels[t];
+        }
+
+        this.counters = new int[Math.max(numStates, 1)];
+        this.freeCounters = new int[0];
+
+        this.blockData = new int[numStates];
+        this.posData = new int[numStates];
+        this.blockForState = new Block[numStates];
+        this.blocks = new Block[numStates];
+        this.compoundOfBlock = new int[numStates];
+        this.nextInCompound = new int[numStates];
+        this.prevInCompound = new int[numStates];
+
+        this.compoundHead = new int[numStates];
+        this.compoundSize = new int[numStates];
+        this.inWorklist = new boolean[numStates];
+        this.worklist = new int[numStates];
+
+        this.splitterStates = new int[numStates];
+        this.splitterTransitions = new int[numTransitions];
+        this.sortedTransitions = new int[numTransitions];
+        this.labelOffsets = new int[numLabels + 1];
+        this.touchedLabels = new int[numLabels];
+        this.touchedStates = new int[numStates];
+        this.counterOfState = new int[numStates];
+        this.compoundCounterOfState = new int[numStates];
+        Arrays.fill(counterOfState, -1);
+
+        initBlocks(initialClasses, numClasses);
+    }
+
+    private void initBlocks(int[] initialClasses, int numClasses) {
+        final int[] classOfs = new int[numClasses + 1];
+
+        for (int s = 0; s < numStates; s++) {
+            classOfs[initialClasses[s] + 1]++;
+        }
+        PaigeTarjanInitializers.prefixSum(classOfs, 0, classOfs.length);
+
+        final int[] ptrs = Arrays.copyOf(classOfs, numClasses);
+        for (int s = 0; s < numStates; s++) {
+            final int pos = ptrs[initialClasses[s]]++;
+            blockData[pos] = s;
+            posData[s] = pos;
+        }
+
+        int prev = -1;
+        for (int c = numClasses - 1; c >= 0; c--) {
+            final int low = classOfs[c], high = classOfs[c + 1];
+            if (low < high) {
+                final Block b = new Block(low, high, numBlocks, blocklistHead);
+                blocklistHead = b;
+                blocks[numBlocks] = b;
+                for (int i = low; i < high; i++) {
+                    blockForState[blockData[i]] = b;
+                }
+
+                // all initial blocks belong to the compound block 0, which represents the whole state space
+                compoundOfBlock[numBlocks] = 0;
+                prevInCompound[numBlocks] = prev;
+                nextInCompound[numBlocks] = -1;
+                if (prev >= 0) {
+                    nextInCompound[prev] = numBlocks;
+                } else {
+                    compoundHead[0] = numBlocks;
+                }
+                prev = numBlocks;
+                numBlocks++;
+            }
+        }
+
+        if (numBlocks > 0) {
+            compoundSize[0] = numBlocks;
+            numCompounds = 1;
+        }
+    }
+
+    /**
+     * Refines the partition until it stabilizes, i.e., until it constitutes the coarsest bisimulation that refines the
+     * initial partition.
+     */
+    public void computeCoarsestStablePartition() {
+        if (numCompounds == 0) {
+            return;
+        }
+
+        // stabilize the partition with respect to the whole state space (the only compound block)
+        for (int s = 0; s < numStates; s++) {
+            splitterStates[s] = s;
+        }
+        refine(numStates, true);
+
+        if (compoundSize[0] > 1 && !inWorklist[0]) {
+            addToWorklist(0);
+        }
+
+        while (worklistSize > 0) {
+            final int compound = worklist[--worklistSize];
+            inWorklist[compound] = false;
+
+            // pick the smaller one of the first two blocks as the splitter
+            final int first = compoundHead[compound];
+            final int second = nextInCompound[first];
+            final int splitter = blocks[first].size() <= blocks[second].size() ? first : second;
+
+            removeFromCompound(splitter, compound);
+            if (compoundSize[compound] > 1) {
+                addToWorklist(compound);
+            }
+
+            final int newCompound = numCompounds++;
+            compoundHead[newCompound] = splitter;
+            compoundSize[newCompound] = 1;
+            compoundOfBlock[splitter] = newCompound;
+            prevInCompound[splitter] = -1;
+            nextInCompound[splitter] = -1;
+
+            // copy the states, because splitting may re-order the blockData while we iterate over it
+            final Block b = blocks[splitter];
+            final int size = b.size();
+            System.arraycopy(blockData, b.low, splitterStates, 0, size);
+            refine(size, false);
+        }
+    }
+
+    private void refine(int numSplitterStates, boolean initial) {
+        // collect the incoming transitions of the splitter and sort them by label
+        int numSplitterTransitions = 0;
+        int numTouchedLabels = 0;
+
+        for (int i = 0; i < numSplitterStates; i++) {
+            final int state = splitterStates[i];
+            for (int k = predOfsData[state]; k < predOfsData[state + 1]; k++) {
+                final int label = predLabels[k];
+                if (labelOffsets[label]++ == 0) {
+                    touchedLabels[numTouchedLabels++] = label;
+                }
+                splitterTransitions[numSplitterTransitions++] = k;
+            }
+        }
+
+        int ofs = 0;
+        for (int i = 0; i < numTouchedLabels; i++) {
+            final int label = touchedLabels[i];
+            final int cnt = labelOffsets[label];
+            labelOffsets[label] = ofs;
+            ofs += cnt;
+        }
+
+        for (int i = 0; i < numSplitterTransitions; i++) {
+            final int k = splitterTransitions[i];
+            sortedTransitions[labelOffsets[predLabels[k]]++] = k;
+        }
+
+        // labelOffsets now contains the end offset of each label, process each label individually
+        int low = 0;
+        for (int i = 0; i < numTouchedLabels; i++) {
+            final int label = touchedLabels[i];
+            final int high = labelOffsets[label];
+            labelOffsets[label] = 0;
+            refine(low, high, initial);
+            low = high;
+        }
+    }
+
+    private void refine(int low, int high, boolean initial) {
+        int numTouched = 0;
+
+        // count the transitions of each predecessor into the splitter, and split by pre(B)
+        for (int i = low; i < high; i++) {
+            final int k = sortedTransitions[i];
+            final int pred = predData[k];
+            int counter = counterOfState[pred];
+            if (counter < 0) {
+                counter = allocateCounter();
+                counterOfState[pred] = counter;
+                compoundCounterOfState[pred] = predCounters[k];
+                touchedStates[numTouched++] = pred;
+                moveLeft(pred);
+            }
+            counters[counter]++;
+        }
+        processTouched();
+
+        if (!initial) {
+            // split by pre(B) \ pre(S \ B), i.e., states whose transitions into S all lead into B
+            for (int i = 0; i < numTouched; i++) {
+                final int state = touchedStates[i];
+                if (counters[counterOfState[state]] == counters[compoundCounterOfState[state]]) {
+                    moveLeft(state);
+                }
+            }
+            processTouched();
+        }
+
+        // update the counters: transitions into B now refer to the counter of the new compound block {B}
+        for (int i = low; i < high; i++) {
+            final int k = sortedTransitions[i];
+            if (!initial) {
+                final int old = predCounters[k];
+                if (--counters[old] == 0) {
+                    freeCounter(old);
+                }
+            }
+            predCounters[k] = counterOfState[predData[k]];
+        }
+
+        for (int i = 0; i < numTouched; i++) {
+            counterOfState[touchedStates[i]] = -1;
+        }
+    }
+
+    private int allocateCounter() {
+        if (numFreeCounters > 0) {
+            return freeCounters[--numFreeCounters];
+        }
+        if (numCounters == counters.length) {
+            counters = Arrays.copyOf(counters, counters.length * 2);
+        }
+        return numCounters++;
+    }
+
+    private void freeCounter(int counter) {
+        if (numFreeCounters == freeCounters.length) {
+            freeCounters = Arrays.copyOf(freeCounters, Math.max(freeCounters.length * 2, 16));
+        }
+        freeCounters[numFreeCounters++] = counter;
+    }
+
+    private void addToWorklist(int compound) {
+        inWorklist[compound] = true;
+        worklist[worklistSize++] = compound;
+    }
+
+    private void removeFromCompound(int block, int compound) {
+        final int prev = prevInCompound[block];
+        final int next = nextInCompound[block];
+
+        if (prev >= 0) {
+            nextInCompound[prev] = next;
+        } else {
+            compoundHead[compound] = next;
+        }
+        if (next >= 0) {
+            prevInCompound[next] = prev;
+        }
+
+        compoundSize[compound]--;
+    }
+
+    private void moveLeft(int state) {
+        final Block b = blockForState[state];
+        final int inBlockIdx = posData[state];
+        int ptr = b.ptr;
+
+        if (ptr == -1) {
+            b.nextTouched = touchedHead;
+            touchedHead = b;
+            ptr = b.low;
+            b.ptr = ptr;
+        }
+
+        if (ptr <= inBlockIdx) {
+            if (ptr < inBlockIdx) {
+                final int other = blockData[ptr];
+                blockData[ptr] = blockData[inBlockIdx];
+                blockData[inBlockIdx] = other;
+
+                posData[state] = ptr;
+                posData[other] = inBlockIdx;
+            }
+            b.ptr = ptr + 1;
+        }
+    }
+
+    private void processTouched() {
+        Block b = touchedHead;
+        while (b != null) {
+            final Block next = b.nextTouched;
+            b.nextTouched = null;
+            final Block splt = b.split(numBlocks);
+            if (splt != null) {
+                registerSplit(b, splt);
+            }
+            b = next;
+        }
+
+        touchedHead = null;
+    }
+
+    private void registerSplit(Block original, Block splt) {
+        final int id = numBlocks++;
+        blocks[id] = splt;
+
+        for (int i = splt.low; i < splt.high; i++) {
+            blockForState[blockData[i]] = splt;
+        }
+
+        // the new block belongs to the same compound block as the original one
+        final int origId = original.id;
+        final int compound = compoundOfBlock[origId];
+        final int next = nextInCompound[origId];
+
+        compoundOfBlock[id] = compound;
+        prevInCompound[id] = origId;
+        nextInCompound[id] = next;
+        if (next >= 0) {
+            prevInCompound[next] = id;
+        }
+        nextInCompound[origId] = id;
+
+        if (++compoundSize[compound] > 1 && !inWorklist[compound]) {
+            addToWorklist(compound);
+        }
+    }
+
+    /**
+     * Retrieves the corresponding block for a given state (ID).
+     *
+     * @param id
+     *         the state ID
+     *
+     * @return the block containing the specified state
+     */
+    public Block getBlockForState(int id) {
+        return blockForState[id];
+    }
+
+    /**
+     * Retrieves a representative state from the given block. This method behaves deterministically.
+     *
+     * @param b
+     *         the block
+     *
+     * @return a representative state in the specified block
+     */
+    public int getRepresentative(Block b) {
+        return blockData[b.low];
+    }
+
+    /**
+     * Retrieves an {@link Iterable} for iterating over all blocks. Note that blocks are never empty and their {@link
+     * Block#id IDs} are contiguous.
+     *
+     * @return an {@link Iterable} for iterating over all blocks
+     */
+    public Iterable<Block> blockList() {
+        return () -> Block.blockListIterator(blocklistHead);
+    }
+
+    /**
+     * Retrieves the total number of blocks.
+     *
+     * @return the total number of blocks
+     */
+    public int getNumBlocks() {
+        return numBlocks;
+    }
+}
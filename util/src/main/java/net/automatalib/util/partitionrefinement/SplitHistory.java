@@ -0,0 +1,193 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+
+/**
+ * A record of all block splits performed by a (sequential) {@link PaigeTarjan} refinement.
+ * <p>
+ * The history is organized as a tree: its root represents the set of all states, its children the blocks of the
+ * initial partition. Whenever a block is split during {@link PaigeTarjan#computeCoarsestStablePartition()}, the node
+ * currently representing the block becomes an inner node with two new children, one for each part of the split. The
+ * inner node stores the input symbol (index) that caused the split. Consequently, the leaves of the tree correspond to
+ * the blocks of the final partition.
+ * <p>
+ * For two states {@code s} and {@code t}, let {@code n} be the lowest common ancestor of their (final) nodes. If {@code
+ * n} is the root, the states have been separated by the initial partition. Otherwise, the successors of {@code s} and
+ * {@code t} for the split symbol of {@code n} have already been located in different blocks when {@code n} was split,
+ * i.e., their lowest common ancestor has been split strictly before {@code n}. Hence, a separating word can be
+ * reconstructed by following this chain of splits (see {@link #getLowestCommonAncestor(int, int)} and {@link
+ * #getSplitSymbol(int)}).
+ * <p>
+ * Like {@link PaigeTarjan}, this is a low-level class that should not be exposed at an API level. Nodes are
+ * identified by integers, with {@link #ROOT} denoting the root node.
+ */
+public final class SplitHistory {
+
+    /**
+     * The ID of the root node.
+     */
+    public static final int ROOT = 0;
+
+    private int[] parent;
+    private int[] depth;
+    private int[] splitSymbol;
+    private int[] nodeForBlock;
+    private int numNodes;
+
+    /**
+     * Constructor. Creates a history for the current partition of the given partition refinement data structure and
+     * registers it via {@link PaigeTarjan#setSplitHistory(SplitHistory)}.
+     *
+     * @param pt
+     *         the partition refinement data structure, whose initial partition has already been set up
+     */
+    public SplitHistory(PaigeTarjan pt) {
+        final int numBlocks = pt.getNumBlocks();
+        final int capacity = 2 * Math.max(pt.numStates, numBlocks) + 1;
+
+        this.parent = new int[capacity];
+        this.depth = new int[capacity];
+        this.splitSymbol = new int[capacity];
+        this.nodeForBlock = new int[Math.max(pt.numStates, numBlocks)];
+
+        this.parent[ROOT] = -1;
+        this.splitSymbol[ROOT] = -1;
+        this.numNodes = 1;
+
+        for (Block b : pt.blockList()) {
+            ensureBlockCapacity(b.id);
+            nodeForBlock[b.id] = createNode(ROOT);
+        }
+
+        pt.setSplitHistory(this);
+    }
+
+    void recordSplit(Block b, Block splt, int symbol) {
+        final int node = nodeForBlock[b.id];
+        splitSymbol[node] = symbol;
+
+        ensureBlockCapacity(splt.id);
+        nodeForBlock[b.id] = createNode(node);
+        nodeForBlock[splt.id] = createNode(node);
+    }
+
+    private int createNode(int parentNode) {
+        if (numNodes == parent.length) {
+            final int newCapacity = 2 * numNodes;
+            parent = Arrays.copyOf(parent, newCapacity);
+            depth = Arrays.copyOf(depth, newCapacity);
+            splitSymbol = Arrays.copyOf(splitSymbol, newCapacity);
+        }
+
+        final int node = numNodes++;
+        parent[node] = parentNode;
+        depth[node] = depth[parentNode] + 1;
+        splitSymbol[node] = -1;
+        return node;
+    }
+
+    private void ensureBlockCapacity(int id) {
+        if (id >= nodeForBlock.length) {
+            nodeForBlock = Arrays.copyOf(nodeForBlock, Math.max(id + 1, 2 * nodeForBlock.length));
+        }
+    }
+
+    /**
+     * Retrieves the node (i.e., the leaf) currently representing the given block.
+     *
+     * @param b
+     *         the block
+     *
+     * @return the node representing the block
+     */
+    public int getNode(Block b) {
+        return nodeForBlock[b.id];
+    }
+
+    /**
+     * Retrieves the parent of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the parent of the node, or {@code -1} if the node is the {@link #ROOT}
+     */
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Retrieves the depth of the given node, i.e., its distance to the {@link #ROOT}.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the depth of the node
+     */
+    public int getDepth(int node) {
+        return depth[node];
+    }
+
+    /**
+     * Retrieves the index of the input symbol whose predecessor sets caused the split of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the index of the input symbol, or {@code -1} if the node is the {@link #ROOT} or has not been split
+     */
+    public int getSplitSymbol(int node) {
+        return splitSymbol[node];
+    }
+
+    /**
+     * Retrieves the lowest common ancestor of the two given nodes.
+     *
+     * @param n1
+     *         the first node
+     * @param n2
+     *         the second node
+     *
+     * @return the lowest common ancestor of the two nodes
+     */
+    public int getLowestCommonAncestor(int n1, int n2) {
+        int a = n1, b = n2;
+
+        while (depth[a] > depth[b]) {
+            a = parent[a];
+        }
+        while (depth[b] > depth[a]) {
+            b = parent[b];
+        }
+        while (a != b) {
+            a = parent[a];
+            b = parent[b];
+        }
+
+        return a;
+    }
+
+    /**
+     * Retrieves the total number of nodes in this history.
+     *
+     * @return the number of nodes
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package net.automatalib.util.ts.modal;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 import com.google.common.collect.Sets;
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.UniversalFiniteAlphabetAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.commons.util.Pair;
 import net.automatalib.commons.util.fixpoint.Worksets;
@@ -92,17 +94,28 @@ public final class MTSUtil {
                                                      ModalTransitionSystem<BS, I, ?, ?> b,
                                                      Collection<I> input) {
 
-        final Set<Pair<AS, BS>> refinement = ModalRefinement.refinementRelation(a, b, input);
+        final BitSet[] refinement = ModalRefinement.refinementMatrix(a, b, input);
+        final StateIDs<AS> idsA = a.stateIDs();
+        final StateIDs<BS> idsB = b.stateIDs();
+        final BitSet refinedStatesB = new BitSet();
 
-        final Set<AS> statesA = new HashSet<>(a.getInitialStates());
-        final Set<BS> statesB = new HashSet<>(b.getInitialStates());
+        for (BitSet related : refinement) {
+            refinedStatesB.or(related);
+        }
 
-        for (Pair<AS, BS> p : refinement) {
-            statesA.remove(p.getFirst());
-            statesB.remove(p.getSecond());
+        for (AS s : a.getInitialStates()) {
+            if (refinement[idsA.getStateId(s)].isEmpty()) {
+                return false;
+            }
+        }
+
+        for (BS s : b.getInitialStates()) {
+            if (!refinedStatesB.get(idsB.getStateId(s))) {
+                return false;
+            }
         }
 
-        return statesA.isEmpty() && statesB.isEmpty();
+        return true;
     }
 
     public static <S, I> Set<S> reachableSubset(UniversalFiniteAlphabetAutomaton<S, I, ?, ?, ?> ts,
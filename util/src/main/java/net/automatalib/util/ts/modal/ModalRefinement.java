@@ -15,18 +15,20 @@
  */
 package net.automatalib.util.ts.modal;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.EnumSet;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.function.BiPredicate;
 
-import com.google.common.collect.Sets;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.smartcollections.ArrayUtil;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.ts.modal.ModalTransitionSystem;
 import net.automatalib.ts.modal.transition.ModalEdgeProperty;
-import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 
 public final class ModalRefinement {
 
@@ -34,101 +36,363 @@ public final class ModalRefinement {
         // do not instantiate
     }
 
-    private static <BS, I, BT, BTP extends ModalEdgeProperty> Set<BT> partnerTransitions(ModalTransitionSystem<BS, I, BT, BTP> b,
-                                                                                         BS source,
-                                                                                         I input,
-                                                                                         Set<ModalType> acceptableValues) {
+    /**
+     * Computes the (largest) modal refinement relation between the states of the given implementation and
+     * specification. A pair of states {@code (p, q)} is contained in the relation, iff every (may or must) transition of
+     * {@code p} can be matched by a (may or must) transition of {@code q} with the same input, every must transition of
+     * {@code q} can be matched by a must transition of {@code p} with the same input, and the respective successors are
+     * again contained in the relation.
+     * <p>
+     * The relation is computed via a counter-based worklist algorithm (in the style of Henzinger, Henzinger and Kopke),
+     * that starts from the full relation and only re-visits pairs that are affected by the removal of a pair. This
+     * requires {@code O(m * n)} time for {@code m} transitions and {@code n} states.
+     *
+     * @param implementation
+     *         the implementation
+     * @param specification
+     *         the specification
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return the set of all pairs {@code (p, q)} such that the implementation state {@code p} refines the specification
+     * state {@code q}
+     */
+    public static <AS, BS, I> Set<Pair<AS, BS>> refinementRelation(ModalTransitionSystem<AS, I, ?, ?> implementation,
+                                                                   ModalTransitionSystem<BS, I, ?, ?> specification,
+                                                                   Collection<I> inputs) {
 
-        Set<BT> coTransitions = Sets.newHashSetWithExpectedSize(b.getInputAlphabet().size());
+        final BitSet[] relation = refinementMatrix(implementation, specification, inputs);
+        final StateIDs<AS> implIds = implementation.stateIDs();
+        final StateIDs<BS> specIds = specification.stateIDs();
 
-        for (BT candidateTransition : b.getTransitions(source, input)) {
-            BTP property = b.getTransitionProperty(candidateTransition);
+        final Set<Pair<AS, BS>> result = new HashSet<>();
 
-            if (property != null && acceptableValues.contains(property.getModalType())) {
-                coTransitions.add(candidateTransition);
+        for (int p = 0; p < relation.length; p++) {
+            final AS implState = implIds.getState(p);
+            final BitSet related = relation[p];
+            for (int q = related.nextSetBit(0); q >= 0; q = related.nextSetBit(q + 1)) {
+                result.add(Pair.of(implState, specIds.getState(q)));
             }
         }
 
-        return coTransitions;
+        return result;
+    }
+
+    /**
+     * Computes the modal refinement relation (see {@link #refinementRelation(ModalTransitionSystem,
+     * ModalTransitionSystem, Collection)}) in the form of a matrix, i.e., an array which contains for every
+     * implementation state (identified by its {@link StateIDs state id}) the set of ids of the specification states it
+     * refines.
+     */
+    static <AS, BS, I> BitSet[] refinementMatrix(ModalTransitionSystem<AS, I, ?, ?> implementation,
+                                                 ModalTransitionSystem<BS, I, ?, ?> specification,
+                                                 Collection<I> inputs) {
+
+        final List<? extends I> inputList = CollectionsUtil.randomAccessList(inputs);
+        final IntMTS impl = IntMTS.of(implementation, inputList);
+        final IntMTS spec = IntMTS.of(specification, inputList);
+
+        return new RefinementComputation(impl, spec, inputList.size()).compute();
     }
 
-    private static <AS, I, AT, BS, BT> boolean eligiblePartner(ModalTransitionSystem<AS, I, AT, ?> a,
-                                                               ModalTransitionSystem<BS, I, BT, ?> b,
-                                                               Collection<I> inputs,
-                                                               BiPredicate<AS, BS> inRefinementRelation,
-                                                               AS source,
-                                                               BS coSource,
-                                                               Set<ModalType> acceptableValues) {
-
-        for (I label : inputs) {
-            for (AT transition : a.getTransitions(source, label)) {
-                if (!acceptableValues.contains(a.getTransitionProperty(transition).getModalType())) {
-                    continue;
+    /**
+     * The actual (counter-based) refinement computation.
+     * <p>
+     * For every specification state {@code q} and input {@code a} such that {@code q} has outgoing {@code
+     * a}-transitions (a <i>may group</i> {@code (q, a)}), and every implementation state {@code p'}, we count the
+     * {@code a}-transitions of {@code q} into states that are refined by {@code p'}. Once this counter drops to zero,
+     * no implementation state with an {@code a}-transition to {@code p'} can refine {@code q} anymore. Analogously, for
+     * every implementation state {@code p} and input {@code a} such that {@code p} has outgoing must {@code
+     * a}-transitions (a <i>must group</i> {@code (p, a)}), and every specification state {@code q'}, we count the must
+     * {@code a}-transitions of {@code p} into states that refine {@code q'}.
+     */
+    private static final class RefinementComputation {
+
+        private final IntMTS impl;
+        private final IntMTS spec;
+        private final int numInputs;
+
+        private final BitSet[] relation;
+        private final int[] mayCounters;
+        private final int[] mustCounters;
+
+        private long[] worklist;
+        private int worklistSize;
+
+        RefinementComputation(IntMTS impl, IntMTS spec, int numInputs) {
+            this.impl = impl;
+            this.spec = spec;
+            this.numInputs = numInputs;
+
+            this.relation = new BitSet[impl.numStates];
+            this.mayCounters = new int[spec.numMayGroups * impl.numStates];
+            this.mustCounters = new int[impl.numMustGroups * spec.numStates];
+            this.worklist = new long[Math.max(impl.numStates, 16)];
+        }
+
+        BitSet[] compute() {
+            initialize();
+
+            final int implSize = impl.numStates;
+            final int specSize = spec.numStates;
+
+            while (worklistSize > 0) {
+                final long pair = worklist[--worklistSize];
+                final int p = (int) (pair / specSize);
+                final int q = (int) (pair % specSize);
+
+                // may transitions of the specification into q may no longer be used to match transitions into p
+                for (int k = spec.mayInOfs[q]; k < spec.mayInOfs[q + 1]; k++) {
+                    final int group = spec.mayInGroups[k];
+                    if (--mayCounters[group * implSize + p] == 0) {
+                        final int source = spec.mayGroupSources[group];
+                        final int label = spec.mayGroupLabels[group];
+                        final int idx = label * implSize + p;
+                        for (int l = impl.mayPredOfs[idx]; l < impl.mayPredOfs[idx + 1]; l++) {
+                            remove(impl.mayPreds[l], source);
+                        }
+                    }
                 }
 
-                Set<BT> partnerTransitions = partnerTransitions(b, coSource, label, acceptableValues);
+                // must transitions of the implementation into p may no longer be used to match transitions into q
+                for (int k = impl.mustInOfs[p]; k < impl.mustInOfs[p + 1]; k++) {
+                    final int group = impl.mustInGroups[k];
+                    if (--mustCounters[group * specSize + q] == 0) {
+                        final int source = impl.mustGroupSources[group];
+                        final int label = impl.mustGroupLabels[group];
+                        final int idx = label * specSize + q;
+                        for (int l = spec.mustPredOfs[idx]; l < spec.mustPredOfs[idx + 1]; l++) {
+                            remove(source, spec.mustPreds[l]);
+                        }
+                    }
+                }
+            }
 
-                AS target = a.getSuccessor(transition);
-                final boolean eligiblePartner = partnerTransitions.stream()
-                                                                  .map(b::getSuccessor)
-                                                                  .anyMatch(s -> inRefinementRelation.test(target, s));
+            return relation;
+        }
+
+        private void initialize() {
+            final int implSize = impl.numStates;
+            final int specSize = spec.numStates;
+
+            for (int g = 0; g < spec.numMayGroups; g++) {
+                Arrays.fill(mayCounters, g * implSize, (g + 1) * implSize, spec.mayGroupSizes[g]);
+            }
+            for (int g = 0; g < impl.numMustGroups; g++) {
+                Arrays.fill(mustCounters, g * specSize, (g + 1) * specSize, impl.mustGroupSizes[g]);
+            }
 
-                if (!eligiblePartner) {
-                    return false;
+            for (int p = 0; p < implSize; p++) {
+                final BitSet related = new BitSet(specSize);
+                related.set(0, specSize);
+                relation[p] = related;
+            }
+
+            // remove all pairs whose (may/must) transitions cannot be matched at all
+            for (int p = 0; p < implSize; p++) {
+                for (int q = 0; q < specSize; q++) {
+                    for (int i = 0; i < numInputs; i++) {
+                        if (impl.hasMay(p, i) && !spec.hasMay(q, i) || spec.hasMust(q, i) && !impl.hasMust(p, i)) {
+                            remove(p, q);
+                            break;
+                        }
+                    }
                 }
             }
         }
 
-        return true;
+        private void remove(int p, int q) {
+            final BitSet related = relation[p];
+            if (!related.get(q)) {
+                return;
+            }
+            related.clear(q);
+
+            if (worklistSize == worklist.length) {
+                worklist = Arrays.copyOf(worklist, ArrayUtil.computeNewCapacity(worklistSize, worklistSize + 1));
+            }
+            worklist[worklistSize++] = (long) p * spec.numStates + q;
+        }
     }
 
-    public static <AS, BS, I> Set<Pair<AS, BS>> refinementRelation(ModalTransitionSystem<AS, I, ?, ?> implementation,
-                                                                   ModalTransitionSystem<BS, I, ?, ?> specification,
-                                                                   Collection<I> inputs) {
+    /**
+     * An integer-based representation of the transition structure of an MTS. Transitions without a property are
+     * ignored.
+     */
+    private static final class IntMTS {
+
+        final int numStates;
+        final int numInputs;
+
+        // outgoing may/must transitions, grouped by (source, label)
+        final int[] mayGroupOfState;
+        final int[] mustGroupOfState;
+        final int numMayGroups;
+        final int numMustGroups;
+        final int[] mayGroupSources;
+        final int[] mayGroupLabels;
+        final int[] mayGroupSizes;
+        final int[] mustGroupSources;
+        final int[] mustGroupLabels;
+        final int[] mustGroupSizes;
+
+        // incoming may/must transitions, identified by the group of their source
+        final int[] mayInOfs;
+        final int[] mayInGroups;
+        final int[] mustInOfs;
+        final int[] mustInGroups;
+
+        // may/must predecessors, indexed by label * numStates + target
+        final int[] mayPredOfs;
+        final int[] mayPreds;
+        final int[] mustPredOfs;
+        final int[] mustPreds;
 
-        Set<Pair<AS, BS>> refinement = Sets.newHashSetWithExpectedSize(implementation.size() * specification.size());
+        private IntMTS(int numStates, int numInputs, TransitionList may, TransitionList must) {
+            this.numStates = numStates;
+            this.numInputs = numInputs;
 
-        // lower approximation only correct if automaton is finite (image-finite)
-        for (AS p : implementation.getStates()) {
-            for (BS q : specification.getStates()) {
-                refinement.add(Pair.of(p, q));
+            this.mayGroupOfState = new int[numStates * numInputs];
+            this.mustGroupOfState = new int[numStates * numInputs];
+            Arrays.fill(mayGroupOfState, -1);
+            Arrays.fill(mustGroupOfState, -1);
+
+            this.numMayGroups = countGroups(may, mayGroupOfState);
+            this.numMustGroups = countGroups(must, mustGroupOfState);
+
+            this.mayGroupSources = new int[numMayGroups];
+            this.mayGroupLabels = new int[numMayGroups];
+            this.mayGroupSizes = new int[numMayGroups];
+            fillGroups(may, mayGroupOfState, mayGroupSources, mayGroupLabels, mayGroupSizes);
+
+            this.mustGroupSources = new int[numMustGroups];
+            this.mustGroupLabels = new int[numMustGroups];
+            this.mustGroupSizes = new int[numMustGroups];
+            fillGroups(must, mustGroupOfState, mustGroupSources, mustGroupLabels, mustGroupSizes);
+
+            this.mayInOfs = new int[numStates + 1];
+            this.mayInGroups = new int[may.size];
+            fillIncoming(may, mayGroupOfState, mayInOfs, mayInGroups);
+
+            this.mustInOfs = new int[numStates + 1];
+            this.mustInGroups = new int[must.size];
+            fillIncoming(must, mustGroupOfState, mustInOfs, mustInGroups);
+
+            this.mayPredOfs = new int[numStates * numInputs + 1];
+            this.mayPreds = new int[may.size];
+            fillPredecessors(may, mayPredOfs, mayPreds);
+
+            this.mustPredOfs = new int[numStates * numInputs + 1];
+            this.mustPreds = new int[must.size];
+            fillPredecessors(must, mustPredOfs, mustPreds);
+        }
+
+        static <S, I, T> IntMTS of(ModalTransitionSystem<S, I, T, ?> mts, List<? extends I> inputs) {
+            final int numStates = mts.size();
+            final int numInputs = inputs.size();
+            final StateIDs<S> stateIDs = mts.stateIDs();
+
+            final TransitionList may = new TransitionList();
+            final TransitionList must = new TransitionList();
+
+            for (int s = 0; s < numStates; s++) {
+                final S state = stateIDs.getState(s);
+                for (int i = 0; i < numInputs; i++) {
+                    for (T trans : mts.getTransitions(state, inputs.get(i))) {
+                        final ModalEdgeProperty property = mts.getTransitionProperty(trans);
+                        if (property == null) {
+                            continue;
+                        }
+
+                        final int target = stateIDs.getStateId(mts.getSuccessor(trans));
+                        may.add(s, i, target);
+                        if (property.isMust()) {
+                            must.add(s, i, target);
+                        }
+                    }
+                }
             }
+
+            return new IntMTS(numStates, numInputs, may, must);
+        }
+
+        boolean hasMay(int state, int label) {
+            return mayGroupOfState[state * numInputs + label] >= 0;
+        }
+
+        boolean hasMust(int state, int label) {
+            return mustGroupOfState[state * numInputs + label] >= 0;
         }
 
-        Set<ModalType> may = EnumSet.of(ModalType.MAY, ModalType.MUST);
-        Set<ModalType> must = Collections.singleton(ModalType.MUST);
-
-        boolean update = true;
-        while (update) {
-            update = false;
-
-            Iterator<Pair<AS, BS>> iterator = refinement.iterator();
-            while (iterator.hasNext()) {
-                Pair<AS, BS> pair = iterator.next();
-
-                boolean eligiblePartner = eligiblePartner(implementation,
-                                                          specification,
-                                                          inputs,
-                                                          (s, t) -> refinement.contains(Pair.of(s, t)),
-                                                          pair.getFirst(),
-                                                          pair.getSecond(),
-                                                          may);
-
-                eligiblePartner &= eligiblePartner(specification,
-                                                   implementation,
-                                                   inputs,
-                                                   (s, t) -> refinement.contains(Pair.of(t, s)),
-                                                   pair.getSecond(),
-                                                   pair.getFirst(),
-                                                   must);
-
-                if (!eligiblePartner) {
-                    update = true;
-                    iterator.remove();
+        private int countGroups(TransitionList transitions, int[] groupOfState) {
+            int numGroups = 0;
+            for (int t = 0; t < transitions.size; t++) {
+                final int idx = transitions.sources[t] * numInputs + transitions.labels[t];
+                if (groupOfState[idx] < 0) {
+                    groupOfState[idx] = numGroups++;
                 }
             }
+            return numGroups;
         }
 
-        return refinement;
+        private void fillGroups(TransitionList transitions,
+                                int[] groupOfState,
+                                int[] groupSources,
+                                int[] groupLabels,
+                                int[] groupSizes) {
+            for (int t = 0; t < transitions.size; t++) {
+                final int source = transitions.sources[t];
+                final int label = transitions.labels[t];
+                final int group = groupOfState[source * numInputs + label];
+                groupSources[group] = source;
+                groupLabels[group] = label;
+                groupSizes[group]++;
+            }
+        }
+
+        private void fillIncoming(TransitionList transitions, int[] groupOfState, int[] inOfs, int[] inGroups) {
+            for (int t = 0; t < transitions.size; t++) {
+                inOfs[transitions.targets[t]]++;
+            }
+            PaigeTarjanInitializers.prefixSum(inOfs, 0, inOfs.length);
+            for (int t = 0; t < transitions.size; t++) {
+                final int group = groupOfState[transitions.sources[t] * numInputs + transitions.labels[t]];
+                inGroups[--inOfs[transitions.targets[t]]] = group;
+            }
+        }
+
+        private void fillPredecessors(TransitionList transitions, int[] predOfs, int[] preds) {
+            for (int t = 0; t < transitions.size; t++) {
+                predOfs[transitions.labels[t] * numStates + transitions.targets[t]]++;
+            }
+            PaigeTarjanInitializers.prefixSum(predOfs, 0, predOfs.length);
+            for (int t = 0; t < transitions.size; t++) {
+                preds[--predOfs[transitions.labels[t] * numStates + transitions.targets[t]]] = transitions.sources[t];
+            }
+        }
+    }
+
+    private static final class TransitionList {
+
+        private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+        int[] sources = new int[DEFAULT_INITIAL_CAPACITY];
+        int[] labels = new int[DEFAULT_INITIAL_CAPACITY];
+        int[] targets = new int[DEFAULT_INITIAL_CAPACITY];
+        int size;
+
+        void add(int source, int label, int target) {
+            if (size == sources.length) {
+                final int newCapacity = ArrayUtil.computeNewCapacity(size, size + 1);
+                sources = Arrays.copyOf(sources, newCapacity);
+                labels = Arrays.copyOf(labels, newCapacity);
+                targets = Arrays.copyOf(targets, newCapacity);
+            }
+
+            sources[size] = source;
+            labels[size] = label;
+            targets[size] = target;
+            size++;
+        }
     }
 }
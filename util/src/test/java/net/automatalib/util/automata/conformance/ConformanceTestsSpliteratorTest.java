@@ -0,0 +1,103 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConformanceTestsSpliteratorTest {
+
+    private static final int DEPTH = 2;
+    private static final int NUM_SHARDS = 7;
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+    private final CompactMealy<Integer, Character> mealy =
+            RandomAutomata.randomMealy(new Random(42), 15, alphabet, Alphabets.characters('a', 'c'));
+
+    @Test
+    public void testWMethod() {
+        for (int depth = 0; depth <= DEPTH; depth++) {
+            final int d = depth;
+            checkSpliterator(new WMethodTestsIterator<>(mealy, alphabet, d),
+                             () -> ConformanceTestsSpliterator.wMethod(mealy, alphabet, d));
+        }
+    }
+
+    @Test
+    public void testWpMethod() {
+        for (int depth = 0; depth <= DEPTH; depth++) {
+            final int d = depth;
+            checkSpliterator(new WpMethodTestsIterator<>(mealy, alphabet, d),
+                             () -> ConformanceTestsSpliterator.wpMethod(mealy, alphabet, d));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidShard() {
+        ConformanceTestsSpliterator.wMethod(mealy, alphabet, 0).shard(3, 3);
+    }
+
+    private static void checkSpliterator(Iterator<Word<Integer>> iterator,
+                                         Supplier<ConformanceTestsSpliterator<Integer>> spliterator) {
+        final List<Word<Integer>> expected = Lists.newArrayList(iterator);
+
+        // sequential
+        final List<Word<Integer>> sequential = new ArrayList<>(expected.size());
+        spliterator.get().forEachRemaining(sequential::add);
+        Assert.assertEquals(sequential, expected);
+
+        // parallel
+        final List<Word<Integer>> parallel =
+                StreamSupport.stream(spliterator.get(), true).collect(Collectors.toList());
+        Assert.assertEquals(parallel, expected);
+
+        // sharded
+        final ConformanceTestsSpliterator<Integer> base = spliterator.get();
+        final List<Word<Integer>> sharded = new ArrayList<>(expected.size());
+        for (int i = 0; i < NUM_SHARDS; i++) {
+            base.shard(i, NUM_SHARDS).forEachRemaining(sharded::add);
+        }
+        Assert.assertEquals(sharded, expected);
+
+        // manual split
+        final ConformanceTestsSpliterator<Integer> second = spliterator.get();
+        final Spliterator<Word<Integer>> first = second.trySplit();
+        final List<Word<Integer>> split = new ArrayList<>(expected.size());
+        if (first != null) {
+            first.forEachRemaining(split::add);
+        }
+        Assert.assertTrue(second.tryAdvance(split::add));
+        // partially traversed blocks must not be split
+        Assert.assertNull(second.trySplit());
+        second.forEachRemaining(split::add);
+        Assert.assertEquals(split, expected);
+    }
+}
@@ -0,0 +1,150 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PrefixFreeTestsIteratorTest {
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+    private final CompactMealy<Integer, Character> mealy =
+            RandomAutomata.randomMealy(new Random(42), 10, alphabet, Alphabets.characters('a', 'b'));
+
+    @Test
+    public void testUnboundedWindow() {
+        final List<Word<Integer>> suite = Lists.newArrayList(new WpMethodTestsIterator<>(mealy, alphabet, 1));
+        final PrefixFreeTestsIterator<Integer> iter =
+                new PrefixFreeTestsIterator<>(suite.iterator(), suite.size());
+        final List<Word<Integer>> reduced = Lists.newArrayList(iter);
+
+        checkCoverage(suite, reduced, iter);
+
+        // the reduced suite is prefix-free
+        for (Word<Integer> w1 : reduced) {
+            for (Word<Integer> w2 : reduced) {
+                Assert.assertTrue(w1 == w2 || !w1.isPrefixOf(w2), w1 + " is a prefix of " + w2);
+            }
+        }
+
+        // the order of the original suite is preserved
+        final List<Word<Integer>> expectedOrder = new ArrayList<>(suite);
+        expectedOrder.retainAll(reduced);
+        Assert.assertEquals(dedup(expectedOrder), reduced);
+    }
+
+    @Test
+    public void testBoundedWindow() {
+        final List<Word<Integer>> suite = Lists.newArrayList(new WMethodTestsIterator<>(mealy, alphabet, 1));
+
+        for (int window : new int[] {1, 3, 10}) {
+            final PrefixFreeTestsIterator<Integer> iter = new PrefixFreeTestsIterator<>(suite.iterator(), window);
+            final List<Word<Integer>> reduced = Lists.newArrayList(iter);
+
+            checkCoverage(suite, reduced, iter);
+
+            // adjacent words are never redundant
+            for (int i = 1; i < reduced.size(); i++) {
+                Assert.assertFalse(reduced.get(i - 1).isPrefixOf(reduced.get(i)));
+                Assert.assertFalse(reduced.get(i).isPrefixOf(reduced.get(i - 1)));
+            }
+        }
+    }
+
+    @Test
+    public void testSortedOrder() {
+        final List<Word<Integer>> suite = Lists.newArrayList(new WMethodTestsIterator<>(mealy, alphabet, 1));
+        final int window = 20;
+
+        final PrefixFreeTestsIterator<Integer> unsorted = new PrefixFreeTestsIterator<>(suite.iterator(), window);
+        final PrefixFreeTestsIterator<Integer> sorted =
+                new PrefixFreeTestsIterator<>(suite.iterator(), window, Integer::compare);
+
+        final List<Word<Integer>> unsortedWords = Lists.newArrayList(unsorted);
+        final List<Word<Integer>> sortedWords = Lists.newArrayList(sorted);
+
+        checkCoverage(suite, sortedWords, sorted);
+        Assert.assertTrue(sorted.getSharedPrefixSymbols() >= unsorted.getSharedPrefixSymbols());
+        Assert.assertEquals(sortedWords.size(), suite.size() - sorted.getRemovedTests());
+        Assert.assertTrue(unsortedWords.size() > 0);
+    }
+
+    @Test
+    public void testStatistics() {
+        final List<Word<Integer>> suite = new ArrayList<>();
+        suite.add(Word.fromSymbols(0));
+        suite.add(Word.fromSymbols(0, 1));
+        suite.add(Word.fromSymbols(1, 1));
+        suite.add(Word.fromSymbols(0, 1));
+        suite.add(Word.fromSymbols(1));
+        suite.add(Word.fromSymbols(0, 1, 0));
+
+        final PrefixFreeTestsIterator<Integer> iter = new PrefixFreeTestsIterator<>(suite.iterator(), 10);
+        final List<Word<Integer>> reduced = Lists.newArrayList(iter);
+
+        Assert.assertEquals(reduced, Lists.newArrayList(Word.fromSymbols(1, 1), Word.fromSymbols(0, 1, 0)));
+        Assert.assertEquals(iter.getRemovedTests(), 4);
+        Assert.assertEquals(iter.getRemovedSymbols(), 1 + 2 + 2 + 1);
+        Assert.assertEquals(iter.getSharedPrefixSymbols(), 0);
+    }
+
+    private static void checkCoverage(List<Word<Integer>> suite,
+                                      List<Word<Integer>> reduced,
+                                      PrefixFreeTestsIterator<Integer> iter) {
+        // every original test word is covered by a returned test word
+        for (Word<Integer> test : suite) {
+            boolean covered = false;
+            for (Word<Integer> r : reduced) {
+                covered |= test.isPrefixOf(r);
+            }
+            Assert.assertTrue(covered, "Test " + test + " is not covered");
+        }
+
+        long symbols = 0;
+        for (Word<Integer> test : suite) {
+            symbols += test.length();
+        }
+        for (Word<Integer> r : reduced) {
+            symbols -= r.length();
+        }
+
+        Assert.assertEquals(reduced.size() + iter.getRemovedTests(), suite.size());
+        Assert.assertEquals(iter.getRemovedSymbols(), symbols);
+    }
+
+    private static List<Word<Integer>> dedup(List<Word<Integer>> words) {
+        final Set<Word<Integer>> seen = new HashSet<>();
+        final List<Word<Integer>> result = new ArrayList<>();
+        for (Word<Integer> w : words) {
+            if (seen.add(w)) {
+                result.add(w);
+            }
+        }
+        return result;
+    }
+}
@@ -15,13 +15,19 @@
  */
 package net.automatalib.util.automata.equivalence;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import net.automatalib.automata.Automaton;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.ts.modal.CompactMTS;
+import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -79,6 +85,147 @@ public class BisimulationTest {
         Assert.assertFalse(equivalentStates.contains(Pair.of(as0, bs0)));
     }
 
+    @Test
+    public void testRelationAgainstFixpoint() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int i = 0; i < 20; i++) {
+            final CompactNFA<Integer> a = randomNFA(random, alphabet, 8);
+            final CompactNFA<Integer> b = randomNFA(random, alphabet, 8);
+
+            Assert.assertEquals(Bisimulation.bisimulationEquivalenceRelation(a, b, alphabet),
+                                naiveBisimulation(a, b, alphabet));
+        }
+    }
+
+    @Test
+    public void testMinimizeNFA() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+
+        for (int i = 0; i < 20; i++) {
+            final CompactNFA<Integer> nfa = randomNFA(random, alphabet, 30);
+            final CompactNFA<Integer> minimized = Bisimulation.minimizeNFA(nfa, alphabet);
+
+            Assert.assertTrue(minimized.size() <= nfa.size());
+            Assert.assertEquals(Bisimulation.minimizeNFA(minimized, alphabet).size(), minimized.size());
+
+            for (List<Integer> w : CollectionsUtil.allTuples(alphabet, 0, 6)) {
+                Assert.assertEquals(minimized.accepts(w), nfa.accepts(w));
+            }
+        }
+    }
+
+    @Test
+    public void testMinimizeMTS() {
+        final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'b');
+        final CompactMTS<String> mts = new CompactMTS<>(alphabet);
+
+        final Integer s0 = mts.addInitialState();
+        final Integer s1 = mts.addState();
+        final Integer s2 = mts.addState();
+        final Integer s3 = mts.addState();
+
+        // s1 and s2 are bisimilar, s3 differs from them only by the modality of its transition
+        mts.addModalTransition(s0, "a", s1, ModalType.MUST);
+        mts.addModalTransition(s0, "a", s2, ModalType.MUST);
+        mts.addModalTransition(s0, "b", s3, ModalType.MAY);
+        mts.addModalTransition(s1, "a", s1, ModalType.MAY);
+        mts.addModalTransition(s2, "a", s1, ModalType.MAY);
+        mts.addModalTransition(s3, "a", s3, ModalType.MUST);
+
+        final int[] classes = Bisimulation.bisimulationClasses(mts, alphabet, null, mts::getTransitionProperty);
+        Assert.assertEquals(classes[s1], classes[s2]);
+        Assert.assertNotEquals(classes[s1], classes[s3]);
+
+        final CompactMTS<String> minimized = Bisimulation.minimizeMTS(mts);
+        Assert.assertEquals(minimized.size(), 3);
+        Assert.assertEquals(minimized.getInitialStates().size(), 1);
+
+        final Integer init = minimized.getInitialStates().iterator().next();
+        Assert.assertEquals(minimized.getTransitions(init, "a").size(), 1);
+        Assert.assertTrue(minimized.getTransitions(init, "a").iterator().next().getProperty().isMust());
+        Assert.assertTrue(minimized.getTransitions(init, "b").iterator().next().getProperty().isMayOnly());
+    }
+
+    private static CompactNFA<Integer> randomNFA(Random random, Alphabet<Integer> alphabet, int size) {
+        final CompactNFA<Integer> result = new CompactNFA<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            result.addIntState(random.nextBoolean());
+        }
+        result.setInitial(0, true);
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < alphabet.size(); j++) {
+                final int numSuccs = random.nextInt(3);
+                for (int k = 0; k < numSuccs; k++) {
+                    result.addTransition(i, j, random.nextInt(size));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static <I> Set<Pair<Integer, Integer>> naiveBisimulation(CompactNFA<I> a,
+                                                                     CompactNFA<I> b,
+                                                                     Collection<I> inputs) {
+        final boolean[][] rel = new boolean[a.size()][b.size()];
+        for (boolean[] row : rel) {
+            Arrays.fill(row, true);
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int p = 0; p < a.size(); p++) {
+                for (int q = 0; q < b.size(); q++) {
+                    if (rel[p][q] && !(simulates(a, b, p, q, inputs, rel, false) &&
+                                       simulates(b, a, q, p, inputs, rel, true))) {
+                        rel[p][q] = false;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        final Set<Pair<Integer, Integer>> result = new HashSet<>();
+        for (int p = 0; p < a.size(); p++) {
+            for (int q = 0; q < b.size(); q++) {
+                if (rel[p][q]) {
+                    result.add(Pair.of(p, q));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static <I> boolean simulates(CompactNFA<I> a,
+                                         CompactNFA<I> b,
+                                         int p,
+                                         int q,
+                                         Collection<I> inputs,
+                                         boolean[][] rel,
+                                         boolean swapped) {
+        for (I i : inputs) {
+            for (Integer pSucc : a.getSuccessors(p, i)) {
+                boolean found = false;
+                for (Integer qSucc : b.getSuccessors(q, i)) {
+                    if (swapped ? rel[qSucc][pSucc] : rel[pSucc][qSucc]) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private static <AS, I, AT, A extends Automaton<AS, I, AT>, BS, BT, B extends Automaton<BS, I, BT>> boolean testBisimulationEquivalence(
             A a,
             B b,
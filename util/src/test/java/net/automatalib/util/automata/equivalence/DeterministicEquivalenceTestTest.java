@@ -75,6 +75,30 @@ public class DeterministicEquivalenceTestTest {
         testEquivalenceInternal(a1, a2, inputAlphabet, false);
     }
 
+    @Test
+    public void testLargeVariantConsistency() {
+        final Alphabet<Integer> inputAlphabet = Alphabets.integers(0, 5);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'c');
+
+        for (int i = 0; i < 20; i++) {
+            final CompactMealy<Integer, Character> a1 =
+                    RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_SMALL, inputAlphabet, outputAlphabet);
+            final CompactMealy<Integer, Character> a2 =
+                    RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_SMALL, inputAlphabet, outputAlphabet);
+
+            final Word<Integer> small = DeterministicEquivalenceTest.findSeparatingWord(a1, a2, inputAlphabet);
+            final Word<Integer> large = DeterministicEquivalenceTest.findSeparatingWordLarge(a1, a2, inputAlphabet);
+
+            Assert.assertNotNull(small);
+            Assert.assertNotNull(large);
+            Assert.assertNotEquals(a1.computeOutput(large), a2.computeOutput(large));
+            // both variants perform a BFS and therefore have to yield shortest separating words
+            Assert.assertEquals(large.length(), small.length());
+
+            Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWordLarge(a1, a1, inputAlphabet));
+        }
+    }
+
     @Test
     public void testEmptyDFAs() {
         final Alphabet<Integer> alphabet = Alphabets.integers(0, 5);
@@ -0,0 +1,166 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.DetSuffixOutputAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class IntCharacterizingSetsTest {
+
+    private static final Random RANDOM = new Random(0);
+    private static final int AUTOMATON_SIZE = 50;
+    private static final Alphabet<Integer> INPUT_ALPHABET = Alphabets.integers(0, 3);
+    private static final Alphabet<Character> OUTPUT_ALPHABET = Alphabets.characters('a', 'b');
+
+    @Test
+    public void testDFA() {
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE, INPUT_ALPHABET, false);
+        checkAutomaton(dfa, dfa, INPUT_ALPHABET);
+    }
+
+    @Test
+    public void testMealy() {
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE, INPUT_ALPHABET, OUTPUT_ALPHABET, false);
+        checkAutomaton(mealy, mealy, INPUT_ALPHABET);
+    }
+
+    @Test
+    public void testMoore() {
+        final CompactMoore<Integer, Character> moore =
+                RandomAutomata.randomMoore(RANDOM, AUTOMATON_SIZE, INPUT_ALPHABET, OUTPUT_ALPHABET, false);
+        checkAutomaton(moore, moore, INPUT_ALPHABET);
+    }
+
+    @Test
+    public void testPartialMealy() {
+        final Alphabet<String> inputs = Alphabets.fromArray("a", "b");
+
+        final CompactMealy<String, String> mealy = new CompactMealy<>(inputs);
+        final int q0 = mealy.addInitialState();
+        final int q1 = mealy.addState();
+        final int q2 = mealy.addState();
+        final int q3 = mealy.addState();
+        final int q4 = mealy.addState();
+
+        mealy.addTransition(q0, "a", q1, "x");
+        mealy.addTransition(q0, "b", q2, "x");
+        mealy.addTransition(q1, "a", q3, "x");
+        mealy.addTransition(q2, "a", q4, "x");
+        mealy.addTransition(q3, "a", q3, "x");
+        mealy.addTransition(q3, "b", q0, "x");
+        mealy.addTransition(q4, "a", q4, "x");
+
+        final IntCharacterizingSets<String> sets = checkAutomaton(mealy, mealy, inputs);
+
+        Assert.assertEquals(sets.getNumClasses(), 4);
+        Assert.assertTrue(sets.isEquivalent(q2, q4));
+        Assert.assertFalse(sets.isEquivalent(q1, q2));
+    }
+
+    @Test
+    public void testNonMinimal() {
+        final Alphabet<Character> inputs = Alphabets.characters('a', 'b');
+
+        final CompactDFA<Character> dfa = new CompactDFA<>(inputs);
+        final int q0 = dfa.addInitialState(false);
+        final int q1 = dfa.addState(false);
+        final int q2 = dfa.addState(false);
+        final int q3 = dfa.addState(true);
+
+        dfa.addTransition(q0, 'a', q1);
+        dfa.addTransition(q0, 'b', q2);
+        dfa.addTransition(q1, 'a', q3);
+        dfa.addTransition(q1, 'b', q0);
+        dfa.addTransition(q2, 'a', q3);
+        dfa.addTransition(q2, 'b', q0);
+        dfa.addTransition(q3, 'a', q3);
+        dfa.addTransition(q3, 'b', q3);
+
+        final IntCharacterizingSets<Character> sets = checkAutomaton(dfa, dfa, inputs);
+
+        Assert.assertEquals(sets.getNumClasses(), 3);
+        Assert.assertTrue(sets.isEquivalent(q1, q2));
+        Assert.assertNull(sets.findSeparatingWord(q1, q2));
+        Assert.assertEquals(sets.getStateCharacterizingSet(q1), sets.getStateCharacterizingSet(q2));
+        Assert.assertTrue(sets.getCharacterizingSet().size() <= 2);
+    }
+
+    private static <I> IntCharacterizingSets<I> checkAutomaton(
+            UniversalDeterministicAutomaton<Integer, I, ?, ?, ?> structure,
+            DetSuffixOutputAutomaton<Integer, I, ?, ?> automaton,
+            Alphabet<I> inputs) {
+        final IntCharacterizingSets<I> sets = IntCharacterizingSets.compute(structure, inputs);
+        final Collection<Word<I>> characterizingSet = sets.getCharacterizingSet();
+
+        Assert.assertTrue(characterizingSet.size() < sets.getNumClasses());
+
+        for (final Integer s1 : automaton) {
+            final Collection<Word<I>> stateCharacterizingSet = sets.getStateCharacterizingSet(s1);
+
+            for (final Integer s2 : automaton) {
+                final Word<I> reference = Automata.findSeparatingWord(structure, s1, s2, inputs);
+                final Word<I> separator = sets.findSeparatingWord(s1, s2);
+
+                Assert.assertEquals(sets.isEquivalent(s1, s2), reference == null);
+
+                if (reference == null) {
+                    Assert.assertNull(separator);
+                } else {
+                    Assert.assertNotNull(separator);
+                    Assert.assertTrue(separates(automaton, s1, s2, separator));
+                    Assert.assertTrue(separatesAny(automaton, s1, s2, characterizingSet));
+                    Assert.assertTrue(separatesAny(automaton, s1, s2, stateCharacterizingSet));
+                }
+            }
+        }
+
+        return sets;
+    }
+
+    private static <S, I> boolean separatesAny(DetSuffixOutputAutomaton<S, I, ?, ?> automaton,
+                                               S s1,
+                                               S s2,
+                                               Collection<Word<I>> words) {
+        for (Word<I> w : words) {
+            if (separates(automaton, s1, s2, w)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <S, I> boolean separates(DetSuffixOutputAutomaton<S, I, ?, ?> automaton,
+                                            S s1,
+                                            S s2,
+                                            Word<I> word) {
+        return !Objects.equals(automaton.computeStateOutput(s1, word), automaton.computeStateOutput(s2, word));
+    }
+}
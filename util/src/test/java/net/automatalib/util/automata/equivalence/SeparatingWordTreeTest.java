@@ -0,0 +1,196 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.concepts.DetSuffixOutputAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SeparatingWordTreeTest {
+
+    private static final Random RANDOM = new Random(42);
+    private static final int AUTOMATON_SIZE = 60;
+    private static final Alphabet<Integer> INPUT_ALPHABET = Alphabets.integers(0, 2);
+    private static final Alphabet<Character> OUTPUT_ALPHABET = Alphabets.characters('a', 'b');
+
+    @Test
+    public void testDFA() {
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE, INPUT_ALPHABET, false);
+        checkAutomaton(dfa, dfa, INPUT_ALPHABET);
+    }
+
+    @Test
+    public void testMealy() {
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE, INPUT_ALPHABET, OUTPUT_ALPHABET, false);
+        checkAutomaton(mealy, mealy, INPUT_ALPHABET);
+    }
+
+    @Test
+    public void testMoore() {
+        final CompactMoore<Integer, Character> moore =
+                RandomAutomata.randomMoore(RANDOM, AUTOMATON_SIZE, INPUT_ALPHABET, OUTPUT_ALPHABET, false);
+        checkAutomaton(moore, moore, INPUT_ALPHABET);
+    }
+
+    @Test
+    public void testCounter() {
+        // a modulo counter whose states can only be separated by long words
+        final Alphabet<Character> inputs = Alphabets.characters('a', 'b');
+        final int size = 32;
+        final CompactDFA<Character> dfa = new CompactDFA<>(inputs);
+
+        dfa.addInitialState(false);
+        for (int i = 1; i < size; i++) {
+            dfa.addState(i == size - 1);
+        }
+        for (int i = 0; i < size; i++) {
+            dfa.addTransition(i, 'a', (i + 1) % size);
+            dfa.addTransition(i, 'b', 0);
+        }
+
+        final SeparatingWordTree<Character> tree = checkAutomaton(dfa, dfa, inputs);
+
+        Assert.assertEquals(tree.getNumClasses(), size);
+        Assert.assertEquals(tree.getSeparatingWordLength(0, 1), size - 2);
+        Assert.assertEquals(tree.findSeparatingWord(0, 1), Word.fromList(Collections.nCopies(size - 2, 'a')));
+    }
+
+    @Test
+    public void testPartialMealy() {
+        final Alphabet<String> inputs = Alphabets.fromArray("a", "b");
+
+        final CompactMealy<String, String> mealy = new CompactMealy<>(inputs);
+        final int q0 = mealy.addInitialState();
+        final int q1 = mealy.addState();
+        final int q2 = mealy.addState();
+        final int q3 = mealy.addState();
+        final int q4 = mealy.addState();
+
+        mealy.addTransition(q0, "a", q1, "x");
+        mealy.addTransition(q0, "b", q2, "x");
+        mealy.addTransition(q1, "a", q3, "x");
+        mealy.addTransition(q2, "a", q4, "x");
+        mealy.addTransition(q3, "a", q3, "x");
+        mealy.addTransition(q3, "b", q0, "x");
+        mealy.addTransition(q4, "a", q4, "x");
+
+        final SeparatingWordTree<String> tree = checkAutomaton(mealy, mealy, inputs);
+
+        Assert.assertEquals(tree.getNumClasses(), 4);
+        Assert.assertTrue(tree.isEquivalent(q2, q4));
+        Assert.assertEquals(tree.findSeparatingWord(q3, q4), Word.fromLetter("b"));
+        Assert.assertEquals(tree.findSeparatingWord(q1, q2), Word.fromSymbols("a", "b"));
+    }
+
+    @Test
+    public void testEmpty() {
+        final CompactDFA<Integer> dfa = new CompactDFA<>(INPUT_ALPHABET);
+        final SeparatingWordTree<Integer> tree = SeparatingWordTree.compute(dfa, INPUT_ALPHABET);
+
+        Assert.assertEquals(tree.getNumClasses(), 0);
+    }
+
+    private static <I> SeparatingWordTree<I> checkAutomaton(
+            UniversalDeterministicAutomaton<Integer, I, ?, ?, ?> structure,
+            DetSuffixOutputAutomaton<Integer, I, ?, ?> automaton,
+            Alphabet<I> inputs) {
+        final SeparatingWordTree<I> tree = SeparatingWordTree.compute(structure, inputs);
+        final FullIntAbstraction<?, ?, ?> abs = structure.fullIntAbstraction(inputs);
+
+        for (final Integer s1 : automaton) {
+            for (final Integer s2 : automaton) {
+                final int expectedLength = shortestSeparatingWordLength(abs, s1, s2);
+                final Word<I> separator = tree.findSeparatingWord(s1, s2);
+
+                Assert.assertEquals(tree.getSeparatingWordLength(s1, s2), expectedLength);
+                Assert.assertEquals(tree.isEquivalent(s1, s2), expectedLength < 0);
+
+                if (expectedLength < 0) {
+                    Assert.assertNull(separator);
+                } else {
+                    Assert.assertNotNull(separator);
+                    Assert.assertEquals(separator.length(), expectedLength);
+                    Assert.assertNotEquals(automaton.computeStateOutput(s1, separator),
+                                           automaton.computeStateOutput(s2, separator));
+                }
+            }
+        }
+
+        return tree;
+    }
+
+    /*
+     * Reference implementation: a breadth-first search on the pairs of states.
+     */
+    private static int shortestSeparatingWordLength(FullIntAbstraction<?, ?, ?> abs, int s1, int s2) {
+        final int n = abs.size();
+        final int[] dist = new int[n * n];
+        final Queue<Integer> queue = new ArrayDeque<>();
+
+        if (!Objects.equals(abs.getStateProperty(s1), abs.getStateProperty(s2))) {
+            return 0;
+        }
+
+        dist[s1 * n + s2] = 1;
+        queue.add(s1 * n + s2);
+
+        while (!queue.isEmpty()) {
+            final int pair = queue.poll();
+            final int p = pair / n, q = pair % n, d = dist[pair];
+
+            for (int i = 0; i < abs.numInputs(); i++) {
+                final int pSucc = abs.getSuccessor(p, i), qSucc = abs.getSuccessor(q, i);
+
+                if ((pSucc < 0) != (qSucc < 0) ||
+                    !Objects.equals(abs.getTransitionProperty(p, i), abs.getTransitionProperty(q, i))) {
+                    return d;
+                }
+
+                if (pSucc < 0) {
+                    continue;
+                }
+
+                if (!Objects.equals(abs.getStateProperty(pSucc), abs.getStateProperty(qSucc))) {
+                    return d;
+                }
+
+                final int succPair = pSucc * n + qSucc;
+                if (dist[succPair] == 0) {
+                    dist[succPair] = d + 1;
+                    queue.add(succPair);
+                }
+            }
+        }
+
+        return -1;
+    }
+}
@@ -15,9 +15,14 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -107,6 +112,36 @@ public class DFAsTest {
         Assert.assertTrue(Automata.testEquivalence(actual, expected, testAlphabet));
     }
 
+    @Test
+    public void testCombineRandom() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int i = 0; i < 10; i++) {
+            final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, 20, alphabet, false);
+            final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, 15, alphabet, false);
+
+            // make the automata partial
+            for (int j = 0; j < 5; j++) {
+                dfa1.setTransition(random.nextInt(dfa1.size()), random.nextInt(alphabet.size()), (Integer) null);
+                dfa2.setTransition(random.nextInt(dfa2.size()), random.nextInt(alphabet.size()), (Integer) null);
+            }
+
+            for (AcceptanceCombiner combiner : Arrays.asList(AcceptanceCombiner.AND,
+                                                             AcceptanceCombiner.OR,
+                                                             AcceptanceCombiner.XOR,
+                                                             AcceptanceCombiner.EQUIV,
+                                                             AcceptanceCombiner.IMPL)) {
+                final DFA<?, Integer> expected =
+                        DFAs.combine(dfa1, dfa2, alphabet, new CompactDFA<>(alphabet), combiner);
+                final CompactDFA<Integer> actual = DFAs.combine(dfa1, dfa2, alphabet, combiner);
+
+                Assert.assertEquals(actual.size(), expected.size());
+                Assert.assertTrue(Automata.testEquivalence(actual, expected, alphabet));
+            }
+        }
+    }
+
     @Test
     public void testComplement() {
         DFA<?, Integer> expected = forVector(VECTOR_1_NEG);
@@ -15,6 +15,8 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.Random;
+
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
@@ -128,6 +130,42 @@ public class NFAsTest {
         Assert.assertEquals(dfa.size(), 2);
     }
 
+    @Test
+    public void testDeterminizeRandom() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        // the second size exceeds the threshold of the dense successor representation
+        for (int size : new int[] {1, 30, 50_000}) {
+            final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, size);
+
+            for (int i = 0; i < size; i++) {
+                nfa.addState(random.nextInt(4) == 0);
+            }
+            nfa.setInitial(0, true);
+            nfa.setInitial(random.nextInt(size), true);
+
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < alphabet.size(); j++) {
+                    final int numSuccs = size > 1000 ? random.nextInt(2) : random.nextInt(3);
+                    for (int k = 0; k < numSuccs; k++) {
+                        nfa.addTransition(i, j, random.nextInt(size));
+                    }
+                }
+            }
+
+            for (boolean partial : new boolean[] {true, false}) {
+                final CompactDFA<Integer> expected = new CompactDFA<>(alphabet);
+                NFAs.determinize(nfa, alphabet, expected, partial, false);
+
+                final CompactDFA<Integer> actual = NFAs.determinize(nfa, alphabet, partial, false);
+
+                Assert.assertEquals(actual.size(), expected.size());
+                Assert.assertTrue(Automata.testEquivalence(actual, expected, alphabet));
+            }
+        }
+    }
+
     private <I> void assertEquivalence(NFA<?, I> nfa1, NFA<?, I> nfa2, Alphabet<I> inputs) {
         Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(nfa1, inputs),
                                                    NFAs.determinize(nfa2, inputs),
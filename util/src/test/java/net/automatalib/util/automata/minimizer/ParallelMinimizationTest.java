@@ -0,0 +1,185 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.partitionrefinement.PaigeTarjanTest;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the parallel partition refinement yields the same results as the sequential one.
+ */
+public class ParallelMinimizationTest {
+
+    private static final int COPIES = 3;
+
+    private ForkJoinPool pool;
+
+    @BeforeClass
+    public void setUp() {
+        this.pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    @Test
+    public void testHopcroftDFA() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int size : new int[] {1, 10, 100, 5000}) {
+            final CompactDFA<Integer> dfa = inflate(random, RandomAutomata.randomDFA(random, size, alphabet, false));
+
+            for (PruningMode mode : PruningMode.values()) {
+                final CompactDFA<Integer> expected = HopcroftMinimization.minimizeDFA(dfa, alphabet, mode);
+                final CompactDFA<Integer> actual = HopcroftMinimization.minimizeDFA(dfa, alphabet, mode, pool);
+
+                Assert.assertEquals(actual.size(), expected.size());
+                Assert.assertTrue(Automata.testEquivalence(expected, actual, alphabet));
+            }
+        }
+    }
+
+    @Test
+    public void testHopcroftMealy() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final Alphabet<Character> outputs = Alphabets.characters('a', 'b');
+
+        for (int size : new int[] {1, 10, 100, 5000}) {
+            final CompactMealy<Integer, Character> mealy =
+                    RandomAutomata.randomMealy(random, size, alphabet, outputs, false);
+
+            final CompactMealy<Integer, Character> expected =
+                    HopcroftMinimization.minimizeMealy(mealy, alphabet, PruningMode.PRUNE_AFTER);
+            final CompactMealy<Integer, Character> actual =
+                    HopcroftMinimization.minimizeMealy(mealy, alphabet, PruningMode.PRUNE_AFTER, pool);
+
+            Assert.assertEquals(actual.size(), expected.size());
+            Assert.assertTrue(Automata.testEquivalence(expected, actual, alphabet));
+        }
+    }
+
+    @Test
+    public void testHopcroftChain() {
+        // a chain requires a linear number of refinement rounds
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final int size = 500;
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+
+        dfa.addIntInitialState(false);
+        for (int i = 1; i < size; i++) {
+            dfa.addIntState(i == size - 1);
+        }
+        for (int i = 0; i < size; i++) {
+            dfa.setTransition(i, 0, Math.min(i + 1, size - 1));
+            dfa.setTransition(i, 1, 0);
+        }
+
+        final CompactDFA<Integer> result = HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.DONT_PRUNE, pool);
+
+        Assert.assertEquals(result.size(), size);
+        Assert.assertTrue(Automata.testEquivalence(dfa, result, alphabet));
+    }
+
+    @Test
+    public void testHopcroftPartial() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+        dfa.addIntInitialState(true);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER, pool));
+    }
+
+    @Test
+    public void testPaigeTarjanPartial() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int size : new int[] {1, 10, 100, 5000}) {
+            final CompactDFA<Integer> dfa = inflate(random, RandomAutomata.randomDFA(random, size, alphabet, false));
+
+            // remove some transitions
+            for (int s = 0; s < dfa.size(); s++) {
+                if (random.nextInt(10) == 0) {
+                    dfa.setTransition(s, random.nextInt(alphabet.size()), (Integer) null);
+                }
+            }
+
+            final CompactDFA<Integer> expected = PaigeTarjanMinimization.minimizeDFA(dfa, alphabet);
+            final CompactDFA<Integer> actual = PaigeTarjanMinimization.minimizeDFA(dfa, alphabet, pool);
+
+            Assert.assertEquals(actual.size(), expected.size());
+            Assert.assertTrue(Automata.testEquivalence(expected, actual, alphabet));
+        }
+
+        final CompactMealy<Integer, String> mealy = PaigeTarjanTest.getMealy();
+        final CompactMealy<Integer, String> expected =
+                PaigeTarjanMinimization.minimizeMealy(mealy, mealy.getInputAlphabet());
+        final CompactMealy<Integer, String> actual =
+                PaigeTarjanMinimization.minimizeMealy(mealy, mealy.getInputAlphabet(), pool);
+
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertTrue(Automata.testEquivalence(expected, actual, mealy.getInputAlphabet()));
+    }
+
+    /**
+     * Creates a DFA that consists of several copies of the given DFA, whose transitions randomly switch between the
+     * copies. This yields (many) equivalent states that need to be merged.
+     */
+    private static CompactDFA<Integer> inflate(Random random, CompactDFA<Integer> dfa) {
+        final int size = dfa.size();
+        final int numInputs = dfa.numInputs();
+        final CompactDFA<Integer> result = new CompactDFA<>(dfa.getInputAlphabet(), size * COPIES);
+
+        for (int c = 0; c < COPIES; c++) {
+            for (int s = 0; s < size; s++) {
+                result.addIntState(dfa.isAccepting(s));
+            }
+        }
+
+        for (int c = 0; c < COPIES; c++) {
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = dfa.getSuccessor(s, i);
+                    result.setTransition(c * size + s, i, random.nextInt(COPIES) * size + succ);
+                }
+            }
+        }
+
+        result.setInitial(dfa.getIntInitialState(), true);
+
+        return result;
+    }
+}
@@ -0,0 +1,222 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import net.automatalib.automata.fsa.impl.compact.CSRNFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.graphs.base.compact.CSRGraph;
+import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.IntSSSPResult;
+import net.automatalib.util.graphs.sssp.SSSPResult;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class CSRGraphsTest {
+
+    private static final int SIZE = 200;
+    private static final int ROUNDS = 10;
+    private static final int WINDOW = 10;
+
+    @Test
+    public void testTraversals() {
+        final Random random = new Random(42);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final CompactSimpleGraph<Float> graph = randomGraph(random, SIZE, 2.0 / SIZE);
+            final CSRGraph<?, ?> csr = graph.freeze();
+            final int src = random.nextInt(SIZE);
+
+            final List<Integer> expectedBFS = new ArrayList<>();
+            final Set<Integer> visited = new HashSet<>();
+            final Deque<Integer> queue = new ArrayDeque<>();
+            visited.add(src);
+            queue.add(src);
+            while (!queue.isEmpty()) {
+                final Integer node = queue.poll();
+                expectedBFS.add(node);
+                for (CompactEdge<Float> edge : graph.getOutgoingEdges(node)) {
+                    if (visited.add(edge.getTarget())) {
+                        queue.add(edge.getTarget());
+                    }
+                }
+            }
+            Assert.assertEquals(toList(CSRGraphs.breadthFirstOrder(csr, src)), expectedBFS);
+
+            final List<Integer> expectedDFS = new ArrayList<>();
+            recursiveDFS(graph, src, new HashSet<>(), expectedDFS);
+            Assert.assertEquals(toList(CSRGraphs.depthFirstOrder(csr, src)), expectedDFS);
+        }
+    }
+
+    @Test
+    public void testSCCs() {
+        final Random random = new Random(42);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final CompactSimpleGraph<Float> graph = randomGraph(random, SIZE, 1.5 / SIZE);
+            final CSRGraph<?, ?> csr = graph.freeze();
+            final int[] components = CSRGraphs.stronglyConnectedComponents(csr);
+
+            final Set<Set<Integer>> expected = new HashSet<>();
+            for (List<Integer> scc : Graphs.collectSCCs(graph)) {
+                expected.add(new HashSet<>(scc));
+            }
+
+            final List<Set<Integer>> actual = new ArrayList<>();
+            for (int n = 0; n < SIZE; n++) {
+                while (actual.size() <= components[n]) {
+                    actual.add(new HashSet<>());
+                }
+                actual.get(components[n]).add(n);
+            }
+
+            Assert.assertEquals(new HashSet<>(actual), expected);
+
+            // components are numbered in reverse topological order
+            for (int n = 0; n < SIZE; n++) {
+                for (int e = csr.getEdgesLow(n); e < csr.getEdgesHigh(n); e++) {
+                    Assert.assertTrue(components[csr.getEdgeTarget(e)] <= components[n]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSSSP() {
+        final Random random = new Random(42);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final CompactSimpleGraph<Float> graph = randomGraph(random, SIZE, 3.0 / SIZE);
+            final PropertyEdgeWeights<CompactEdge<Float>> weights = new PropertyEdgeWeights<>(graph);
+            final CSRGraph<?, ?> csr = CSRGraph.freeze(graph, weights);
+            final int src = random.nextInt(SIZE);
+
+            final SSSPResult<Integer, CompactEdge<Float>> expected = Graphs.findSSSP(graph, src, weights);
+            final IntSSSPResult actual = CSRGraphs.dijkstraSSSP(csr, src);
+
+            Assert.assertEquals(actual.getInitialNode(), src);
+
+            for (int n = 0; n < SIZE; n++) {
+                final float dist = expected.getShortestPathDistance(n);
+                Assert.assertEquals(actual.getShortestPathDistance(n), dist, 1e-4f);
+
+                final int[] path = actual.getShortestPath(n);
+                if (dist == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                } else {
+                    Assert.assertNotNull(path);
+
+                    int node = src;
+                    float length = 0;
+                    for (int e : path) {
+                        Assert.assertTrue(e >= csr.getEdgesLow(node) && e < csr.getEdgesHigh(node));
+                        length += csr.getEdgeWeight(e);
+                        node = csr.getEdgeTarget(e);
+                    }
+
+                    Assert.assertEquals(node, n);
+                    Assert.assertEquals(length, dist, 1e-4f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeterminization() {
+        final Random random = new Random(42);
+
+        // the larger size exceeds the limit for the dense successor representation
+        for (int size : new int[] {10, 20000}) {
+            final Alphabet<Integer> alphabet = Alphabets.integers(0, size < 100 ? 2 : 0);
+            final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, size);
+
+            for (int s = 0; s < size; s++) {
+                nfa.addState(random.nextInt(4) == 0);
+            }
+
+            nfa.setInitial(0, true);
+
+            // only add forward transitions, so that (for the unary alphabet) the number of reachable subsets is bounded
+            // by the size of the NFA
+            for (int s = 0; s < size; s++) {
+                for (Integer i : alphabet) {
+                    for (int k = random.nextInt(2); k >= 0; k--) {
+                        final int t = s + 1 + random.nextInt(WINDOW);
+                        if (t < size) {
+                            nfa.addTransition(s, i, t);
+                        }
+                    }
+                }
+            }
+
+            final CSRNFA<Integer> csr = nfa.freeze();
+            final CompactDFA<Integer> expected = NFAs.determinize(nfa, alphabet);
+            final CompactDFA<Integer> actual = NFAs.determinize(csr, alphabet);
+
+            Assert.assertTrue(Automata.testEquivalence(expected, actual, alphabet));
+        }
+    }
+
+    private static CompactSimpleGraph<Float> randomGraph(Random random, int size, double density) {
+        final CompactSimpleGraph<Float> graph = new CompactSimpleGraph<>(size);
+
+        for (int n = 0; n < size; n++) {
+            graph.addNode();
+        }
+
+        for (int n = 0; n < size; n++) {
+            for (int m = 0; m < size; m++) {
+                if (random.nextDouble() < density) {
+                    graph.connect(n, m, Float.valueOf(random.nextFloat() * 10));
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    private static void recursiveDFS(CompactSimpleGraph<?> graph, int node, Set<Integer> visited, List<Integer> order) {
+        if (visited.add(node)) {
+            order.add(node);
+            for (CompactEdge<?> edge : graph.getOutgoingEdges(node)) {
+                recursiveDFS(graph, edge.getTarget(), visited, order);
+            }
+        }
+    }
+
+    private static List<Integer> toList(int[] array) {
+        final List<Integer> result = new ArrayList<>(array.length);
+        for (int i : array) {
+            result.add(i);
+        }
+        return result;
+    }
+}
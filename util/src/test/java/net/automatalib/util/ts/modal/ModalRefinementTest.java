@@ -15,9 +15,15 @@
  */
 package net.automatalib.util.ts.modal;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import net.automatalib.commons.util.Pair;
 import net.automatalib.ts.modal.CompactMTS;
+import net.automatalib.ts.modal.MTSTransition;
 import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
+import net.automatalib.ts.modal.transition.MutableModalEdgeProperty;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.assertj.core.api.Assertions;
@@ -268,4 +274,83 @@ public class ModalRefinementTest {
         Assert.assertTrue(MTSUtil.isRefinementOf(s, t, alphabet));
     }
 
-}
\ No newline at end of file
+    @Test(description = "Compare the refinement relation with a naive fixpoint computation on random systems")
+    public void randomRefinementTest() {
+        final Random random = new Random(42);
+        final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'b');
+
+        for (int i = 0; i < 20; i++) {
+            final CompactMTS<String> a = randomMTS(random, alphabet, 6);
+            final CompactMTS<String> b = randomMTS(random, alphabet, 6);
+
+            Assert.assertEquals(ModalRefinement.refinementRelation(a, b, alphabet), naiveRefinement(a, b, alphabet));
+            Assert.assertEquals(ModalRefinement.refinementRelation(a, a, alphabet), naiveRefinement(a, a, alphabet));
+        }
+    }
+
+    private static CompactMTS<String> randomMTS(Random random, Alphabet<String> alphabet, int size) {
+        final CompactMTS<String> result = new CompactMTS<>(alphabet);
+
+        result.addInitialState();
+        for (int i = 1; i < size; i++) {
+            result.addState();
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (String sym : alphabet) {
+                final int numSuccs = random.nextInt(3);
+                for (int j = 0; j < numSuccs; j++) {
+                    final ModalType type = random.nextBoolean() ? ModalType.MAY : ModalType.MUST;
+                    result.addModalTransition(i, sym, random.nextInt(size), type);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static Set<Pair<Integer, Integer>> naiveRefinement(CompactMTS<String> a,
+                                                               CompactMTS<String> b,
+                                                               Alphabet<String> alphabet) {
+        final Set<Pair<Integer, Integer>> result = new HashSet<>();
+        for (Integer p : a) {
+            for (Integer q : b) {
+                result.add(Pair.of(p, q));
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = result.removeIf(pair -> !matches(a, b, pair.getFirst(), pair.getSecond(), alphabet, result));
+        }
+
+        return result;
+    }
+
+    private static boolean matches(CompactMTS<String> a,
+                                   CompactMTS<String> b,
+                                   Integer p,
+                                   Integer q,
+                                   Alphabet<String> alphabet,
+                                   Set<Pair<Integer, Integer>> relation) {
+        for (String sym : alphabet) {
+            for (MTSTransition<MutableModalEdgeProperty> t : a.getTransitions(p, sym)) {
+                if (b.getTransitions(q, sym)
+                     .stream()
+                     .noneMatch(u -> relation.contains(Pair.of(t.getTarget(), u.getTarget())))) {
+                    return false;
+                }
+            }
+            for (MTSTransition<MutableModalEdgeProperty> u : b.getTransitions(q, sym)) {
+                if (u.getProperty().isMust() && a.getTransitions(p, sym)
+                                                  .stream()
+                                                  .noneMatch(t -> t.getProperty().isMust() &&
+                                                                  relation.contains(Pair.of(t.getTarget(),
+                                                                                            u.getTarget())))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}